@@ -13,18 +13,20 @@ import net.lumalyte.lumasg.util.serialization.*;
 import net.lumalyte.lumasg.util.validation.*;
 import net.lumalyte.lumasg.util.validation.ConfigValidator;
 import net.lumalyte.lumasg.util.performance.*;
+import net.lumalyte.lumasg.util.messaging.MiniMessageUtils;
 import net.lumalyte.lumasg.util.cache.ArenaWorldCache;
-import net.lumalyte.lumasg.game.world.GameChestFiller;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
 import net.lumalyte.lumasg.arena.Arena;
 import net.lumalyte.lumasg.arena.ArenaManager;
+import net.lumalyte.lumasg.chest.ChestFillEngine;
 import net.lumalyte.lumasg.chest.ChestManager;
 import net.lumalyte.lumasg.commands.SGCommand;
 import net.lumalyte.lumasg.customitems.CustomItemsManager;
 import net.lumalyte.lumasg.game.core.GameManager;
+import net.lumalyte.lumasg.game.player.InventoryJournal;
 import net.lumalyte.lumasg.gui.MenuUtils;
 import net.lumalyte.lumasg.hooks.HookManager;
 import net.lumalyte.lumasg.listeners.AdminWandListener;
@@ -57,6 +59,10 @@ public class LumaSG extends JavaPlugin {
     private AdminWand adminWand;
     private TeamQueueManager teamQueueManager;
     private ConfigurationManager configManager;
+    private TickBudgetedExecutor tickBudgetedExecutor;
+    private WorkerPool workerPool;
+    private ChestFillEngine chestFillEngine;
+    private InventoryJournal inventoryJournal;
     
     @Override
     public void onEnable() {
@@ -119,13 +125,20 @@ public class LumaSG extends JavaPlugin {
         customItemListener = new CustomItemListener(this);
         adminWand = new AdminWand(this);
         teamQueueManager = new TeamQueueManager(this);
+        tickBudgetedExecutor = new TickBudgetedExecutor(this);
+        workerPool = new WorkerPool(this);
+        chestFillEngine = new ChestFillEngine(this, chestManager);
+        inventoryJournal = new InventoryJournal(this);
         
         // Validate managers were created successfully
         validateManagers();
         
         // Start managers
+        workerPool.start();
         arenaManager.start();
         hookManager.start();
+        tickBudgetedExecutor.start();
+        inventoryJournal.start();
         
         // Initialize custom items manager FIRST (before chest loading)
         if (!customItemsManager.initialize()) {
@@ -187,6 +200,9 @@ public class LumaSG extends JavaPlugin {
         ValidationUtils.requireNonNull(customItemListener, "Custom Item Listener", "Plugin Initialization");
         ValidationUtils.requireNonNull(adminWand, "Admin Wand", "Plugin Initialization");
         ValidationUtils.requireNonNull(teamQueueManager, "Team Queue Manager", "Plugin Initialization");
+        ValidationUtils.requireNonNull(tickBudgetedExecutor, "Tick Budgeted Executor", "Plugin Initialization");
+        ValidationUtils.requireNonNull(workerPool, "Worker Pool", "Plugin Initialization");
+        ValidationUtils.requireNonNull(chestFillEngine, "Chest Fill Engine", "Plugin Initialization");
     }
     
     /**
@@ -228,9 +244,7 @@ public class LumaSG extends JavaPlugin {
             // Shutdown scaling optimization systems
             GameInstancePool.shutdown();
             ArenaWorldCache.shutdown();
-            ConcurrentChestFiller.shutdown();
             LootTableCache.shutdown();
-            GameChestFiller.shutdownThreadPool();
             debugLogger.info("Scaling optimization systems shutdown completed");
             
             // Shutdown core caching systems
@@ -248,6 +262,10 @@ public class LumaSG extends JavaPlugin {
             if (customItemListener != null) customItemListener.shutdown();
             if (hookManager != null) hookManager.stop();
             if (gameManager != null) gameManager.shutdown();
+            // After the games ended so the restored players are tombstoned
+            if (inventoryJournal != null) inventoryJournal.shutdown(5000);
+            if (tickBudgetedExecutor != null) tickBudgetedExecutor.stop();
+            if (workerPool != null) workerPool.stop();
             if (chestManager != null) chestManager.stop();
             
             // Clean up all arena effects
@@ -271,9 +289,13 @@ public class LumaSG extends JavaPlugin {
         try {
             // Reload configuration
             reloadConfig();
+            MiniMessageUtils.clearTemplateCache();
             
             // Update configuration files with any new options
             configManager.updateAllConfigs();
+            tickBudgetedExecutor.loadConfiguration();
+            workerPool.loadConfiguration();
+            chestFillEngine.loadConfiguration();
             
             // Stop and restart managers
             if (hookManager != null) hookManager.stop();
@@ -379,6 +401,42 @@ public class LumaSG extends JavaPlugin {
         return teamQueueManager;
     }
     
+    /**
+     * Gets the main-thread work queue used to spread world writes across ticks.
+     * 
+     * @return The tick budgeted executor
+     */
+    public @NotNull TickBudgetedExecutor getTickBudgetedExecutor() {
+        return tickBudgetedExecutor;
+    }
+    
+    /**
+     * Gets the bounded pool for CPU-bound work moved off the server thread.
+     * 
+     * @return The worker pool
+     */
+    public @NotNull WorkerPool getWorkerPool() {
+        return workerPool;
+    }
+    
+    /**
+     * Gets the engine that fills arena chests for every game.
+     * 
+     * @return The chest fill engine
+     */
+    public @NotNull ChestFillEngine getChestFillEngine() {
+        return chestFillEngine;
+    }
+    
+    /**
+     * Gets the on-disk journal of player state stored for games.
+     * 
+     * @return The inventory journal
+     */
+    public @NotNull InventoryJournal getInventoryJournal() {
+        return inventoryJournal;
+    }
+    
     /**
      * Gets the configuration manager instance.
      * 
@@ -431,9 +489,6 @@ public class LumaSG extends JavaPlugin {
      */
     private void initializeChestOptimizations() {
         try {
-            // Initialize concurrent chest filler with the chest manager
-            ConcurrentChestFiller.initialize(this, chestManager);
-            
             // Initialize loot table cache for pre-generated loot
             LootTableCache.initialize(this, chestManager);
             
@@ -442,17 +497,12 @@ public class LumaSG extends JavaPlugin {
                 debugLogger.info("Pre-generated loot tables for all tiers completed");
             });
             
-            // Pre-cache tier loot for concurrent chest filler
-            ConcurrentChestFiller.precacheTierLoot().thenRun(() -> {
-                debugLogger.info("Pre-cached tier loot for concurrent chest filling");
-            });
-            
             debugLogger.info("Chest optimization systems initialized:");
-            debugLogger.info("  ✓ ConcurrentChestFiller - Adaptive thread pool (" + 
-                ConcurrentChestFiller.getCurrentThreadPoolSize() + " threads, " +
-                (ConcurrentChestFiller.isUsingAutoCalculation() ? "auto-calculated" : "configured") + ")");
-            debugLogger.info("  ✓ LootTableCache - Pre-generated loot tables (50 chests per tier)");
-            debugLogger.info("  ✓ Tier caching - Optimized loot distribution system");
+            debugLogger.info("  ✓ ChestFillEngine - Rolls on the shared worker pool (" + 
+                workerPool.getThreadCount() + " threads, " +
+                (workerPool.isAutoSized() ? "auto-calculated" : "configured") + ")");
+            debugLogger.info("  ✓ LootTableCache - Pre-rolled loot pools with background refill");
+            debugLogger.info("  ✓ Tier policy - Weighted chest-tiers draw shared by every fill");
         } catch (Exception e) {
             debugLogger.error("Failed to initialize chest optimization systems", e);
         }
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.HashSet;
@@ -60,6 +61,12 @@ public class Arena {
     private final int minPlayers;
     private final Map<Location, BukkitTask> beamTasks = new ConcurrentHashMap<>();
     private volatile File configFile;
+    /** The chest scan in progress, if any */
+    private volatile @Nullable CompletableFuture<Integer> chestScan;
+    /** Bumped whenever the arena region or its chests are edited */
+    private volatile long chestIndexRevision = 0;
+    /** The revision the stored chest locations were scanned at, or -1 if never scanned */
+    private volatile long chestIndexScannedRevision = -1;
     private @NotNull ArenaConfigurationHelper configHelper;
     
     /**
@@ -235,6 +242,7 @@ public class Arena {
         loadCenterLocation(arena, section, logger, arenaName);
         loadSpawnPoints(arena, section, logger, arenaName);
         loadChestLocations(arena, section, logger, arenaName);
+        loadChestIndex(arena, section, logger, arenaName);
         loadLobbySpawn(arena, section, logger, arenaName);
         loadSpectatorSpawn(arena, section, logger, arenaName);
     }
@@ -286,6 +294,25 @@ public class Arena {
         }
     }
     
+    /**
+     * Loads the chest index revisions for the arena.
+     *
+     * <p>Arenas saved before the index existed have no revisions; their stored
+     * chest locations are trusted as current unless there are none.</p>
+     */
+    private static void loadChestIndex(@NotNull Arena arena, @NotNull ConfigurationSection section, @NotNull DebugLogger.ContextualLogger logger, @NotNull String arenaName) {
+        ConfigurationSection indexSection = section.getConfigurationSection("chest-index");
+        if (indexSection != null) {
+            arena.chestIndexRevision = indexSection.getLong("revision", 0);
+            arena.chestIndexScannedRevision = indexSection.getLong("scanned-revision", -1);
+        } else {
+            arena.chestIndexRevision = 0;
+            arena.chestIndexScannedRevision = arena.chestLocations.isEmpty() ? -1 : 0;
+        }
+        logger.debug("Loaded chest index for arena: " + arenaName + " (revision " + arena.chestIndexRevision
+            + ", scanned at " + arena.chestIndexScannedRevision + ")");
+    }
+    
     /**
      * Loads lobby spawn location for the arena.
      */
@@ -382,6 +409,7 @@ public class Arena {
         configHelper.saveLocation(section, "center", center);
         configHelper.saveLocationList(section, "spawn-points", spawnPoints);
         configHelper.saveLocationList(section, "chest-locations", chestLocations);
+        configHelper.saveChestIndex(section, chestIndexRevision, chestIndexScannedRevision);
         configHelper.saveLocation(section, "lobby-spawn", lobbySpawn);
         configHelper.saveLocation(section, "spectator-spawn", spectatorSpawn);
         configHelper.saveAllowedBlocks(section, new ArrayList<>(allowedBlocks));
@@ -425,6 +453,9 @@ public class Arena {
      */
     public synchronized void setWorld(@NotNull World world) {
         ValidationUtils.requireNonNull(world, "World", "Arena.setWorld");
+        if (this.world != world) {
+            chestIndexRevision++;
+        }
         this.world = world;
     }
     
@@ -444,6 +475,7 @@ public class Arena {
      */
     public synchronized void setCenter(@Nullable Location center) {
         this.center = center != null ? center.clone() : null;
+        chestIndexRevision++;
     }
     
     /**
@@ -614,6 +646,9 @@ public class Arena {
      * @param radius The new radius
      */
     public synchronized void setRadius(int radius) {
+        if (this.radius != radius) {
+            chestIndexRevision++;
+        }
         this.radius = radius;
     }
 
@@ -669,43 +704,116 @@ public class Arena {
     }
 
     /**
-     * Scans for chests in the arena's world within the specified radius.
-     * 
-     * @return The number of chests found
+     * Scans for chests and trapped chests in the arena's world within the
+     * arena radius, replacing the stored chest locations with the result.
+     *
+     * <p>The scan works on chunk snapshots off the server thread (see
+     * {@link ChestScanner}), so this method returns immediately. If a scan is
+     * already running, its future is returned instead of starting another.</p>
+     *
+     * @return A future completing with the number of chests found
      */
-    public synchronized int scanForChests() {
-        if (center == null || world == null) {
+    public @NotNull CompletableFuture<Integer> scanForChests() {
+        Location scanCenter = center;
+        World scanWorld = world;
+        int scanRadius = radius;
+        if (scanCenter == null || scanWorld == null) {
             logger.warn("Cannot scan for chests: center or world is null in arena " + name);
-            return 0;
+            return CompletableFuture.completedFuture(0);
         }
 
-        // Clear existing chest locations
-        chestLocations.clear();
+        synchronized (this) {
+            CompletableFuture<Integer> running = chestScan;
+            if (running != null && !running.isDone()) {
+                return running;
+            }
 
-        // Scan in a cube around the center (more efficient than checking every block in a sphere)
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -radius; y <= radius; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    Location loc = center.clone().add(x, y, z);
-                    
-                    // Only check blocks within the spherical radius and if they are chests
-                    if (loc.distance(center) <= radius && loc.getBlock().getType() == org.bukkit.Material.CHEST) {
-                        chestLocations.add(loc.clone());
+            long startTime = System.nanoTime();
+            long scannedRevision = chestIndexRevision;
+            CompletableFuture<Integer> scan = ChestScanner.scan(plugin, scanWorld, scanCenter.clone(), scanRadius)
+                .thenApply(found -> {
+                    synchronized (this) {
+                        chestLocations.clear();
+                        chestLocations.addAll(found);
+                        // Edits made while the scan ran keep the index stale
+                        chestIndexScannedRevision = Math.max(chestIndexScannedRevision, scannedRevision);
                     }
+
+                    int chestCount = found.size();
+                    logger.info("Found " + chestCount + " chests in arena " + name + " in "
+                        + (System.nanoTime() - startTime) / 1_000_000L + "ms");
+
+                    // Schedule a debounced save to persist chest locations
+                    plugin.getArenaManager().saveArenas().thenRun(() ->
+                        logger.debug("Scheduled save for chest locations in arena " + name));
+
+                    return chestCount;
+                });
+            scan.whenComplete((count, error) -> {
+                if (error != null) {
+                    logger.warn("Chest scan failed in arena " + name, error);
                 }
-            }
+            });
+            chestScan = scan;
+            return scan;
         }
-
-        int chestCount = chestLocations.size();
-        logger.info("Found " + chestCount + " chests in arena " + name);
-        
-        // Schedule a debounced save to persist chest locations
-        plugin.getArenaManager().saveArenas().thenRun(() -> 
-            logger.debug("Scheduled save for chest locations in arena " + name));
-            
-        return chestCount;
     }
 
+    /**
+     * Makes sure the stored chest locations are current, scanning only if
+     * the arena was edited since the last scan.
+     *
+     * <p>This is what game startup calls: for an unchanged arena it completes
+     * immediately with the stored chest count and touches neither the world
+     * nor the arena file.</p>
+     *
+     * @return A future completing with the number of known chests
+     */
+    public @NotNull CompletableFuture<Integer> ensureChestIndex() {
+        if (isChestIndexCurrent()) {
+            return CompletableFuture.completedFuture(chestLocations.size());
+        }
+        logger.debug("Chest index for arena " + name + " is stale (revision " + chestIndexRevision
+            + ", scanned at " + chestIndexScannedRevision + "), rescanning");
+        return scanForChests();
+    }
+    
+    /**
+     * Checks whether the stored chest locations reflect the current arena.
+     *
+     * @return true if no edit has happened since the last scan
+     */
+    public boolean isChestIndexCurrent() {
+        return chestIndexScannedRevision >= chestIndexRevision;
+    }
+    
+    /**
+     * Marks the stored chest locations as out of date, so the next
+     * {@link #ensureChestIndex()} rescans the arena. Called by the editing
+     * tools when an admin changes chests inside the arena.
+     */
+    public void markChestIndexStale() {
+        chestIndexRevision++;
+        logger.debug("Chest index for arena " + name + " marked stale at revision " + chestIndexRevision);
+    }
+    
+    /**
+     * Marks the stored chest locations as current without scanning. Used when
+     * the locations come from a trusted source such as an arena template.
+     */
+    synchronized void markChestIndexCurrent() {
+        chestIndexScannedRevision = chestIndexRevision;
+    }
+    
+    /**
+     * Gets the chest index revision.
+     *
+     * @return The number of region or chest edits recorded for this arena
+     */
+    public long getChestIndexRevision() {
+        return chestIndexRevision;
+    }
+    
     /**
      * Cleans up all beam effects.
      * Should be called when the arena is being removed or the plugin is disabling.
@@ -35,6 +35,18 @@ public class ArenaConfigurationHelper {
         section.set("radius", radius);
     }
     
+    /**
+     * Saves the chest index revisions to configuration.
+     */
+    public void saveChestIndex(
+            @NotNull ConfigurationSection parent,
+            long revision,
+            long scannedRevision) {
+        ConfigurationSection section = getOrCreateSection(parent, "chest-index");
+        section.set("revision", revision);
+        section.set("scanned-revision", scannedRevision);
+    }
+    
     /**
      * Saves a location to configuration with proper error handling.
      */
@@ -376,8 +376,9 @@ public class ArenaManager extends BaseManager {
             
             // Scan for chests automatically
             logger.debug("Scanning for chests in newly created arena: " + InputSanitizer.sanitizeForLogging(name));
-            int chestCount = arena.scanForChests();
-            logger.debug("Found " + chestCount + " chests in arena: " + name);
+            String arenaName = name;
+            arena.scanForChests().thenAccept(chestCount ->
+                logger.debug("Found " + chestCount + " chests in arena: " + arenaName));
             
             logger.info("Successfully created arena: " + name);
             return arena;
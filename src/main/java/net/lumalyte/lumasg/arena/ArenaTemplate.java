@@ -179,6 +179,7 @@ public class ArenaTemplate {
             Location chestLocation = relPos.toLocation(center);
             arena.addChestLocation(chestLocation);
         }
+        arena.markChestIndexCurrent();
         
         // Set lobby spawn
         if (lobbySpawn != null) {
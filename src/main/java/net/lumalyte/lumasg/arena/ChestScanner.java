@@ -0,0 +1,194 @@
+package net.lumalyte.lumasg.arena;
+
+import net.lumalyte.lumasg.LumaSG;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Finds chests inside a spherical arena region using chunk snapshots.
+ *
+ * <p>The server thread only loads each intersecting chunk (asynchronously,
+ * through Paper's chunk system) and copies it into a {@link ChunkSnapshot}.
+ * The block scan itself runs on the plugin's bounded
+ * {@link LumaSG#getWorkerPool() worker pool}, one task per chunk, so the
+ * chunks of a large arena are scanned in parallel while the server keeps
+ * ticking.</p>
+ *
+ * <p>Chunks whose column lies entirely outside the sphere are never loaded,
+ * empty chunk sections are skipped without looking at their blocks, and every
+ * distance check compares squared integer distances instead of calling
+ * {@link Location#distance(Location)}.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+final class ChestScanner {
+
+    private ChestScanner() {
+    }
+
+    /**
+     * Scans the sphere of the given radius around the center for chests and
+     * trapped chests.
+     *
+     * <p>May be called from any thread; chunk access is moved onto the server
+     * thread as needed. The returned locations are block-aligned and sorted by
+     * x, y and z so repeated scans of an unchanged arena produce the same
+     * list.</p>
+     *
+     * @param plugin The plugin instance
+     * @param world The world to scan
+     * @param center The center of the sphere
+     * @param radius The radius of the sphere in blocks
+     * @return A future completing with the chest locations found
+     */
+    static @NotNull CompletableFuture<List<Location>> scan(@NotNull LumaSG plugin, @NotNull World world,
+                                                           @NotNull Location center, int radius) {
+        if (!Bukkit.isPrimaryThread()) {
+            CompletableFuture<List<Location>> result = new CompletableFuture<>();
+            Bukkit.getScheduler().runTask(plugin, () -> scan(plugin, world, center, radius)
+                .whenComplete((locations, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(locations);
+                    }
+                }));
+            return result;
+        }
+
+        int centerX = center.getBlockX();
+        int centerY = center.getBlockY();
+        int centerZ = center.getBlockZ();
+        long radiusSquared = (long) radius * radius;
+
+        int worldMinY = world.getMinHeight();
+        int minY = Math.max(worldMinY, centerY - radius);
+        int maxY = Math.min(world.getMaxHeight() - 1, centerY + radius);
+        if (radius < 0 || minY > maxY) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        List<CompletableFuture<List<Location>>> chunkScans = new ArrayList<>();
+        for (int chunkX = (centerX - radius) >> 4; chunkX <= (centerX + radius) >> 4; chunkX++) {
+            for (int chunkZ = (centerZ - radius) >> 4; chunkZ <= (centerZ + radius) >> 4; chunkZ++) {
+                if (!columnIntersects(chunkX, chunkZ, centerX, centerZ, radiusSquared)) {
+                    continue;
+                }
+
+                chunkScans.add(world.getChunkAtAsync(chunkX, chunkZ)
+                    .thenApply(chunk -> chunk.getChunkSnapshot(false, false, false))
+                    .thenApplyAsync(snapshot -> scanSnapshot(snapshot, world, centerX, centerY, centerZ,
+                        radiusSquared, minY, maxY, worldMinY), plugin.getWorkerPool()));
+            }
+        }
+
+        return CompletableFuture.allOf(chunkScans.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> {
+                List<Location> chests = new ArrayList<>();
+                for (CompletableFuture<List<Location>> chunkScan : chunkScans) {
+                    chests.addAll(chunkScan.join());
+                }
+                chests.sort(Comparator.comparingInt(Location::getBlockX)
+                    .thenComparingInt(Location::getBlockY)
+                    .thenComparingInt(Location::getBlockZ));
+                return chests;
+            });
+    }
+
+    /**
+     * Scans a single chunk snapshot. Safe to call off the server thread.
+     *
+     * @param snapshot The chunk snapshot
+     * @param world The world the snapshot belongs to, used for the returned locations
+     * @param centerX Block X of the sphere center
+     * @param centerY Block Y of the sphere center
+     * @param centerZ Block Z of the sphere center
+     * @param radiusSquared Squared sphere radius
+     * @param minY Lowest block Y to scan
+     * @param maxY Highest block Y to scan
+     * @param worldMinY The world's minimum height, used to index chunk sections
+     * @return The chest locations in this chunk that lie inside the sphere
+     */
+    static @NotNull List<Location> scanSnapshot(@NotNull ChunkSnapshot snapshot, @NotNull World world,
+                                                int centerX, int centerY, int centerZ, long radiusSquared,
+                                                int minY, int maxY, int worldMinY) {
+        List<Location> chests = new ArrayList<>();
+        int baseX = snapshot.getX() << 4;
+        int baseZ = snapshot.getZ() << 4;
+
+        int y = minY;
+        while (y <= maxY) {
+            int sectionTop = Math.min(maxY, ((y >> 4) << 4) + 15);
+            if (snapshot.isSectionEmpty((y >> 4) - (worldMinY >> 4))) {
+                y = sectionTop + 1;
+                continue;
+            }
+
+            for (; y <= sectionTop; y++) {
+                long dy = y - centerY;
+                long remainingY = radiusSquared - dy * dy;
+                if (remainingY < 0) {
+                    continue;
+                }
+
+                for (int localX = 0; localX < 16; localX++) {
+                    long dx = baseX + localX - centerX;
+                    long remainingXY = remainingY - dx * dx;
+                    if (remainingXY < 0) {
+                        continue;
+                    }
+
+                    for (int localZ = 0; localZ < 16; localZ++) {
+                        long dz = baseZ + localZ - centerZ;
+                        if (dz * dz > remainingXY) {
+                            continue;
+                        }
+
+                        Material type = snapshot.getBlockType(localX, y, localZ);
+                        if (type == Material.CHEST || type == Material.TRAPPED_CHEST) {
+                            chests.add(new Location(world, baseX + localX, y, baseZ + localZ));
+                        }
+                    }
+                }
+            }
+        }
+
+        return chests;
+    }
+
+    /**
+     * Checks whether any column of a chunk lies within the radius of the center
+     * on the horizontal plane.
+     */
+    private static boolean columnIntersects(int chunkX, int chunkZ, int centerX, int centerZ, long radiusSquared) {
+        long dx = axisDistance(centerX, chunkX << 4);
+        long dz = axisDistance(centerZ, chunkZ << 4);
+        return dx * dx + dz * dz <= radiusSquared;
+    }
+
+    /**
+     * Distance along one axis from a coordinate to the nearest block of a
+     * 16-block chunk span starting at {@code min}.
+     */
+    private static long axisDistance(int coordinate, int min) {
+        int max = min + 15;
+        if (coordinate < min) {
+            return min - coordinate;
+        }
+        if (coordinate > max) {
+            return coordinate - max;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,314 @@
+package net.lumalyte.lumasg.arena;
+
+import net.lumalyte.lumasg.LumaSG;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bitmap of the blocks that block line of sight inside an arena.
+ *
+ * <p>One bit per block of the arena's bounding box is set if the block has a
+ * collision shape, which matches what {@link World#rayTraceBlocks} hits when
+ * passable blocks are ignored. Every solid block counts as a full cube, so
+ * slabs, fences and similar blocks occlude slightly more than a ray trace
+ * would.</p>
+ *
+ * <p>The map is built from chunk snapshots like {@link ChestScanner}: the
+ * server thread only loads and copies each chunk, and the bits are filled in
+ * on the plugin's {@link LumaSG#getWorkerPool() worker pool}. Afterwards block changes are applied one bit at a time
+ * through {@link #setOccluding(int, int, int, boolean)}. All bits live in an
+ * {@link AtomicLongArray}, so line-of-sight queries may run on any thread
+ * while the server thread updates the map.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public final class OcclusionMap {
+
+    /** Largest bounding box, in blocks, that is mapped (32 MB of bits) */
+    private static final long MAX_VOLUME = 256L * 1024 * 1024;
+
+    private final World world;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final AtomicLongArray bits;
+
+    /** Block changes made while the map was being built, replayed once it is; server thread only */
+    private final Queue<long[]> pendingChanges = new ArrayDeque<>();
+    private volatile boolean ready;
+
+    /**
+     * Creates an empty map of the given box.
+     *
+     * @param ready Whether block changes apply immediately instead of after a build
+     */
+    OcclusionMap(@NotNull World world, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ, boolean ready) {
+        this.world = world;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.bits = new AtomicLongArray((int) ((((long) sizeX * sizeY * sizeZ) + 63) >>> 6));
+        this.ready = ready;
+    }
+
+    /**
+     * Creates an empty map for the cube of the given radius around an arena's
+     * center. Call {@link #build(LumaSG)} to fill it in.
+     *
+     * @param arena The arena to map
+     * @return The map, or null if the arena has no center or is too large to map
+     */
+    public static @Nullable OcclusionMap create(@NotNull Arena arena) {
+        Location center = arena.getCenter();
+        World world = arena.getWorld() != null ? arena.getWorld() : center != null ? center.getWorld() : null;
+        int radius = arena.getRadius();
+        if (center == null || world == null || radius <= 0) {
+            return null;
+        }
+
+        int minY = Math.max(world.getMinHeight(), center.getBlockY() - radius);
+        int maxY = Math.min(world.getMaxHeight() - 1, center.getBlockY() + radius);
+        int size = radius * 2 + 1;
+        if (minY > maxY || (long) size * size * (maxY - minY + 1) > MAX_VOLUME) {
+            return null;
+        }
+        return new OcclusionMap(world, center.getBlockX() - radius, minY, center.getBlockZ() - radius,
+            size, maxY - minY + 1, size, false);
+    }
+
+    /**
+     * Fills in the map from chunk snapshots. Must be called on the server
+     * thread; the returned future completes there once the map is ready.
+     *
+     * @param plugin The plugin instance
+     * @return A future completing when the map is ready
+     */
+    public @NotNull CompletableFuture<Void> build(@NotNull LumaSG plugin) {
+        int worldMinY = world.getMinHeight();
+
+        List<CompletableFuture<Void>> chunkFills = new ArrayList<>();
+        for (int chunkX = minX >> 4; chunkX <= (minX + sizeX - 1) >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= (minZ + sizeZ - 1) >> 4; chunkZ++) {
+                chunkFills.add(world.getChunkAtAsync(chunkX, chunkZ)
+                    .thenApply(chunk -> chunk.getChunkSnapshot(false, false, false))
+                    .thenAcceptAsync(snapshot -> fill(snapshot, worldMinY), plugin.getWorkerPool()));
+            }
+        }
+
+        return CompletableFuture.allOf(chunkFills.toArray(new CompletableFuture[0]))
+            .thenRunAsync(() -> {
+                long[] change;
+                while ((change = pendingChanges.poll()) != null) {
+                    set((int) change[0], (int) change[1], (int) change[2], change[3] != 0);
+                }
+                ready = true;
+            }, task -> Bukkit.getScheduler().runTask(plugin, task));
+    }
+
+    /**
+     * Checks if a block type blocks line of sight.
+     *
+     * @param type The block type
+     * @return true if the type has a collision shape
+     */
+    public static boolean occludes(@NotNull Material type) {
+        return !type.isAir() && type.isCollidable();
+    }
+
+    /**
+     * Gets the world this map belongs to.
+     *
+     * @return The world
+     */
+    public @NotNull World getWorld() {
+        return world;
+    }
+
+    /**
+     * Checks if the map has been built.
+     *
+     * @return true once every chunk has been filled in
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Checks if a point lies inside the mapped box. A segment between two
+     * such points only passes through mapped blocks, so
+     * {@link #hasLineOfSight} answers for it exactly like a ray trace would;
+     * for any other segment the blocks outside the box count as empty.
+     *
+     * @param x Point x
+     * @param y Point y
+     * @param z Point z
+     * @return true if the block containing the point is mapped
+     */
+    public boolean contains(double x, double y, double z) {
+        return index((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z)) >= 0;
+    }
+
+    /**
+     * Records a block change. Must be called on the server thread. Changes
+     * outside the mapped box are ignored.
+     *
+     * @param x Block x
+     * @param y Block y
+     * @param z Block z
+     * @param occluding Whether the block now blocks line of sight
+     */
+    public void setOccluding(int x, int y, int z, boolean occluding) {
+        if (ready) {
+            set(x, y, z, occluding);
+        } else {
+            // The snapshot of this block may predate the change, so it is applied after the build
+            pendingChanges.add(new long[] {x, y, z, occluding ? 1 : 0});
+        }
+    }
+
+    /**
+     * Checks if a block blocks line of sight. Blocks outside the mapped box
+     * never do.
+     *
+     * @param x Block x
+     * @param y Block y
+     * @param z Block z
+     * @return true if the block is occluding
+     */
+    public boolean isOccluding(int x, int y, int z) {
+        long index = index(x, y, z);
+        return index >= 0 && (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks if the segment between two points crosses no occluding block,
+     * walking the blocks it passes through with a 3D DDA. The blocks
+     * containing the two end points are not checked. Safe to call from any
+     * thread.
+     *
+     * @return true if nothing blocks the line of sight
+     */
+    public boolean hasLineOfSight(double fromX, double fromY, double fromZ, double toX, double toY, double toZ) {
+        int x = (int) Math.floor(fromX);
+        int y = (int) Math.floor(fromY);
+        int z = (int) Math.floor(fromZ);
+        int endX = (int) Math.floor(toX);
+        int endY = (int) Math.floor(toY);
+        int endZ = (int) Math.floor(toZ);
+
+        double dx = toX - fromX;
+        double dy = toY - fromY;
+        double dz = toZ - fromZ;
+        int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+        int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+        int stepZ = dz > 0 ? 1 : dz < 0 ? -1 : 0;
+
+        // Distance along the segment, as a fraction of it, to cross one block on each axis
+        double deltaX = stepX != 0 ? Math.abs(1.0 / dx) : Double.POSITIVE_INFINITY;
+        double deltaY = stepY != 0 ? Math.abs(1.0 / dy) : Double.POSITIVE_INFINITY;
+        double deltaZ = stepZ != 0 ? Math.abs(1.0 / dz) : Double.POSITIVE_INFINITY;
+
+        // Fraction of the segment at which the next block boundary is reached on each axis
+        double nextX = stepX > 0 ? (x + 1 - fromX) * deltaX : stepX < 0 ? (fromX - x) * deltaX : Double.POSITIVE_INFINITY;
+        double nextY = stepY > 0 ? (y + 1 - fromY) * deltaY : stepY < 0 ? (fromY - y) * deltaY : Double.POSITIVE_INFINITY;
+        double nextZ = stepZ > 0 ? (z + 1 - fromZ) * deltaZ : stepZ < 0 ? (fromZ - z) * deltaZ : Double.POSITIVE_INFINITY;
+
+        int steps = Math.abs(endX - x) + Math.abs(endY - y) + Math.abs(endZ - z);
+        for (int i = 0; i < steps; i++) {
+            if (nextX < nextY && nextX < nextZ) {
+                x += stepX;
+                nextX += deltaX;
+            } else if (nextY < nextZ) {
+                y += stepY;
+                nextY += deltaY;
+            } else {
+                z += stepZ;
+                nextZ += deltaZ;
+            }
+
+            if (x == endX && y == endY && z == endZ) {
+                return true;
+            }
+            if (isOccluding(x, y, z)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void fill(@NotNull ChunkSnapshot snapshot, int worldMinY) {
+        int baseX = snapshot.getX() << 4;
+        int baseZ = snapshot.getZ() << 4;
+        int fromX = Math.max(minX, baseX);
+        int toX = Math.min(minX + sizeX - 1, baseX + 15);
+        int fromZ = Math.max(minZ, baseZ);
+        int toZ = Math.min(minZ + sizeZ - 1, baseZ + 15);
+        int maxY = minY + sizeY - 1;
+
+        int y = minY;
+        while (y <= maxY) {
+            int sectionTop = Math.min(maxY, ((y >> 4) << 4) + 15);
+            if (snapshot.isSectionEmpty((y >> 4) - (worldMinY >> 4))) {
+                y = sectionTop + 1;
+                continue;
+            }
+
+            for (; y <= sectionTop; y++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        if (occludes(snapshot.getBlockType(x - baseX, y, z - baseZ))) {
+                            set(x, y, z, true);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void set(int x, int y, int z, boolean occluding) {
+        long index = index(x, y, z);
+        if (index < 0) {
+            return;
+        }
+        long mask = 1L << index;
+        // Words span chunk borders, so chunks filled in parallel may share one
+        if (occluding) {
+            bits.getAndAccumulate((int) (index >>> 6), mask, (word, bit) -> word | bit);
+        } else {
+            bits.getAndAccumulate((int) (index >>> 6), ~mask, (word, bit) -> word & bit);
+        }
+    }
+
+    /**
+     * Gets the bit index of a block, x fastest, or -1 outside the mapped box.
+     */
+    private long index(int x, int y, int z) {
+        int localX = x - minX;
+        int localY = y - minY;
+        int localZ = z - minZ;
+        if (localX < 0 || localY < 0 || localZ < 0 || localX >= sizeX || localY >= sizeY || localZ >= sizeZ) {
+            return -1;
+        }
+        return ((long) localY * sizeZ + localZ) * sizeX + localX;
+    }
+}
@@ -0,0 +1,196 @@
+package net.lumalyte.lumasg.chest;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable weighted sampler built with Vose's alias method.
+ *
+ * <p>
+ * Building the table is O(n) and happens once, when the loot tables are
+ * loaded. Every draw afterwards is O(1) and allocation-free: one uniform
+ * column pick and one biased coin flip, independent of how many items the
+ * tier holds.
+ * </p>
+ *
+ * <p>
+ * Instances never change after construction, so a sampler can be shared
+ * between the server thread and any number of worker threads. Reloading
+ * builds new samplers and swaps them in as a whole.
+ * </p>
+ *
+ * @param <T> The type of item being sampled
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public final class AliasSampler<T> {
+
+    private static final AliasSampler<?> EMPTY = new AliasSampler<>(List.of(), new double[0], new int[0]);
+
+    private final @NotNull List<T> items;
+    /** Probability of keeping the column's own item rather than its alias */
+    private final double[] probability;
+    /** Index of the item to return when the coin flip rejects the column */
+    private final int[] alias;
+
+    private AliasSampler(@NotNull List<T> items, double[] probability, int[] alias) {
+        this.items = items;
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * Gets a sampler with no items.
+     *
+     * @param <T> The item type
+     * @return An empty sampler whose draws always return null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull AliasSampler<T> empty() {
+        return (AliasSampler<T>) EMPTY;
+    }
+
+    /**
+     * Builds a sampler over the given items.
+     *
+     * <p>
+     * Negative or non-finite weights are treated as zero. If every weight is
+     * zero the items are drawn uniformly, matching the previous linear-scan
+     * behaviour.
+     * </p>
+     *
+     * @param items  The items to sample from
+     * @param weight Function returning the relative weight of an item
+     * @param <T>    The item type
+     * @return A new sampler, or the empty sampler if there are no items
+     */
+    public static <T> @NotNull AliasSampler<T> of(@NotNull List<T> items, @NotNull ToDoubleFunction<? super T> weight) {
+        int n = items.size();
+        if (n == 0) {
+            return empty();
+        }
+
+        List<T> snapshot = List.copyOf(items);
+        double[] weights = new double[n];
+        double total = 0.0;
+        for (int i = 0; i < n; i++) {
+            double w = weight.applyAsDouble(snapshot.get(i));
+            weights[i] = (w > 0.0 && Double.isFinite(w)) ? w : 0.0;
+            total += weights[i];
+        }
+
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+
+        if (total <= 0.0) {
+            // No usable weights, fall back to a uniform draw
+            Arrays.fill(probability, 1.0);
+            for (int i = 0; i < n; i++) {
+                alias[i] = i;
+            }
+            return new AliasSampler<>(snapshot, probability, alias);
+        }
+
+        // Scale so the average column height is exactly 1
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+
+        // Whatever is left is full up to floating point error
+        while (!large.isEmpty()) {
+            int index = large.pop();
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (!small.isEmpty()) {
+            int index = small.pop();
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+
+        return new AliasSampler<>(snapshot, probability, alias);
+    }
+
+    /**
+     * Draws an item using the calling thread's {@link ThreadLocalRandom}.
+     *
+     * @return The selected item, or null if the sampler is empty
+     */
+    public @Nullable T sample() {
+        return sample(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Draws an item using the given random source.
+     *
+     * @param random The random source
+     * @return The selected item, or null if the sampler is empty
+     */
+    public @Nullable T sample(@NotNull RandomGenerator random) {
+        int n = probability.length;
+        if (n == 0) {
+            return null;
+        }
+        int column = random.nextInt(n);
+        return items.get(random.nextDouble() < probability[column] ? column : alias[column]);
+    }
+
+    /**
+     * Gets the items this sampler draws from, in their original order.
+     *
+     * @return An unmodifiable list of the items
+     */
+    public @NotNull List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the number of items in this sampler.
+     *
+     * @return The item count
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Checks whether this sampler has no items.
+     *
+     * @return true if every draw returns null
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
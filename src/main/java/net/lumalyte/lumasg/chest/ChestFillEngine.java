@@ -0,0 +1,343 @@
+package net.lumalyte.lumasg.chest;
+
+import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.arena.Arena;
+import net.lumalyte.lumasg.util.cache.LootTableCache;
+import net.lumalyte.lumasg.util.concurrent.TickBudgetedExecutor;
+import net.lumalyte.lumasg.util.concurrent.WorkerPool;
+import net.lumalyte.lumasg.util.core.DebugLogger;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The single chest-filling engine used by every game.
+ *
+ * <p>A fill runs in three steps. The tier of each chest is drawn from the
+ * {@code chest-tiers} policy through {@link ChestManager#selectTier()}. Its
+ * contents are then taken from the {@link LootTableCache} pool or rolled with
+ * {@link ChestManager#rollChestContents(String, int)} on the plugin's
+ * {@link WorkerPool}. Finally the finished slot layout is written on the server
+ * thread through the plugin's {@link TickBudgetedExecutor}.</p>
+ *
+ * <p>The engine owns no threads; its thread count and queue length are those
+ * of the worker pool. Only the number of chests rolled per task is read from
+ * {@code performance.chest-filling.batch-size}.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public class ChestFillEngine {
+
+    /** Number of slots in a single chest */
+    private static final int CHEST_SIZE = 27;
+
+    private static final int DEFAULT_BATCH_SIZE = 16;
+
+    private final @NotNull LumaSG plugin;
+    private final @NotNull DebugLogger.ContextualLogger logger;
+    private final @NotNull ChestManager chestManager;
+
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+
+    /** Fills that have started but not finished writing */
+    private final AtomicInteger activeFills = new AtomicInteger(0);
+    private final AtomicLong chestsFilled = new AtomicLong(0);
+    private final AtomicLong chestsFailed = new AtomicLong(0);
+
+    /**
+     * Receives progress updates while a fill is being applied.
+     *
+     * <p>Called on the server thread once for every chest, after the write
+     * for that chest has been attempted.</p>
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Called after one chest has been written or has failed.
+         *
+         * @param location The chest location
+         * @param filled true if the chest was written, false if it failed
+         * @param completed Number of chests finished so far, including this one
+         * @param total Number of chests in the fill
+         */
+        void onProgress(@NotNull Location location, boolean filled, int completed, int total);
+    }
+
+    /**
+     * Outcome of a finished fill.
+     *
+     * @param label The fill label, usually the game and arena
+     * @param total Number of chest locations in the fill
+     * @param filled Number of chests written
+     * @param failed Number of chests that could not be rolled or written
+     * @param rollNanos Time from the start of the fill until every chest was rolled
+     * @param applyReport Main-thread cost of the writes
+     */
+    public record FillResult(@NotNull String label, int total, int filled, int failed, long rollNanos,
+                             @NotNull TickBudgetedExecutor.BatchReport applyReport) {
+
+        /**
+         * Gets the roll time in milliseconds.
+         *
+         * @return The roll time in milliseconds
+         */
+        public double rollMillis() {
+            return rollNanos / 1_000_000.0;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return String.format("%s: %d/%d chests filled (%d failed), rolled in %.2fms, %d ticks, %.2fms main-thread",
+                label, filled, total, failed, rollMillis(), applyReport.ticksUsed(), applyReport.mainThreadMillis());
+        }
+    }
+
+    /**
+     * Creates the engine.
+     *
+     * @param plugin The plugin instance
+     * @param chestManager The chest manager supplying tiers and loot
+     */
+    public ChestFillEngine(@NotNull LumaSG plugin, @NotNull ChestManager chestManager) {
+        this.plugin = plugin;
+        this.logger = plugin.getDebugLogger().forContext("ChestFillEngine");
+        this.chestManager = chestManager;
+        loadConfiguration();
+    }
+
+    /**
+     * Re-reads {@code performance.chest-filling.batch-size}.
+     */
+    public void loadConfiguration() {
+        batchSize = Math.max(1, plugin.getConfig().getInt("performance.chest-filling.batch-size", DEFAULT_BATCH_SIZE));
+    }
+
+    /**
+     * Fills every chest of an arena, rescanning first only if the arena's
+     * chest index is stale.
+     *
+     * @param label A label for logging and metrics, such as the game ID
+     * @param arena The arena whose chests to fill
+     * @param listener Optional progress listener, called on the server thread
+     * @return A future completing with the fill result once every write has run
+     */
+    public @NotNull CompletableFuture<FillResult> fillArena(@NotNull String label, @NotNull Arena arena,
+                                                            @Nullable ProgressListener listener) {
+        return arena.ensureChestIndex()
+            .thenCompose(count -> fill(label + " (" + arena.getName() + ")", arena.getChestLocations(), listener));
+    }
+
+    /**
+     * Fills the chests at the given locations.
+     *
+     * <p>Tiers and contents are rolled on the worker pool, in tasks of
+     * {@code performance.chest-filling.batch-size} chests, and only the
+     * inventory writes reach the server thread. Each half of a double chest is
+     * filled on its own. Safe to call from any thread.</p>
+     *
+     * <p>Tasks the full worker queue turns away are submitted again later, so
+     * every chest is rolled. If the worker pool stops first, the returned
+     * future completes exceptionally.</p>
+     *
+     * @param label A label for logging and metrics
+     * @param locations The chest locations
+     * @param listener Optional progress listener, called on the server thread
+     * @return A future completing with the fill result once every write has run
+     */
+    public @NotNull CompletableFuture<FillResult> fill(@NotNull String label, @NotNull Collection<Location> locations,
+                                                       @Nullable ProgressListener listener) {
+        WorkerPool pool = plugin.getWorkerPool();
+        List<Location> chests = List.copyOf(locations);
+        int total = chests.size();
+        long started = System.nanoTime();
+        AtomicInteger filled = new AtomicInteger(0);
+        AtomicInteger failed = new AtomicInteger(0);
+        AtomicInteger completed = new AtomicInteger(0);
+        TickBudgetedExecutor.Batch batch = plugin.getTickBudgetedExecutor().newBatch("Chest fill " + label);
+
+        activeFills.incrementAndGet();
+        List<Runnable> slices = new ArrayList<>();
+        for (int from = 0; from < total; from += batchSize) {
+            List<Location> slice = chests.subList(from, Math.min(from + batchSize, total));
+            slices.add(() -> rollSlice(slice, total, batch, filled, failed, completed, listener));
+        }
+
+        long[] rollNanos = new long[1];
+        return submitSlices(label, pool, slices)
+            .thenCompose(ignored -> {
+                rollNanos[0] = System.nanoTime() - started;
+                return batch.seal();
+            })
+            .thenApply(report -> {
+                int missing = total - filled.get() - failed.get();
+                FillResult result = new FillResult(label, total, filled.get(), failed.get() + missing,
+                    rollNanos[0], report);
+                chestsFilled.addAndGet(result.filled());
+                chestsFailed.addAndGet(result.failed());
+                logger.info("Chest filling complete - " + result);
+                return result;
+            })
+            .whenComplete((result, error) -> activeFills.decrementAndGet());
+    }
+
+    /**
+     * Submits roll tasks to the worker pool without ever dropping one.
+     *
+     * <p>When the queue is full, the remaining tasks are submitted again from
+     * a worker thread once the tasks already queued have run, or on the next
+     * tick if none could be queued. Worker threads are never rejected while
+     * the pool runs, so the retry always makes progress.</p>
+     *
+     * @return A future completing once every task has run, or exceptionally if the pool stops
+     */
+    private @NotNull CompletableFuture<Void> submitSlices(@NotNull String label, @NotNull WorkerPool pool,
+                                                          @NotNull List<Runnable> slices) {
+        List<CompletableFuture<Void>> rolls = new ArrayList<>();
+        for (int i = 0; i < slices.size(); i++) {
+            try {
+                rolls.add(CompletableFuture.runAsync(slices.get(i), pool));
+            } catch (RejectedExecutionException e) {
+                if (!pool.isRunning()) {
+                    rolls.add(CompletableFuture.failedFuture(e));
+                    break;
+                }
+
+                List<Runnable> remaining = slices.subList(i, slices.size());
+                logger.debug("Worker queue is full - deferring " + remaining.size() + " roll tasks of " + label);
+                CompletableFuture<Void> queued = CompletableFuture.allOf(rolls.toArray(new CompletableFuture[0]));
+                rolls.add(rolls.isEmpty()
+                    ? submitNextTick(label, pool, remaining)
+                    : queued.handle((ignored, error) -> null)
+                        .thenCompose(ignored -> submitSlices(label, pool, remaining)));
+                break;
+            }
+        }
+        return CompletableFuture.allOf(rolls.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Retries {@link #submitSlices} on the next server tick.
+     */
+    private @NotNull CompletableFuture<Void> submitNextTick(@NotNull String label, @NotNull WorkerPool pool,
+                                                            @NotNull List<Runnable> slices) {
+        CompletableFuture<Void> retried = new CompletableFuture<>();
+        try {
+            plugin.getServer().getScheduler().runTaskLater(plugin, () ->
+                submitSlices(label, pool, slices).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        retried.completeExceptionally(error);
+                    } else {
+                        retried.complete(null);
+                    }
+                }), 1L);
+        } catch (Exception e) {
+            // Plugin is disabling
+            retried.completeExceptionally(e);
+        }
+        return retried;
+    }
+
+    /**
+     * Rolls one slice of a fill and queues the writes. Runs on a worker thread.
+     */
+    private void rollSlice(@NotNull List<Location> slice, int total, @NotNull TickBudgetedExecutor.Batch batch,
+                           @NotNull AtomicInteger filled, @NotNull AtomicInteger failed,
+                           @NotNull AtomicInteger completed, @Nullable ProgressListener listener) {
+        for (Location location : slice) {
+            try {
+                String tier = chestManager.selectTier();
+                ItemStack[] contents = rollContents(tier);
+                batch.submit(() -> {
+                    boolean written = applyContents(location, tier, contents);
+                    (written ? filled : failed).incrementAndGet();
+                    notifyProgress(listener, location, written, completed.incrementAndGet(), total);
+                });
+            } catch (Exception e) {
+                logger.warn("Error rolling loot for chest at " + location, e);
+                failed.incrementAndGet();
+                batch.submit(() -> notifyProgress(listener, location, false, completed.incrementAndGet(), total));
+            }
+        }
+    }
+
+    /**
+     * Gets the contents for one chest of a tier, preferring a pre-rolled chest
+     * from the loot pool and rolling one here on a pool miss.
+     *
+     * @param tier The chest tier
+     * @return The slot-by-slot contents
+     */
+    private @NotNull ItemStack[] rollContents(@NotNull String tier) {
+        LootTableCache.PreGeneratedChest preRolled = LootTableCache.getPreGeneratedChest(tier);
+        return preRolled != null
+            ? preRolled.toContents(CHEST_SIZE)
+            : chestManager.rollChestContents(tier, CHEST_SIZE);
+    }
+
+    /**
+     * Writes rolled contents into a chest. Runs on the server thread.
+     *
+     * @return true if the chest was written
+     */
+    private boolean applyContents(@NotNull Location location, @NotNull String tier, @NotNull ItemStack[] contents) {
+        Block block = location.getBlock();
+        if (!chestManager.isChest(block)) {
+            logger.debug("Block at " + location + " is not a chest");
+            return false;
+        }
+
+        BlockState state = block.getState();
+        if (!(state instanceof Chest chest)) {
+            return false;
+        }
+
+        // Only this half of a double chest, so each half keeps its own roll
+        chest.getBlockInventory().setContents(contents);
+        logger.debug("Filled chest at " + location + " with tier " + tier);
+        return true;
+    }
+
+    private void notifyProgress(@Nullable ProgressListener listener, @NotNull Location location, boolean filled,
+                                int completed, int total) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onProgress(location, filled, completed, total);
+        } catch (Exception e) {
+            logger.warn("Chest fill progress listener failed", e);
+        }
+    }
+
+    /**
+     * Gets engine statistics for monitoring.
+     *
+     * @return A one-line summary of the worker pool and fill counters
+     */
+    public @NotNull String getStats() {
+        WorkerPool pool = plugin.getWorkerPool();
+        return String.format("ChestFillEngine - %d worker threads (%d active), %d queued tasks, %d fills running, "
+                + "%d chests filled, %d failed",
+            pool.getThreadCount(),
+            pool.getActiveCount(),
+            pool.getQueuedTaskCount(),
+            activeFills.get(),
+            chestsFilled.get(),
+            chestsFailed.get());
+    }
+}
@@ -1,6 +1,8 @@
 package net.lumalyte.lumasg.chest;
 
 import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.customitems.CustomItem;
+import net.lumalyte.lumasg.customitems.CustomItemsManager;
 import net.lumalyte.lumasg.exception.LumaSGException;
 import net.lumalyte.lumasg.util.core.DebugLogger;
 import org.bukkit.Location;
@@ -22,7 +24,6 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
 
 /**
  * Manages chest loot generation and distribution in Survival Games.
@@ -61,6 +62,25 @@ public class ChestManager {
     /** ReadWriteLock for chest items operations */
     private final ReadWriteLock itemsLock = new ReentrantReadWriteLock();
 
+    /**
+     * Precomputed weighted samplers keyed by lower-case tier name, covering both
+     * regular and custom items. Rebuilt on every load and replaced as a whole.
+     */
+    private volatile @NotNull Map<String, AliasSampler<ChestItem>> tierSamplers = Map.of();
+
+    /**
+     * Chest tier policy built from the {@code chest-tiers} section of config.yml.
+     * Only tiers that have loot are included. Rebuilt together with the samplers.
+     */
+    private volatile @NotNull AliasSampler<String> tierPolicy = AliasSampler.empty();
+
+    /** Tier used when no tier has any loot configured */
+    private static final String FALLBACK_TIER = "common";
+
+    /** Inclusive bounds on the number of items rolled into one chest */
+    private volatile int minItemsPerChest = 3;
+    private volatile int maxItemsPerChest = 8;
+
     /**
      * Constructs a new ChestManager instance.
      * 
@@ -94,6 +114,8 @@ public class ChestManager {
         itemsLock.writeLock().lock();
         try {
             chestItems.clear();
+            tierSamplers = Map.of();
+            tierPolicy = AliasSampler.empty();
         } finally {
             itemsLock.writeLock().unlock();
         }
@@ -217,10 +239,14 @@ public class ChestManager {
                     itemsLock.writeLock().unlock();
                 }
 
-                // Log the number of items loaded per tier (using read lock)
+                // Log the number of items loaded per tier and build the samplers (using read lock)
                 itemsLock.readLock().lock();
                 try {
                     logLoadingSummary();
+                    Map<String, AliasSampler<ChestItem>> samplers = buildTierSamplers();
+                    tierSamplers = samplers;
+                    tierPolicy = buildTierPolicy(samplers);
+                    loadItemCountBounds();
                 } finally {
                     itemsLock.readLock().unlock();
                 }
@@ -231,6 +257,111 @@ public class ChestManager {
         });
     }
 
+    /**
+     * Builds one alias sampler per tier from the loaded chest items and the
+     * custom items that can appear in that tier.
+     *
+     * <p>
+     * Custom item stacks are created here once per load rather than once per
+     * chest; {@link ChestItem#getItemStack(LumaSG)} clones the template on
+     * every draw, so sharing the instances is safe.
+     * </p>
+     *
+     * @return An immutable map of lower-case tier names to samplers
+     */
+    private @NotNull Map<String, AliasSampler<ChestItem>> buildTierSamplers() {
+        Map<String, List<ChestItem>> lootByTier = new HashMap<>();
+        for (ChestItem item : chestItems) {
+            String tier = item.getTier();
+            if (tier != null && !tier.isEmpty()) {
+                lootByTier.computeIfAbsent(tier.toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(item);
+            }
+        }
+
+        CustomItemsManager customItemsManager = plugin.getCustomItemsManager();
+        if (customItemsManager != null) {
+            Set<String> customTiers = new HashSet<>();
+            for (CustomItem customItem : customItemsManager.getAllCustomItems()) {
+                customTiers.addAll(customItem.getLootSettings().getTiers());
+            }
+            for (String tier : customTiers) {
+                List<ChestItem> customItems = customItemsManager.getChestItemsForTier(tier);
+                if (!customItems.isEmpty()) {
+                    lootByTier.computeIfAbsent(tier.toLowerCase(Locale.ROOT), key -> new ArrayList<>())
+                            .addAll(customItems);
+                }
+            }
+        } else {
+            logger.warn("CustomItemsManager is null - custom items will not be added to loot pool");
+        }
+
+        Map<String, AliasSampler<ChestItem>> samplers = new HashMap<>();
+        for (Map.Entry<String, List<ChestItem>> entry : lootByTier.entrySet()) {
+            samplers.put(entry.getKey(), AliasSampler.of(entry.getValue(), ChestItem::getChance));
+            logger.debug("Built loot sampler for tier " + entry.getKey() + " with " + entry.getValue().size() + " items");
+        }
+        return Map.copyOf(samplers);
+    }
+
+    /**
+     * Builds the chest tier policy from the {@code chest-tiers} config section.
+     *
+     * <p>
+     * Each key is a tier name and each value its relative weight. Tiers without
+     * any loot are left out so a chest never rolls an empty tier. If the section
+     * is missing or none of its tiers have loot, every tier with loot is drawn
+     * with equal weight.
+     * </p>
+     *
+     * @param samplers The freshly built loot samplers
+     * @return The tier sampler, or an empty sampler if no tier has loot
+     */
+    private @NotNull AliasSampler<String> buildTierPolicy(@NotNull Map<String, AliasSampler<ChestItem>> samplers) {
+        List<String> tiers = new ArrayList<>();
+        Map<String, Double> weights = new HashMap<>();
+
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("chest-tiers");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                String tier = key.toLowerCase(Locale.ROOT);
+                double weight = section.getDouble(key, 0.0);
+                if (weight <= 0) {
+                    continue;
+                }
+                AliasSampler<ChestItem> loot = samplers.get(tier);
+                if (loot == null || loot.isEmpty()) {
+                    logger.warn("Chest tier " + key + " has a weight in chest-tiers but no loot in chest.yml - skipping");
+                    continue;
+                }
+                tiers.add(tier);
+                weights.put(tier, weight);
+            }
+        }
+
+        if (tiers.isEmpty()) {
+            tiers.addAll(samplers.keySet());
+            Collections.sort(tiers);
+            if (!tiers.isEmpty()) {
+                logger.warn("No usable chest-tiers weights configured - drawing tiers " + tiers + " uniformly");
+            }
+            return AliasSampler.of(tiers, tier -> 1.0);
+        }
+
+        logger.debug("Chest tier policy: " + weights);
+        return AliasSampler.of(tiers, weights::get);
+    }
+
+    /**
+     * Reads the per-chest item count bounds from {@code chest.min-items} and
+     * {@code chest.max-items}.
+     */
+    private void loadItemCountBounds() {
+        int min = Math.max(1, plugin.getConfig().getInt("chest.min-items", 3));
+        int max = Math.max(min, plugin.getConfig().getInt("chest.max-items", 8));
+        minItemsPerChest = min;
+        maxItemsPerChest = max;
+    }
+
     /**
      * Fills a chest at the specified location with randomized loot.
      * 
@@ -266,12 +397,35 @@ public class ChestManager {
 
         logger.debug("Filling chest at " + location.toString() + " with tier: " + tier);
 
-        // Get loot for this tier
-        List<ChestItem> loot = getLootForTier(tier);
+        ItemStack[] contents = rollChestContents(tier, inventory.getSize());
+        inventory.setContents(contents);
+
+        return Arrays.stream(contents).anyMatch(Objects::nonNull);
+    }
+
+    /**
+     * Rolls the contents of a chest without touching the world.
+     *
+     * <p>
+     * The result is laid out slot by slot and can be applied with
+     * {@link Inventory#setContents(ItemStack[])}. Because no block or inventory
+     * is accessed, this is safe to call off the main thread, which lets callers
+     * prepare loot on worker threads and only apply it on the server thread.
+     * </p>
+     *
+     * @param tier The loot tier to use
+     * @param size The number of slots in the target inventory
+     * @return The rolled contents, with null for empty slots
+     */
+    public @NotNull ItemStack[] rollChestContents(@NotNull String tier, int size) {
+        ItemStack[] contents = new ItemStack[size];
+
+        // Get the precomputed sampler for this tier
+        AliasSampler<ChestItem> loot = getTierSampler(tier);
         logger.debug("Got " + loot.size() + " possible items for tier: " + tier);
 
         // Fill chest with random items
-        int itemCount = ThreadLocalRandom.current().nextInt(4, 7); // 4-6 items per chest
+        int itemCount = ThreadLocalRandom.current().nextInt(minItemsPerChest, maxItemsPerChest + 1);
         int filledSlots = 0;
         int attempts = 0;
         int maxAttempts = 50; // Prevent infinite loops
@@ -282,7 +436,7 @@ public class ChestManager {
             attempts++;
 
             // Get a random item from the loot pool
-            ChestItem selectedItem = getRandomItem(loot);
+            ChestItem selectedItem = loot.sample();
             if (selectedItem == null) {
                 logger.debug("Failed to select an item from loot pool (attempt " + attempts + ")");
                 continue;
@@ -304,14 +458,14 @@ public class ChestManager {
             itemStack.setAmount(amount);
 
             // Find a random empty slot
-            int slot = getRandomEmptySlot(inventory);
+            int slot = getRandomEmptySlot(contents);
             if (slot == -1) {
                 logger.debug("No empty slots found in chest (attempt " + attempts + ")");
                 break;
             }
 
             // Add the item to the chest
-            inventory.setItem(slot, itemStack);
+            contents[slot] = itemStack;
             filledSlots++;
 
             logger.debug("Added item to chest - Material: " + itemStack.getType() +
@@ -320,17 +474,16 @@ public class ChestManager {
                     " (attempt " + attempts + ")");
         }
 
-        logger.debug("Chest filling complete - Added " + filledSlots + " items in " + attempts + " attempts");
-        return filledSlots > 0;
+        logger.debug("Chest roll complete - Added " + filledSlots + " items in " + attempts + " attempts");
+        return contents;
     }
 
     /**
      * Fills a chest with loot from a random tier.
      *
      * <p>
-     * This method randomly selects a loot tier and fills the chest with
-     * items from that tier. The selection is weighted based on tier rarity
-     * if configured.
+     * The tier is drawn from the {@code chest-tiers} policy, the same one used
+     * by {@link ChestFillEngine} for whole arenas.
      * </p>
      *
      * @param location The location of the chest to fill
@@ -341,15 +494,7 @@ public class ChestManager {
             return;
         }
 
-        // Select a random tier from available items
-        Set<String> availableTiers = getTiers();
-        if (availableTiers.isEmpty()) {
-            logger.warn("No tiers available for chest filling");
-            return;
-        }
-
-        String[] tierArray = availableTiers.toArray(new String[0]);
-        String tier = tierArray[ThreadLocalRandom.current().nextInt(tierArray.length)];
+        String tier = selectTier();
         try {
             fillChest(location, tier);
         } catch (LumaSGException.ChestException e) {
@@ -358,99 +503,59 @@ public class ChestManager {
     }
 
     /**
-     * Gets the loot table for a specific tier.
-     * 
+     * Draws a chest tier from the {@code chest-tiers} policy.
+     *
      * <p>
-     * This method returns all chest items that belong to the specified tier.
+     * Constant time and safe to call from any thread.
      * </p>
-     * 
-     * @param tier The loot tier to get items for
-     * @return A list of ChestItem objects for the tier, or empty list if not found
+     *
+     * @return The lower-case tier name, or {@code common} if no tier has loot
      */
-    private @NotNull List<ChestItem> getLootForTier(@NotNull String tier) {
-        itemsLock.readLock().lock();
-        try {
-            List<ChestItem> loot = new ArrayList<>(chestItems.stream()
-                    .filter(item -> tier.equalsIgnoreCase(item.getTier()))
-                    .collect(Collectors.toList()));
-
-            logger.debug("Found " + loot.size() + " regular items for tier: " + tier);
-
-            // Add custom items for this tier
-            if (plugin.getCustomItemsManager() != null) {
-                List<ChestItem> customItems = plugin.getCustomItemsManager().getChestItemsForTier(tier);
-                logger.debug("Found " + customItems.size() + " custom items for tier: " + tier);
-
-                for (ChestItem item : customItems) {
-                    logger.debug("Adding custom item to loot pool - Material: " +
-                            (item.getItemStack(plugin) != null ? item.getItemStack(plugin).getType() : "null") +
-                            ", Chance: " + item.getChance() +
-                            ", Amount: " + item.getMinAmount() + "-" + item.getMaxAmount());
-                }
-
-                loot.addAll(customItems);
-                logger.debug("Total items in loot pool for tier " + tier + ": " + loot.size());
-            } else {
-                logger.warn("CustomItemsManager is null - custom items will not be added to loot pool");
-            }
+    public @NotNull String selectTier() {
+        String tier = tierPolicy.sample();
+        return tier != null ? tier : FALLBACK_TIER;
+    }
 
-            return loot;
-        } finally {
-            itemsLock.readLock().unlock();
-        }
+    /**
+     * Gets the tiers the chest tier policy can draw.
+     *
+     * @return An unmodifiable list of lower-case tier names
+     */
+    public @NotNull List<String> getPolicyTiers() {
+        return tierPolicy.getItems();
     }
 
     /**
-     * Selects a random item from a list of loot items.
+     * Gets the precomputed weighted sampler for a tier.
      * 
      * <p>
-     * This method uses the chance/rarity system to select items. Items
-     * with higher chances have a greater probability of being selected.
+     * The sampler covers every regular and custom item configured for the
+     * tier and draws in constant time without allocating. It is immutable and
+     * may be used from any thread; a reload replaces it rather than changing it.
      * </p>
      * 
-     * @param loot The list of loot items to choose from
-     * @return A randomly selected ChestItem, or null if the list is empty
+     * @param tier The loot tier, matched case-insensitively
+     * @return The sampler for the tier, or an empty sampler if the tier has no items
      */
-    private @Nullable ChestItem getRandomItem(@NotNull List<ChestItem> loot) {
-        if (loot.isEmpty()) {
-            return null;
-        }
-
-        ThreadLocalRandom random = ThreadLocalRandom.current();
-
-        // Calculate total weight
-        double totalWeight = loot.stream().mapToDouble(ChestItem::getChance).sum();
-        if (totalWeight <= 0) {
-            // If no weights are set, use uniform distribution
-            return loot.get(random.nextInt(loot.size()));
-        }
-
-        // Weighted random selection
-        double randomValue = random.nextDouble() * totalWeight;
-        double currentWeight = 0;
-
-        for (ChestItem item : loot) {
-            currentWeight += item.getChance();
-            if (randomValue <= currentWeight) {
-                return item;
-            }
+    public @NotNull AliasSampler<ChestItem> getTierSampler(@Nullable String tier) {
+        if (tier == null || tier.isEmpty()) {
+            return AliasSampler.empty();
         }
-
-        // Fallback to last item if rounding errors occur
-        return loot.getLast();
+        AliasSampler<ChestItem> sampler = tierSamplers.get(tier.toLowerCase(Locale.ROOT));
+        return sampler != null ? sampler : AliasSampler.empty();
     }
 
     /**
-     * Finds a random empty slot in the chest inventory.
+     * Finds a random empty slot in a chest layout.
      * 
-     * @param inventory The chest inventory to search
+     * @param contents The slot-by-slot chest contents
      * @return The index of a random empty slot, or -1 if no empty slots
      */
-    private int getRandomEmptySlot(@NotNull Inventory inventory) {
+    private int getRandomEmptySlot(@NotNull ItemStack[] contents) {
         List<Integer> emptySlots = new ArrayList<>();
 
-        for (int i = 0; i < inventory.getSize(); i++) {
-            if (inventory.getItem(i) == null) {
+        for (int i = 0; i < contents.length; i++) {
+            if (contents[i] == null) {
                 emptySlots.add(i);
             }
         }
@@ -542,38 +647,21 @@ public class ChestManager {
      * @return The item stack, or null if no item was selected
      */
     public @Nullable ItemStack getRandomItem(String tier) {
-        List<ChestItem> items = getTierItems(tier);
-        if (items.isEmpty()) {
+        ChestItem item = getTierSampler(tier).sample();
+        if (item == null) {
             return null;
         }
 
-        // Calculate total chance
-        double totalChance = 0;
-        for (ChestItem item : items) {
-            totalChance += item.getChance();
-        }
-
-        // Select a random item based on chance
-        double randomValue = ThreadLocalRandom.current().nextDouble() * totalChance;
-        double currentChance = 0;
-
-        for (ChestItem item : items) {
-            currentChance += item.getChance();
-            if (randomValue <= currentChance) {
-                ItemStack itemStack = item.getItemStack(plugin);
-                if (itemStack != null) {
-                    // Randomize amount
-                    int amount = item.getMinAmount();
-                    if (item.getMaxAmount() > item.getMinAmount()) {
-                        amount += ThreadLocalRandom.current().nextInt(item.getMaxAmount() - item.getMinAmount() + 1);
-                    }
-                    itemStack.setAmount(amount);
-                    return itemStack;
-                }
+        ItemStack itemStack = item.getItemStack(plugin);
+        if (itemStack != null) {
+            // Randomize amount
+            int amount = item.getMinAmount();
+            if (item.getMaxAmount() > item.getMinAmount()) {
+                amount += ThreadLocalRandom.current().nextInt(item.getMaxAmount() - item.getMinAmount() + 1);
             }
+            itemStack.setAmount(amount);
         }
-
-        return null;
+        return itemStack;
     }
 
     /**
@@ -585,15 +673,15 @@ public class ChestManager {
      */
     public @NotNull List<ItemStack> getRandomItems(@NotNull String tier, int count) {
         List<ItemStack> items = new ArrayList<>();
-        List<ChestItem> tierItems = getTierItems(tier);
+        AliasSampler<ChestItem> sampler = getTierSampler(tier);
 
-        if (tierItems.isEmpty()) {
+        if (sampler.isEmpty()) {
             logger.warn("No items found for tier: " + tier);
             return items;
         }
 
         for (int i = 0; i < count; i++) {
-            ChestItem chestItem = getRandomItem(tierItems);
+            ChestItem chestItem = sampler.sample();
             if (chestItem != null) {
                 ItemStack item = chestItem.getItemStack(plugin);
                 if (item != null) {
@@ -2,6 +2,8 @@ package net.lumalyte.lumasg.commands;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -38,9 +40,11 @@ import net.lumalyte.lumasg.game.core.GameManager;
 import net.lumalyte.lumasg.game.core.GameState;
 import net.lumalyte.lumasg.gui.menus.MainMenu;
 import net.lumalyte.lumasg.util.cache.CacheManager;
+import net.lumalyte.lumasg.util.cache.LootTableCache;
 import net.lumalyte.lumasg.util.core.DebugLogger;
 import net.lumalyte.lumasg.util.game.InvitationManager;
 import net.lumalyte.lumasg.util.messaging.MiniMessageUtils;
+import net.lumalyte.lumasg.util.performance.PerformanceTestUtil;
 import net.lumalyte.lumasg.util.cache.PlayerDataCache;
 import net.lumalyte.lumasg.util.cache.SkinCache;
 
@@ -228,12 +232,24 @@ public class SGCommand {
                         .suggests(this::suggestActiveArenas)
                         .executes(this::debugSpawnMeteor)))
                 .then(Commands.literal("cache-stats")
-                    .executes(this::showCacheStats)))
+                    .executes(this::showCacheStats))
+                .then(Commands.literal("game-stats")
+                    .executes(this::showGameStats))
+                .then(Commands.literal("snapshot-perf")
+                    .then(Commands.argument("players", IntegerArgumentType.integer(1, 200))
+                        .executes(context -> testSnapshotPerformance(context,
+                            IntegerArgumentType.getInteger(context, "players"))))
+                    .executes(context -> testSnapshotPerformance(context, 24))))
             .then(Commands.literal("create")
                 .requires(source -> source.getSender().hasPermission("lumasg.command.sg.admin"))
                 .then(Commands.argument("name", StringArgumentType.word())
                     .then(Commands.argument("radius", IntegerArgumentType.integer(10, 1000))
                         .executes(this::createArena))))
+            .then(Commands.literal("scanchests")
+                .requires(source -> source.getSender().hasPermission("lumasg.command.sg.admin"))
+                .then(Commands.argument("arena", StringArgumentType.word())
+                    .suggests(this::suggestArenas)
+                    .executes(this::scanArenaChests)))
             .then(Commands.literal("arena")
                 .requires(source -> source.getSender().hasPermission("lumasg.command.sg.admin"))
                 .then(Commands.literal("select")
@@ -1015,6 +1031,7 @@ public class SGCommand {
         
         try {
             getPlugin().reloadConfig();
+            MiniMessageUtils.clearTemplateCache();
             sender.sendMessage(Component.text("LumaSG configuration reloaded successfully!", NamedTextColor.GREEN));
             logger.info("Configuration reloaded by " + sender.getName());
             return 1;
@@ -1080,6 +1097,8 @@ public class SGCommand {
                 .append(Component.text(" - Remove player from game", NamedTextColor.GRAY)));
             sender.sendMessage(Component.text("/sg forcestart <arena>", NamedTextColor.YELLOW)
                 .append(Component.text(" - Force start a game", NamedTextColor.GRAY)));
+            sender.sendMessage(Component.text("/sg scanchests <arena>", NamedTextColor.YELLOW)
+                .append(Component.text(" - Rescan an arena for chests", NamedTextColor.GRAY)));
         }
         
         return 1;
@@ -1159,6 +1178,34 @@ public class SGCommand {
         return 1;
     }
 
+    /**
+     * Rescans an arena for chests, regardless of whether its chest index is current.
+     */
+    private int scanArenaChests(CommandContext<CommandSourceStack> context) {
+        // Initialize managers if needed
+        initializeManagers();
+        
+        CommandSender sender = context.getSource().getSender();
+        String arenaName = StringArgumentType.getString(context, "arena");
+        
+        Arena arena = arenaManager.getArena(arenaName);
+        if (arena == null) {
+            sender.sendMessage(Component.text("Arena '" + arenaName + "' not found!", NamedTextColor.RED));
+            return 0;
+        }
+        
+        sender.sendMessage(Component.text("Scanning arena '" + arena.getName() + "' for chests...", NamedTextColor.YELLOW));
+        arena.scanForChests().whenComplete((chestCount, error) -> Bukkit.getScheduler().runTask(getPlugin(), () -> {
+            if (error != null) {
+                sender.sendMessage(Component.text("Chest scan failed for arena '" + arena.getName() + "'", NamedTextColor.RED));
+            } else {
+                sender.sendMessage(Component.text("Found " + chestCount + " chests in arena '" + arena.getName() + "'", NamedTextColor.GREEN));
+            }
+        }));
+        
+        return 1;
+    }
+
     /**
      * Selects an arena for editing.
      */
@@ -1438,6 +1485,23 @@ public class SGCommand {
             String playerDataStats = PlayerDataCache.getCacheStats();
             player.sendMessage(Component.text("Player Data: " + playerDataStats, NamedTextColor.GREEN));
             
+            // Pre-rolled loot pool stats
+            player.sendMessage(Component.text("Loot Pools: " + LootTableCache.getCacheStats(), NamedTextColor.GREEN));
+            for (LootTableCache.TierPoolStats tierStats : LootTableCache.getPoolStats().values()) {
+                player.sendMessage(Component.text("  " + tierStats, NamedTextColor.GRAY));
+            }
+            
+            // Statistics cache and write-behind stats
+            player.sendMessage(Component.text(plugin.getStatisticsManager().getCacheStats(), NamedTextColor.GREEN));
+            
+            // Database executor backpressure and per-query timings
+            for (String line : plugin.getStatisticsManager().getDatabaseStats().split("\n")) {
+                player.sendMessage(Component.text(line, NamedTextColor.GRAY));
+            }
+            
+            // Chest fill engine stats
+            player.sendMessage(Component.text("Chest Filling: " + plugin.getChestFillEngine().getStats(), NamedTextColor.GREEN));
+            
             // Invitation manager stats
             String invitationStats = InvitationManager.getStats();
             player.sendMessage(Component.text("Invitations: " + invitationStats, NamedTextColor.GREEN));
@@ -1459,4 +1523,53 @@ public class SGCommand {
         
         return 1;
     }
-} 
+
+    /**
+     * Times storing and restoring the inventory snapshots of a lobby joining
+     * and leaving a game at once, using generated test inventories.
+     */
+    private int testSnapshotPerformance(CommandContext<CommandSourceStack> context, int players) {
+        CommandSender sender = context.getSource().getSender();
+        sender.sendMessage(Component.text("Timing inventory snapshots for " + players + " players...", NamedTextColor.YELLOW));
+        
+        PerformanceTestUtil.testInventorySnapshotPerformance(players).whenComplete((results, error) ->
+            Bukkit.getScheduler().runTask(getPlugin(), () -> {
+                if (error != null) {
+                    sender.sendMessage(Component.text("Snapshot test failed: " + error.getMessage(), NamedTextColor.RED));
+                    return;
+                }
+                for (String line : results.split("\n")) {
+                    if (!line.isEmpty()) {
+                        sender.sendMessage(Component.text(line, NamedTextColor.GRAY));
+                    }
+                }
+            }));
+        return 1;
+    }
+
+    /**
+     * Shows the nameplate and scoreboard metrics of every active game.
+     */
+    private int showGameStats(CommandContext<CommandSourceStack> context) {
+        // Initialize managers if needed
+        initializeManagers();
+        
+        CommandSender sender = context.getSource().getSender();
+        List<Game> games = gameManager.getActiveGames();
+        if (games.isEmpty()) {
+            sender.sendMessage(Component.text("No active games.", NamedTextColor.YELLOW));
+            return 1;
+        }
+        
+        sender.sendMessage(Component.text("=== LumaSG Game Stats ===", NamedTextColor.GOLD));
+        for (Game game : games) {
+            sender.sendMessage(Component.text(game.getArena().getName() + " (" + game.getState() + ")", NamedTextColor.AQUA));
+            for (Map.Entry<String, Map<String, Object>> component : new TreeMap<>(game.getDebugInfo()).entrySet()) {
+                sender.sendMessage(Component.text("  " + component.getKey() + ": " + new TreeMap<>(component.getValue()),
+                    NamedTextColor.GRAY));
+            }
+        }
+        sender.sendMessage(Component.text("=====================================", NamedTextColor.GOLD));
+        return 1;
+    }
+}
@@ -11,6 +11,7 @@ import net.kyori.adventure.text.format.TextColor;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -38,6 +39,12 @@ import java.util.concurrent.ConcurrentHashMap;
  *   <li>Configurable update intervals</li>
  * </ul>
  * 
+ * <p>Each update takes one snapshot of player positions and kills per game,
+ * shared by every tracker in that game. Whether a holder still has the
+ * tracker is only checked again after an inventory event, and compasses are
+ * cached by their packed glyph strip, so holders facing the same way at the
+ * same targets share one component.</p>
+ * 
  * @author LumaLyte
  * @version 1.0
  * @since 1.0
@@ -47,6 +54,10 @@ public class PlayerTrackerBehavior {
     private final LumaSG plugin;
     private final DebugLogger.ContextualLogger logger;
     private final Map<UUID, TrackerData> activeTrackers;
+    /** Holders whose inventory changed since their tracker was last looked for */
+    private final Set<UUID> inventoryChanged = ConcurrentHashMap.newKeySet();
+    /** Rendered compasses keyed by packed glyph strip; server thread only */
+    private final Map<Long, Component> compassCache = new HashMap<>();
     private BukkitRunnable updateTask;
     
     // Compass display constants
@@ -63,6 +74,21 @@ public class PlayerTrackerBehavior {
     private static final TextColor TOP_KILLER_COLOR = NamedTextColor.DARK_RED;
     private static final TextColor COMPASS_COLOR = NamedTextColor.GRAY;
     
+    // Compass glyphs, packed 3 bits per slot into a cache key
+    private static final byte GLYPH_BAR = 0;
+    private static final byte GLYPH_CLOSE = 1;
+    private static final byte GLYPH_MEDIUM = 2;
+    private static final byte GLYPH_FAR = 3;
+    private static final byte GLYPH_TOP_KILLER = 4;
+    private static final byte GLYPH_AIRDROP = 5;
+    private static final String[] GLYPH_SYMBOLS = {
+        COMPASS_BAR, PLAYER_DOT, PLAYER_DOT, PLAYER_DOT, TOP_KILLER_EMOJI, AIRDROP_EMOJI
+    };
+    private static final TextColor[] GLYPH_COLORS = {
+        COMPASS_COLOR, CLOSE_COLOR, MEDIUM_COLOR, FAR_COLOR, TOP_KILLER_COLOR, NamedTextColor.GOLD
+    };
+    private static final int MAX_CACHED_COMPASSES = 1024;
+    
     /**
      * Creates a new player tracker behavior handler.
      * 
@@ -92,6 +118,8 @@ public class PlayerTrackerBehavior {
             updateTask = null;
         }
         activeTrackers.clear();
+        inventoryChanged.clear();
+        compassCache.clear();
         logger.info("Player Tracker behavior system shut down");
     }
     
@@ -145,11 +173,24 @@ public class PlayerTrackerBehavior {
      */
     public void unregisterTracker(@NotNull Player player) {
         activeTrackers.remove(player.getUniqueId());
+        inventoryChanged.remove(player.getUniqueId());
         // Clear the action bar
         player.sendActionBar(Component.empty());
         logger.debug("Unregistered player tracker for " + player.getName());
     }
     
+    /**
+     * Marks a tracker holder's inventory as changed, so the next update checks
+     * that the tracker is still there. Called from inventory events.
+     * 
+     * @param player The player whose inventory changed
+     */
+    public void markInventoryChanged(@NotNull Player player) {
+        if (activeTrackers.containsKey(player.getUniqueId())) {
+            inventoryChanged.add(player.getUniqueId());
+        }
+    }
+    
     /**
      * Updates all active trackers.
      */
@@ -158,6 +199,10 @@ public class PlayerTrackerBehavior {
             return;
         }
         
+        // One snapshot per game and one list of airdrops, shared by every tracker this update
+        Map<Game, GameSnapshot> snapshots = new HashMap<>();
+        List<Location> airdrops = getAirdropLocations();
+        
         // Collect offline players to remove after iteration
         List<UUID> offlinePlayers = new ArrayList<>();
         
@@ -165,7 +210,7 @@ public class PlayerTrackerBehavior {
             Player player = Bukkit.getPlayer(entry.getKey());
             if (player != null && player.isOnline()) {
                 try {
-                    updateTracker(player, entry.getValue());
+                    updateTracker(player, entry.getValue(), snapshots, airdrops);
                 } catch (Exception e) {
                     logger.warn("Error updating tracker for player " + player.getName(), e);
                     offlinePlayers.add(entry.getKey()); // Remove problematic trackers
@@ -179,41 +224,58 @@ public class PlayerTrackerBehavior {
         // Remove offline or problematic players
         for (UUID playerId : offlinePlayers) {
             activeTrackers.remove(playerId);
+            inventoryChanged.remove(playerId);
         }
     }
     
     /**
-     * Updates a specific player's tracker.
+     * Updates a specific player's tracker on its own, outside the periodic update.
      * 
      * @param player The player holding the tracker
      * @param data The tracker configuration data
      */
     private void updateTracker(@NotNull Player player, @NotNull TrackerData data) {
+        updateTracker(player, data, new HashMap<>(), getAirdropLocations());
+    }
+    
+    /**
+     * Updates a specific player's tracker.
+     * 
+     * @param player The player holding the tracker
+     * @param data The tracker configuration data
+     * @param snapshots Snapshots of the games already taken this update
+     * @param airdrops Locations of the active airdrops
+     */
+    private void updateTracker(@NotNull Player player, @NotNull TrackerData data,
+                               @NotNull Map<Game, GameSnapshot> snapshots, @NotNull List<Location> airdrops) {
         try {
             // Check if player is in a game
             Game game = plugin.getGameManager().getGameByPlayer(player);
             if (game == null) {
+                data.game = null;
                 return;
             }
             
-            // Check if player still has the tracker item
-            if (!hasTrackerInInventory(player)) {
+            // Only look for the tracker again when the inventory changed since the last check.
+            // Joining or leaving a game replaces the inventory without an inventory event, so a
+            // different game than last time counts as a change too.
+            boolean inventoryReplaced = game != data.game;
+            data.game = game;
+            if ((inventoryChanged.remove(player.getUniqueId()) || inventoryReplaced)
+                    && !hasTrackerInInventory(player, data)) {
                 unregisterTracker(player);
                 return;
             }
             
             // Validate player location
             Location playerLocation = player.getLocation();
-            if (playerLocation == null || playerLocation.getWorld() == null) {
+            if (playerLocation.getWorld() == null) {
                 logger.debug("Invalid player location for tracker update: " + player.getName());
                 return;
             }
             
-            // Generate and display the compass
-            Component compass = generateCompass(player, game, data);
-            if (compass != null) {
-                player.sendActionBar(compass);
-            }
+            GameSnapshot snapshot = snapshots.computeIfAbsent(game, this::takeSnapshot);
+            player.sendActionBar(renderCompass(player.getUniqueId(), playerLocation, snapshot, airdrops, data));
         } catch (Exception e) {
             logger.warn("Error updating tracker for player " + player.getName() + ": " + e.getMessage());
             // Don't spam the logs with full stack traces, but log the error
@@ -222,252 +284,202 @@ public class PlayerTrackerBehavior {
     }
     
     /**
-     * Checks if the player has a tracker in their inventory.
+     * Checks if the player still has a tracker in their inventory, looking at
+     * the slot it was last seen in before scanning the rest.
      * 
      * @param player The player to check
+     * @param data The tracker data, whose remembered slot is updated
      * @return True if the player has a tracker
      */
-    private boolean hasTrackerInInventory(@NotNull Player player) {
-        for (ItemStack item : player.getInventory().getContents()) {
-            if (item != null && item.getType() == Material.COMPASS) {
-                String customId = plugin.getCustomItemsManager().getCustomItemId(item);
-                if ("player_tracker".equals(customId)) {
-                    return true;
-                }
+    private boolean hasTrackerInInventory(@NotNull Player player, @NotNull TrackerData data) {
+        ItemStack[] contents = player.getInventory().getContents();
+        if (data.trackerSlot >= 0 && data.trackerSlot < contents.length && isTracker(contents[data.trackerSlot])) {
+            return true;
+        }
+        for (int slot = 0; slot < contents.length; slot++) {
+            if (isTracker(contents[slot])) {
+                data.trackerSlot = slot;
+                return true;
             }
         }
         return false;
     }
     
+    private boolean isTracker(@Nullable ItemStack item) {
+        return item != null && item.getType() == Material.COMPASS
+            && "player_tracker".equals(plugin.getCustomItemsManager().getCustomItemId(item));
+    }
+    
     /**
-     * Generates the compass display component.
+     * Takes the positions of a game's online players and finds its top killer.
      * 
-     * @param player The player holding the tracker
-     * @param game The game the player is in
-     * @param data The tracker configuration data
-     * @return The compass component to display
+     * @param game The game
+     * @return The snapshot shared by every tracker in the game this update
      */
-    private @NotNull Component generateCompass(@NotNull Player player, @NotNull Game game, @NotNull TrackerData data) {
-        Location playerLocation = player.getLocation();
-        if (playerLocation == null || playerLocation.getWorld() == null) {
-            logger.debug("Invalid player location in generateCompass for " + player.getName());
-            return Component.text("Tracker Error", NamedTextColor.RED);
-        }
-        
-        float playerYaw = playerLocation.getYaw();
-        
-        // Get all trackable targets
-        List<TrackableTarget> targets = getTrackableTargets(player, game, data);
-        if (targets == null) {
-            targets = new ArrayList<>(); // Fallback to empty list
-        }
-        
-        // Create compass array
-        Component[] compassElements = new Component[COMPASS_WIDTH];
-        
-        // Fill with compass bars initially
-        for (int i = 0; i < COMPASS_WIDTH; i++) {
-            compassElements[i] = Component.text(COMPASS_BAR, COMPASS_COLOR);
-        }
+    private @NotNull GameSnapshot takeSnapshot(@NotNull Game game) {
+        Set<UUID> playerIds = game.getPlayers();
+        GameSnapshot snapshot = new GameSnapshot(playerIds.size());
+        int mostKills = 0;
         
-        // Place targets on compass
-        for (TrackableTarget target : targets) {
-            if (target == null) continue; // Skip null targets
-            
-            int position = calculateCompassPosition(playerYaw, target.angle);
-            if (position >= 0 && position < COMPASS_WIDTH) {
-                compassElements[position] = Component.text(target.symbol, target.color);
+        for (UUID playerId : playerIds) {
+            Player gamePlayer = Bukkit.getPlayer(playerId);
+            if (gamePlayer == null || !gamePlayer.isOnline()) {
+                continue; // Skip offline players
             }
-        }
-        
-        // Build the final compass component
-        TextComponent.Builder compassBuilder = Component.text()
-            .append(Component.text("[", COMPASS_COLOR));
-        
-        for (Component element : compassElements) {
-            if (element != null) {
-                compassBuilder.append(element);
-            } else {
-                compassBuilder.append(Component.text(COMPASS_BAR, COMPASS_COLOR));
+            
+            Location location = gamePlayer.getLocation();
+            int index = snapshot.count++;
+            snapshot.playerIds[index] = playerId;
+            snapshot.worlds[index] = location.getWorld();
+            snapshot.x[index] = location.getX();
+            snapshot.y[index] = location.getY();
+            snapshot.z[index] = location.getZ();
+            
+            int kills = game.getPlayerKills(playerId);
+            if (kills > mostKills) {
+                mostKills = kills;
+                snapshot.topKiller = index;
             }
         }
-        
-        compassBuilder.append(Component.text("]", COMPASS_COLOR));
-        
-        return compassBuilder.build();
+        return snapshot;
     }
     
     /**
-     * Gets a list of trackable targets for a player.
+     * Gets the locations of the active airdrops.
      */
-    private @NotNull List<TrackableTarget> getTrackableTargets(@NotNull Player player, @NotNull Game game, @NotNull TrackerData data) {
-        List<TrackableTarget> targets = new ArrayList<>();
-        Location playerLocation = player.getLocation();
-        
-        // Find top killer first for reference
-        Player topKiller = data.trackTopKiller ? findTopKiller(game) : null;
-        
-        // Add player targets
-        if (data.trackPlayers) {
-            targets.addAll(getPlayerTargets(player, game, playerLocation, topKiller, data));
-        }
-        
-        // Add airdrop targets
-        if (data.trackAirdrops) {
-            targets.addAll(getAirdropTargets(playerLocation, data));
+    private @NotNull List<Location> getAirdropLocations() {
+        CustomItemListener customItemListener = plugin.getCustomItemListener();
+        if (customItemListener == null) {
+            return List.of();
         }
-        
-        // Sort targets by priority
-        sortTargetsByPriority(targets);
-        
-        return targets;
+        return new ArrayList<>(customItemListener.getActiveAirdropLocations().values());
     }
     
     /**
-     * Gets a list of player targets within range.
+     * Renders the compass of one tracker. Each slot keeps the target with the
+     * highest priority (the top killer, then the closest target), the slots
+     * are packed into one key, and the component is built once per distinct
+     * key.
+     * 
+     * @param holderId The player holding the tracker
+     * @param holderLocation The holder's location
+     * @param snapshot The snapshot of the holder's game
+     * @param airdrops Locations of the active airdrops
+     * @param data The tracker configuration data
+     * @return The compass component to display
      */
-    private @NotNull List<TrackableTarget> getPlayerTargets(
-            @NotNull Player player,
-            @NotNull Game game,
-            @NotNull Location playerLocation,
-            @Nullable Player topKiller,
-            @NotNull TrackerData data) {
-        
-        List<TrackableTarget> playerTargets = new ArrayList<>();
+    private @NotNull Component renderCompass(@NotNull UUID holderId, @NotNull Location holderLocation,
+                                             @NotNull GameSnapshot snapshot, @NotNull List<Location> airdrops,
+                                             @NotNull TrackerData data) {
+        byte[] glyphs = new byte[COMPASS_WIDTH];
+        double[] slotDistances = new double[COMPASS_WIDTH];
+        float yaw = holderLocation.getYaw();
+        double maxRangeSquared = (double) data.maxRange * data.maxRange;
         
-        for (UUID playerId : game.getPlayers()) {
-            if (playerId.equals(player.getUniqueId())) {
-                continue; // Don't track self
-            }
-            
-            TrackableTarget target = createPlayerTarget(playerId, playerLocation, topKiller, data);
-            if (target != null) {
-                playerTargets.add(target);
+        if (data.trackPlayers) {
+            for (int i = 0; i < snapshot.count; i++) {
+                if (snapshot.playerIds[i].equals(holderId) || !holderLocation.getWorld().equals(snapshot.worlds[i])) {
+                    continue; // Don't track self
+                }
+                boolean isTopKiller = data.trackTopKiller && i == snapshot.topKiller;
+                placeTarget(glyphs, slotDistances, holderLocation, yaw, maxRangeSquared,
+                    snapshot.x[i], snapshot.y[i], snapshot.z[i], isTopKiller ? GLYPH_TOP_KILLER : -1, data);
             }
         }
         
-        return playerTargets;
-    }
-    
-    /**
-     * Creates a TrackableTarget for a player if they are valid and in range.
-     */
-    private @Nullable TrackableTarget createPlayerTarget(
-            @NotNull UUID playerId,
-            @NotNull Location playerLocation,
-            @Nullable Player topKiller,
-            @NotNull TrackerData data) {
-        
-        Player gamePlayer = Bukkit.getPlayer(playerId);
-        if (gamePlayer == null || !gamePlayer.isOnline()) {
-            return null; // Skip offline players
+        if (data.trackAirdrops) {
+            for (Location airdrop : airdrops) {
+                if (holderLocation.getWorld().equals(airdrop.getWorld())) {
+                    placeTarget(glyphs, slotDistances, holderLocation, yaw, maxRangeSquared,
+                        airdrop.getX(), airdrop.getY(), airdrop.getZ(), GLYPH_AIRDROP, data);
+                }
+            }
         }
         
-        Location targetLocation = gamePlayer.getLocation();
-        double distance = playerLocation.distance(targetLocation);
-        
-        if (distance > data.maxRange) {
-            return null; // Skip out of range players
+        long key = 0;
+        for (int i = 0; i < COMPASS_WIDTH; i++) {
+            key |= (long) glyphs[i] << (i * 3);
         }
         
-        double angle = calculateAngle(playerLocation, targetLocation);
-        boolean isTopKiller = gamePlayer.equals(topKiller);
-        String symbol = isTopKiller ? TOP_KILLER_EMOJI : PLAYER_DOT;
-        TextColor color = isTopKiller ? TOP_KILLER_COLOR : getDistanceColor(distance, data);
-        
-        return new TrackableTarget(angle, symbol, color, distance, isTopKiller);
+        Component compass = compassCache.get(key);
+        if (compass == null) {
+            if (compassCache.size() >= MAX_CACHED_COMPASSES) {
+                compassCache.clear();
+            }
+            compass = buildCompass(glyphs);
+            compassCache.put(key, compass);
+        }
+        return compass;
     }
     
     /**
-     * Gets a list of airdrop targets within range.
+     * Places a target on the compass if it is in range and in front of the
+     * holder, unless its slot already holds a target with higher priority.
+     * 
+     * @param glyph The glyph to show, or -1 to pick one from the distance
      */
-    private @NotNull List<TrackableTarget> getAirdropTargets(
-            @NotNull Location playerLocation,
-            @NotNull TrackerData data) {
-        
-        List<TrackableTarget> airdropTargets = new ArrayList<>();
-        CustomItemListener customItemListener = plugin.getCustomItemListener();
+    private void placeTarget(byte[] glyphs, double[] slotDistances, @NotNull Location from, float yaw,
+                             double maxRangeSquared, double x, double y, double z, int glyph, @NotNull TrackerData data) {
+        double dx = x - from.getX();
+        double dy = y - from.getY();
+        double dz = z - from.getZ();
+        double distanceSquared = dx * dx + dy * dy + dz * dz;
+        if (distanceSquared > maxRangeSquared) {
+            return; // Skip out of range targets
+        }
         
-        if (customItemListener != null) {
-            Map<UUID, Location> activeAirdrops = customItemListener.getActiveAirdropLocations();
-            for (Location airdropLocation : activeAirdrops.values()) {
-                TrackableTarget target = createAirdropTarget(playerLocation, airdropLocation, data);
-                if (target != null) {
-                    airdropTargets.add(target);
-                }
-            }
+        int position = calculateCompassPosition(yaw, calculateAngle(dx, dz));
+        if (position < 0) {
+            return;
         }
         
-        return airdropTargets;
+        double distance = Math.sqrt(distanceSquared);
+        byte current = glyphs[position];
+        if (current == GLYPH_TOP_KILLER || (current != GLYPH_BAR && glyph != GLYPH_TOP_KILLER && slotDistances[position] <= distance)) {
+            return;
+        }
+        glyphs[position] = (byte) (glyph >= 0 ? glyph : getDistanceGlyph(distance, data));
+        slotDistances[position] = distance;
     }
     
     /**
-     * Creates a TrackableTarget for an airdrop if it's in range.
+     * Builds the component for a glyph strip, with one child per run of
+     * equal glyphs.
      */
-    private @Nullable TrackableTarget createAirdropTarget(
-            @NotNull Location playerLocation,
-            @NotNull Location airdropLocation,
-            @NotNull TrackerData data) {
+    private static @NotNull Component buildCompass(byte[] glyphs) {
+        TextComponent.Builder compassBuilder = Component.text()
+            .append(Component.text("[", COMPASS_COLOR));
         
-        double distance = playerLocation.distance(airdropLocation);
-        if (distance > data.maxRange) {
-            return null;
+        StringBuilder run = new StringBuilder();
+        for (int i = 0; i < COMPASS_WIDTH; i++) {
+            run.append(GLYPH_SYMBOLS[glyphs[i]]);
+            if (i == COMPASS_WIDTH - 1 || glyphs[i + 1] != glyphs[i]) {
+                compassBuilder.append(Component.text(run.toString(), GLYPH_COLORS[glyphs[i]]));
+                run.setLength(0);
+            }
         }
         
-        double angle = calculateAngle(playerLocation, airdropLocation);
-        return new TrackableTarget(angle, AIRDROP_EMOJI, NamedTextColor.GOLD, distance, false);
-    }
-    
-    /**
-     * Sorts targets by priority (top killer first, then by distance).
-     */
-    private void sortTargetsByPriority(@NotNull List<TrackableTarget> targets) {
-        targets.sort((a, b) -> {
-            if (a.isTopKiller && !b.isTopKiller) return -1;
-            if (!a.isTopKiller && b.isTopKiller) return 1;
-            return Double.compare(a.distance, b.distance);
-        });
+        compassBuilder.append(Component.text("]", COMPASS_COLOR));
+        return compassBuilder.build();
     }
     
     /**
-     * Calculates the angle between two locations.
+     * Calculates the compass angle of a horizontal offset.
      * 
-     * @param from The starting location
-     * @param to The target location
-     * @return The angle in degrees
+     * @param dx The x offset to the target
+     * @param dz The z offset to the target
+     * @return The angle in degrees, 0 being south and increasing clockwise like yaw
      */
-    private double calculateAngle(@NotNull Location from, @NotNull Location to) {
-        // Validate inputs
-        if (from == null || to == null || from.getWorld() == null || to.getWorld() == null) {
-            return 0.0; // Default to north
-        }
-        
-        if (!from.getWorld().equals(to.getWorld())) {
-            return 0.0; // Different worlds, can't calculate angle
-        }
-        
-        // Get vector between points
-        double dx = to.getX() - from.getX();
-        double dz = to.getZ() - from.getZ();
-        
+    private static double calculateAngle(double dx, double dz) {
         // Handle edge case where positions are identical
         if (Math.abs(dx) < 0.001 && Math.abs(dz) < 0.001) {
-            return 0.0; // Same position, default to north
+            return 0.0;
         }
         
-        // Calculate angle in degrees (0° is North, increases clockwise)
         double angle = Math.toDegrees(Math.atan2(-dx, dz));
         
-        // Validate the result
-        if (Double.isNaN(angle) || Double.isInfinite(angle)) {
-            logger.debug("Invalid angle calculated between " + from + " and " + to + ": " + angle);
-            return 0.0; // Default to north
-        }
-        
         // Normalize to 0-360
-        angle = (angle % 360 + 360) % 360;
-        
-        return angle;
+        return (angle % 360 + 360) % 360;
     }
     
     /**
@@ -475,9 +487,9 @@ public class PlayerTrackerBehavior {
      * 
      * @param playerYaw The player's facing direction
      * @param targetAngle The target's angle
-     * @return The position on the compass (0 to COMPASS_WIDTH-1)
+     * @return The position on the compass (0 to COMPASS_WIDTH-1), or -1 if behind the player
      */
-    private int calculateCompassPosition(float playerYaw, double targetAngle) {
+    private static int calculateCompassPosition(float playerYaw, double targetAngle) {
         // Normalize player yaw to 0-360 (Minecraft yaw is -180 to +180)
         double normalizedYaw = (playerYaw % 360 + 360) % 360;
         
@@ -504,47 +516,22 @@ public class PlayerTrackerBehavior {
     }
     
     /**
-     * Gets the color based on distance.
+     * Gets the player glyph for a distance.
      * 
      * @param distance The distance to the target
      * @param data The tracker configuration data
-     * @return The appropriate color
+     * @return The glyph whose color matches the distance
      */
-    private @NotNull TextColor getDistanceColor(double distance, @NotNull TrackerData data) {
+    private static byte getDistanceGlyph(double distance, @NotNull TrackerData data) {
         if (distance <= data.closeDistance) {
-            return CLOSE_COLOR;
+            return GLYPH_CLOSE;
         } else if (distance <= data.mediumDistance) {
-            return MEDIUM_COLOR;
+            return GLYPH_MEDIUM;
         } else {
-            return FAR_COLOR;
+            return GLYPH_FAR;
         }
     }
     
-    /**
-     * Finds the player with the most kills in the game.
-     * 
-     * @param game The game to search
-     * @return The top killer, or null if none found
-     */
-    private @Nullable Player findTopKiller(@NotNull Game game) {
-        Player topKiller = null;
-        int mostKills = 0;
-        
-        for (UUID playerId : game.getPlayers()) {
-            int kills = game.getPlayerKills(playerId);
-            if (kills > mostKills) {
-                mostKills = kills;
-                Player player = Bukkit.getPlayer(playerId);
-                if (player != null && player.isOnline()) {
-                    topKiller = player;
-                }
-            }
-        }
-        
-        // Only return if they have at least 1 kill
-        return mostKills > 0 ? topKiller : null;
-    }
-    
     /**
      * Checks if a player has an active tracker.
      * 
@@ -575,6 +562,10 @@ public class PlayerTrackerBehavior {
         final int maxRange;
         final int closeDistance;
         final int mediumDistance;
+        /** Inventory slot the tracker was last seen in, or -1 */
+        int trackerSlot = -1;
+        /** Game the tracker was last updated in, or null if its holder was in none */
+        @Nullable Game game;
         
         TrackerData(int updateInterval, boolean trackPlayers, boolean trackTopKiller, boolean trackAirdrops, 
                    int maxRange, int closeDistance, int mediumDistance) {
@@ -589,21 +580,24 @@ public class PlayerTrackerBehavior {
     }
     
     /**
-     * Data class for trackable targets.
+     * Positions of a game's online players at one update.
      */
-    private static class TrackableTarget {
-        final double angle;
-        final String symbol;
-        final TextColor color;
-        final double distance;
-        final boolean isTopKiller;
-        
-        TrackableTarget(double angle, String symbol, TextColor color, double distance, boolean isTopKiller) {
-            this.angle = angle;
-            this.symbol = symbol;
-            this.color = color;
-            this.distance = distance;
-            this.isTopKiller = isTopKiller;
+    private static final class GameSnapshot {
+        final UUID[] playerIds;
+        final World[] worlds;
+        final double[] x;
+        final double[] y;
+        final double[] z;
+        int count;
+        /** Index of the player with the most kills, or -1 if nobody has a kill */
+        int topKiller = -1;
+        
+        GameSnapshot(int capacity) {
+            this.playerIds = new UUID[capacity];
+            this.worlds = new World[capacity];
+            this.x = new double[capacity];
+            this.y = new double[capacity];
+            this.z = new double[capacity];
         }
     }
-} 
+}
@@ -26,6 +26,7 @@ import net.lumalyte.lumasg.game.team.GameTeamManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
@@ -230,8 +231,14 @@ public class Game {
      * 
      * @throws IllegalArgumentException if player is null
      */
-    public void addSpectator(@NotNull Player player) {
+    public synchronized void addSpectator(@NotNull Player player) {
+        if (!claimPlayer(player)) {
+            return;
+        }
+
         playerManager.addSpectator(player);
+        syncPlayerIndex(player);
+        scoreboardManager.showScoreboard(player, true);
 
         // Broadcast spectator message
         broadcastMessage(Component.text()
@@ -432,7 +439,39 @@ public class Game {
         return future;
     }
 
-    // Chest filling and tier selection is now handled by GameChestFiller
+    /**
+     * Re-rolls every arena chest mid-game. Called by the timer manager at each
+     * configured refill time; the writes are spread across ticks by the fill
+     * engine.
+     */
+    private void refillChests() {
+        if (isShuttingDown || stateHelper.getCurrentState() != GameState.ACTIVE) {
+            logger.debug("Skipping chest refill - game is in state " + stateHelper.getCurrentState());
+            return;
+        }
+
+        CompletableFuture<?> future = worldManager.getChestManager().refillArenaChestsAsync()
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        logger.warn("Error refilling chests", throwable);
+                        return;
+                    }
+                    Runnable announce = () -> {
+                        if (!isShuttingDown) {
+                            broadcastMessage(Component.text("All chests have been refilled!", NamedTextColor.GOLD));
+                        }
+                    };
+                    if (Bukkit.isPrimaryThread()) {
+                        announce.run();
+                    } else {
+                        Bukkit.getScheduler().runTask(plugin, announce);
+                    }
+                });
+
+        activeFutures.add(future);
+        future.whenComplete((result, throwable) -> activeFutures.remove(future));
+    }
+
 
     /**
      * Starts the grace period.
@@ -481,10 +520,14 @@ public class Game {
         // NOW schedule deathmatch and game end - this ensures the timer only starts
         // after the grace period ends and players are freed from spawn barriers
         timerManager.scheduleDeathmatch(this::startDeathmatch, () -> endGame(null));
+        timerManager.scheduleChestRefills(this::refillChests);
 
         // Start periodic game end checking to catch solo scenarios and edge cases
         startPeriodicGameEndChecking();
 
+        // Hide players without line of sight now that PvP is on
+        gameNameplateManager.start();
+
         // Broadcast PvP enabled message with title
         Title title = Title.title(
                 Component.text("Grace Period Ended!", NamedTextColor.RED, TextDecoration.BOLD),
@@ -729,7 +772,7 @@ public class Game {
      */
     private void recordStatisticsIfEnabled() {
         if (gameStartTime != null) {
-            cleanupHelper.recordStatisticsIfEnabled(gameStartTime);
+            cleanupHelper.recordStatisticsIfEnabled(gameStartTime, gameId, arena.getName(), getGameMode());
         }
     }
 
@@ -808,6 +851,7 @@ public class Game {
 
         // Delegate to player manager
         playerManager.removePlayer(player, isDisconnect, isShuttingDown);
+        plugin.getGameManager().getPlayerGameIndex().release(player.getUniqueId(), this);
 
         // Clean up barriers around the player's spawn point if they were in WAITING or
         // COUNTDOWN
@@ -854,8 +898,13 @@ public class Game {
             return;
         }
 
+        if (!claimPlayer(player)) {
+            return;
+        }
+
         // Delegate to player manager
         boolean added = playerManager.addPlayer(player, stateHelper.getCurrentState());
+        syncPlayerIndex(player);
         if (!added) {
             return; // Player couldn't be added (arena full, etc.)
         }
@@ -898,6 +947,7 @@ public class Game {
 
         // Add player to the nameplate-hiding team if game is active
         scoreboardManager.addPlayerToTeam(player);
+        scoreboardManager.showScoreboard(player, false);
 
         // Start periodic spawn point enforcement if this is the first player
         if (playerManager.getPlayerCount() == 1) {
@@ -905,6 +955,40 @@ public class Game {
         }
     }
 
+    /**
+     * Claims a player for this game in the {@link PlayerGameIndex}.
+     * 
+     * <p>
+     * A player that is already bound to a different game is refused here, so
+     * double membership is caught once on insert instead of on every lookup.
+     * </p>
+     * 
+     * @param player The player joining or spectating
+     * @return true if the player is now bound to this game
+     */
+    private boolean claimPlayer(@NotNull Player player) {
+        Game other = plugin.getGameManager().getPlayerGameIndex().claim(player.getUniqueId(), this);
+        if (other != null) {
+            logger.warn("Refusing to add " + InputSanitizer.sanitizeForLogging(player.getName())
+                    + " - already in game " + other.getGameId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases the index entry for a player if the player manager did not
+     * actually accept them (arena full, already present, etc.).
+     * 
+     * @param player The player to synchronize
+     */
+    private void syncPlayerIndex(@NotNull Player player) {
+        UUID playerId = player.getUniqueId();
+        if (!playerManager.getPlayers().contains(playerId) && !playerManager.getSpectators().contains(playerId)) {
+            plugin.getGameManager().getPlayerGameIndex().release(playerId, this);
+        }
+    }
+
     /**
      * Eliminates a player from the game.
      * 
@@ -1095,6 +1179,9 @@ public class Game {
         // Stop spawn enforcement
         spawnHelper.cleanup();
 
+        // Show every player again
+        gameNameplateManager.cleanup();
+
         // Perform immediate cleanup using helper
         cleanupHelper.performImmediateCleanup(this);
     }
@@ -1126,6 +1213,43 @@ public class Game {
         worldManager.trackPlacedBlock(location);
     }
 
+    /**
+     * Notifies the game that a block in the arena changed, whether a player,
+     * an explosion, fire, fluid, a piston or a falling block changed it.
+     * 
+     * @param block The block that changed
+     * @param occluding Whether the block now blocks line of sight
+     */
+    public void onBlockChanged(@NotNull Block block, boolean occluding) {
+        gameNameplateManager.onBlockChanged(block, occluding);
+    }
+
+    /**
+     * Assigns the game scoreboard to a player again, e.g. after they
+     * reconnected, and puts players back on the nameplate-hiding team.
+     * 
+     * @param player The player who is back in the game
+     */
+    public void showScoreboard(@NotNull Player player) {
+        boolean spectator = playerManager.getSpectators().contains(player.getUniqueId());
+        if (!spectator) {
+            scoreboardManager.addPlayerToTeam(player);
+        }
+        scoreboardManager.showScoreboard(player, spectator);
+    }
+
+    /**
+     * Gets the nameplate and scoreboard metrics of this game for debugging.
+     * 
+     * @return The metrics, grouped by component
+     */
+    public @NotNull Map<String, Map<String, Object>> getDebugInfo() {
+        Map<String, Map<String, Object>> info = new HashMap<>();
+        info.put("nameplates", gameNameplateManager.getDebugInfo());
+        info.put("scoreboard", scoreboardManager.getDebugInfo());
+        return info;
+    }
+
     /**
      * Starts periodic game end checking during active gameplay.
      * This catches solo scenarios and other edge cases where players aren't
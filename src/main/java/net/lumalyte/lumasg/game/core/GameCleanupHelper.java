@@ -10,7 +10,6 @@ import net.lumalyte.lumasg.game.ui.GameScoreboardManager;
 import net.lumalyte.lumasg.game.mechanics.GameTimerManager;
 import net.lumalyte.lumasg.game.world.GameWorldManager;
 import net.lumalyte.lumasg.util.core.DebugLogger;
-import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
@@ -105,7 +104,7 @@ class GameCleanupHelper {
             Player player = playerManager.getCachedPlayer(playerId);
             if (player != null && player.isOnline()) {
                 // Set to adventure mode to prevent interaction
-                player.setGameMode(GameMode.ADVENTURE);
+                player.setGameMode(org.bukkit.GameMode.ADVENTURE);
                 
                 // Clear inventory immediately to prevent items from being kept
                 player.getInventory().clear();
@@ -120,11 +119,15 @@ class GameCleanupHelper {
      * Records game statistics if statistics are enabled in the configuration.
      * 
      * @param gameStartTime The time when the game started, or null if not started
+     * @param matchId The game's unique identifier, recorded in the match history
+     * @param arenaName The name of the arena the game was played in
+     * @param gameMode The game's mode
      */
-    void recordStatisticsIfEnabled(@NotNull Instant gameStartTime) {
+    void recordStatisticsIfEnabled(@NotNull Instant gameStartTime, @NotNull UUID matchId,
+                                   @NotNull String arenaName, @NotNull GameMode gameMode) {
         if (plugin.getConfig().getBoolean("statistics.enabled", true)) {
             long gameTimeSeconds = Duration.between(gameStartTime, Instant.now()).getSeconds();
-            eliminationManager.recordFinalStatistics(gameTimeSeconds);
+            eliminationManager.recordFinalStatistics(gameTimeSeconds, matchId, arenaName, gameMode);
             logger.debug("Recorded game statistics - duration: " + gameTimeSeconds + " seconds");
         } else {
             logger.debug("Statistics recording disabled in configuration");
@@ -43,6 +43,9 @@ public class GameManager extends BaseManager {
     /** List of all games that have been created (including finished ones) */
     private final @NotNull List<Game> allGames;
     
+    /** Index of players and spectators to the game they are in, maintained by {@link Game} */
+    private final @NotNull PlayerGameIndex playerGameIndex;
+    
     /** Circuit breaker for game creation failures */
     private final @NotNull ErrorHandlingUtils.CircuitBreaker gameCreationCircuitBreaker;
 
@@ -56,6 +59,7 @@ public class GameManager extends BaseManager {
         
         this.activeGames = new ConcurrentHashMap<>();
         this.allGames = new CopyOnWriteArrayList<>();
+        this.playerGameIndex = new PlayerGameIndex();
         this.gameCreationCircuitBreaker = new ErrorHandlingUtils.CircuitBreaker(5, 60000L); // 5 failures, 1 minute reset
         
         logger.info("GameManager initialized successfully");
@@ -296,6 +300,9 @@ public class GameManager extends BaseManager {
     /**
      * Finds the game that a player is currently in.
      * 
+     * <p>This is a single lookup in the {@link PlayerGameIndex}, which games keep
+     * up to date as players join, spectate and leave.</p>
+     * 
      * @param player The player to search for
      * @return The Game instance the player is in, or null if not in any game
 	 */
@@ -303,25 +310,7 @@ public class GameManager extends BaseManager {
         try {
             ValidationUtils.requireNonNull(player, "Player", "Find Game by Player");
             
-            List<Game> playerGames = activeGames.values().stream()
-                .filter(game -> game.getPlayers().contains(player.getUniqueId()) || 
-                               game.getSpectators().contains(player.getUniqueId()))
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
-            
-            // Handle edge case: player in multiple games (due to race conditions)
-            if (playerGames.size() > 1) {
-                logger.warn("Player " + player.getName() + " found in " + playerGames.size() + 
-                    " games! This indicates a race condition bug. Games: " + 
-                    playerGames.stream().map(g -> g.getGameId().toString()).collect(java.util.stream.Collectors.joining(", ")));
-                
-                // Return the most recently created game (last in the list)
-                // and log this for debugging
-                Game mostRecentGame = playerGames.getLast();
-                logger.warn("Returning most recent game for player " + player.getName() + ": " + mostRecentGame.getGameId());
-                return mostRecentGame;
-            }
-            
-            return playerGames.isEmpty() ? null : playerGames.getFirst();
+            return playerGameIndex.get(player.getUniqueId());
             
         } catch (Exception e) {
             logger.warn("Failed to find game for player: " + player.getName(), e);
@@ -329,6 +318,15 @@ public class GameManager extends BaseManager {
         }
     }
 
+    /**
+     * Gets the index of players to the game they are in.
+     * 
+     * @return The player-to-game index
+     */
+    public @NotNull PlayerGameIndex getPlayerGameIndex() {
+        return playerGameIndex;
+    }
+
     /**
      * Finds all games in the specified arena.
      * 
@@ -376,6 +374,12 @@ public class GameManager extends BaseManager {
             String gameId = game.getGameId().toString();
             Game removedGame = activeGames.remove(gameId);
             
+            // Drop any players still bound to this game
+            int released = playerGameIndex.releaseAll(game);
+            if (released > 0) {
+                logger.debug("Released " + released + " indexed players from game: " + gameId);
+            }
+            
             if (removedGame != null) {
                 if (removedGame.equals(game)) {
                     logger.info("Successfully removed game: " + gameId);
@@ -458,6 +462,7 @@ public class GameManager extends BaseManager {
         // Clear collections
         activeGames.clear();
         allGames.clear();
+        playerGameIndex.clear();
         
         logger.info("GameManager shutdown complete");
     }
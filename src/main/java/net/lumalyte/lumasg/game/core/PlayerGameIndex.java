@@ -0,0 +1,106 @@
+package net.lumalyte.lumasg.game.core;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Maintained index of player UUIDs to the game they are currently in.
+ *
+ * <p>Every participant and spectator of an active game has exactly one entry.
+ * Entries are written by {@link Game} whenever a player joins, starts spectating
+ * or leaves, and dropped in bulk when the {@link GameManager} removes a game.
+ * This turns {@link GameManager#getGameByPlayer} into a single hash lookup
+ * instead of a scan over every active game.</p>
+ *
+ * <p>Double membership is detected when a player is claimed rather than when
+ * they are looked up: {@link #claim(UUID, Game)} refuses to bind a player that
+ * already belongs to another game and hands back the conflicting game.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PlayerGameIndex {
+
+    /** Player and spectator UUIDs mapped to the game that currently owns them */
+    private final @NotNull Map<UUID, Game> playerGames = new ConcurrentHashMap<>();
+
+    /**
+     * Binds a player to a game.
+     *
+     * <p>The check and the insert happen atomically. Claiming a player for the
+     * game they already belong to is a no-op.</p>
+     *
+     * @param playerId The player's UUID
+     * @param game The game that wants to own the player
+     * @return The game the player already belongs to if it is a different one,
+     *         or null if the claim succeeded
+     */
+    public @Nullable Game claim(@NotNull UUID playerId, @NotNull Game game) {
+        Game[] conflict = new Game[1];
+        playerGames.compute(playerId, (id, current) -> {
+            if (current == null || current == game) {
+                return game;
+            }
+            conflict[0] = current;
+            return current;
+        });
+        return conflict[0];
+    }
+
+    /**
+     * Releases a player from a game.
+     *
+     * <p>The entry is only removed if it still points at the given game, so a
+     * late release from an old game can never unbind a newer membership.</p>
+     *
+     * @param playerId The player's UUID
+     * @param game The game releasing the player
+     * @return true if an entry was removed
+     */
+    public boolean release(@NotNull UUID playerId, @NotNull Game game) {
+        return playerGames.remove(playerId, game);
+    }
+
+    /**
+     * Releases every player bound to a game.
+     *
+     * @param game The game being removed
+     * @return The number of entries that were removed
+     */
+    public int releaseAll(@NotNull Game game) {
+        int before = playerGames.size();
+        playerGames.values().removeIf(bound -> bound == game);
+        return Math.max(0, before - playerGames.size());
+    }
+
+    /**
+     * Gets the game a player belongs to.
+     *
+     * @param playerId The player's UUID
+     * @return The game, or null if the player is not in any game
+     */
+    public @Nullable Game get(@NotNull UUID playerId) {
+        return playerGames.get(playerId);
+    }
+
+    /**
+     * Gets the number of indexed players and spectators.
+     *
+     * @return The number of entries in the index
+     */
+    public int size() {
+        return playerGames.size();
+    }
+
+    /**
+     * Removes every entry from the index.
+     */
+    public void clear() {
+        playerGames.clear();
+    }
+}
@@ -1,5 +1,6 @@
 package net.lumalyte.lumasg.game.mechanics;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -17,6 +18,8 @@ import net.lumalyte.lumasg.util.core.DebugLogger;
 import net.lumalyte.lumasg.game.player.GamePlayerManager;
 import net.lumalyte.lumasg.game.player.PlayerGameStats;
 import net.lumalyte.lumasg.game.core.Game;
+import net.lumalyte.lumasg.game.core.GameMode;
+import net.lumalyte.lumasg.statistics.MatchResult;
 
 /**
  * Manages player elimination and statistics tracking in a game.
@@ -134,10 +137,19 @@ public class GameEliminationManager {
     }
     
     /**
-     * Records final game statistics for all players.
+     * Records final game statistics for all players and appends the game to
+     * the match history in one batch.
+     * 
+     * @param gameTimeSeconds The length of the game in seconds
+     * @param matchId The game's unique identifier
+     * @param arenaName The name of the arena the game was played in
+     * @param gameMode The game's mode
      */
-    public void recordFinalStatistics(long gameTimeSeconds) {
+    public void recordFinalStatistics(long gameTimeSeconds, @NotNull UUID matchId,
+                                      @NotNull String arenaName, @NotNull GameMode gameMode) {
         List<UUID> finalRankings = getFinalRankings();
+        List<MatchResult> matchResults = new ArrayList<>(finalRankings.size());
+        Instant endedAt = Instant.now();
         
         for (int i = 0; i < finalRankings.size(); i++) {
             UUID playerId = finalRankings.get(i);
@@ -145,6 +157,13 @@ public class GameEliminationManager {
             
             PlayerGameStats stats = collectPlayerStats(playerId);
             recordIndividualPlayerStats(playerId, placement, stats, gameTimeSeconds);
+            matchResults.add(new MatchResult(matchId, playerId, arenaName, gameMode.name(), placement,
+                finalRankings.size(), stats.getKills(), stats.getDamageDealt(), stats.getDamageTaken(),
+                stats.getChestsOpened(), gameTimeSeconds, endedAt));
+        }
+        
+        if (plugin.getConfig().getBoolean("statistics.enabled", true)) {
+            plugin.getStatisticsManager().recordMatch(matchResults);
         }
     }
     
@@ -44,6 +44,9 @@ public class GameTimerManager {
     /** Deathmatch duration in seconds */
     private final int deathmatchTime;
     
+    /** Seconds between chest refills, or 0 if refills are disabled */
+    private final int chestRefillInterval;
+    
     /** Timestamp when the game started (for duration tracking) */
     private long startTime;
     
@@ -73,6 +76,9 @@ public class GameTimerManager {
         this.gameTime = plugin.getConfig().getInt("game.game-time-minutes", 20) * 60;
         this.gracePeriod = plugin.getConfig().getInt("game.grace-period-seconds", 30);
         this.deathmatchTime = plugin.getConfig().getInt("game.deathmatch-time-minutes", 5) * 60;
+        this.chestRefillInterval = plugin.getConfig().getBoolean("chest.refill-chests", true)
+            ? Math.max(0, plugin.getConfig().getInt("chest.refill-time", 300))
+            : 0;
         
         this.startTime = System.currentTimeMillis();
     }
@@ -215,6 +221,30 @@ public class GameTimerManager {
         activeTasks.put(deathmatchTask.getTaskId(), deathmatchTask);
     }
     
+    /**
+     * Schedules chest refills every {@code chest.refill-time} seconds, counted
+     * from the same moment as {@link #scheduleDeathmatch}. Refills that would
+     * land at or after the start of the deathmatch are not scheduled.
+     * 
+     * @param onRefill Called on the server thread at each refill time
+     */
+    public void scheduleChestRefills(@NotNull Runnable onRefill) {
+        if (chestRefillInterval <= 0) {
+            logger.debug("Chest refills are disabled in config");
+            return;
+        }
+        
+        int deathmatchStartTime = gameTime - deathmatchTime;
+        int scheduled = 0;
+        for (int refillAt = chestRefillInterval; refillAt < deathmatchStartTime; refillAt += chestRefillInterval) {
+            BukkitTask refillTask = plugin.getServer().getScheduler().runTaskLater(plugin, onRefill, refillAt * 20L);
+            activeTasks.put(refillTask.getTaskId(), refillTask);
+            scheduled++;
+        }
+        
+        logger.debug("Scheduled " + scheduled + " chest refills every " + chestRefillInterval + " seconds");
+    }
+    
     /**
      * Schedules deathmatch reminder messages.
      */
@@ -370,6 +400,10 @@ public class GameTimerManager {
         return deathmatchTime;
     }
     
+    public int getChestRefillInterval() {
+        return chestRefillInterval;
+    }
+    
     public long getStartTime() {
         return startTime;
     }
@@ -2,9 +2,11 @@ package net.lumalyte.lumasg.game.player;
 
 import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.arena.Arena;
+import net.lumalyte.lumasg.arena.OcclusionMap;
 import net.lumalyte.lumasg.util.core.DebugLogger;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.RayTraceResult;
@@ -12,12 +14,28 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Manages nameplate visibility for players in a game.
  * Uses Paper's modern APIs to hide nameplates through walls and implements
  * line-of-sight checking to prevent wallhacking through player names.
+ * 
+ * <p>Visibility is re-evaluated once per update interval. At the start of
+ * each interval players are bucketed into a {@link PlayerGrid}, so only pairs
+ * within the maximum visibility distance are considered; every other pair is
+ * hidden without a ray trace. Each close pair is checked once, for both
+ * directions, and the ray traces are spread evenly over the ticks of the
+ * interval with a per-tick cap.</p>
+ * 
+ * <p>With {@code nameplate-hiding.async-line-of-sight} enabled, the arena's
+ * solid blocks are kept in an {@link OcclusionMap}. The close pairs of an
+ * interval are then checked in one job on the plugin's worker pool, and only
+ * the pairs whose visibility changed are applied back on the server thread.
+ * Pairs with either player outside the mapped box, including in another
+ * world, still use ray traces.</p>
  */
 public class GameNameplateManager {
     private final @NotNull LumaSG plugin;
@@ -37,12 +55,75 @@ public class GameNameplateManager {
     /** Whether nameplate hiding is enabled */
     private boolean nameplateHidingEnabled;
     
+    /** Whether hiding is temporarily suspended, e.g. during grace period */
+    private boolean paused;
+    
     /** Update interval for visibility checks (in ticks) */
     private int updateInterval;
     
     /** Maximum distance for nameplate visibility */
     private double maxVisibilityDistance;
     
+    /** Maximum number of ray traces per tick */
+    private int maxTracesPerTick;
+    
+    /** Whether line of sight is checked off the server thread using an occlusion map */
+    private boolean asyncLineOfSight;
+    
+    /** Solid blocks of the arena, once built, for async line-of-sight checks */
+    private volatile @Nullable OcclusionMap occlusionMap;
+    
+    /** Whether an async line-of-sight job is running */
+    private boolean asyncJobInFlight;
+    
+    /** Incremented whenever pending async results must be discarded */
+    private int asyncGeneration;
+    
+    /** Pairs of players close enough to need a line-of-sight check, for one interval */
+    private record PlayerPair(@NotNull UUID first, @NotNull UUID second) {
+        static @NotNull PlayerPair of(@NotNull UUID a, @NotNull UUID b) {
+            return a.compareTo(b) < 0 ? new PlayerPair(a, b) : new PlayerPair(b, a);
+        }
+    }
+    
+    /** Eye positions of a close pair and its visibility when an async job was queued */
+    private record AsyncCheck(@NotNull PlayerPair pair, double firstX, double firstY, double firstZ,
+                              double secondX, double secondY, double secondZ, boolean firstSees, boolean secondSees) {}
+    
+    /** Visibility of a pair that changed, as found by an async job */
+    private record VisibilityChange(@NotNull PlayerPair pair, boolean visible) {}
+    
+    /** Outcome of an async job, with its timing measured on the worker thread */
+    private record AsyncResult(@NotNull List<VisibilityChange> changes, int checks, long nanos) {}
+    
+    /** Close pairs still waiting for their check this interval */
+    private final @NotNull ArrayDeque<PlayerPair> pendingPairs = new ArrayDeque<>();
+    
+    /** Every close pair found at the start of this interval */
+    private final @NotNull Set<PlayerPair> nearPairs = new HashSet<>();
+    
+    /** Ticks elapsed in the current interval */
+    private int intervalTick;
+    
+    // Metrics
+    private long totalTraces;
+    private long totalTicks;
+    private long totalNanos;
+    private long intervalTraces;
+    private long intervalNanos;
+    private int lastIntervalTicks;
+    private long lastIntervalTraces;
+    private long lastIntervalNanos;
+    private int lastIntervalPairs;
+    private int lastIntervalPlayers;
+    private long asyncJobs;
+    private long asyncChecks;
+    private long asyncChanges;
+    private long asyncNanos;
+    private int lastAsyncChecks;
+    private int lastAsyncChanges;
+    private long lastAsyncNanos;
+    
     public GameNameplateManager(@NotNull LumaSG plugin, @NotNull Arena arena, @NotNull UUID gameId,
                                @NotNull GamePlayerManager playerManager) {
         this.plugin = plugin;
@@ -59,12 +140,15 @@ public class GameNameplateManager {
      * Loads configuration settings for nameplate management.
      */
     private void loadConfiguration() {
-        nameplateHidingEnabled = plugin.getConfig().getBoolean("nameplate-hiding.enabled", true);
-        updateInterval = plugin.getConfig().getInt("nameplate-hiding.update-interval-ticks", 10);
+        nameplateHidingEnabled = plugin.getConfig().getBoolean("nameplate-hiding.enabled", false);
+        updateInterval = Math.max(1, plugin.getConfig().getInt("nameplate-hiding.update-interval-ticks", 10));
         maxVisibilityDistance = plugin.getConfig().getDouble("nameplate-hiding.max-visibility-distance", 50.0);
+        maxTracesPerTick = Math.max(1, plugin.getConfig().getInt("nameplate-hiding.max-traces-per-tick", 64));
+        asyncLineOfSight = plugin.getConfig().getBoolean("nameplate-hiding.async-line-of-sight", false);
         
         logger.debug("Loaded nameplate configuration - Enabled: " + nameplateHidingEnabled + 
-                    ", Update interval: " + updateInterval + " ticks, Max distance: " + maxVisibilityDistance);
+                    ", Update interval: " + updateInterval + " ticks, Max distance: " + maxVisibilityDistance +
+                    ", Max traces per tick: " + maxTracesPerTick + ", Async line of sight: " + asyncLineOfSight);
     }
     
     /**
@@ -81,10 +165,53 @@ public class GameNameplateManager {
         // Initialize visibility map for all players
         initializeVisibilityMap();
         
+        if (asyncLineOfSight) {
+            buildOcclusionMap();
+        }
+        
         // Start the visibility update task
         startVisibilityUpdateTask();
     }
     
+    /**
+     * Starts building the arena's occlusion map. Ray traces are used until it
+     * is ready, or for good if the arena cannot be mapped.
+     */
+    private void buildOcclusionMap() {
+        OcclusionMap map = OcclusionMap.create(arena);
+        if (map == null) {
+            logger.warn("Arena " + arena.getName() + " cannot be mapped for async line of sight, using ray traces");
+            return;
+        }
+        
+        occlusionMap = map;
+        long startedAt = System.nanoTime();
+        map.build(plugin).whenComplete((ignored, error) -> {
+            if (error != null) {
+                logger.warn("Failed to build occlusion map, using ray traces: " + error.getMessage());
+                if (occlusionMap == map) {
+                    occlusionMap = null;
+                }
+            } else {
+                logger.debug("Built occlusion map in " + (System.nanoTime() - startedAt) / 1_000_000 + "ms");
+            }
+        });
+    }
+    
+    /**
+     * Records a block that changed in the arena so async line-of-sight
+     * checks see it. Must be called on the server thread.
+     *
+     * @param block The block that changed
+     * @param occluding Whether the block now blocks line of sight
+     */
+    public void onBlockChanged(@NotNull Block block, boolean occluding) {
+        OcclusionMap map = occlusionMap;
+        if (map != null && block.getWorld().equals(map.getWorld())) {
+            map.setOccluding(block.getX(), block.getY(), block.getZ(), occluding);
+        }
+    }
+    
     /**
      * Initializes the visibility map with all players being able to see each other.
      */
@@ -92,83 +219,327 @@ public class GameNameplateManager {
         Set<UUID> allPlayers = new HashSet<>(playerManager.getPlayers());
         
         for (UUID playerId : allPlayers) {
-            visibilityMap.put(playerId, new HashSet<>(allPlayers));
+            Set<UUID> visible = new HashSet<>(allPlayers);
+            visible.remove(playerId);
+            visibilityMap.put(playerId, visible);
         }
         
         logger.debug("Initialized visibility map for " + allPlayers.size() + " players");
     }
     
     /**
-     * Starts the task that periodically updates nameplate visibility.
+     * Starts the task that updates nameplate visibility. It runs every tick
+     * so the checks of an interval can be spread across its ticks.
      */
     private void startVisibilityUpdateTask() {
         if (visibilityUpdateTask != null && !visibilityUpdateTask.isCancelled()) {
             visibilityUpdateTask.cancel();
         }
         
-        visibilityUpdateTask = Bukkit.getScheduler().runTaskTimer(plugin, 
-            this::updateNameplateVisibility, 
-            0L, // Start immediately
-            updateInterval);
+        intervalTick = updateInterval; // Begin an interval on the first tick
+        visibilityUpdateTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 0L, 1L);
         
         logger.debug("Started nameplate visibility update task with interval: " + updateInterval + " ticks");
     }
     
     /**
-     * Updates nameplate visibility for all players based on line-of-sight.
+     * Runs this tick's share of the line-of-sight checks.
      */
-    private void updateNameplateVisibility() {
-        Set<UUID> activePlayers = playerManager.getPlayers();
+    private void tick() {
+        if (paused) {
+            return;
+        }
         
-        for (UUID viewerId : activePlayers) {
-            Player viewer = playerManager.getCachedPlayer(viewerId);
-            if (viewer == null || !viewer.isOnline()) {
+        long startedAt = System.nanoTime();
+        
+        // A new interval starts once the previous one's checks are all done
+        if (intervalTick >= updateInterval && pendingPairs.isEmpty() && !asyncJobInFlight) {
+            finishInterval();
+            beginInterval();
+            dispatchAsyncChecks();
+        }
+        
+        int ticksLeft = Math.max(1, updateInterval - intervalTick);
+        int budget = Math.min(maxTracesPerTick, (pendingPairs.size() + ticksLeft - 1) / ticksLeft);
+        int traces = checkPendingPairs(budget);
+        intervalTick++;
+        
+        long elapsed = System.nanoTime() - startedAt;
+        totalTicks++;
+        totalTraces += traces;
+        totalNanos += elapsed;
+        intervalTraces += traces;
+        intervalNanos += elapsed;
+    }
+    
+    /**
+     * Records the metrics of the interval that just ended.
+     */
+    private void finishInterval() {
+        if (intervalTick > 0) {
+            lastIntervalTicks = intervalTick;
+            lastIntervalTraces = intervalTraces;
+            lastIntervalNanos = intervalNanos;
+        }
+        intervalTraces = 0;
+        intervalNanos = 0;
+        intervalTick = 0;
+    }
+    
+    /**
+     * Finds the close pairs for a new interval and hides every other pair.
+     */
+    private void beginInterval() {
+        List<Player> active = new ArrayList<>();
+        for (UUID playerId : playerManager.getPlayers()) {
+            Player player = playerManager.getCachedPlayer(playerId);
+            if (player != null && player.isOnline()) {
+                active.add(player);
+            }
+        }
+        
+        releaseInactivePlayers();
+        
+        // Bucket eye positions per world; players in different worlds never see each other
+        nearPairs.clear();
+        Map<org.bukkit.World, List<Player>> byWorld = new HashMap<>();
+        for (Player player : active) {
+            byWorld.computeIfAbsent(player.getWorld(), world -> new ArrayList<>()).add(player);
+        }
+        PlayerGrid grid = new PlayerGrid(maxVisibilityDistance);
+        for (List<Player> worldPlayers : byWorld.values()) {
+            grid.clear();
+            for (Player player : worldPlayers) {
+                Location eye = player.getEyeLocation();
+                grid.add(eye.getX(), eye.getY(), eye.getZ());
+            }
+            grid.forEachPairWithin(maxVisibilityDistance, (first, second, distanceSquared) ->
+                nearPairs.add(PlayerPair.of(worldPlayers.get(first).getUniqueId(), worldPlayers.get(second).getUniqueId())));
+        }
+        
+        // Far pairs are hidden right away, close pairs wait for their ray trace
+        for (Player viewer : active) {
+            Set<UUID> visible = visibilityMap.computeIfAbsent(viewer.getUniqueId(), k -> new HashSet<>());
+            for (UUID targetId : new ArrayList<>(visible)) {
+                if (!nearPairs.contains(PlayerPair.of(viewer.getUniqueId(), targetId))) {
+                    Player target = playerManager.getCachedPlayer(targetId);
+                    if (target != null) {
+                        setPairVisible(viewer, target, false);
+                    } else {
+                        visible.remove(targetId);
+                    }
+                }
+            }
+        }
+        pendingPairs.addAll(nearPairs);
+        
+        lastIntervalPairs = nearPairs.size();
+        lastIntervalPlayers = active.size();
+    }
+    
+    /**
+     * Stops managing players who left or were eliminated and shows them again.
+     */
+    private void releaseInactivePlayers() {
+        Set<UUID> activeIds = playerManager.getPlayers();
+        for (UUID playerId : new ArrayList<>(visibilityMap.keySet())) {
+            if (!activeIds.contains(playerId)) {
+                visibilityMap.remove(playerId);
+                for (Set<UUID> visiblePlayers : visibilityMap.values()) {
+                    visiblePlayers.remove(playerId);
+                }
+                Player player = playerManager.getCachedPlayer(playerId);
+                if (player == null) {
+                    player = Bukkit.getPlayer(playerId);
+                }
+                if (player != null && player.isOnline()) {
+                    restorePlayerVisibility(player);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Checks queued pairs until the budget of ray traces is spent.
+     *
+     * @param budget Maximum number of ray traces
+     * @return The number of ray traces performed
+     */
+    private int checkPendingPairs(int budget) {
+        int traces = 0;
+        while (traces < budget && !pendingPairs.isEmpty()) {
+            PlayerPair pair = pendingPairs.poll();
+            if (!visibilityMap.containsKey(pair.first()) || !visibilityMap.containsKey(pair.second())) {
+                continue; // Removed since the interval started
+            }
+            Player first = playerManager.getCachedPlayer(pair.first());
+            Player second = playerManager.getCachedPlayer(pair.second());
+            if (first == null || second == null) {
                 continue;
             }
             
-            Set<UUID> visiblePlayers = visibilityMap.computeIfAbsent(viewerId, k -> new HashSet<>());
+            Location firstEye = first.getEyeLocation();
+            Location secondEye = second.getEyeLocation();
+            if (firstEye.getWorld() == null || !firstEye.getWorld().equals(secondEye.getWorld())
+                    || firstEye.distanceSquared(secondEye) > maxVisibilityDistance * maxVisibilityDistance) {
+                // Moved apart since the interval started
+                setPairVisible(first, second, false);
+                continue;
+            }
             
-            for (UUID targetId : activePlayers) {
-                if (viewerId.equals(targetId)) {
-                    continue; // Don't check visibility to self
-                }
-                
-                Player target = playerManager.getCachedPlayer(targetId);
-                if (target == null || !target.isOnline()) {
-                    continue;
+            setPairVisible(first, second, hasLineOfSight(firstEye, secondEye));
+            traces++;
+        }
+        return traces;
+    }
+    
+    /**
+     * Moves the pending pairs whose players both stand inside the occlusion
+     * map into one job that checks them off the server thread. Does nothing
+     * unless the map is ready.
+     */
+    private void dispatchAsyncChecks() {
+        OcclusionMap map = occlusionMap;
+        if (map == null || !map.isReady() || pendingPairs.isEmpty()) {
+            return;
+        }
+        
+        // Positions and current visibility are captured here, players are not touched off-thread
+        List<AsyncCheck> checks = new ArrayList<>(pendingPairs.size());
+        for (Iterator<PlayerPair> it = pendingPairs.iterator(); it.hasNext(); ) {
+            PlayerPair pair = it.next();
+            Player first = playerManager.getCachedPlayer(pair.first());
+            Player second = playerManager.getCachedPlayer(pair.second());
+            Set<UUID> firstVisible = visibilityMap.get(pair.first());
+            Set<UUID> secondVisible = visibilityMap.get(pair.second());
+            if (first == null || second == null || firstVisible == null || secondVisible == null) {
+                it.remove();
+                continue;
+            }
+            if (!map.getWorld().equals(first.getWorld()) || !map.getWorld().equals(second.getWorld())) {
+                continue; // Left for a ray trace
+            }
+            Location firstEye = first.getEyeLocation();
+            Location secondEye = second.getEyeLocation();
+            if (!map.contains(firstEye.getX(), firstEye.getY(), firstEye.getZ())
+                    || !map.contains(secondEye.getX(), secondEye.getY(), secondEye.getZ())) {
+                continue; // Blocks outside the box are not mapped, left for a ray trace
+            }
+            checks.add(new AsyncCheck(pair, firstEye.getX(), firstEye.getY(), firstEye.getZ(),
+                secondEye.getX(), secondEye.getY(), secondEye.getZ(),
+                firstVisible.contains(pair.second()), secondVisible.contains(pair.first())));
+            it.remove();
+        }
+        if (checks.isEmpty()) {
+            return;
+        }
+        
+        CompletableFuture<AsyncResult> job;
+        try {
+            job = CompletableFuture.supplyAsync(() -> checkLineOfSight(map, checks), plugin.getWorkerPool());
+        } catch (RejectedExecutionException e) {
+            // Worker pool is busy, ray trace this interval instead
+            for (AsyncCheck check : checks) {
+                pendingPairs.add(check.pair());
+            }
+            logger.debug("Async line-of-sight check rejected: " + e.getMessage());
+            return;
+        }
+        
+        asyncJobInFlight = true;
+        int generation = asyncGeneration;
+        job.whenComplete((result, error) -> {
+            if (!plugin.isEnabled()) {
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (generation != asyncGeneration) {
+                    return; // Paused or cleaned up while the job ran
                 }
-                
-                boolean shouldBeVisible = calculateVisibility(viewer, target);
-                boolean currentlyVisible = visiblePlayers.contains(targetId);
-                
-                if (shouldBeVisible != currentlyVisible) {
-                    updatePlayerVisibility(viewer, target, shouldBeVisible);
-                    
-                    if (shouldBeVisible) {
-                        visiblePlayers.add(targetId);
-                    } else {
-                        visiblePlayers.remove(targetId);
-                    }
+                asyncJobInFlight = false;
+                if (error != null) {
+                    logger.warn("Async line-of-sight check failed: " + error.getMessage());
+                    return;
                 }
+                applyVisibilityChanges(result);
+            });
+        });
+    }
+    
+    /**
+     * Checks every pair of a job against the occlusion map. Runs off the
+     * server thread.
+     *
+     * @return The pairs whose visibility differs from the captured one
+     */
+    private static @NotNull AsyncResult checkLineOfSight(@NotNull OcclusionMap map, @NotNull List<AsyncCheck> checks) {
+        long startedAt = System.nanoTime();
+        List<VisibilityChange> changes = new ArrayList<>();
+        for (AsyncCheck check : checks) {
+            boolean visible = map.hasLineOfSight(check.firstX(), check.firstY(), check.firstZ(),
+                check.secondX(), check.secondY(), check.secondZ());
+            if (visible != check.firstSees() || visible != check.secondSees()) {
+                changes.add(new VisibilityChange(check.pair(), visible));
             }
         }
+        return new AsyncResult(changes, checks.size(), System.nanoTime() - startedAt);
     }
     
     /**
-     * Calculates whether a target player should be visible to a viewer.
+     * Applies the results of an async job on the server thread.
      */
-    private boolean calculateVisibility(@NotNull Player viewer, @NotNull Player target) {
-        Location viewerEye = viewer.getEyeLocation();
-        Location targetEye = target.getEyeLocation();
-        
-        // Check distance
-        double distance = viewerEye.distance(targetEye);
-        if (distance > maxVisibilityDistance) {
-            return false;
+    private void applyVisibilityChanges(@NotNull AsyncResult result) {
+        for (VisibilityChange change : result.changes()) {
+            PlayerPair pair = change.pair();
+            if (!visibilityMap.containsKey(pair.first()) || !visibilityMap.containsKey(pair.second())) {
+                continue; // Removed while the job ran
+            }
+            Player first = playerManager.getCachedPlayer(pair.first());
+            Player second = playerManager.getCachedPlayer(pair.second());
+            if (first != null && second != null) {
+                setPairVisible(first, second, change.visible());
+            }
         }
         
-        // Check line of sight
-        return hasLineOfSight(viewerEye, targetEye);
+        lastAsyncChecks = result.checks();
+        lastAsyncChanges = result.changes().size();
+        lastAsyncNanos = result.nanos();
+        asyncJobs++;
+        asyncChecks += lastAsyncChecks;
+        asyncChanges += lastAsyncChanges;
+        asyncNanos += lastAsyncNanos;
+    }
+    
+    /**
+     * Updates nameplate visibility for all players at once, without spreading
+     * the checks over ticks.
+     */
+    private void updateNameplateVisibility() {
+        pendingPairs.clear();
+        finishInterval();
+        beginInterval();
+        
+        long startedAt = System.nanoTime();
+        int traces = checkPendingPairs(Integer.MAX_VALUE);
+        totalTraces += traces;
+        totalNanos += System.nanoTime() - startedAt;
+        intervalTick = updateInterval;
+    }
+    
+    /**
+     * Applies a line-of-sight result to both players of a pair.
+     */
+    private void setPairVisible(@NotNull Player first, @NotNull Player second, boolean visible) {
+        setVisible(first, second, visible);
+        setVisible(second, first, visible);
+    }
+    
+    private void setVisible(@NotNull Player viewer, @NotNull Player target, boolean visible) {
+        Set<UUID> visiblePlayers = visibilityMap.computeIfAbsent(viewer.getUniqueId(), k -> new HashSet<>());
+        boolean changed = visible ? visiblePlayers.add(target.getUniqueId()) : visiblePlayers.remove(target.getUniqueId());
+        if (changed) {
+            updatePlayerVisibility(viewer, target, visible);
+        }
     }
     
     /**
@@ -179,10 +550,15 @@ public class GameNameplateManager {
             return false;
         }
         
+        double distance = from.distance(to);
+        if (distance < 1.0E-6) {
+            return true;
+        }
+        
         // Use ray tracing to check for blocks in the way
         RayTraceResult result = from.getWorld().rayTraceBlocks(from, 
-            to.toVector().subtract(from.toVector()).normalize(), 
-            from.distance(to),
+            to.toVector().subtract(from.toVector()).multiply(1.0 / distance), 
+            distance,
             org.bukkit.FluidCollisionMode.NEVER,
             true);
         
@@ -218,7 +594,9 @@ public class GameNameplateManager {
         Set<UUID> allPlayers = new HashSet<>(playerManager.getPlayers());
         
         // Initialize visibility for the new player
-        visibilityMap.put(playerId, new HashSet<>(allPlayers));
+        Set<UUID> visible = new HashSet<>(allPlayers);
+        visible.remove(playerId);
+        visibilityMap.put(playerId, visible);
         
         // Add the new player to other players' visibility maps
         for (UUID otherId : allPlayers) {
@@ -279,6 +657,9 @@ public class GameNameplateManager {
         }
         
         logger.debug("Temporarily disabling nameplate hiding");
+        paused = true;
+        pendingPairs.clear();
+        discardAsyncJob();
         
         // Make all players visible to each other
         for (UUID viewerId : playerManager.getPlayers()) {
@@ -287,6 +668,8 @@ public class GameNameplateManager {
                 restorePlayerVisibility(viewer);
             }
         }
+        visibilityMap.clear();
+        initializeVisibilityMap();
     }
     
     /**
@@ -298,15 +681,28 @@ public class GameNameplateManager {
         }
         
         logger.debug("Re-enabling nameplate hiding");
+        paused = false;
         
         // Force an immediate visibility update
         updateNameplateVisibility();
     }
     
+    /**
+     * Makes the result of a running async job be ignored when it arrives.
+     */
+    private void discardAsyncJob() {
+        asyncGeneration++;
+        asyncJobInFlight = false;
+    }
+    
     /**
      * Cleans up the nameplate management system.
      */
     public void cleanup() {
+        if (!nameplateHidingEnabled) {
+            return;
+        }
+        
         logger.debug("Cleaning up nameplate management");
         
         // Cancel the visibility update task
@@ -325,12 +721,17 @@ public class GameNameplateManager {
         
         // Clear the visibility map
         visibilityMap.clear();
+        pendingPairs.clear();
+        nearPairs.clear();
+        discardAsyncJob();
+        occlusionMap = null;
         
         logger.info("Nameplate management cleanup completed");
     }
     
     /**
-     * Gets the current visibility status for debugging.
+     * Gets the current visibility status for debugging, including the ray
+     * trace metrics of the last completed interval and since the start.
      */
     public @NotNull Map<String, Object> getDebugInfo() {
         Map<String, Object> info = new HashMap<>();
@@ -339,6 +740,25 @@ public class GameNameplateManager {
         info.put("maxVisibilityDistance", maxVisibilityDistance);
         info.put("trackedPlayers", visibilityMap.size());
         info.put("taskRunning", visibilityUpdateTask != null && !visibilityUpdateTask.isCancelled());
+        info.put("paused", paused);
+        info.put("maxTracesPerTick", maxTracesPerTick);
+        info.put("lastIntervalPlayers", lastIntervalPlayers);
+        info.put("lastIntervalPairsTraced", lastIntervalPairs);
+        info.put("lastIntervalPairsCulled", Math.max(0, lastIntervalPlayers * (lastIntervalPlayers - 1) / 2 - lastIntervalPairs));
+        info.put("tracesPerTick", lastIntervalTicks == 0 ? 0.0 : (double) lastIntervalTraces / lastIntervalTicks);
+        info.put("msPerTick", lastIntervalTicks == 0 ? 0.0 : lastIntervalNanos / 1_000_000.0 / lastIntervalTicks);
+        info.put("averageTracesPerTick", totalTicks == 0 ? 0.0 : (double) totalTraces / totalTicks);
+        info.put("averageMsPerTick", totalTicks == 0 ? 0.0 : totalNanos / 1_000_000.0 / totalTicks);
+        OcclusionMap map = occlusionMap;
+        info.put("asyncLineOfSight", asyncLineOfSight);
+        info.put("occlusionMapReady", map != null && map.isReady());
+        info.put("asyncJobs", asyncJobs);
+        info.put("lastAsyncChecks", lastAsyncChecks);
+        info.put("lastAsyncChanges", lastAsyncChanges);
+        info.put("averageAsyncChecksPerJob", asyncJobs == 0 ? 0.0 : (double) asyncChecks / asyncJobs);
+        info.put("lastAsyncMs", lastAsyncNanos / 1_000_000.0);
+        info.put("averageAsyncChangesPerJob", asyncJobs == 0 ? 0.0 : (double) asyncChanges / asyncJobs);
+        info.put("averageAsyncMsPerJob", asyncJobs == 0 ? 0.0 : asyncNanos / 1_000_000.0 / asyncJobs);
         return info;
     }
 } 
@@ -53,17 +53,11 @@ public class GamePlayerManager {
     private final @NotNull Map<UUID, AtomicInteger> playerKills;
 
     /**
-     * Map of player UUIDs to their original inventories (for restoration) -
-     * serialized as binary
+     * Map of player UUIDs to their original inventories, including armor and
+     * offhand (for restoration) - serialized as binary snapshots
      */
     private final @NotNull Map<UUID, byte[]> inventories;
 
-    /**
-     * Map of player UUIDs to their original armor contents (for restoration) -
-     * serialized as binary
-     */
-    private final @NotNull Map<UUID, byte[]> armorContents;
-
     /** Map of player UUIDs to their experience levels before joining the game */
     private final @NotNull Map<UUID, Integer> playerExperienceLevels;
 
@@ -111,7 +105,6 @@ public class GamePlayerManager {
 
         // Initialize inventory tracking with thread-safe maps
         this.inventories = new ConcurrentHashMap<>();
-        this.armorContents = new ConcurrentHashMap<>();
         this.playerExperienceLevels = new ConcurrentHashMap<>();
         this.playerExperiencePoints = new ConcurrentHashMap<>();
         this.previousLocations = new ConcurrentHashMap<>();
@@ -194,6 +187,7 @@ public class GamePlayerManager {
         try {
             storePlayerInventoryAndExperience(player);
             storePlayerHungerAndEffects(player);
+            journalPlayerState(player.getUniqueId());
             clearPlayerState(player);
 
             logger.debug("Saved and cleared inventory/experience/hunger/effects for player: "
@@ -208,16 +202,13 @@ public class GamePlayerManager {
      * Stores player's inventory and experience data.
      */
     private void storePlayerInventoryAndExperience(@NotNull Player player) {
-        // Serialize and store inventory using Kryo binary serialization
-        byte[] serializedInventory = InventorySerializer.serializeInventory(player.getInventory().getContents());
-        byte[] serializedArmor = InventorySerializer.serializeInventory(player.getInventory().getArmorContents());
+        // Contents cover storage, armor and offhand slots, so one snapshot holds everything
+        boolean compress = plugin.getConfig().getBoolean("game.compress-inventory-snapshots", false);
+        byte[] serializedInventory = InventorySerializer.serializeInventory(player.getInventory().getContents(), compress);
 
         if (serializedInventory != null) {
             inventories.put(player.getUniqueId(), serializedInventory);
         }
-        if (serializedArmor != null) {
-            armorContents.put(player.getUniqueId(), serializedArmor);
-        }
 
         // Store experience
         playerExperienceLevels.put(player.getUniqueId(), player.getLevel());
@@ -239,6 +230,21 @@ public class GamePlayerManager {
         }
     }
 
+    /**
+     * Writes the stored state to the on-disk journal so it survives a crash.
+     */
+    private void journalPlayerState(@NotNull UUID playerId) {
+        plugin.getInventoryJournal().recordSnapshot(playerId, InventoryJournal.Snapshot.of(
+                inventories.get(playerId),
+                playerExperienceLevels.getOrDefault(playerId, 0),
+                playerExperiencePoints.getOrDefault(playerId, 0.0f),
+                playerFoodLevels.getOrDefault(playerId, 20),
+                playerSaturationLevels.getOrDefault(playerId, 5.0f),
+                playerPotionEffects.get(playerId),
+                playerGameModes.getOrDefault(playerId, GameMode.SURVIVAL),
+                previousLocations.get(playerId)));
+    }
+
     /**
      * Clears the player's state for the game.
      */
@@ -386,8 +392,13 @@ public class GamePlayerManager {
             restoreGameMode(player);
 
             // Restore inventory if configured
-            if (plugin.getConfig().getBoolean("game.restore-inventory", true)) {
+            boolean restoreInventory = plugin.getConfig().getBoolean("game.restore-inventory", true);
+            if (restoreInventory) {
                 restoreInventoryAndExperience(player);
+            }
+            // Tombstone as soon as the inventory is settled, so a later failure cannot replay it twice
+            plugin.getInventoryJournal().recordRestored(playerId);
+            if (restoreInventory) {
                 restoreHungerAndEffects(player);
             }
 
@@ -441,9 +452,8 @@ public class GamePlayerManager {
     private void restoreInventoryAndExperience(@NotNull Player player) {
         UUID playerId = player.getUniqueId();
 
-        // Restore inventory contents using Kryo binary deserialization
+        // Restore inventory contents, armor included, from the binary snapshot
         byte[] serializedInventory = inventories.get(playerId);
-        byte[] serializedArmor = armorContents.get(playerId);
 
         if (serializedInventory != null) {
             try {
@@ -455,22 +465,8 @@ public class GamePlayerManager {
                 logger.warn("Failed to restore inventory contents for player: "
                         + InputSanitizer.sanitizeForLogging(player.getName()), e);
             }
-        }
-
-        if (serializedArmor != null) {
-            try {
-                ItemStack[] armor = InventorySerializer.deserializeInventory(serializedArmor);
-                if (armor != null) {
-                    player.getInventory().setArmorContents(armor);
-                }
-            } catch (Exception e) {
-                logger.warn("Failed to restore armor contents for player: "
-                        + InputSanitizer.sanitizeForLogging(player.getName()), e);
-            }
-        }
-
-        // If either restoration failed, clear inventory as fallback
-        if (serializedInventory == null && serializedArmor == null) {
+        } else {
+            // No snapshot was stored, clear inventory as fallback
             player.getInventory().clear();
         }
 
@@ -513,11 +509,13 @@ public class GamePlayerManager {
     }
 
     /**
-     * Performs a basic restore if full restoration fails.
+     * Performs a basic restore if full restoration fails. The journaled state
+     * is closed as well, since the player has left the game either way.
      */
     private void performBasicRestore(@NotNull Player player) {
         player.setGameMode(GameMode.SURVIVAL);
         player.getInventory().clear();
+        plugin.getInventoryJournal().recordRestored(player.getUniqueId());
         player.setLevel(0);
         player.setExp(0.0f);
         player.setFoodLevel(20);
@@ -533,7 +531,6 @@ public class GamePlayerManager {
         playerLocations.remove(playerId);
         playerGameModes.remove(playerId);
         inventories.remove(playerId);
-        armorContents.remove(playerId);
         playerExperienceLevels.remove(playerId);
         playerExperiencePoints.remove(playerId);
         previousLocations.remove(playerId);
@@ -712,7 +709,6 @@ public class GamePlayerManager {
         playerKills.clear();
         disconnectedPlayers.clear();
         inventories.clear();
-        armorContents.clear();
         playerExperienceLevels.clear();
         playerExperiencePoints.clear();
         previousLocations.clear();
@@ -764,10 +760,6 @@ public class GamePlayerManager {
         return Collections.unmodifiableMap(inventories);
     }
 
-    public @NotNull Map<UUID, byte[]> getSerializedArmorContents() {
-        return Collections.unmodifiableMap(armorContents);
-    }
-
     public @NotNull Map<UUID, Integer> getPlayerExperienceLevels() {
         return Collections.unmodifiableMap(playerExperienceLevels);
     }
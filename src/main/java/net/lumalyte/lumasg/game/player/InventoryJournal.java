@@ -0,0 +1,650 @@
+package net.lumalyte.lumasg.game.player;
+
+import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.util.core.DebugLogger;
+import net.lumalyte.lumasg.util.security.InputSanitizer;
+import net.lumalyte.lumasg.util.serialization.InventorySerializer;
+import net.lumalyte.lumasg.util.serialization.PotionEffectSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only on-disk journal of the player state stored when players join a game.
+ *
+ * <p>{@link GamePlayerManager} keeps the inventory, experience, hunger, potion
+ * effects, game mode and location of every participant in memory only, so a
+ * server crash mid-game would lose them. Each snapshot is therefore also
+ * appended to this journal when it is taken, and a tombstone is appended once
+ * the player has been restored. Snapshots without a tombstone are replayed the
+ * next time the player joins the server outside of a game.</p>
+ *
+ * <p>Records are appended by a single writer thread that drains everything
+ * queued since its last write and then forces the segment to disk once, so a
+ * whole lobby joining at once costs one fsync and the main thread never
+ * touches the disk. Each record is framed with its length and a CRC32; a torn
+ * record at the end of a segment is ignored on recovery.</p>
+ *
+ * <p>The journal is split into segments. On startup, and whenever more than
+ * {@link #MAX_APPENDED_BYTES} have been appended to the active segment, the
+ * outstanding snapshots are copied into a fresh segment and the older segments
+ * are deleted.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public final class InventoryJournal {
+
+    private static final byte RECORD_SNAPSHOT = 1;
+    private static final byte RECORD_TOMBSTONE = 2;
+
+    /** Length and CRC32 in front of every record body */
+    private static final int FRAME_HEADER_SIZE = 8;
+
+    /** Record type and player UUID at the start of every record body */
+    private static final int BODY_HEADER_SIZE = 17;
+
+    /** Upper bound for a single record; anything larger is treated as corruption */
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    /** Bytes appended after which the active segment is compacted into a new one */
+    private static final long MAX_APPENDED_BYTES = 4L * 1024 * 1024;
+
+    /** How long the idle writer waits for work before rechecking its running flag */
+    private static final long IDLE_POLL_MILLIS = 250;
+
+    private static final String SEGMENT_PREFIX = "inventory-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    /**
+     * Player state stored when joining a game.
+     *
+     * @param inventory Inventory snapshot from {@link InventorySerializer}, armor included
+     * @param level Experience level
+     * @param exp Experience progress
+     * @param foodLevel Food level
+     * @param saturation Saturation
+     * @param potionEffects Potion effects from {@link PotionEffectSerializer}
+     * @param gameMode Game mode
+     * @param worldName World of the location, or null if no location was stored
+     * @param x Location x
+     * @param y Location y
+     * @param z Location z
+     * @param yaw Location yaw
+     * @param pitch Location pitch
+     */
+    public record Snapshot(@Nullable byte[] inventory, int level, float exp, int foodLevel, float saturation,
+                           @Nullable byte[] potionEffects, @NotNull GameMode gameMode, @Nullable String worldName,
+                           double x, double y, double z, float yaw, float pitch) {
+
+        /**
+         * Creates a snapshot with the location the player should return to.
+         */
+        public static @NotNull Snapshot of(@Nullable byte[] inventory, int level, float exp, int foodLevel,
+                                           float saturation, @Nullable byte[] potionEffects,
+                                           @NotNull GameMode gameMode, @Nullable Location location) {
+            World world = location != null ? location.getWorld() : null;
+            if (world == null) {
+                return new Snapshot(inventory, level, exp, foodLevel, saturation, potionEffects, gameMode,
+                    null, 0, 0, 0, 0, 0);
+            }
+            return new Snapshot(inventory, level, exp, foodLevel, saturation, potionEffects, gameMode,
+                world.getName(), location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+        }
+    }
+
+    private final DebugLogger.ContextualLogger logger;
+    private final Path directory;
+    private final boolean enabled;
+
+    /** Outstanding snapshot records by player, as seen by callers */
+    private final Map<UUID, byte[]> outstanding = new ConcurrentHashMap<>();
+
+    /** Outstanding snapshot records by player, as written to disk; only touched by the writer thread */
+    private final Map<UUID, byte[]> written = new HashMap<>();
+
+    private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+    private @Nullable Thread thread;
+    private volatile boolean running;
+
+    // Writer state, only touched by the writer thread
+    private @Nullable FileChannel channel;
+    private long segmentIndex;
+    private long appendedBytes;
+    private final List<Path> staleSegments = new ArrayList<>();
+
+    // Metrics
+    private final AtomicLong syncs = new AtomicLong();
+    private final AtomicLong recordsWritten = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+
+    /**
+     * Creates the journal under the plugin data folder.
+     *
+     * @param plugin The plugin instance
+     */
+    public InventoryJournal(@NotNull LumaSG plugin) {
+        this(new File(plugin.getDataFolder(), "journal").toPath(),
+            plugin.getDebugLogger().forContext("InventoryJournal"),
+            plugin.getConfig().getBoolean("game.inventory-journal", true));
+    }
+
+    InventoryJournal(@NotNull Path directory, @NotNull DebugLogger.ContextualLogger logger, boolean enabled) {
+        this.directory = directory;
+        this.logger = logger;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Recovers the outstanding snapshots from disk and starts the writer thread.
+     */
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            logger.error("Failed to read inventory journal in " + directory, e);
+        }
+
+        if (!outstanding.isEmpty()) {
+            logger.info("Inventory journal holds " + outstanding.size()
+                + " unrestored player snapshots; they are restored when those players join");
+        }
+
+        running = true;
+        thread = new Thread(this::run, "LumaSG-InventoryJournal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Journals the state a player had when joining a game.
+     *
+     * @param playerId The player's unique identifier
+     * @param snapshot The stored state
+     */
+    public void recordSnapshot(@NotNull UUID playerId, @NotNull Snapshot snapshot) {
+        if (!running) {
+            return;
+        }
+
+        byte[] record;
+        try {
+            record = frame(RECORD_SNAPSHOT, playerId, encode(snapshot));
+        } catch (IOException e) {
+            logger.warn("Failed to encode journal snapshot for " + playerId, e);
+            return;
+        }
+        outstanding.put(playerId, record);
+        queue.add(record);
+    }
+
+    /**
+     * Marks a player's journaled state as restored.
+     *
+     * @param playerId The player's unique identifier
+     */
+    public void recordRestored(@NotNull UUID playerId) {
+        if (running && outstanding.remove(playerId) != null) {
+            queue.add(frame(RECORD_TOMBSTONE, playerId, new byte[0]));
+        }
+    }
+
+    /**
+     * Checks if a player has journaled state that was never restored.
+     *
+     * @param playerId The player's unique identifier
+     * @return true if a snapshot is outstanding
+     */
+    public boolean hasOutstanding(@NotNull UUID playerId) {
+        return outstanding.containsKey(playerId);
+    }
+
+    /**
+     * Gets a player's journaled state that was never restored.
+     *
+     * @param playerId The player's unique identifier
+     * @return The snapshot, or null if none is outstanding or it cannot be read
+     */
+    public @Nullable Snapshot getOutstanding(@NotNull UUID playerId) {
+        byte[] record = outstanding.get(playerId);
+        if (record == null) {
+            return null;
+        }
+
+        try {
+            return decode(record);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Failed to read journal snapshot for " + playerId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Restores a player's outstanding journaled state, if any. Must be called
+     * on the main thread for a player who is not in a game.
+     *
+     * <p>Like leaving a game, this always clears the inventory and restores
+     * the game mode and location, but only gives back the inventory,
+     * experience, hunger and potion effects if {@code restoreInventory} is
+     * set.</p>
+     *
+     * @param player The player who joined
+     * @param restoreInventory Whether to restore the inventory, experience, hunger and effects,
+     *                         as {@code game.restore-inventory} configures
+     * @return true if state was restored
+     */
+    public boolean replay(@NotNull Player player, boolean restoreInventory) {
+        Snapshot snapshot = getOutstanding(player.getUniqueId());
+        if (snapshot == null) {
+            return false;
+        }
+
+        ItemStack[] contents = null;
+        if (restoreInventory && snapshot.inventory() != null) {
+            contents = InventorySerializer.deserializeInventory(snapshot.inventory());
+            if (contents == null) {
+                // Keep the snapshot so an administrator can still recover it
+                logger.warn("Journaled inventory of " + InputSanitizer.sanitizeForLogging(player.getName())
+                    + " could not be read; keeping the journal entry");
+                return false;
+            }
+        }
+
+        player.getInventory().clear();
+        if (restoreInventory) {
+            if (contents != null) {
+                player.getInventory().setContents(contents);
+            }
+
+            player.setLevel(snapshot.level());
+            player.setExp(snapshot.exp());
+            player.setFoodLevel(snapshot.foodLevel());
+            player.setSaturation(snapshot.saturation());
+
+            player.getActivePotionEffects().forEach(effect -> player.removePotionEffect(effect.getType()));
+            PotionEffect[] effects = PotionEffectSerializer.deserializePotionEffects(snapshot.potionEffects());
+            if (effects != null) {
+                for (PotionEffect effect : effects) {
+                    player.addPotionEffect(effect);
+                }
+            }
+        }
+
+        player.setGameMode(snapshot.gameMode());
+
+        World world = snapshot.worldName() != null ? Bukkit.getWorld(snapshot.worldName()) : null;
+        if (world != null) {
+            player.teleport(new Location(world, snapshot.x(), snapshot.y(), snapshot.z(), snapshot.yaw(), snapshot.pitch()));
+        }
+
+        recordRestored(player.getUniqueId());
+        logger.info("Restored journaled pre-game state for " + InputSanitizer.sanitizeForLogging(player.getName()));
+        return true;
+    }
+
+    /**
+     * Stops accepting records, writes everything already queued and waits for
+     * the writer thread to finish.
+     *
+     * @param timeoutMillis How long to wait for the queue to drain
+     */
+    public void shutdown(long timeoutMillis) {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        try {
+            if (thread != null) {
+                thread.join(timeoutMillis);
+                if (thread.isAlive()) {
+                    logger.warn("Inventory journal did not drain within " + timeoutMillis + "ms, "
+                        + queue.size() + " records dropped");
+                    thread.interrupt();
+                    thread.join(1000);
+                }
+            }
+        } catch (InterruptedException e) {
+            if (thread != null) {
+                thread.interrupt();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets journal statistics for monitoring.
+     *
+     * @return Formatted string with journal statistics
+     */
+    public @NotNull String getStats() {
+        long syncCount = syncs.get();
+        return String.format(
+            "Inventory Journal Stats:\n" +
+            "  Outstanding Snapshots: %d\n" +
+            "  Queued Records: %d\n" +
+            "  Syncs: %d\n" +
+            "  Records Written: %d\n" +
+            "  Avg Records/Sync: %.1f\n" +
+            "  Failed Writes: %d",
+            outstanding.size(),
+            queue.size(),
+            syncCount,
+            recordsWritten.get(),
+            syncCount == 0 ? 0.0 : (double) recordsWritten.get() / syncCount,
+            failedWrites.get()
+        );
+    }
+
+    /**
+     * Reads every segment in order and rebuilds the outstanding snapshots.
+     */
+    private void recover() throws IOException {
+        Map<Long, Path> segments = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                long index = segmentIndex(path);
+                if (index >= 0) {
+                    segments.put(index, path);
+                }
+            });
+        }
+
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            readSegment(segment.getValue());
+            segmentIndex = segment.getKey();
+            staleSegments.add(segment.getValue());
+        }
+        written.putAll(outstanding);
+    }
+
+    private void readSegment(@NotNull Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        CRC32 crc = new CRC32();
+
+        while (buffer.remaining() >= FRAME_HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < BODY_HEADER_SIZE || length > MAX_RECORD_BYTES || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                buffer.position(start);
+                break;
+            }
+
+            byte type = buffer.get();
+            UUID playerId = new UUID(buffer.getLong(), buffer.getLong());
+            buffer.position(buffer.position() + length - BODY_HEADER_SIZE);
+
+            if (type == RECORD_SNAPSHOT) {
+                byte[] record = new byte[FRAME_HEADER_SIZE + length];
+                System.arraycopy(buffer.array(), start, record, 0, record.length);
+                outstanding.put(playerId, record);
+            } else if (type == RECORD_TOMBSTONE) {
+                outstanding.remove(playerId);
+            }
+        }
+
+        if (buffer.hasRemaining()) {
+            logger.warn("Ignoring " + buffer.remaining() + " torn bytes at the end of " + path.getFileName());
+        }
+    }
+
+    private void run() {
+        List<byte[]> batch = new ArrayList<>();
+        compact();
+
+        while (running || !queue.isEmpty()) {
+            byte[] first;
+            try {
+                first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            // Everything queued so far shares one sync
+            batch.add(first);
+            queue.drainTo(batch);
+            append(batch);
+            batch.clear();
+
+            if (appendedBytes >= MAX_APPENDED_BYTES) {
+                compact();
+            }
+        }
+
+        closeChannel();
+    }
+
+    private void append(@NotNull List<byte[]> batch) {
+        try {
+            if (channel == null) {
+                openSegment();
+            }
+
+            ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+            long bytes = 0;
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = ByteBuffer.wrap(batch.get(i));
+                bytes += buffers[i].remaining();
+            }
+            while (bytes > 0) {
+                bytes -= channel.write(buffers);
+            }
+            channel.force(false);
+
+            appendedBytes += batch.stream().mapToLong(record -> record.length).sum();
+            syncs.incrementAndGet();
+            recordsWritten.addAndGet(batch.size());
+            for (byte[] record : batch) {
+                applyWritten(record);
+            }
+        } catch (IOException e) {
+            failedWrites.addAndGet(batch.size());
+            logger.error("Failed to write " + batch.size() + " inventory journal records, rewriting the journal", e);
+            // Rewrite everything in a fresh segment so a partial write is never followed by valid records
+            for (byte[] record : batch) {
+                applyWritten(record);
+            }
+            compact();
+        }
+    }
+
+    private void applyWritten(@NotNull byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record, FRAME_HEADER_SIZE, BODY_HEADER_SIZE);
+        byte type = buffer.get();
+        UUID playerId = new UUID(buffer.getLong(), buffer.getLong());
+        if (type == RECORD_SNAPSHOT) {
+            written.put(playerId, record);
+        } else {
+            written.remove(playerId);
+        }
+    }
+
+    /**
+     * Copies the outstanding snapshots into a new segment and deletes the older ones.
+     */
+    private void compact() {
+        try {
+            closeChannel();
+            openSegment();
+
+            List<byte[]> live = new ArrayList<>(written.values());
+            ByteBuffer[] buffers = live.stream().map(ByteBuffer::wrap).toArray(ByteBuffer[]::new);
+            long bytes = live.stream().mapToLong(record -> record.length).sum();
+            while (bytes > 0) {
+                bytes -= channel.write(buffers);
+            }
+            channel.force(false);
+
+            for (Path stale : staleSegments) {
+                Files.deleteIfExists(stale);
+            }
+            staleSegments.clear();
+            logger.debug("Compacted inventory journal into segment " + segmentIndex + " with " + live.size() + " snapshots");
+        } catch (IOException e) {
+            logger.error("Failed to compact inventory journal", e);
+            closeChannel();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        segmentIndex++;
+        appendedBytes = 0;
+        channel = FileChannel.open(segmentPath(segmentIndex),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close inventory journal segment: " + e.getMessage());
+        }
+        staleSegments.add(segmentPath(segmentIndex));
+        channel = null;
+    }
+
+    private @NotNull Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentIndex(@NotNull Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static @NotNull byte[] frame(byte type, @NotNull UUID playerId, @NotNull byte[] payload) {
+        int length = BODY_HEADER_SIZE + payload.length;
+        ByteBuffer buffer = ByteBuffer.allocate(FRAME_HEADER_SIZE + length);
+        buffer.position(FRAME_HEADER_SIZE);
+        buffer.put(type);
+        buffer.putLong(playerId.getMostSignificantBits());
+        buffer.putLong(playerId.getLeastSignificantBits());
+        buffer.put(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), FRAME_HEADER_SIZE, length);
+        buffer.putInt(0, length);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    private static @NotNull byte[] encode(@NotNull Snapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+            64 + (snapshot.inventory() != null ? snapshot.inventory().length : 0));
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeBytes(output, snapshot.inventory());
+            output.writeInt(snapshot.level());
+            output.writeFloat(snapshot.exp());
+            output.writeInt(snapshot.foodLevel());
+            output.writeFloat(snapshot.saturation());
+            writeBytes(output, snapshot.potionEffects());
+            output.writeUTF(snapshot.gameMode().name());
+            output.writeBoolean(snapshot.worldName() != null);
+            if (snapshot.worldName() != null) {
+                output.writeUTF(snapshot.worldName());
+                output.writeDouble(snapshot.x());
+                output.writeDouble(snapshot.y());
+                output.writeDouble(snapshot.z());
+                output.writeFloat(snapshot.yaw());
+                output.writeFloat(snapshot.pitch());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static @NotNull Snapshot decode(@NotNull byte[] record) throws IOException {
+        int offset = FRAME_HEADER_SIZE + BODY_HEADER_SIZE;
+        try (DataInputStream input = new DataInputStream(
+                new ByteArrayInputStream(record, offset, record.length - offset))) {
+            byte[] inventory = readBytes(input);
+            int level = input.readInt();
+            float exp = input.readFloat();
+            int foodLevel = input.readInt();
+            float saturation = input.readFloat();
+            byte[] potionEffects = readBytes(input);
+            GameMode gameMode = GameMode.valueOf(input.readUTF());
+            if (!input.readBoolean()) {
+                return new Snapshot(inventory, level, exp, foodLevel, saturation, potionEffects, gameMode,
+                    null, 0, 0, 0, 0, 0);
+            }
+            return new Snapshot(inventory, level, exp, foodLevel, saturation, potionEffects, gameMode,
+                input.readUTF(), input.readDouble(), input.readDouble(), input.readDouble(),
+                input.readFloat(), input.readFloat());
+        }
+    }
+
+    private static void writeBytes(@NotNull DataOutputStream output, @Nullable byte[] data) throws IOException {
+        output.writeInt(data != null ? data.length : -1);
+        if (data != null) {
+            output.write(data);
+        }
+    }
+
+    private static @Nullable byte[] readBytes(@NotNull DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        input.readFully(data);
+        return data;
+    }
+}
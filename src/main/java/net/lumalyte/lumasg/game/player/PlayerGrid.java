@@ -0,0 +1,147 @@
+package net.lumalyte.lumasg.game.player;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Uniform grid of player positions used to find the pairs of players that are
+ * close to each other without comparing every pair.
+ *
+ * <p>Cells are as wide as the search distance, so every pair within that
+ * distance lies in the same or a neighbouring cell. Only those 27 cells are
+ * checked for each point, and distances are compared squared.</p>
+ *
+ * <p>Not thread-safe; meant to be rebuilt and queried on one thread.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+final class PlayerGrid {
+
+    /**
+     * Receives each pair of points found within the search distance.
+     */
+    @FunctionalInterface
+    interface PairConsumer {
+        /**
+         * @param first Index of the first point, always lower than {@code second}
+         * @param second Index of the second point
+         * @param distanceSquared Squared distance between the points
+         */
+        void accept(int first, int second, double distanceSquared);
+    }
+
+    /**
+     * Indices of the points in one cell.
+     */
+    private static final class Cell {
+        int[] members = new int[4];
+        int size;
+    }
+
+    private final double cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private double[] coordinates = new double[48];
+    private int count;
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param cellSize Width of a cell, at least the largest search distance
+     */
+    PlayerGrid(double cellSize) {
+        this.cellSize = Math.max(cellSize, 1.0);
+    }
+
+    /**
+     * Removes every point.
+     */
+    void clear() {
+        cells.clear();
+        count = 0;
+    }
+
+    /**
+     * Adds a point; points are indexed in the order they are added.
+     *
+     * @return The index of the point
+     */
+    int add(double x, double y, double z) {
+        if ((count + 1) * 3 > coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+        }
+        int index = count++;
+        coordinates[index * 3] = x;
+        coordinates[index * 3 + 1] = y;
+        coordinates[index * 3 + 2] = z;
+
+        Cell cell = cells.computeIfAbsent(key(cell(x), cell(y), cell(z)), key -> new Cell());
+        if (cell.size == cell.members.length) {
+            cell.members = Arrays.copyOf(cell.members, cell.size * 2);
+        }
+        cell.members[cell.size++] = index;
+        return index;
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * Calls the consumer once for every pair of points within a distance.
+     *
+     * @param maxDistance The search distance, at most the cell size
+     * @param consumer Receives each pair
+     */
+    void forEachPairWithin(double maxDistance, @NotNull PairConsumer consumer) {
+        double maxSquared = maxDistance * maxDistance;
+        for (int i = 0; i < count; i++) {
+            double x = coordinates[i * 3];
+            double y = coordinates[i * 3 + 1];
+            double z = coordinates[i * 3 + 2];
+            int cx = cell(x);
+            int cy = cell(y);
+            int cz = cell(z);
+
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        Cell cell = cells.get(key(cx + dx, cy + dy, cz + dz));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (int m = 0; m < cell.size; m++) {
+                            int j = cell.members[m];
+                            // Each pair is reported once, from its lower index
+                            if (j <= i) {
+                                continue;
+                            }
+                            double ox = coordinates[j * 3] - x;
+                            double oy = coordinates[j * 3 + 1] - y;
+                            double oz = coordinates[j * 3 + 2] - z;
+                            double distanceSquared = ox * ox + oy * oy + oz * oz;
+                            if (distanceSquared <= maxSquared) {
+                                consumer.accept(i, j, distanceSquared);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * Packs cell coordinates into 21 bits each.
+     */
+    private static long key(int x, int y, int z) {
+        return ((long) (x & 0x1FFFFF) << 42) | ((long) (y & 0x1FFFFF) << 21) | (z & 0x1FFFFF);
+    }
+}
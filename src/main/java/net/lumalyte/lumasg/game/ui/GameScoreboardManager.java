@@ -2,10 +2,12 @@ package net.lumalyte.lumasg.game.ui;
 
 import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.arena.Arena;
+import net.lumalyte.lumasg.util.messaging.MessageTemplate;
 import net.lumalyte.lumasg.util.messaging.MiniMessageUtils;
 import net.lumalyte.lumasg.game.core.GameState;
 import net.lumalyte.lumasg.game.player.GamePlayerManager;
 import net.lumalyte.lumasg.game.mechanics.GameTimerManager;
+import net.lumalyte.lumasg.util.core.DebugLogger;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.Criteria;
@@ -18,6 +20,13 @@ import java.util.*;
 /**
  * Manages scoreboard functionality for a game instance.
  * Handles scoreboard creation, updates, and player visibility.
+ * 
+ * <p>Each sidebar row is a fixed, invisible entry whose text is the prefix of
+ * its own team, so rows are never removed and re-added to change their text.
+ * The configured lines are compiled once into {@link MessageTemplate}s; on
+ * each update a row is only rendered and re-sent when its line or the values
+ * of that line's placeholders differ from what the row shows. The scoreboard
+ * is assigned to players when they join rather than on every update.</p>
  */
 public class GameScoreboardManager {
     private final @NotNull LumaSG plugin;
@@ -38,6 +47,40 @@ public class GameScoreboardManager {
     /** ID of the scoreboard task (for cancellation) */
     private int scoreboardTaskId = -1;
     
+    /** The debug logger instance for this scoreboard manager */
+    private final @NotNull DebugLogger.ContextualLogger logger;
+    
+    /** Most rows the sidebar can show */
+    private static final int MAX_ROWS = 15;
+    
+    /** Placeholders the line templates are compiled against */
+    private static final List<String> PLACEHOLDERS = List.of("players", "max_players", "arena", "time");
+    
+    /** Compiled scoreboard.lines */
+    private List<MessageTemplate> lineTemplates = List.of();
+    
+    /** Compiled scoreboard.deathmatch-lines */
+    private List<MessageTemplate> deathmatchTemplates = List.of();
+    
+    /** Teams whose prefix holds each row's text, created on first use */
+    private final Team[] rowTeams = new Team[MAX_ROWS];
+    
+    /** Line each shown row was rendered from */
+    private final MessageTemplate[] renderedTemplates = new MessageTemplate[MAX_ROWS];
+    
+    /** Values of its line's placeholders each shown row was rendered with */
+    private final String[] renderedValues = new String[MAX_ROWS];
+    
+    /** Number of rows currently shown */
+    private int renderedRowCount;
+    
+    // Metrics
+    private long updates;
+    private long totalRowWrites;
+    private long totalPackets;
+    private int lastRowWrites;
+    private int lastPackets;
+    
     public GameScoreboardManager(@NotNull LumaSG plugin, @NotNull Arena arena, @NotNull UUID gameId,
                                 @NotNull GamePlayerManager playerManager, @NotNull GameTimerManager timerManager) {
         this.plugin = plugin;
@@ -45,6 +88,7 @@ public class GameScoreboardManager {
         this.gameId = gameId;
         this.playerManager = playerManager;
         this.timerManager = timerManager;
+        this.logger = plugin.getDebugLogger().forContext("GameScoreboardManager-" + gameId.toString().substring(0, 8));
         
         // Initialize scoreboard if enabled
         if (plugin.getConfig().getBoolean("scoreboard.enabled", true)) {
@@ -64,6 +108,24 @@ public class GameScoreboardManager {
             MiniMessageUtils.parseMessage(plugin.getConfig().getString("scoreboard.title", "<gold>Survival Games</gold>"))
         );
         objective.setDisplaySlot(org.bukkit.scoreboard.DisplaySlot.SIDEBAR);
+        
+        lineTemplates = compileLines(plugin.getConfig().getStringList("scoreboard.lines"));
+        deathmatchTemplates = compileLines(plugin.getConfig().getStringList("scoreboard.deathmatch-lines"));
+        Arrays.fill(rowTeams, null);
+        Arrays.fill(renderedTemplates, null);
+        Arrays.fill(renderedValues, null);
+        renderedRowCount = 0;
+    }
+    
+    /**
+     * Compiles configured lines into templates.
+     */
+    private static @NotNull List<MessageTemplate> compileLines(@NotNull List<String> lines) {
+        List<MessageTemplate> templates = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            templates.add(MessageTemplate.compile(line, PLACEHOLDERS));
+        }
+        return templates;
     }
     
     /**
@@ -126,9 +188,7 @@ public class GameScoreboardManager {
             return;
         }
         
-        clearExistingScores();
         updateScoreboardContent();
-        updateScoreboardVisibility();
     }
     
     /**
@@ -143,60 +203,131 @@ public class GameScoreboardManager {
     }
     
     /**
-     * Clears existing scores from the scoreboard.
-     */
-    private void clearExistingScores() {
-        for (String entry : new HashSet<>(gameScoreboard.getEntries())) {
-            gameScoreboard.resetScores(entry);
-        }
-    }
-    
-    /**
-     * Updates the content displayed on the scoreboard.
+     * Brings the sidebar rows in line with the templates, writing only the
+     * rows whose line or placeholder values changed.
      */
     private void updateScoreboardContent() {
-        // Get regular scoreboard lines from config
-        List<String> lines = plugin.getConfig().getStringList("scoreboard.lines");
-        
         // Process placeholders in lines
         Map<String, String> placeholders = createPlaceholders();
         
         // Create display lines with deathmatch content if applicable
-        List<String> displayLines = createDisplayLines(lines);
+        List<MessageTemplate> displayLines = createDisplayLines();
+        int rowCount = Math.min(MAX_ROWS, displayLines.size());
+        
+        int rowWrites = 0;
+        int scoreWrites = 0;
+        for (int row = 0; row < rowCount; row++) {
+            MessageTemplate template = displayLines.get(row);
+            String values = slotValues(template, placeholders);
+            if (template == renderedTemplates[row] && values.equals(renderedValues[row])) {
+                continue;
+            }
+            
+            getRowTeam(row).prefix(template.render(placeholders));
+            rowWrites++;
+            if (renderedTemplates[row] == null) {
+                // Rows are scored from the top down, so adding or removing rows never moves the others
+                objective.getScore(rowEntry(row)).setScore(MAX_ROWS - row);
+                scoreWrites++;
+            }
+            renderedTemplates[row] = template;
+            renderedValues[row] = values;
+        }
         
-        // Add scores to the scoreboard
-        addScoresToObjective(displayLines, placeholders);
+        for (int row = rowCount; row < renderedRowCount; row++) {
+            gameScoreboard.resetScores(rowEntry(row));
+            renderedTemplates[row] = null;
+            renderedValues[row] = null;
+            scoreWrites++;
+        }
+        renderedRowCount = rowCount;
+        
+        recordUpdate(rowWrites, scoreWrites);
     }
     
     /**
-     * Creates the final list of lines to display on the scoreboard.
+     * Joins the values of the placeholders a line uses, so unchanged rows are
+     * found without rendering them.
      */
-    private @NotNull List<String> createDisplayLines(@NotNull List<String> baseLines) {
-        List<String> displayLines = new ArrayList<>(baseLines);
-        
-        // If in deathmatch, add the deathmatch lines
-        if (getCurrentGameState() == GameState.DEATHMATCH) {
-            List<String> deathmatchLines = plugin.getConfig().getStringList("scoreboard.deathmatch-lines");
-            if (!deathmatchLines.isEmpty()) {
-                displayLines.addAll(deathmatchLines);
+    private static @NotNull String slotValues(@NotNull MessageTemplate template, @NotNull Map<String, String> placeholders) {
+        List<String> slots = template.getSlots();
+        if (slots.isEmpty()) {
+            return "";
+        }
+        StringBuilder values = new StringBuilder();
+        for (String slot : slots) {
+            values.append(placeholders.get(slot)).append('\0');
+        }
+        return values.toString();
+    }
+    
+    /**
+     * Records how many rows and packets an update wrote. Every row or score
+     * write is one packet to each player viewing the scoreboard.
+     */
+    private void recordUpdate(int rowWrites, int scoreWrites) {
+        int viewers = 0;
+        for (UUID playerId : playerManager.getPlayers()) {
+            Player player = playerManager.getCachedPlayer(playerId);
+            if (player != null && player.isOnline() && player.getScoreboard() == gameScoreboard) {
+                viewers++;
+            }
+        }
+        for (UUID spectatorId : playerManager.getSpectators()) {
+            Player spectator = playerManager.getCachedPlayer(spectatorId);
+            if (spectator != null && spectator.isOnline() && spectator.getScoreboard() == gameScoreboard) {
+                viewers++;
             }
         }
         
+        updates++;
+        lastRowWrites = rowWrites;
+        lastPackets = (rowWrites + scoreWrites) * viewers;
+        totalRowWrites += rowWrites;
+        totalPackets += lastPackets;
+        if (lastPackets > 0) {
+            logger.debug("Scoreboard update wrote " + rowWrites + " rows and " + scoreWrites
+                + " scores, " + lastPackets + " packets to " + viewers + " viewers");
+        }
+    }
+    
+    /**
+     * Creates the final list of lines to display on the scoreboard.
+     */
+    private @NotNull List<MessageTemplate> createDisplayLines() {
+        // If in deathmatch, add the deathmatch lines
+        if (getCurrentGameState() != GameState.DEATHMATCH || deathmatchTemplates.isEmpty()) {
+            return lineTemplates;
+        }
+        List<MessageTemplate> displayLines = new ArrayList<>(lineTemplates);
+        displayLines.addAll(deathmatchTemplates);
         return displayLines;
     }
     
     /**
-     * Adds processed lines as scores to the objective.
+     * Gets the team holding a row's text, creating it with the row's entry
+     * on first use.
      */
-    private void addScoresToObjective(@NotNull List<String> displayLines, @NotNull Map<String, String> placeholders) {
-        int score = displayLines.size();
-        for (String line : displayLines) {
-            // First replace placeholders, then parse MiniMessage formatting
-            String processedLine = MiniMessageUtils.processPlaceholders(line, placeholders);
-            // Convert to legacy format for scoreboard compatibility
-            String legacyLine = MiniMessageUtils.toLegacy(processedLine);
-            objective.getScore(legacyLine).setScore(score--);
+    private @NotNull Team getRowTeam(int row) {
+        Team team = rowTeams[row];
+        if (team == null) {
+            String name = "sg_row_" + row;
+            team = gameScoreboard.getTeam(name);
+            if (team == null) {
+                team = gameScoreboard.registerNewTeam(name);
+            }
+            team.addEntry(rowEntry(row));
+            rowTeams[row] = team;
         }
+        return team;
+    }
+    
+    /**
+     * Gets the entry of a row: a color code followed by a reset, which
+     * renders as nothing and is unique per row.
+     */
+    private static @NotNull String rowEntry(int row) {
+        return "\u00A7" + Character.forDigit(row, 16) + "\u00A7r";
     }
     
     /**
@@ -219,30 +350,24 @@ public class GameScoreboardManager {
     }
     
     /**
-     * Updates which players can see the scoreboard.
+     * Shows the scoreboard to a player who joined the game.
+     * 
+     * @param player The player
+     * @param spectator Whether the player joined as a spectator
      */
-    private void updateScoreboardVisibility() {
+    public void showScoreboard(@NotNull Player player, boolean spectator) {
         // Skip if scoreboard is disabled in config
         if (!plugin.getConfig().getBoolean("scoreboard.enabled", true) || gameScoreboard == null) {
             return;
         }
         
-        // Show scoreboard to all players in the game
-        for (UUID playerId : playerManager.getPlayers()) {
-            Player player = playerManager.getCachedPlayer(playerId);
-            if (player != null && player.isOnline()) {
-                player.setScoreboard(gameScoreboard);
-            }
+        // Show scoreboard to spectators if configured
+        if (spectator && !plugin.getConfig().getBoolean("spectator.enabled", true)) {
+            return;
         }
         
-        // Show scoreboard to spectators if configured
-        if (plugin.getConfig().getBoolean("spectator.enabled", true)) {
-            for (UUID spectatorId : playerManager.getSpectators()) {
-                Player spectator = playerManager.getCachedPlayer(spectatorId);
-                if (spectator != null && spectator.isOnline()) {
-                    spectator.setScoreboard(gameScoreboard);
-                }
-            }
+        if (player.getScoreboard() != gameScoreboard) {
+            player.setScoreboard(gameScoreboard);
         }
     }
     
@@ -323,6 +448,20 @@ public class GameScoreboardManager {
         }
     }
     
+    /**
+     * Gets the rendering metrics for debugging.
+     */
+    public @NotNull Map<String, Object> getDebugInfo() {
+        Map<String, Object> info = new HashMap<>();
+        info.put("rows", renderedRowCount);
+        info.put("updates", updates);
+        info.put("lastRowWrites", lastRowWrites);
+        info.put("lastPackets", lastPackets);
+        info.put("averageRowWritesPerUpdate", updates == 0 ? 0.0 : (double) totalRowWrites / updates);
+        info.put("averagePacketsPerUpdate", updates == 0 ? 0.0 : (double) totalPackets / updates);
+        return info;
+    }
+    
     // Getters
     public org.bukkit.scoreboard.Scoreboard getGameScoreboard() {
         return gameScoreboard;
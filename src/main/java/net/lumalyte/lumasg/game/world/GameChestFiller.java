@@ -2,30 +2,26 @@ package net.lumalyte.lumasg.game.world;
 
 import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.arena.Arena;
-import net.lumalyte.lumasg.chest.ChestManager;
+import net.lumalyte.lumasg.chest.ChestFillEngine;
+import net.lumalyte.lumasg.util.concurrent.TickBudgetedExecutor;
 import net.lumalyte.lumasg.util.core.DebugLogger;
+import net.lumalyte.lumasg.util.performance.PerformanceProfiler;
 import org.bukkit.Location;
-import org.bukkit.Material;
-import org.bukkit.block.Block;
-import org.bukkit.block.Chest;
-import org.bukkit.inventory.Inventory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.Map;
 
 /**
  * Manages chest-related operations in a Survival Games game.
  * 
- * <p>This class handles the filling of chests with items, ensuring chests are
- * properly scanned and loaded, and managing chest tiers. It works asynchronously
- * to minimize impact on server performance.</p>
+ * <p>This class fills the game's arena through the plugin's shared
+ * {@link ChestFillEngine} and keeps track of which chests that fill has
+ * written, so chests opened during the game are not filled a second time.
+ * Tier selection, loot rolling, threading and the per-tick write budget all
+ * live in the engine.</p>
  * 
  * @author LumaLyte
  * @version 1.0
@@ -41,42 +37,20 @@ public class GameChestFiller {
     /** The arena where this game is being played */
     private final @NotNull Arena arena;
     
-    /** The chest manager for item selection */
-    private final @NotNull ChestManager chestManager;
+    /** The ID of the game this filler belongs to */
+    private final @NotNull String gameId;
     
     /** Map to track which chests have been filled */
     private final @NotNull Map<Location, Boolean> filledChests = new ConcurrentHashMap<>();
     
-    /** Secure random number generator for chest tier selection */
-    private static final SecureRandom secureRandom = new SecureRandom();
-    
-    /** Default batch size for processing chests */
-    private static final int DEFAULT_BATCH_SIZE = 10;
-    
-    /** Semaphore to limit concurrent chest filling operations across all games */
-    private static final java.util.concurrent.Semaphore CONCURRENT_FILL_LIMITER = 
-        new java.util.concurrent.Semaphore(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    /** Result of the most recent fill, or null if none has completed */
+    private volatile @Nullable ChestFillEngine.FillResult lastFillResult;
     
-    /** Thread pool for concurrent chest filling operations */
-    private static final java.util.concurrent.ExecutorService CHEST_FILLER_POOL;
+    /** Number of mid-game refills that have completed */
+    private volatile int refillCount = 0;
     
-    static {
-        // Calculate optimal thread pool size for concurrent games
-        // We need to balance between performance and resource usage
-        int coreCount = Runtime.getRuntime().availableProcessors();
-        
-        // For chest filling across multiple games, we use a more conservative approach
-        // This prevents thread pool exhaustion when running many concurrent games
-        int poolSize = Math.max(4, Math.min(coreCount * 2, 16)); // Cap at 16 threads max
-        
-        CHEST_FILLER_POOL = java.util.concurrent.Executors.newFixedThreadPool(poolSize, 
-            r -> {
-                Thread t = new Thread(r, "LumaSG-ChestFiller-" + System.currentTimeMillis());
-                t.setDaemon(true); // Allow JVM to exit if tasks are still running
-                t.setPriority(Thread.NORM_PRIORITY - 1); // Slightly lower priority
-                return t;
-            });
-    }
+    /** Wall-clock duration of the most recent refill in nanoseconds */
+    private volatile long lastRefillNanos = 0;
     
     /**
      * Constructs a new GameChestFiller instance.
@@ -88,13 +62,8 @@ public class GameChestFiller {
     public GameChestFiller(@NotNull LumaSG plugin, @NotNull Arena arena, @NotNull String gameId) {
         this.plugin = plugin;
         this.arena = arena;
+        this.gameId = gameId;
         this.logger = plugin.getDebugLogger().forContext("GameChestFiller-" + gameId);
-        this.chestManager = plugin.getChestManager();
-        
-        int poolSize = ((java.util.concurrent.ThreadPoolExecutor)CHEST_FILLER_POOL).getMaximumPoolSize();
-        int permits = CONCURRENT_FILL_LIMITER.availablePermits();
-        logger.debug("Created GameChestFiller - Thread pool size: " + poolSize + 
-            ", Available permits: " + permits);
     }
     
     /**
@@ -103,211 +72,105 @@ public class GameChestFiller {
      * @return A CompletableFuture that completes when all chests are filled
      */
     public CompletableFuture<Void> fillArenaChestsAsync() {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Acquire permit to limit concurrent chest filling operations
-                CONCURRENT_FILL_LIMITER.acquire();
-                
-                try {
-                    if (!ensureChestsScanned()) {
-                        logger.warn("Failed to scan for chests - chest filling aborted");
-                        return CompletableFuture.<Void>completedFuture(null);
-                    }
-                    
-                    if (!ensureChestItemsLoaded()) {
-                        logger.warn("Failed to load chest items - chest filling aborted");
-                        return CompletableFuture.<Void>completedFuture(null);
-                    }
-                    
-                    List<Location> chestLocations = new ArrayList<>(arena.getChestLocations());
-                    int totalChests = chestLocations.size();
-                    AtomicInteger filledChests = new AtomicInteger(0);
-                    AtomicInteger failedChests = new AtomicInteger(0);
-                    
-                    logger.info("Starting to fill " + totalChests + " chests (permit acquired)");
-                    
-                    // Create a list to hold all batch futures
-                    List<CompletableFuture<Void>> batchFutures = new ArrayList<>();
-                    
-                    // Process chests in smaller batches to reduce CPU spikes
-                    int adaptiveBatchSize = Math.max(5, Math.min(DEFAULT_BATCH_SIZE, totalChests / 4));
-                    
-                    // Process chests in batches to avoid overwhelming the server
-                    for (int i = 0; i < chestLocations.size(); i += adaptiveBatchSize) {
-                        int end = Math.min(i + adaptiveBatchSize, chestLocations.size());
-                        List<Location> batch = chestLocations.subList(i, end);
-                        
-                        // Process each batch concurrently and collect the futures
-                        CompletableFuture<Void> batchFuture = CompletableFuture.runAsync(() -> {
-                            processBatch(batch, filledChests, failedChests);
-                        }, CHEST_FILLER_POOL);
-                        
-                        batchFutures.add(batchFuture);
-                        
-                        // Add small delay between batch submissions to prevent CPU spikes
-                        if (i + adaptiveBatchSize < chestLocations.size()) {
-                            try {
-                                Thread.sleep(10); // 10ms delay between batches
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                                break;
-                            }
-                        }
-                    }
-                    
-                    // Return a future that completes when all batches are done
-                    return CompletableFuture.allOf(batchFutures.toArray(new CompletableFuture[0]))
-                        .thenRun(() -> {
-                            logger.info("Chest filling complete: " + filledChests.get() + " filled, " + 
-                                failedChests.get() + " failed");
-                        })
-                        .whenComplete((result, throwable) -> {
-                            // Always release the permit
-                            CONCURRENT_FILL_LIMITER.release();
-                        });
-                } catch (Exception e) {
-                    CONCURRENT_FILL_LIMITER.release();
-                    throw e;
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.warn("Chest filling interrupted while waiting for permit");
-                return CompletableFuture.<Void>completedFuture(null);
-            } catch (Exception e) {
-                logger.severe("Error during chest filling", e);
-                return CompletableFuture.<Void>completedFuture(null);
+        return fillArenaChestsAsync(null).thenAccept(result -> { });
+    }
+    
+    /**
+     * Fills all arena chests with items asynchronously, reporting progress as
+     * chests are written.
+     * 
+     * <p>The arena is only rescanned if it was edited since its last scan.
+     * The returned future completes once the last write has been applied.</p>
+     * 
+     * @param listener Optional progress listener, called on the server thread
+     * @return A CompletableFuture completing with the fill result
+     */
+    public CompletableFuture<ChestFillEngine.FillResult> fillArenaChestsAsync(
+            @Nullable ChestFillEngine.ProgressListener listener) {
+        return fill(gameId, listener);
+    }
+    
+    /**
+     * Re-rolls every arena chest during the game.
+     * 
+     * <p>Uses the same engine and per-tick write budget as the initial fill,
+     * so a large refill is spread over as many ticks as it needs. The time from
+     * the start of the refill until its last write is recorded as the
+     * {@code chest-refill} metric, and its main-thread cost as
+     * {@code chest-refill.main-thread}.</p>
+     * 
+     * @return A CompletableFuture completing with the refill result
+     */
+    public CompletableFuture<ChestFillEngine.FillResult> refillArenaChestsAsync() {
+        long started = System.nanoTime();
+        return fill(gameId + " refill", null).thenApply(result -> {
+            long duration = System.nanoTime() - started;
+            lastRefillNanos = duration;
+            refillCount++;
+            PerformanceProfiler.recordDuration("chest-refill", duration);
+            PerformanceProfiler.recordDuration("chest-refill.main-thread", result.applyReport().mainThreadNanos());
+            logger.info("Chest refill #" + refillCount + " finished in "
+                + String.format("%.2f", duration / 1_000_000.0) + "ms - " + result);
+            return result;
+        });
+    }
+    
+    /**
+     * Fills the arena through the engine and tracks the chests written.
+     */
+    private CompletableFuture<ChestFillEngine.FillResult> fill(@NotNull String label,
+                                                               @Nullable ChestFillEngine.ProgressListener listener) {
+        return plugin.getChestFillEngine().fillArena(label, arena, (location, filled, completed, total) -> {
+            if (filled) {
+                filledChests.put(location, true);
+            }
+            if (listener != null) {
+                listener.onProgress(location, filled, completed, total);
+            }
+        }).whenComplete((result, error) -> {
+            if (error != null) {
+                logger.warn("Error during chest filling", error);
+            } else {
+                lastFillResult = result;
             }
-        }, CHEST_FILLER_POOL).thenCompose(future -> future);
+        });
     }
     
     /**
-     * Ensures all chests in the arena have been scanned.
+     * Gets the result of the most recent fill.
      * 
-     * @return true if scan was successful, false otherwise
+     * @return The fill result, or null if no fill has completed yet
      */
-    private boolean ensureChestsScanned() {
-        try {
-            int chestCount = arena.scanForChests();
-            logger.debug("Found " + chestCount + " chests in arena");
-            return true;
-        } catch (Exception e) {
-            logger.warn("Error scanning for chests", e);
-            return false;
-        }
+    public @Nullable ChestFillEngine.FillResult getLastFillResult() {
+        return lastFillResult;
     }
     
     /**
-     * Ensures chest items are loaded from configuration.
+     * Gets the main-thread cost of the most recent fill.
      * 
-     * @return true if items were loaded successfully, false otherwise
+     * @return The batch report, or null if no fill has completed yet
      */
-    private boolean ensureChestItemsLoaded() {
-        try {
-            chestManager.loadChestItems();
-            return true;
-        } catch (Exception e) {
-            logger.warn("Error loading chest items", e);
-            return false;
-        }
+    public @Nullable TickBudgetedExecutor.BatchReport getLastFillReport() {
+        ChestFillEngine.FillResult result = lastFillResult;
+        return result != null ? result.applyReport() : null;
     }
     
     /**
-     * Processes a batch of chest locations.
+     * Gets the number of mid-game refills that have completed.
      * 
-     * @param batch The batch of locations to process
-     * @param filledChests Counter for successfully filled chests
-     * @param failedChests Counter for failed chest fills
+     * @return The refill count
      */
-    private void processBatch(@NotNull List<Location> batch, 
-                            @NotNull AtomicInteger filledChests, 
-                            @NotNull AtomicInteger failedChests) {
-        // Process chests sequentially within each batch to reduce CPU load
-        // The concurrency comes from multiple batches running in parallel
-        for (Location location : batch) {
-            try {
-                Block block = location.getBlock();
-                if (block.getType() != Material.CHEST) {
-                    logger.debug("Block at " + location + " is not a chest");
-                    failedChests.incrementAndGet();
-                    continue;
-                }
-                
-                // We need to run inventory operations on the main thread
-                CompletableFuture<Void> mainThreadFuture = new CompletableFuture<>();
-                plugin.getServer().getScheduler().runTask(plugin, () -> {
-                    try {
-                        Chest chest = (Chest) block.getState();
-                        Inventory inventory = chest.getInventory();
-                        inventory.clear();
-                        
-                        String tier = selectChestTier();
-                        chestManager.fillChest(location, tier);
-                        
-                        this.filledChests.put(location, true);
-                        filledChests.incrementAndGet();
-                        
-                        logger.debug("Filled chest at " + location + " with tier " + tier);
-                        mainThreadFuture.complete(null);
-                    } catch (Exception e) {
-                        logger.warn("Error filling chest at " + location, e);
-                        failedChests.incrementAndGet();
-                        mainThreadFuture.completeExceptionally(e);
-                    }
-                });
-                
-                // Wait for the main thread operation to complete with timeout
-                try {
-                    mainThreadFuture.get(5, java.util.concurrent.TimeUnit.SECONDS);
-                } catch (java.util.concurrent.TimeoutException e) {
-                    logger.warn("Timeout filling chest at " + location);
-                    failedChests.incrementAndGet();
-                } catch (Exception e) {
-                    logger.warn("Error waiting for chest fill at " + location, e);
-                    failedChests.incrementAndGet();
-                }
-                
-                // Small delay between chests to prevent overwhelming the main thread
-                try {
-                    Thread.sleep(5); // 5ms delay between chests
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            } catch (Exception e) {
-                logger.warn("Error processing chest at " + location, e);
-                failedChests.incrementAndGet();
-            }
-        }
+    public int getRefillCount() {
+        return refillCount;
     }
     
     /**
-     * Selects a random chest tier based on configuration weights.
+     * Gets the wall-clock duration of the most recent refill.
      * 
-     * @return The selected tier name
+     * @return The duration in milliseconds, or 0 if no refill has completed
      */
-    private @NotNull String selectChestTier() {
-        Map<String, Integer> tierWeights = Objects.requireNonNull(plugin.getConfig().getConfigurationSection("chest-tiers"))
-            .getValues(false)
-            .entrySet()
-            .stream()
-            .collect(java.util.stream.Collectors.toMap(
-                Map.Entry::getKey,
-                e -> ((Number) e.getValue()).intValue()
-            ));
-        
-        int totalWeight = tierWeights.values().stream().mapToInt(Integer::intValue).sum();
-        int randomValue = secureRandom.nextInt(totalWeight);
-        
-        int currentWeight = 0;
-        for (Map.Entry<String, Integer> entry : tierWeights.entrySet()) {
-            currentWeight += entry.getValue();
-            if (randomValue < currentWeight) {
-                return entry.getKey();
-            }
-        }
-        
-        // Fallback to default tier
-        return "default";
+    public double getLastRefillMillis() {
+        return lastRefillNanos / 1_000_000.0;
     }
     
     /**
@@ -335,21 +198,4 @@ public class GameChestFiller {
     public void cleanup() {
         filledChests.clear();
     }
-    
-    /**
-     * Shuts down the chest filler thread pool.
-     * This should be called when the plugin is disabled.
-     */
-    public static void shutdownThreadPool() {
-        CHEST_FILLER_POOL.shutdown();
-        try {
-            // Wait for tasks to complete with a timeout
-            if (!CHEST_FILLER_POOL.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS)) {
-                CHEST_FILLER_POOL.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            CHEST_FILLER_POOL.shutdownNow();
-        }
-    }
-}
\ No newline at end of file
+}
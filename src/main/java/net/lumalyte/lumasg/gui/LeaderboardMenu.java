@@ -1,7 +1,8 @@
 package net.lumalyte.lumasg.gui;
 
 import net.lumalyte.lumasg.LumaSG;
-import net.lumalyte.lumasg.statistics.PlayerStats;
+import net.lumalyte.lumasg.statistics.LeaderboardEntry;
+import net.lumalyte.lumasg.statistics.LeaderboardPeriod;
 import net.lumalyte.lumasg.statistics.StatType;
 import net.lumalyte.lumasg.util.core.DebugLogger;
 import org.bukkit.Material;
@@ -60,46 +61,58 @@ public class LeaderboardMenu {
      * @param player The player to open the menu for
      */
     public void openMenu(Player player) {
-        openLeaderboardTab(player, StatType.WINS);
+        openLeaderboardTab(player, StatType.WINS, LeaderboardPeriod.ALL_TIME);
     }
     
     /**
-     * Opens a specific leaderboard tab.
+     * Opens a specific all-time leaderboard tab.
      * 
      * @param player The player to open the menu for
      * @param statType The statistic type to display
      */
     public void openLeaderboardTab(Player player, StatType statType) {
-        Gui gui = createBaseGui(statType);
-        Window window = createWindow(player, statType, gui);
+        openLeaderboardTab(player, statType, LeaderboardPeriod.ALL_TIME);
+    }
+    
+    /**
+     * Opens a specific leaderboard tab for a period.
+     * 
+     * @param player The player to open the menu for
+     * @param statType The statistic type to display
+     * @param period The period the leaderboard covers
+     */
+    public void openLeaderboardTab(Player player, StatType statType, LeaderboardPeriod period) {
+        Gui gui = createBaseGui(statType, period);
+        Window window = createWindow(player, statType, period, gui);
         window.open();
-        loadLeaderboardData(gui, statType);
+        loadLeaderboardData(gui, statType, period);
     }
     
-    private Gui createBaseGui(StatType statType) {
+    private Gui createBaseGui(StatType statType, LeaderboardPeriod period) {
         return Gui.normal()
             .setStructure(
                 "# k # w # g # d #",
-                "# # # c # # # # #",
+                "# # # c # p # # #",
                 "# l l l l l l l #",
                 "# l l l l l l l #",
                 "# l l l l l l l #",
                 "# # # # b # # # #")
             .addIngredient('#', createBorderItem())
-            .addIngredient('k', createTabItem(StatType.KILLS, statType))
-            .addIngredient('w', createTabItem(StatType.WINS, statType))
-            .addIngredient('g', createTabItem(StatType.GAMES_PLAYED, statType))
-            .addIngredient('d', createTabItem(StatType.DAMAGE_DEALT, statType))
-            .addIngredient('c', createTabItem(StatType.CHESTS_OPENED, statType))
+            .addIngredient('k', createTabItem(StatType.KILLS, statType, period))
+            .addIngredient('w', createTabItem(StatType.WINS, statType, period))
+            .addIngredient('g', createTabItem(StatType.GAMES_PLAYED, statType, period))
+            .addIngredient('d', createTabItem(StatType.DAMAGE_DEALT, statType, period))
+            .addIngredient('c', createTabItem(StatType.CHESTS_OPENED, statType, period))
+            .addIngredient('p', createPeriodItem(statType, period))
             .addIngredient('l', createLoadingItem())
             .addIngredient('b', createBackButton())
             .build();
     }
     
-    private Window createWindow(Player player, StatType statType, Gui gui) {
+    private Window createWindow(Player player, StatType statType, LeaderboardPeriod period, Gui gui) {
         return Window.single()
             .setViewer(player)
-            .setTitle("§8§lLumaSG §7- §f" + getStatTypeDisplayName(statType) + " Leaderboard")
+            .setTitle("§8§lLumaSG §7- §f" + getStatTypeDisplayName(statType) + " §7(" + period.getDisplayName() + ")")
             .setGui(gui)
             .build();
     }
@@ -109,13 +122,23 @@ public class LeaderboardMenu {
             .setDisplayName(""));
     }
     
-    private Item createTabItem(StatType tabType, StatType currentStatType) {
+    private Item createTabItem(StatType tabType, StatType currentStatType, LeaderboardPeriod period) {
         TabItemConfig config = TAB_CONFIGS.get(tabType);
         return new LeaderboardTabItem(
             tabType,
             currentStatType,
             config,
-            player -> openLeaderboardTab(player, tabType)
+            player -> openLeaderboardTab(player, tabType, period)
+        );
+    }
+    
+    private Item createPeriodItem(StatType statType, LeaderboardPeriod period) {
+        LeaderboardPeriod next = period.next();
+        return new LeaderboardActionItem(
+            Material.CLOCK,
+            "§e§l" + period.getDisplayName(),
+            "§7Click to show §f" + next.getDisplayName(),
+            player -> openLeaderboardTab(player, statType, next)
         );
     }
     
@@ -137,9 +160,9 @@ public class LeaderboardMenu {
     /**
      * Loads leaderboard data asynchronously and updates the GUI.
      */
-    private void loadLeaderboardData(Gui gui, StatType statType) {
-        CompletableFuture<List<PlayerStats>> future = plugin.getStatisticsManager()
-            .getLeaderboard(statType, layout.getMaxEntries());
+    private void loadLeaderboardData(Gui gui, StatType statType, LeaderboardPeriod period) {
+        CompletableFuture<List<LeaderboardEntry>> future = plugin.getStatisticsManager()
+            .getLeaderboard(statType, period, layout.getMaxEntries());
             
         future.thenAccept(leaderboard -> 
             plugin.getServer().getScheduler().runTask(plugin, () -> 
@@ -155,12 +178,12 @@ public class LeaderboardMenu {
     /**
      * Updates the GUI with leaderboard data.
      */
-    private void updateLeaderboardGUI(Gui gui, List<PlayerStats> leaderboard, StatType statType) {
+    private void updateLeaderboardGUI(Gui gui, List<LeaderboardEntry> leaderboard, StatType statType) {
         layout.getSlots().forEach(slot -> gui.setItem(slot, null));
         
         for (int i = 0; i < Math.min(leaderboard.size(), layout.getMaxEntries()); i++) {
-            PlayerStats stats = leaderboard.get(i);
-            Item playerItem = createLeaderboardItem(stats, i + 1, statType);
+            LeaderboardEntry entry = leaderboard.get(i);
+            Item playerItem = createLeaderboardItem(entry, i + 1, statType);
             gui.setItem(layout.getSlots().get(i), playerItem);
         }
         
@@ -187,17 +210,14 @@ public class LeaderboardMenu {
     /**
      * Creates a leaderboard item for a player.
      */
-    private Item createLeaderboardItem(PlayerStats stats, int rank, StatType statType) {
+    private Item createLeaderboardItem(LeaderboardEntry entry, int rank, StatType statType) {
         Material material = getMaterialForRank(rank);
-        String displayName = String.format("§e§l#%d §f%s", rank, stats.getPlayerName());
-        String value = getStatValueString(stats, statType);
+        String displayName = String.format("§e§l#%d §f%s", rank, entry.playerName());
+        String value = getStatValueString(entry.value(), statType);
         
         return new SimpleItem(new ItemBuilder(material)
             .setDisplayName(displayName)
-            .addLoreLines(
-                "§7" + getStatTypeDisplayName(statType) + ": §e" + value,
-                "§8Last updated: §7" + stats.getLastUpdated()
-            ));
+            .addLoreLines("§7" + getStatTypeDisplayName(statType) + ": §e" + value));
     }
     
     private Material getMaterialForRank(int rank) {
@@ -217,26 +237,37 @@ public class LeaderboardMenu {
             case KILLS -> "Kills";
             case WINS -> "Wins";
             case GAMES_PLAYED -> "Games Played";
+            case KILL_DEATH_RATIO -> "K/D Ratio";
+            case WIN_RATE -> "Win Rate";
+            case TIME_PLAYED -> "Time Played";
+            case BEST_PLACEMENT -> "Best Placement";
+            case WIN_STREAK -> "Best Win Streak";
+            case TOP3_FINISHES -> "Top 3 Finishes";
             case DAMAGE_DEALT -> "Damage Dealt";
             case CHESTS_OPENED -> "Chests Opened";
-            default -> statType.name();
         };
     }
     
     /**
      * Gets the formatted string value for a statistic.
      */
-    private String getStatValueString(PlayerStats stats, StatType statType) {
+    private String getStatValueString(double value, StatType statType) {
         return switch (statType) {
-            case KILLS -> String.valueOf(stats.getKills());
-            case WINS -> String.valueOf(stats.getWins());
-            case GAMES_PLAYED -> String.valueOf(stats.getGamesPlayed());
-            case DAMAGE_DEALT -> decimalFormat.format(stats.getTotalDamageDealt());
-            case CHESTS_OPENED -> String.valueOf(stats.getChestsOpened());
-            default -> "N/A";
+            case KILL_DEATH_RATIO, DAMAGE_DEALT -> decimalFormat.format(value);
+            case WIN_RATE -> decimalFormat.format(value) + "%";
+            case TIME_PLAYED -> formatTimePlayed((long) value);
+            // Players who never placed are stored past any real placement
+            case BEST_PLACEMENT -> value <= 0 || value >= 999999 ? "N/A" : "#" + (long) value;
+            default -> String.valueOf((long) value);
         };
     }
     
+    private String formatTimePlayed(long seconds) {
+        long hours = seconds / 3600;
+        long minutes = (seconds % 3600) / 60;
+        return hours > 0 ? hours + "h " + minutes + "m" : minutes + "m";
+    }
+    
     private static class LeaderboardLayout {
         private final List<Integer> slots = List.of(
             18, 19, 20, 21, 22, 23, 24,  // Row 3
@@ -259,9 +259,11 @@ public class SetupMenu {
                 .setDisplayName("§b§l" + arena.getName())
                 .addLoreLines(
                     "§7Spawn Points: §f" + arena.getSpawnPoints().size(),
-                    "§7Chest Locations: §f" + arena.getChestLocations().size(),
+                    "§7Chest Locations: §f" + arena.getChestLocations().size()
+                        + (arena.isChestIndexCurrent() ? "" : " §6(rescan pending)"),
                     "",
                     "§eLeft-Click: §7Edit arena",
+                    "§eShift-Click: §7Rescan chests",
                     "§cRight-Click: §7Delete arena"
                 );
             
@@ -275,7 +277,14 @@ public class SetupMenu {
                 public void handleClick(ClickType clickType, Player player, org.bukkit.event.inventory.@NotNull InventoryClickEvent event) {
                     player.closeInventory();
                     
-                    if (clickType.isLeftClick()) {
+                    if (clickType.isShiftClick()) {
+                        // Rebuild the arena's chest index
+                        player.playSound(player.getLocation(), org.bukkit.Sound.UI_BUTTON_CLICK, 0.5f, 1.0f);
+                        player.sendMessage(Component.text("§eScanning arena §f" + arena.getName() + " §efor chests..."));
+                        arena.markChestIndexStale();
+                        arena.ensureChestIndex().thenAccept(chestCount -> plugin.getServer().getScheduler().runTask(plugin, () ->
+                            player.sendMessage(Component.text("§aFound §f" + chestCount + " §achests in arena §f" + arena.getName()))));
+                    } else if (clickType.isLeftClick()) {
                         // Edit arena
                         player.playSound(player.getLocation(), org.bukkit.Sound.UI_BUTTON_CLICK, 0.5f, 1.0f);
                         plugin.getServer().getScheduler().runTask(plugin, () -> {
@@ -3,10 +3,16 @@ package net.lumalyte.lumasg.hooks;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.game.core.Game;
+import net.lumalyte.lumasg.statistics.LeaderboardEntry;
+import net.lumalyte.lumasg.statistics.StatType;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * This class handles the integration with PlaceholderAPI.
  * It registers custom placeholders that can be used in any plugin that supports PlaceholderAPI.
@@ -39,6 +45,15 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
         return true; // This is required or placeholders will stop working when the plugin is reloaded
     }
 
+    /** Statistics by their placeholder name, such as {@code kills} or {@code games_played} */
+    private static final Map<String, StatType> STAT_TYPES = new HashMap<>();
+
+    static {
+        for (StatType statType : StatType.values()) {
+            STAT_TYPES.put(statType.name().toLowerCase(Locale.ROOT), statType);
+        }
+    }
+
     @Override
     public @Nullable String onPlaceholderRequest(Player player, @NotNull String identifier) {
         // Handle global placeholders first (not player-specific)
@@ -66,6 +81,9 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
      * Handles global placeholders that don't require a player context
      */
     private @Nullable String handleGlobalPlaceholder(@NotNull String identifier) {
+        if (identifier.startsWith("top_")) {
+            return handleTopPlaceholder(identifier);
+        }
         return switch (identifier) {
             case "total_games" -> String.valueOf(plugin.getGameManager().getActiveGameCount());
             case "total_arenas" -> String.valueOf(plugin.getArenaManager().getArenas().size());
@@ -73,10 +91,62 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
         };
     }
     
+    /**
+     * Handles {@code top_<stat>_<position>_name} and {@code top_<stat>_<position>_value},
+     * answered from the in-memory rankings
+     */
+    private @Nullable String handleTopPlaceholder(@NotNull String identifier) {
+        boolean name = identifier.endsWith("_name");
+        if (!name && !identifier.endsWith("_value")) {
+            return null;
+        }
+        
+        String body = identifier.substring("top_".length(), identifier.lastIndexOf('_'));
+        int separator = body.lastIndexOf('_');
+        if (separator < 0) {
+            return null;
+        }
+        StatType statType = STAT_TYPES.get(body.substring(0, separator));
+        int position;
+        try {
+            position = Integer.parseInt(body.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (statType == null || position < 1) {
+            return null;
+        }
+        
+        LeaderboardEntry entry = plugin.getStatisticsManager().getRankings().getEntry(statType, position);
+        if (entry == null) {
+            return name ? "-" : "0";
+        }
+        return name ? entry.playerName() : formatStatValue(entry.value());
+    }
+    
+    /**
+     * Formats a statistic value, dropping the decimals of whole numbers
+     */
+    private @NotNull String formatStatValue(double value) {
+        if (value == Math.rint(value)) {
+            return String.valueOf((long) value);
+        }
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+    
     /**
      * Handles player-specific placeholders that don't require a game context
      */
     private @Nullable String handlePlayerPlaceholder(@NotNull Player player, @NotNull String identifier) {
+        if (identifier.startsWith("rank_")) {
+            StatType statType = STAT_TYPES.get(identifier.substring("rank_".length()));
+            if (statType == null) {
+                return null;
+            }
+            int rank = plugin.getStatisticsManager().getRankings().getRank(player.getUniqueId(), statType);
+            return rank > 0 ? String.valueOf(rank) : "-";
+        }
+        
         Game game = plugin.getGameManager().getGameByPlayer(player);
         return switch (identifier) {
             case "in_game" -> String.valueOf(game != null);
@@ -8,12 +8,15 @@ import net.lumalyte.lumasg.arena.ArenaManager;
 import net.lumalyte.lumasg.util.core.AdminWand;
 import net.lumalyte.lumasg.util.core.DebugLogger;
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
@@ -21,6 +24,7 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.player.PlayerSwapHandItemsEvent;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.bukkit.Bukkit;
@@ -33,6 +37,10 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class AdminWandListener implements Listener {
     
+    /** Delay after the last chest edit before the arena's chest index is rebuilt */
+    private static final long CHEST_RESCAN_DELAY_TICKS = 100L;
+    
+    private final @NotNull LumaSG plugin;
     private final AdminWand adminWand;
     private final ArenaManager arenaManager;
     
@@ -42,12 +50,17 @@ public class AdminWandListener implements Listener {
     private final Map<UUID, Arena> selectedArenas;
     private final Set<UUID> playersHoldingWand;
     
+    /** Pending debounced chest rescans, keyed by arena name */
+    private final Map<String, BukkitTask> pendingChestRescans;
+    
     public AdminWandListener(@NotNull LumaSG plugin) {
+        this.plugin = plugin;
         this.adminWand = new AdminWand(plugin);
         this.arenaManager = plugin.getArenaManager();
         this.logger = plugin.getDebugLogger().forContext("AdminWandListener");
         this.selectedArenas = new ConcurrentHashMap<>();
         this.playersHoldingWand = new HashSet<>();
+        this.pendingChestRescans = new ConcurrentHashMap<>();
     }
     
     @EventHandler(priority = EventPriority.NORMAL)
@@ -202,6 +215,65 @@ public class AdminWandListener implements Listener {
         arena.showSpawnPoints();
     }
     
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(@NotNull BlockPlaceEvent event) {
+        handleChestEdit(event.getPlayer(), event.getBlockPlaced());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(@NotNull BlockBreakEvent event) {
+        handleChestEdit(event.getPlayer(), event.getBlock());
+    }
+    
+    /**
+     * Invalidates the chest index of the arena a player is editing when they
+     * place or break a chest inside it, and schedules a debounced rescan so
+     * the index is rebuilt before the next game rather than during it.
+     * @param player The player who changed the block
+     * @param block The block that was placed or broken
+     */
+    private void handleChestEdit(@NotNull Player player, @NotNull Block block) {
+        Material type = block.getType();
+        if (type != Material.CHEST && type != Material.TRAPPED_CHEST) {
+            return;
+        }
+        
+        Arena arena = selectedArenas.get(player.getUniqueId());
+        if (arena == null || !isInsideArena(arena, block.getLocation())) {
+            return;
+        }
+        
+        arena.markChestIndexStale();
+        
+        BukkitTask previous = pendingChestRescans.remove(arena.getName());
+        if (previous != null) {
+            previous.cancel();
+        }
+        pendingChestRescans.put(arena.getName(), Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            pendingChestRescans.remove(arena.getName());
+            arena.ensureChestIndex().thenAccept(chestCount ->
+                logger.debug("Rebuilt chest index for arena " + arena.getName() + ": " + chestCount + " chests"));
+        }, CHEST_RESCAN_DELAY_TICKS));
+    }
+    
+    /**
+     * Checks if a location lies within an arena's scan radius.
+     * @param arena The arena to check
+     * @param location The location to check
+     * @return true if the location is inside the arena
+     */
+    private boolean isInsideArena(@NotNull Arena arena, @NotNull Location location) {
+        Location center = arena.getCenter();
+        if (center == null || center.getWorld() != location.getWorld()) {
+            return false;
+        }
+        long radius = arena.getRadius();
+        long dx = location.getBlockX() - center.getBlockX();
+        long dy = location.getBlockY() - center.getBlockY();
+        long dz = location.getBlockZ() - center.getBlockZ();
+        return dx * dx + dy * dy + dz * dz <= radius * radius;
+    }
+    
     @EventHandler(priority = EventPriority.NORMAL)
     public void onPlayerItemHeld(@NotNull PlayerItemHeldEvent event) {
         Player player = event.getPlayer();
@@ -13,10 +13,14 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import java.util.Map;
@@ -252,6 +256,34 @@ public class CustomItemListener implements Listener {
         logger.debug("Player " + player.getName() + " dropped custom item: " + customItem.getId());
     }
     
+    /**
+     * Flags tracker holders whose inventory was rearranged, so the tracker
+     * behavior checks they still carry the tracker.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(@NotNull InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            playerTrackerBehavior.markInventoryChanged(player);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(@NotNull InventoryDragEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            playerTrackerBehavior.markInventoryChanged(player);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHandItems(@NotNull PlayerSwapHandItemsEvent event) {
+        playerTrackerBehavior.markInventoryChanged(event.getPlayer());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerDeath(@NotNull PlayerDeathEvent event) {
+        playerTrackerBehavior.markInventoryChanged(event.getPlayer());
+    }
+    
     /**
      * Handles player disconnection cleanup.
      */
@@ -1,12 +1,27 @@
 package net.lumalyte.lumasg.listeners;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.bukkit.GameMode;
 import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPistonEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
@@ -21,6 +36,7 @@ import org.jetbrains.annotations.Nullable;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.arena.OcclusionMap;
 import net.lumalyte.lumasg.game.core.Game;
 import net.lumalyte.lumasg.game.core.GameManager;
 import net.lumalyte.lumasg.game.core.GameState;
@@ -47,6 +63,9 @@ import net.lumalyte.lumasg.util.cache.SkinCache;
  */
 public class PlayerListener implements Listener {
     
+    /** Ticks until blocks moved by a piston have left their moving state */
+    private static final long PISTON_SETTLE_TICKS = 3L;
+    
     /** The plugin instance for accessing managers and configuration */
     private final @NotNull LumaSG plugin;
     
@@ -96,6 +115,10 @@ public class PlayerListener implements Listener {
             if (game != null && game.getDisconnectedPlayers().contains(player.getUniqueId())) {
                 // Player was disconnected during game, handle reconnection
                 handlePlayerReconnection(player, game);
+            } else if (game == null) {
+                // Give back state stored for a game that never restored it, e.g. after a crash
+                plugin.getInventoryJournal().replay(player,
+                    plugin.getConfig().getBoolean("game.restore-inventory", true));
             }
         } catch (Exception e) {
             logger.warn("Error handling player join for " + player.getName(), e);
@@ -485,12 +508,14 @@ public class PlayerListener implements Listener {
         if (game.getState() == GameState.WAITING || game.getState() == GameState.COUNTDOWN) {
             // Allow reconnection during waiting or countdown
             player.sendMessage(Component.text("Welcome back! You have rejoined the game.", NamedTextColor.GREEN));
+            game.showScoreboard(player);
         } else {
             // Game is in progress, handle based on configuration
             boolean allowReconnect = plugin.getConfig().getBoolean("game.allow-reconnect", false);
             if (allowReconnect) {
                 player.sendMessage(Component.text("Welcome back! You have rejoined the game.", NamedTextColor.GREEN));
                 // Restore player state if needed
+                game.showScoreboard(player);
             } else {
                 player.sendMessage(Component.text("You cannot rejoin a game in progress.", NamedTextColor.RED));
                 game.removePlayer(player, false);
@@ -538,6 +563,146 @@ public class PlayerListener implements Listener {
         game.trackPlacedBlock(event.getBlock().getLocation());
     }
     
+    /**
+     * Passes placed blocks that went through to the game once no other
+     * listener can cancel them.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlaced(@NotNull BlockPlaceEvent event) {
+        Game game = gameManager.getGameByPlayer(event.getPlayer());
+        if (game != null) {
+            game.onBlockChanged(event.getBlockPlaced(), OcclusionMap.occludes(event.getBlockPlaced().getType()));
+        }
+    }
+    
+    /**
+     * Passes broken blocks that went through to the game once no other
+     * listener can cancel them.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBroken(@NotNull BlockBreakEvent event) {
+        Game game = gameManager.getGameByPlayer(event.getPlayer());
+        if (game != null) {
+            game.onBlockChanged(event.getBlock(), false);
+        }
+    }
+    
+    /**
+     * Clears the blocks destroyed by TNT, creepers and other entity explosions.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExploded(@NotNull EntityExplodeEvent event) {
+        notifyBlocksChanged(event.blockList(), false);
+    }
+    
+    /**
+     * Clears the blocks destroyed by block explosions such as beds and
+     * respawn anchors.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExploded(@NotNull BlockExplodeEvent event) {
+        notifyBlocksChanged(event.blockList(), false);
+    }
+    
+    /**
+     * Clears blocks burnt away by fire.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurnt(@NotNull BlockBurnEvent event) {
+        notifyBlocksChanged(List.of(event.getBlock()), false);
+    }
+    
+    /**
+     * Clears the block a fluid flows into.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFluidFlowed(@NotNull BlockFromToEvent event) {
+        notifyBlocksChanged(List.of(event.getToBlock()), false);
+    }
+    
+    /**
+     * Records blocks that fluids and weather create, such as cobblestone,
+     * obsidian, ice and snow.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFormed(@NotNull BlockFormEvent event) {
+        notifyBlocksChanged(List.of(event.getBlock()), OcclusionMap.occludes(event.getNewState().getType()));
+    }
+    
+    /**
+     * Records sand and gravel starting to fall or landing, and other blocks
+     * changed by entities.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangedBlock(@NotNull EntityChangeBlockEvent event) {
+        notifyBlocksChanged(List.of(event.getBlock()), OcclusionMap.occludes(event.getTo()));
+    }
+    
+    /**
+     * Records the blocks a piston pushes.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtended(@NotNull BlockPistonExtendEvent event) {
+        resampleMovedBlocks(event, event.getBlocks());
+    }
+    
+    /**
+     * Records the blocks a sticky piston pulls.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetracted(@NotNull BlockPistonRetractEvent event) {
+        resampleMovedBlocks(event, event.getBlocks());
+    }
+    
+    /**
+     * Passes block changes no player made to every running game. Each game
+     * ignores blocks outside its own arena.
+     * 
+     * @param blocks The blocks that changed
+     * @param occluding Whether the blocks now block line of sight
+     */
+    private void notifyBlocksChanged(@NotNull Collection<Block> blocks, boolean occluding) {
+        if (blocks.isEmpty() || gameManager.getActiveGameCount() == 0) {
+            return;
+        }
+        for (Game game : gameManager.getActiveGames()) {
+            for (Block block : blocks) {
+                game.onBlockChanged(block, occluding);
+            }
+        }
+    }
+    
+    /**
+     * Reads the blocks a piston moved once they have settled and passes
+     * what is there then to every running game. Covers the old and new
+     * position of every moved block and the piston head.
+     * 
+     * @param event The piston event
+     * @param moved The blocks the piston moves, at their old positions
+     */
+    private void resampleMovedBlocks(@NotNull BlockPistonEvent event, @NotNull List<Block> moved) {
+        if (gameManager.getActiveGameCount() == 0) {
+            return;
+        }
+        
+        BlockFace direction = event.getDirection();
+        List<Block> affected = new ArrayList<>(moved.size() * 2 + 2);
+        affected.add(event.getBlock().getRelative(direction));
+        affected.add(event.getBlock().getRelative(direction.getOppositeFace()));
+        for (Block block : moved) {
+            affected.add(block);
+            affected.add(block.getRelative(direction));
+        }
+        
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            for (Game game : gameManager.getActiveGames()) {
+                for (Block block : affected) {
+                    game.onBlockChanged(block, OcclusionMap.occludes(block.getType()));
+                }
+            }
+        }, PISTON_SETTLE_TICKS);
+    }
+    
     /**
      * Handles entity explosion events to prevent firework damage during celebrations.
      */
@@ -0,0 +1,20 @@
+package net.lumalyte.lumasg.statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A single leaderboard row: the player's name and the value of the statistic
+ * the leaderboard is sorted by.
+ * 
+ * <p>Leaderboard queries read only these two columns, so building a
+ * leaderboard never loads or deserializes full {@link PlayerStats}.</p>
+ * 
+ * @param playerName The player's last known name
+ * @param value The statistic value, as stored in its denormalized column
+ * 
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public record LeaderboardEntry(@NotNull String playerName, double value) {
+}
@@ -0,0 +1,83 @@
+package net.lumalyte.lumasg.statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.IsoFields;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The time window a leaderboard covers.
+ *
+ * <p>All-time leaderboards are read from player_stats. The other periods are
+ * read from rolling per-period totals that are increased with each finished
+ * game, so they only exist for statistics that can be summed per game.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public enum LeaderboardPeriod {
+    ALL_TIME("All Time"),
+    DAILY("Today"),
+    WEEKLY("This Week"),
+    SEASON("This Season");
+
+    /** Statistics that add up per game and therefore have per-period totals */
+    private static final Set<StatType> PERIOD_STATS = EnumSet.of(
+        StatType.WINS, StatType.KILLS, StatType.GAMES_PLAYED, StatType.TOP3_FINISHES,
+        StatType.DAMAGE_DEALT, StatType.CHESTS_OPENED, StatType.TIME_PLAYED);
+
+    private final String displayName;
+
+    LeaderboardPeriod(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public @NotNull String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Checks if this period has a leaderboard for the statistic.
+     *
+     * @param statType The statistic type
+     * @return true if a leaderboard for the statistic exists in this period
+     */
+    public boolean supports(@NotNull StatType statType) {
+        return this == ALL_TIME || PERIOD_STATS.contains(statType);
+    }
+
+    /**
+     * Gets the key of the period containing the given time, such as
+     * {@code 2026-10-16} for a day or {@code 2026-W42} for an ISO week.
+     *
+     * @param time The time
+     * @param zone The time zone days and weeks are counted in
+     * @param season The name of the current season
+     * @return The period key
+     */
+    public @NotNull String keyFor(@NotNull Instant time, @NotNull ZoneId zone, @NotNull String season) {
+        LocalDate date = LocalDate.ofInstant(time, zone);
+        return switch (this) {
+            case ALL_TIME -> "all";
+            case DAILY -> date.toString();
+            case WEEKLY -> String.format("%d-W%02d",
+                date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case SEASON -> season;
+        };
+    }
+
+    /**
+     * Gets the next period, wrapping around, for cycling through periods in menus.
+     *
+     * @return The next period
+     */
+    public @NotNull LeaderboardPeriod next() {
+        LeaderboardPeriod[] periods = values();
+        return periods[(ordinal() + 1) % periods.length];
+    }
+}
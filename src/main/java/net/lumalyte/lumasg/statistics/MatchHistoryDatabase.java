@@ -0,0 +1,266 @@
+package net.lumalyte.lumasg.statistics;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.jetbrains.annotations.NotNull;
+
+import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.util.core.DebugLogger;
+import net.lumalyte.lumasg.util.database.DatabaseConfig;
+import net.lumalyte.lumasg.util.database.DatabaseManager;
+import net.lumalyte.lumasg.util.database.Migration;
+import net.lumalyte.lumasg.util.database.MigrationRunner;
+
+/**
+ * Append-only history of finished games, one row per player per game.
+ *
+ * <p>Every game is written with a single batch insert when it ends; rows are
+ * never updated afterwards. The table is indexed by player and time, by arena
+ * and time, and by time alone, so recent games of a player or aggregates over
+ * a time window read a narrow index range instead of scanning the serialized
+ * {@link PlayerStats}.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public class MatchHistoryDatabase {
+
+    private final @NotNull LumaSG plugin;
+    private final @NotNull DatabaseManager databaseManager;
+
+    /** The debug logger instance for this match history database */
+    private final @NotNull DebugLogger.ContextualLogger logger;
+
+    private static final String CREATE_POSTGRESQL_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS match_results (
+            match_id VARCHAR(36) NOT NULL,
+            player_id VARCHAR(36) NOT NULL,
+            arena VARCHAR(64) NOT NULL,
+            game_mode VARCHAR(16) NOT NULL,
+            placement INTEGER NOT NULL,
+            player_count INTEGER NOT NULL,
+            kills INTEGER NOT NULL,
+            damage_dealt DOUBLE PRECISION NOT NULL,
+            damage_taken DOUBLE PRECISION NOT NULL,
+            chests_opened INTEGER NOT NULL,
+            duration_seconds BIGINT NOT NULL,
+            ended_at TIMESTAMP NOT NULL,
+            PRIMARY KEY (match_id, player_id)
+        )
+        """;
+
+    private static final String CREATE_MYSQL_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS match_results (
+            match_id VARCHAR(36) NOT NULL,
+            player_id VARCHAR(36) NOT NULL,
+            arena VARCHAR(64) NOT NULL,
+            game_mode VARCHAR(16) NOT NULL,
+            placement INT NOT NULL,
+            player_count INT NOT NULL,
+            kills INT NOT NULL,
+            damage_dealt DOUBLE NOT NULL,
+            damage_taken DOUBLE NOT NULL,
+            chests_opened INT NOT NULL,
+            duration_seconds BIGINT NOT NULL,
+            ended_at DATETIME(3) NOT NULL,
+            PRIMARY KEY (match_id, player_id),
+            INDEX idx_match_player_time (player_id, ended_at DESC),
+            INDEX idx_match_arena_time (arena, ended_at),
+            INDEX idx_match_time (ended_at)
+        ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+        """;
+
+    private static final String CREATE_SQLITE_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS match_results (
+            match_id TEXT NOT NULL,
+            player_id TEXT NOT NULL,
+            arena TEXT NOT NULL,
+            game_mode TEXT NOT NULL,
+            placement INTEGER NOT NULL,
+            player_count INTEGER NOT NULL,
+            kills INTEGER NOT NULL,
+            damage_dealt REAL NOT NULL,
+            damage_taken REAL NOT NULL,
+            chests_opened INTEGER NOT NULL,
+            duration_seconds INTEGER NOT NULL,
+            ended_at INTEGER NOT NULL,
+            PRIMARY KEY (match_id, player_id)
+        )
+        """;
+
+    // PostgreSQL and SQLite create indexes in separate statements
+    private static final String[] CREATE_INDEXES_SQL = {
+        "CREATE INDEX IF NOT EXISTS idx_match_player_time ON match_results (player_id, ended_at DESC)",
+        "CREATE INDEX IF NOT EXISTS idx_match_arena_time ON match_results (arena, ended_at)",
+        "CREATE INDEX IF NOT EXISTS idx_match_time ON match_results (ended_at)"
+    };
+
+    private static final String INSERT_RESULT_SQL = """
+        INSERT INTO match_results (match_id, player_id, arena, game_mode, placement, player_count,
+            kills, damage_dealt, damage_taken, chests_opened, duration_seconds, ended_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String SELECT_RECENT_SQL = """
+        SELECT match_id, player_id, arena, game_mode, placement, player_count, kills,
+            damage_dealt, damage_taken, chests_opened, duration_seconds, ended_at
+        FROM match_results WHERE player_id = ? ORDER BY ended_at DESC LIMIT ?
+        """;
+
+    private static final String SELECT_KILLS_SINCE_SQL = """
+        SELECT COUNT(*) AS games, COALESCE(SUM(kills), 0) AS kills
+        FROM match_results WHERE player_id = ? AND ended_at >= ?
+        """;
+
+    /**
+     * Creates a new MatchHistoryDatabase instance.
+     *
+     * @param plugin The plugin instance
+     * @param databaseManager The database manager with connection pooling
+     */
+    public MatchHistoryDatabase(@NotNull LumaSG plugin, @NotNull DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.logger = plugin.getDebugLogger().forContext("MatchHistoryDatabase");
+    }
+
+    /**
+     * Creates or migrates the match_results table.
+     *
+     * @return A CompletableFuture that completes when the schema is current
+     */
+    public @NotNull CompletableFuture<Void> initialize() {
+        return new MigrationRunner(plugin, databaseManager).migrate("matches", schemaMigrations())
+            .handle((version, error) -> {
+                if (error != null) {
+                    logger.severe("Failed to initialize match history", error);
+                    throw new IllegalStateException("Match history initialization failed", error);
+                }
+                logger.info("Match history initialized (schema version " + version + ")");
+                return null;
+            });
+    }
+
+    /**
+     * Gets the schema migrations of the match history, oldest first.
+     *
+     * @return The match history migrations
+     */
+    private @NotNull List<Migration> schemaMigrations() {
+        return List.of(
+            Migration.builder(1, "Create match_results")
+                .sql(DatabaseConfig.DatabaseType.POSTGRESQL, CREATE_POSTGRESQL_TABLE_SQL)
+                .sql(DatabaseConfig.DatabaseType.POSTGRESQL, CREATE_INDEXES_SQL)
+                .sql(DatabaseConfig.DatabaseType.MYSQL, CREATE_MYSQL_TABLE_SQL)
+                .sql(DatabaseConfig.DatabaseType.SQLITE, CREATE_SQLITE_TABLE_SQL)
+                .sql(DatabaseConfig.DatabaseType.SQLITE, CREATE_INDEXES_SQL)
+                .build()
+        );
+    }
+
+    /**
+     * Appends the results of one game in a single batch insert.
+     *
+     * @param results One result per player of the game
+     * @return A CompletableFuture that completes when the rows are written
+     */
+    public @NotNull CompletableFuture<Void> saveMatch(@NotNull List<MatchResult> results) {
+        if (results.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Object[][] rows = new Object[results.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            MatchResult result = results.get(i);
+            rows[i] = new Object[]{
+                result.matchId().toString(),
+                result.playerId().toString(),
+                result.arena(),
+                result.gameMode(),
+                result.placement(),
+                result.playerCount(),
+                result.kills(),
+                result.damageDealt(),
+                result.damageTaken(),
+                result.chestsOpened(),
+                result.durationSeconds(),
+                Timestamp.from(result.endedAt())
+            };
+        }
+
+        UUID matchId = results.getFirst().matchId();
+        return databaseManager.executeBatchAsync("matches.save", INSERT_RESULT_SQL, rows)
+            .handle((counts, error) -> {
+                if (error != null) {
+                    logger.error("Failed to save match history for game " + matchId, error);
+                    throw new RuntimeException("Failed to save match history", error);
+                }
+                logger.debug("Saved " + rows.length + " match results for game " + matchId);
+                return null;
+            });
+    }
+
+    /**
+     * Gets a player's most recent games, newest first.
+     *
+     * @param playerId The player's unique identifier
+     * @param limit The maximum number of games to return
+     * @return A CompletableFuture with the player's recent match results
+     */
+    public @NotNull CompletableFuture<List<MatchResult>> getRecentMatches(@NotNull UUID playerId, int limit) {
+        return databaseManager.query("matches.recent", SELECT_RECENT_SQL,
+                new Object[]{playerId.toString(), limit}, this::readMatchResult)
+            .whenComplete((results, error) -> {
+                if (error != null) {
+                    logger.error("Failed to load match history for " + playerId, error);
+                }
+            });
+    }
+
+    /**
+     * Gets a player's average kills per game over the games that ended at or
+     * after the given time.
+     *
+     * @param playerId The player's unique identifier
+     * @param since The start of the time window
+     * @return A CompletableFuture with the average, or 0 if the player has no games in the window
+     */
+    public @NotNull CompletableFuture<Double> getKillsPerGame(@NotNull UUID playerId, @NotNull Instant since) {
+        return databaseManager.queryFirst("matches.kills-per-game", SELECT_KILLS_SINCE_SQL,
+                new Object[]{playerId.toString(), Timestamp.from(since)},
+                resultSet -> {
+                    long games = resultSet.getLong("games");
+                    return games == 0 ? 0.0 : resultSet.getLong("kills") / (double) games;
+                })
+            .thenApply(average -> average != null ? average : 0.0)
+            .whenComplete((average, error) -> {
+                if (error != null) {
+                    logger.error("Failed to compute kills per game for " + playerId, error);
+                }
+            });
+    }
+
+    private @NotNull MatchResult readMatchResult(@NotNull ResultSet resultSet) throws SQLException {
+        return new MatchResult(
+            UUID.fromString(resultSet.getString("match_id")),
+            UUID.fromString(resultSet.getString("player_id")),
+            resultSet.getString("arena"),
+            resultSet.getString("game_mode"),
+            resultSet.getInt("placement"),
+            resultSet.getInt("player_count"),
+            resultSet.getInt("kills"),
+            resultSet.getDouble("damage_dealt"),
+            resultSet.getDouble("damage_taken"),
+            resultSet.getInt("chests_opened"),
+            resultSet.getLong("duration_seconds"),
+            resultSet.getTimestamp("ended_at").toInstant()
+        );
+    }
+}
@@ -0,0 +1,37 @@
+package net.lumalyte.lumasg.statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One player's result in a single finished game, as stored in the
+ * match_results table.
+ *
+ * <p>Unlike {@link PlayerStats}, which only keeps running totals, match
+ * results keep every game separately so history and time-windowed queries
+ * can be answered from indexed columns.</p>
+ *
+ * @param matchId The game's unique identifier, shared by all rows of the game
+ * @param playerId The player's unique identifier
+ * @param arena The name of the arena the game was played in
+ * @param gameMode The game mode, such as SOLO or DUOS
+ * @param placement The player's final placement (1 = winner)
+ * @param playerCount The number of players who took part in the game
+ * @param kills The kills the player achieved in the game
+ * @param damageDealt The damage the player dealt in the game
+ * @param damageTaken The damage the player took in the game
+ * @param chestsOpened The chests the player opened in the game
+ * @param durationSeconds The length of the game in seconds
+ * @param endedAt When the game ended
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public record MatchResult(@NotNull UUID matchId, @NotNull UUID playerId, @NotNull String arena,
+                          @NotNull String gameMode, int placement, int playerCount, int kills,
+                          double damageDealt, double damageTaken, int chestsOpened,
+                          long durationSeconds, @NotNull Instant endedAt) {
+}
@@ -0,0 +1,271 @@
+package net.lumalyte.lumasg.statistics;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.jetbrains.annotations.NotNull;
+
+import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.util.core.DebugLogger;
+import net.lumalyte.lumasg.util.database.DatabaseConfig;
+import net.lumalyte.lumasg.util.database.DatabaseManager;
+import net.lumalyte.lumasg.util.database.Migration;
+import net.lumalyte.lumasg.util.database.MigrationRunner;
+import net.lumalyte.lumasg.util.database.StatisticsColumnMapper;
+
+/**
+ * Daily, weekly and season leaderboard totals, kept up to date from the
+ * results of each finished game.
+ *
+ * <p>Each row holds one player's totals for one period. When a game ends, the
+ * per-game deltas are added to the player's daily, weekly and season rows in a
+ * single batch upsert, so the totals never have to be recomputed from the match
+ * history. Every stat column has a (period, value, name) index, which lets a
+ * period leaderboard be read with one index range scan no matter how many
+ * players took part in the period.</p>
+ *
+ * <p>Daily and weekly rows that have not changed within the retention window
+ * are deleted on startup; season rows are kept.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public class PeriodLeaderboardDatabase {
+
+    /** Periods with their own totals; all-time leaderboards are read from player_stats */
+    private static final LeaderboardPeriod[] TRACKED_PERIODS = {
+        LeaderboardPeriod.DAILY, LeaderboardPeriod.WEEKLY, LeaderboardPeriod.SEASON
+    };
+
+    /** Summed stat columns, in the parameter order of the upsert */
+    private static final StatType[] STATS = {
+        StatType.GAMES_PLAYED, StatType.WINS, StatType.KILLS, StatType.TOP3_FINISHES,
+        StatType.DAMAGE_DEALT, StatType.CHESTS_OPENED, StatType.TIME_PLAYED
+    };
+
+    private static final String SELECT_LEADERBOARD_SQL = """
+        SELECT player_name, %1$s AS stat_value FROM leaderboard_periods
+        WHERE period_type = ? AND period_key = ? ORDER BY %1$s DESC LIMIT ?
+        """;
+
+    private static final String DELETE_EXPIRED_SQL = """
+        DELETE FROM leaderboard_periods WHERE period_type IN ('DAILY', 'WEEKLY') AND last_updated < ?
+        """;
+
+    private final @NotNull LumaSG plugin;
+    private final @NotNull DatabaseManager databaseManager;
+    private final @NotNull ZoneId zone;
+    private final @NotNull String season;
+    private final int retentionDays;
+
+    /** The debug logger instance for this leaderboard database */
+    private final @NotNull DebugLogger.ContextualLogger logger;
+
+    /**
+     * Creates a new PeriodLeaderboardDatabase instance.
+     *
+     * @param plugin The plugin instance
+     * @param databaseManager The database manager with connection pooling
+     */
+    public PeriodLeaderboardDatabase(@NotNull LumaSG plugin, @NotNull DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.zone = ZoneId.systemDefault();
+        this.season = plugin.getConfig().getString("statistics.leaderboards.season", "1");
+        this.retentionDays = Math.max(8, plugin.getConfig().getInt("statistics.leaderboards.retention-days", 35));
+        this.logger = plugin.getDebugLogger().forContext("PeriodLeaderboardDatabase");
+    }
+
+    /**
+     * Creates or migrates the leaderboard_periods table and deletes expired
+     * daily and weekly totals.
+     *
+     * @return A CompletableFuture that completes when the table is ready
+     */
+    public @NotNull CompletableFuture<Void> initialize() {
+        return new MigrationRunner(plugin, databaseManager).migrate("leaderboards", schemaMigrations())
+            .thenCompose(version -> databaseManager.executeUpdateAsync(DELETE_EXPIRED_SQL,
+                Timestamp.from(Instant.now().minusSeconds(retentionDays * 86_400L))))
+            .handle((deleted, error) -> {
+                if (error != null) {
+                    logger.severe("Failed to initialize period leaderboards", error);
+                    throw new IllegalStateException("Period leaderboard initialization failed", error);
+                }
+                logger.info("Period leaderboards initialized (season " + season + ", removed " + deleted + " expired rows)");
+                return null;
+            });
+    }
+
+    private @NotNull List<Migration> schemaMigrations() {
+        return List.of(
+            Migration.builder(1, "Create leaderboard_periods")
+                .sql(DatabaseConfig.DatabaseType.POSTGRESQL, createTableSql(DatabaseConfig.DatabaseType.POSTGRESQL))
+                .sql(DatabaseConfig.DatabaseType.POSTGRESQL, createIndexesSql())
+                .sql(DatabaseConfig.DatabaseType.MYSQL, createTableSql(DatabaseConfig.DatabaseType.MYSQL))
+                .sql(DatabaseConfig.DatabaseType.SQLITE, createTableSql(DatabaseConfig.DatabaseType.SQLITE))
+                .sql(DatabaseConfig.DatabaseType.SQLITE, createIndexesSql())
+                .build()
+        );
+    }
+
+    private static @NotNull String createTableSql(@NotNull DatabaseConfig.DatabaseType dbType) {
+        boolean mysql = dbType == DatabaseConfig.DatabaseType.MYSQL;
+        String integer = mysql ? "INT" : "INTEGER";
+        String decimal = switch (dbType) {
+            case POSTGRESQL -> "DOUBLE PRECISION";
+            case MYSQL -> "DOUBLE";
+            case SQLITE -> "REAL";
+        };
+        String timestamp = switch (dbType) {
+            case POSTGRESQL -> "TIMESTAMP";
+            case MYSQL -> "DATETIME(3)";
+            case SQLITE -> "INTEGER";
+        };
+
+        StringBuilder sql = new StringBuilder("""
+            CREATE TABLE IF NOT EXISTS leaderboard_periods (
+                period_type VARCHAR(16) NOT NULL,
+                period_key VARCHAR(32) NOT NULL,
+                player_id VARCHAR(36) NOT NULL,
+                player_name VARCHAR(16) NOT NULL,
+            """);
+        for (StatType stat : STATS) {
+            String type = stat == StatType.DAMAGE_DEALT ? decimal
+                : stat == StatType.TIME_PLAYED ? "BIGINT" : integer;
+            sql.append("    ").append(StatisticsColumnMapper.getColumnName(stat))
+                .append(' ').append(type).append(" NOT NULL DEFAULT 0,\n");
+        }
+        sql.append("    last_updated ").append(timestamp).append(" NOT NULL,\n")
+            .append("    PRIMARY KEY (period_type, period_key, player_id)");
+        if (mysql) {
+            // MySQL has no CREATE INDEX IF NOT EXISTS, so its indexes are declared inline
+            for (StatType stat : STATS) {
+                String column = StatisticsColumnMapper.getColumnName(stat);
+                sql.append(",\n    INDEX idx_lbp_").append(column)
+                    .append(" (period_type, period_key, ").append(column).append(" DESC, player_name)");
+            }
+            sql.append(",\n    INDEX idx_lbp_last_updated (last_updated)");
+            sql.append("\n) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci");
+        } else {
+            sql.append("\n)");
+        }
+        return sql.toString();
+    }
+
+    private static @NotNull String[] createIndexesSql() {
+        List<String> statements = new ArrayList<>();
+        for (StatType stat : STATS) {
+            String column = StatisticsColumnMapper.getColumnName(stat);
+            statements.add("CREATE INDEX IF NOT EXISTS idx_lbp_" + column + " ON leaderboard_periods (period_type, period_key, "
+                + column + " DESC, player_name)");
+        }
+        statements.add("CREATE INDEX IF NOT EXISTS idx_lbp_last_updated ON leaderboard_periods (last_updated)");
+        return statements.toArray(new String[0]);
+    }
+
+    private static @NotNull String buildUpsertSql(@NotNull DatabaseConfig.DatabaseType dbType) {
+        boolean mysql = dbType == DatabaseConfig.DatabaseType.MYSQL;
+        StringBuilder columns = new StringBuilder("period_type, period_key, player_id, player_name");
+        StringBuilder values = new StringBuilder("?, ?, ?, ?");
+        StringBuilder updates = new StringBuilder(mysql ? "player_name = VALUES(player_name)" : "player_name = EXCLUDED.player_name");
+
+        for (StatType stat : STATS) {
+            String column = StatisticsColumnMapper.getColumnName(stat);
+            columns.append(", ").append(column);
+            values.append(", ?");
+            updates.append(",\n    ").append(column).append(" = ")
+                .append(mysql ? column + " + VALUES(" + column + ")" : "leaderboard_periods." + column + " + EXCLUDED." + column);
+        }
+        columns.append(", last_updated");
+        values.append(", ?");
+        updates.append(",\n    last_updated = ").append(mysql ? "VALUES(last_updated)" : "EXCLUDED.last_updated");
+
+        if (mysql) {
+            return "INSERT INTO leaderboard_periods (" + columns + ")\nVALUES (" + values + ")\n"
+                + "ON DUPLICATE KEY UPDATE\n    " + updates;
+        }
+        return "INSERT INTO leaderboard_periods (" + columns + ")\nVALUES (" + values + ")\n"
+            + "ON CONFLICT (period_type, period_key, player_id) DO UPDATE SET\n    " + updates;
+    }
+
+    /**
+     * Adds the results of a finished game to the daily, weekly and season
+     * totals of every player in it, in one batch.
+     *
+     * @param results One result per player of the game
+     * @param playerNames The names shown on the leaderboards, by player
+     * @return A CompletableFuture that completes when the totals are written
+     */
+    public @NotNull CompletableFuture<Void> addMatch(@NotNull List<MatchResult> results,
+                                                     @NotNull Map<UUID, String> playerNames) {
+        if (results.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Object[][] rows = new Object[results.size() * TRACKED_PERIODS.length][];
+        int row = 0;
+        for (MatchResult result : results) {
+            String name = playerNames.getOrDefault(result.playerId(), result.playerId().toString().substring(0, 8));
+            Timestamp updated = Timestamp.from(result.endedAt());
+            for (LeaderboardPeriod period : TRACKED_PERIODS) {
+                rows[row++] = new Object[]{
+                    period.name(),
+                    period.keyFor(result.endedAt(), zone, season),
+                    result.playerId().toString(),
+                    name,
+                    1,
+                    result.placement() == 1 ? 1 : 0,
+                    result.kills(),
+                    result.placement() <= 3 ? 1 : 0,
+                    result.damageDealt(),
+                    result.chestsOpened(),
+                    result.durationSeconds(),
+                    updated
+                };
+            }
+        }
+
+        return databaseManager.executeBatchAsync("leaderboards.add-match",
+                buildUpsertSql(databaseManager.getConfig().getType()), rows)
+            .handle((counts, error) -> {
+                if (error != null) {
+                    logger.error("Failed to update period leaderboards for game " + results.getFirst().matchId(), error);
+                    throw new RuntimeException("Failed to update period leaderboards", error);
+                }
+                return null;
+            });
+    }
+
+    /**
+     * Gets the current leaderboard of a period.
+     *
+     * @param period The period, other than {@link LeaderboardPeriod#ALL_TIME}
+     * @param statType The statistic to rank by
+     * @param limit Maximum number of entries
+     * @return A CompletableFuture with the leaderboard entries
+     */
+    public @NotNull CompletableFuture<List<LeaderboardEntry>> getLeaderboard(@NotNull LeaderboardPeriod period,
+                                                                            @NotNull StatType statType, int limit) {
+        if (period == LeaderboardPeriod.ALL_TIME || !period.supports(statType)) {
+            return CompletableFuture.failedFuture(
+                new IllegalArgumentException("No " + period + " leaderboard for " + statType));
+        }
+
+        String sql = String.format(SELECT_LEADERBOARD_SQL, StatisticsColumnMapper.getColumnName(statType));
+        String key = period.keyFor(Instant.now(), zone, season);
+        return databaseManager.query("leaderboards.get", sql, new Object[]{period.name(), key, limit},
+                resultSet -> new LeaderboardEntry(resultSet.getString("player_name"), resultSet.getDouble("stat_value")))
+            .whenComplete((entries, error) -> {
+                if (error != null) {
+                    logger.error("Failed to get " + period + " leaderboard for " + statType, error);
+                }
+            });
+    }
+}
@@ -0,0 +1,205 @@
+package net.lumalyte.lumasg.statistics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory rankings of every player for each tracked statistic.
+ *
+ * <p>The rankings are loaded from the database once at startup and then kept
+ * current from the statistics changes the server records, so a player's rank
+ * or the name at a leaderboard position is answered in O(log n) without a
+ * database round trip. This makes them cheap enough for placeholders that
+ * scoreboard plugins evaluate every tick.</p>
+ *
+ * <p>Reads may run on any thread and only take a shared lock; updates take
+ * the exclusive lock for the few microseconds they need.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public class PlayerRankings {
+
+    /** Best placement stored for players who never placed; they are left unranked */
+    private static final int UNPLACED = 999999;
+
+    private final Map<StatType, RankedSet> sets = new EnumMap<>(StatType.class);
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates empty rankings for the given statistics.
+     *
+     * @param statTypes The statistics to rank players by
+     */
+    public PlayerRankings(@NotNull Collection<StatType> statTypes) {
+        for (StatType statType : statTypes) {
+            sets.put(statType, new RankedSet(statType == StatType.BEST_PLACEMENT));
+        }
+    }
+
+    /**
+     * Checks if players are ranked by a statistic.
+     *
+     * @param statType The statistic type
+     * @return true if the statistic is tracked
+     */
+    public boolean isTracked(@NotNull StatType statType) {
+        return sets.containsKey(statType);
+    }
+
+    /**
+     * Updates every tracked ranking of a player from their current statistics.
+     *
+     * @param stats The player's statistics
+     */
+    public void update(@NotNull PlayerStats stats) {
+        UUID playerId = stats.getPlayerId();
+
+        lock.writeLock().lock();
+        try {
+            names.put(playerId, stats.getPlayerName());
+            for (Map.Entry<StatType, RankedSet> entry : sets.entrySet()) {
+                put(entry.getValue(), playerId, entry.getKey(), stats.getStatValue(entry.getKey()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a player's stored values while loading from the database. Players
+     * already updated since the server started keep their newer values.
+     *
+     * @param playerId The player's unique identifier
+     * @param playerName The player's name
+     * @param values The stored value of every tracked statistic
+     */
+    void load(@NotNull UUID playerId, @NotNull String playerName, @NotNull Map<StatType, Double> values) {
+        lock.writeLock().lock();
+        try {
+            if (names.putIfAbsent(playerId, playerName) != null) {
+                return;
+            }
+            for (Map.Entry<StatType, RankedSet> entry : sets.entrySet()) {
+                Double value = values.get(entry.getKey());
+                if (value != null) {
+                    put(entry.getValue(), playerId, entry.getKey(), value);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void put(@NotNull RankedSet set, @NotNull UUID playerId, @NotNull StatType statType, double value) {
+        if (statType == StatType.BEST_PLACEMENT && (value <= 0 || value >= UNPLACED)) {
+            set.remove(playerId);
+        } else {
+            set.put(playerId, value);
+        }
+    }
+
+    /**
+     * Gets a player's rank by a statistic. Players with equal values share a rank.
+     *
+     * @param playerId The player's unique identifier
+     * @param statType The statistic type
+     * @return The rank, 1 being the best, or 0 if the player is unranked
+     */
+    public int getRank(@NotNull UUID playerId, @NotNull StatType statType) {
+        RankedSet set = sets.get(statType);
+        if (set == null) {
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try {
+            return set.rankOf(playerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the leaderboard entry at a position.
+     *
+     * @param statType The statistic type
+     * @param position The position, 1 being the best
+     * @return The entry, or null if fewer players are ranked
+     */
+    public @Nullable LeaderboardEntry getEntry(@NotNull StatType statType, int position) {
+        RankedSet set = sets.get(statType);
+        if (set == null) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            UUID playerId = set.idAt(position - 1);
+            return playerId != null ? toEntry(set, playerId) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the best players by a statistic.
+     *
+     * @param statType The statistic type
+     * @param limit Maximum number of entries
+     * @return Up to {@code limit} entries, best first
+     */
+    public @NotNull List<LeaderboardEntry> getTop(@NotNull StatType statType, int limit) {
+        RankedSet set = sets.get(statType);
+        if (set == null) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<UUID> top = set.top(limit);
+            List<LeaderboardEntry> entries = new ArrayList<>(top.size());
+            for (UUID playerId : top) {
+                entries.add(toEntry(set, playerId));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of players ranked by a statistic.
+     *
+     * @param statType The statistic type
+     * @return The number of ranked players
+     */
+    public int getRankedCount(@NotNull StatType statType) {
+        RankedSet set = sets.get(statType);
+        if (set == null) {
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try {
+            return set.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private @NotNull LeaderboardEntry toEntry(@NotNull RankedSet set, @NotNull UUID playerId) {
+        return new LeaderboardEntry(names.getOrDefault(playerId, "Unknown"), set.scoreOf(playerId));
+    }
+}
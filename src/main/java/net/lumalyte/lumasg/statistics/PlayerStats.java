@@ -265,6 +265,28 @@ public class PlayerStats {
         return (double) totalTimePlayed / gamesPlayed / 60.0;
     }
     
+    /**
+     * Gets the value of a statistic, as shown on leaderboards.
+     * 
+     * @param statType The statistic type
+     * @return The statistic value
+     */
+    public double getStatValue(@NotNull StatType statType) {
+        return switch (statType) {
+            case WINS -> wins;
+            case KILLS -> kills;
+            case GAMES_PLAYED -> gamesPlayed;
+            case KILL_DEATH_RATIO -> getKillDeathRatio();
+            case WIN_RATE -> getWinRate();
+            case TIME_PLAYED -> totalTimePlayed;
+            case BEST_PLACEMENT -> bestPlacement;
+            case WIN_STREAK -> bestWinStreak;
+            case TOP3_FINISHES -> top3Finishes;
+            case DAMAGE_DEALT -> totalDamageDealt;
+            case CHESTS_OPENED -> chestsOpened;
+        };
+    }
+    
     // Setters (for updates)
     
     public void setPlayerName(@NotNull String playerName) {
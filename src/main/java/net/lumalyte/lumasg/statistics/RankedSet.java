@@ -0,0 +1,277 @@
+package net.lumalyte.lumasg.statistics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Order-statistic set of player scores for a single statistic.
+ *
+ * <p>Scores are kept in a treap whose nodes carry their subtree size, so
+ * inserting, removing, finding a player's rank and finding the player at a
+ * given position are all O(log n) expected. Players with equal scores share a
+ * rank (1, 2, 2, 4) and are ordered by UUID among themselves.</p>
+ *
+ * <p>Not thread-safe; {@link PlayerRankings} guards every set with a lock.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+final class RankedSet {
+
+    private static final class Node {
+        final UUID id;
+        final double key;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(UUID id, double key, int priority) {
+            this.id = id;
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+
+    /** Whether lower scores rank higher, as for best placement */
+    private final boolean ascending;
+    private final Map<UUID, Double> keys = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private @Nullable Node root;
+
+    /**
+     * Creates an empty set.
+     *
+     * @param ascending true if lower scores rank higher, false if higher scores do
+     */
+    RankedSet(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    /**
+     * Sets a player's score, replacing any previous score.
+     *
+     * @param id The player's unique identifier
+     * @param score The score
+     */
+    void put(@NotNull UUID id, double score) {
+        // Adding 0.0 turns -0.0 into 0.0 so negated zero scores still tie
+        double key = (ascending ? score : -score) + 0.0;
+        Double previous = keys.put(id, key);
+        if (previous != null) {
+            if (previous == key) {
+                return;
+            }
+            root = delete(root, previous, id);
+        }
+        root = insert(root, new Node(id, key, random.nextInt()));
+    }
+
+    /**
+     * Removes a player from the set.
+     *
+     * @param id The player's unique identifier
+     */
+    void remove(@NotNull UUID id) {
+        Double previous = keys.remove(id);
+        if (previous != null) {
+            root = delete(root, previous, id);
+        }
+    }
+
+    boolean contains(@NotNull UUID id) {
+        return keys.containsKey(id);
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    /**
+     * Gets a player's rank, where 1 is the best score.
+     *
+     * @param id The player's unique identifier
+     * @return The rank, or 0 if the player is not in the set
+     */
+    int rankOf(@NotNull UUID id) {
+        Double key = keys.get(id);
+        if (key == null) {
+            return 0;
+        }
+
+        // Everyone with a strictly better score ranks ahead
+        int better = 0;
+        Node node = root;
+        while (node != null) {
+            if (Double.compare(node.key, key) < 0) {
+                better += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return better + 1;
+    }
+
+    /**
+     * Gets the player at a position in score order.
+     *
+     * @param position The zero-based position
+     * @return The player, or null if the position is past the end
+     */
+    @Nullable UUID idAt(int position) {
+        if (position < 0 || position >= size(root)) {
+            return null;
+        }
+
+        Node node = root;
+        int remaining = position;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize) {
+                return node.id;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets a player's score.
+     *
+     * @param id The player's unique identifier
+     * @return The score, or NaN if the player is not in the set
+     */
+    double scoreOf(@NotNull UUID id) {
+        Double key = keys.get(id);
+        if (key == null) {
+            return Double.NaN;
+        }
+        return (ascending ? key : -key) + 0.0;
+    }
+
+    /**
+     * Gets the best players in score order.
+     *
+     * @param limit Maximum number of players
+     * @return Up to {@code limit} players, best first
+     */
+    @NotNull List<UUID> top(int limit) {
+        List<UUID> result = new ArrayList<>(Math.min(Math.max(limit, 0), keys.size()));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while (result.size() < limit && (node != null || !stack.isEmpty())) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(node.id);
+            node = node.right;
+        }
+        return result;
+    }
+
+    private static int size(@Nullable Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(@NotNull Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int compare(double key, @NotNull UUID id, @NotNull Node node) {
+        int result = Double.compare(key, node.key);
+        return result != 0 ? result : id.compareTo(node.id);
+    }
+
+    private static @Nullable Node insert(@Nullable Node node, @NotNull Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            Node[] parts = split(node, inserted.key, inserted.id);
+            inserted.left = parts[0];
+            inserted.right = parts[1];
+            update(inserted);
+            return inserted;
+        }
+        if (compare(inserted.key, inserted.id, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        update(node);
+        return node;
+    }
+
+    private static @Nullable Node delete(@Nullable Node node, double key, @NotNull UUID id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(key, id, node);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, key, id);
+        } else {
+            node.right = delete(node.right, key, id);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before (key, id) and the rest.
+     */
+    private static @NotNull Node[] split(@Nullable Node node, double key, @NotNull UUID id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(key, id, node) > 0) {
+            Node[] parts = split(node.right, key, id);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, key, id);
+        node.left = parts[1];
+        update(node);
+        return new Node[]{parts[0], node};
+    }
+
+    /**
+     * Joins two subtrees where every node of the first is ordered before the second.
+     */
+    private static @Nullable Node merge(@Nullable Node first, @Nullable Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        update(second);
+        return second;
+    }
+}
@@ -1,15 +1,23 @@
 package net.lumalyte.lumasg.statistics;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,7 +26,11 @@ import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.util.core.DebugLogger;
 import net.lumalyte.lumasg.util.database.DatabaseManager;
 import net.lumalyte.lumasg.util.database.DatabaseConfig;
+import net.lumalyte.lumasg.util.database.Migration;
+import net.lumalyte.lumasg.util.database.MigrationRunner;
+import net.lumalyte.lumasg.util.database.StatisticsColumnMapper;
 import net.lumalyte.lumasg.util.serialization.KryoManager;
+import net.lumalyte.lumasg.util.serialization.PlayerStatsCodec;
 
 /**
  * Statistics database using HikariCP connection pooling and Kryo serialization.
@@ -28,7 +40,7 @@ import net.lumalyte.lumasg.util.serialization.KryoManager;
  * 
  * Key Improvements:
  * - HikariCP connection pooling (no more blocking autocommit operations)
- * - Kryo binary serialization for complex data structures
+ * - Compact binary encoding of PlayerStats (see PlayerStatsCodec), Kryo for older rows
  * - Batch operations for statistics updates
  * - PostgreSQL/MySQL support with proper indexing
  * - Async operations with proper error handling
@@ -67,14 +79,13 @@ public class StatisticsDatabase {
             kills INTEGER DEFAULT 0,
             games_played INTEGER DEFAULT 0,
             best_placement INTEGER DEFAULT 999999,
-            
-            -- Indexes for performance
-            INDEX idx_player_name (player_name),
-            INDEX idx_wins (wins DESC),
-            INDEX idx_kills (kills DESC),
-            INDEX idx_games_played (games_played DESC),
-            INDEX idx_best_placement (best_placement ASC),
-            INDEX idx_updated_at (updated_at DESC)
+            kill_death_ratio DOUBLE PRECISION DEFAULT 0,
+            win_rate DOUBLE PRECISION DEFAULT 0,
+            time_played BIGINT DEFAULT 0,
+            best_win_streak INTEGER DEFAULT 0,
+            top3_finishes INTEGER DEFAULT 0,
+            damage_dealt DOUBLE PRECISION DEFAULT 0,
+            chests_opened INTEGER DEFAULT 0
         )
         """;
     
@@ -91,13 +102,16 @@ public class StatisticsDatabase {
             kills INT DEFAULT 0,
             games_played INT DEFAULT 0,
             best_placement INT DEFAULT 999999,
+            kill_death_ratio DOUBLE DEFAULT 0,
+            win_rate DOUBLE DEFAULT 0,
+            time_played BIGINT DEFAULT 0,
+            best_win_streak INT DEFAULT 0,
+            top3_finishes INT DEFAULT 0,
+            damage_dealt DOUBLE DEFAULT 0,
+            chests_opened INT DEFAULT 0,
             
-            -- Indexes for performance
+            -- Indexes for performance (leaderboard indexes are added by migration 2)
             INDEX idx_player_name (player_name),
-            INDEX idx_wins (wins DESC),
-            INDEX idx_kills (kills DESC),
-            INDEX idx_games_played (games_played DESC),
-            INDEX idx_best_placement (best_placement ASC),
             INDEX idx_updated_at (updated_at DESC)
         ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
         """;
@@ -114,109 +128,138 @@ public class StatisticsDatabase {
             wins INTEGER DEFAULT 0,
             kills INTEGER DEFAULT 0,
             games_played INTEGER DEFAULT 0,
-            best_placement INTEGER DEFAULT 999999
+            best_placement INTEGER DEFAULT 999999,
+            kill_death_ratio REAL DEFAULT 0,
+            win_rate REAL DEFAULT 0,
+            time_played INTEGER DEFAULT 0,
+            best_win_streak INTEGER DEFAULT 0,
+            top3_finishes INTEGER DEFAULT 0,
+            damage_dealt REAL DEFAULT 0,
+            chests_opened INTEGER DEFAULT 0
         )
         """;
     
-    private static final String CREATE_SQLITE_INDEXES_SQL = """
-        CREATE INDEX IF NOT EXISTS idx_player_name ON player_stats (player_name);
-        CREATE INDEX IF NOT EXISTS idx_wins ON player_stats (wins DESC);
-        CREATE INDEX IF NOT EXISTS idx_kills ON player_stats (kills DESC);
-        CREATE INDEX IF NOT EXISTS idx_games_played ON player_stats (games_played DESC);
-        CREATE INDEX IF NOT EXISTS idx_best_placement ON player_stats (best_placement ASC);
-        CREATE INDEX IF NOT EXISTS idx_updated_at ON player_stats (updated_at DESC);
+    // PostgreSQL and SQLite create indexes in separate statements
+    private static final String CREATE_PLAYER_NAME_INDEX_SQL = """
+        CREATE INDEX IF NOT EXISTS idx_player_name ON player_stats (player_name)
         """;
     
-    // High-performance SQL statements using prepared statements and batch operations
-    private static final String UPSERT_POSTGRESQL_SQL = """
-        INSERT INTO player_stats (player_id, player_name, stats_data, wins, kills, games_played, best_placement, updated_at)
-        VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
-        ON CONFLICT (player_id) DO UPDATE SET
-            player_name = EXCLUDED.player_name,
-            stats_data = EXCLUDED.stats_data,
-            wins = EXCLUDED.wins,
-            kills = EXCLUDED.kills,
-            games_played = EXCLUDED.games_played,
-            best_placement = EXCLUDED.best_placement,
-            updated_at = CURRENT_TIMESTAMP
+    private static final String CREATE_UPDATED_AT_INDEX_SQL = """
+        CREATE INDEX IF NOT EXISTS idx_updated_at ON player_stats (updated_at DESC)
         """;
     
-    private static final String UPSERT_MYSQL_SQL = """
-        INSERT INTO player_stats (player_id, player_name, stats_data, wins, kills, games_played, best_placement)
-        VALUES (?, ?, ?, ?, ?, ?, ?)
-        ON DUPLICATE KEY UPDATE
-            player_name = VALUES(player_name),
-            stats_data = VALUES(stats_data),
-            wins = VALUES(wins),
-            kills = VALUES(kills),
-            games_played = VALUES(games_played),
-            best_placement = VALUES(best_placement),
-            updated_at = CURRENT_TIMESTAMP
-        """;
-    
-    private static final String UPSERT_SQLITE_SQL = """
-        INSERT INTO player_stats (player_id, player_name, stats_data, wins, kills, games_played, best_placement, updated_at)
-        VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
-        ON CONFLICT (player_id) DO UPDATE SET
-            player_name = EXCLUDED.player_name,
-            stats_data = EXCLUDED.stats_data,
-            wins = EXCLUDED.wins,
-            kills = EXCLUDED.kills,
-            games_played = EXCLUDED.games_played,
-            best_placement = EXCLUDED.best_placement,
-            updated_at = CURRENT_TIMESTAMP
-        """;
+    /** Single-column indexes from before the covering leaderboard indexes, dropped by migration 3 */
+    private static final List<String> SUPERSEDED_INDEXES = List.of(
+        "idx_wins", "idx_kills", "idx_games_played", "idx_best_placement");
     
     private static final String SELECT_STATS_SQL = """
         SELECT player_id, player_name, stats_data FROM player_stats WHERE player_id = ?
         """;
     
+    /** Projects only the name and the sorted column, so the covering index can answer it */
     private static final String SELECT_LEADERBOARD_SQL = """
-        SELECT player_id, player_name, stats_data FROM player_stats ORDER BY %s DESC LIMIT ?
+        SELECT player_name, %1$s AS stat_value FROM player_stats ORDER BY %1$s %2$s LIMIT ?
+        """;
+    
+    private static final String SELECT_ALL_STATS_DATA_SQL = """
+        SELECT player_id, stats_data FROM player_stats
         """;
     
+    /** Value written to best_placement for players who have never placed, so they sort last */
+    private static final int UNPLACED = 999999;
+    
+    /** Rows rewritten per batch while backfilling newly added leaderboard columns */
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    
     private static final String COUNT_PLAYERS_SQL = """
         SELECT COUNT(*) FROM player_stats
         """;
     
-    private static final String BATCH_UPSERT_POSTGRESQL_SQL = """
-        INSERT INTO player_stats (player_id, player_name, stats_data, wins, kills, games_played, best_placement, updated_at)
-        VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
-        ON CONFLICT (player_id) DO UPDATE SET
-            player_name = EXCLUDED.player_name,
-            stats_data = EXCLUDED.stats_data,
-            wins = EXCLUDED.wins,
-            kills = EXCLUDED.kills,
-            games_played = EXCLUDED.games_played,
-            best_placement = EXCLUDED.best_placement,
-            updated_at = CURRENT_TIMESTAMP
-        """;
+    /**
+     * Denormalized leaderboard columns, one per {@link StatType}.
+     * 
+     * <p>Every upsert writes these from the {@link PlayerStats} getters, including
+     * the computed ratios, so leaderboards sort on an index instead of
+     * deserializing stats_data row by row.</p>
+     */
+    private enum StatColumn {
+        WINS(StatType.WINS, SqlKind.INTEGER, false, PlayerStats::getWins),
+        KILLS(StatType.KILLS, SqlKind.INTEGER, false, PlayerStats::getKills),
+        GAMES_PLAYED(StatType.GAMES_PLAYED, SqlKind.INTEGER, false, PlayerStats::getGamesPlayed),
+        KILL_DEATH_RATIO(StatType.KILL_DEATH_RATIO, SqlKind.DECIMAL, false, PlayerStats::getKillDeathRatio),
+        WIN_RATE(StatType.WIN_RATE, SqlKind.DECIMAL, false, PlayerStats::getWinRate),
+        TIME_PLAYED(StatType.TIME_PLAYED, SqlKind.BIGINT, false, PlayerStats::getTotalTimePlayed),
+        BEST_PLACEMENT(StatType.BEST_PLACEMENT, SqlKind.INTEGER, true,
+            stats -> stats.getBestPlacement() > 0 ? stats.getBestPlacement() : UNPLACED),
+        WIN_STREAK(StatType.WIN_STREAK, SqlKind.INTEGER, false, PlayerStats::getBestWinStreak),
+        TOP3_FINISHES(StatType.TOP3_FINISHES, SqlKind.INTEGER, false, PlayerStats::getTop3Finishes),
+        DAMAGE_DEALT(StatType.DAMAGE_DEALT, SqlKind.DECIMAL, false, PlayerStats::getTotalDamageDealt),
+        CHESTS_OPENED(StatType.CHESTS_OPENED, SqlKind.INTEGER, false, PlayerStats::getChestsOpened);
+        
+        private final StatType statType;
+        private final String columnName;
+        private final SqlKind kind;
+        private final boolean ascending;
+        private final Function<PlayerStats, Number> extractor;
+        
+        StatColumn(StatType statType, SqlKind kind, boolean ascending, Function<PlayerStats, Number> extractor) {
+            this.statType = statType;
+            this.columnName = StatisticsColumnMapper.getColumnName(statType);
+            this.kind = kind;
+            this.ascending = ascending;
+            this.extractor = extractor;
+        }
+        
+        static @NotNull StatColumn of(@NotNull StatType statType) {
+            for (StatColumn column : values()) {
+                if (column.statType == statType) {
+                    return column;
+                }
+            }
+            throw new IllegalArgumentException("No leaderboard column for " + statType);
+        }
+        
+        String indexName() {
+            return "idx_lb_" + columnName;
+        }
+        
+        String defaultValue() {
+            return this == BEST_PLACEMENT ? String.valueOf(UNPLACED) : "0";
+        }
+    }
     
-    private static final String BATCH_UPSERT_MYSQL_SQL = """
-        INSERT INTO player_stats (player_id, player_name, stats_data, wins, kills, games_played, best_placement)
-        VALUES (?, ?, ?, ?, ?, ?, ?)
-        ON DUPLICATE KEY UPDATE
-            player_name = VALUES(player_name),
-            stats_data = VALUES(stats_data),
-            wins = VALUES(wins),
-            kills = VALUES(kills),
-            games_played = VALUES(games_played),
-            best_placement = VALUES(best_placement),
-            updated_at = CURRENT_TIMESTAMP
-        """;
+    /**
+     * A player's stored leaderboard values, as read while loading the rankings.
+     */
+    private record RankingRow(UUID playerId, String playerName, Map<StatType, Double> values) {
+    }
     
-    private static final String BATCH_UPSERT_SQLITE_SQL = """
-        INSERT INTO player_stats (player_id, player_name, stats_data, wins, kills, games_played, best_placement, updated_at)
-        VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
-        ON CONFLICT (player_id) DO UPDATE SET
-            player_name = EXCLUDED.player_name,
-            stats_data = EXCLUDED.stats_data,
-            wins = EXCLUDED.wins,
-            kills = EXCLUDED.kills,
-            games_played = EXCLUDED.games_played,
-            best_placement = EXCLUDED.best_placement,
-            updated_at = CURRENT_TIMESTAMP
-        """;
+    /**
+     * SQL storage class of a leaderboard column, mapped to each database's type name.
+     */
+    private enum SqlKind {
+        INTEGER("INTEGER", "INT", "INTEGER"),
+        BIGINT("BIGINT", "BIGINT", "INTEGER"),
+        DECIMAL("DOUBLE PRECISION", "DOUBLE", "REAL");
+        
+        private final String postgresType;
+        private final String mysqlType;
+        private final String sqliteType;
+        
+        SqlKind(String postgresType, String mysqlType, String sqliteType) {
+            this.postgresType = postgresType;
+            this.mysqlType = mysqlType;
+            this.sqliteType = sqliteType;
+        }
+        
+        String typeFor(@NotNull DatabaseConfig.DatabaseType dbType) {
+            return switch (dbType) {
+                case POSTGRESQL -> postgresType;
+                case MYSQL -> mysqlType;
+                case SQLITE -> sqliteType;
+            };
+        }
+    }
     
     /**
      * Creates a new StatisticsDatabase instance with high-performance database manager.
@@ -237,167 +280,145 @@ public class StatisticsDatabase {
      * @return A CompletableFuture that completes when initialization is done
      */
     public @NotNull CompletableFuture<Void> initialize() {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                // Create tables based on database type
-                DatabaseConfig.DatabaseType dbType = databaseManager.getConfig().getType();
-                String createTableSql;
-                
-                switch (dbType) {
-                    case POSTGRESQL -> createTableSql = CREATE_POSTGRESQL_TABLE_SQL;
-                    case MYSQL -> createTableSql = CREATE_MYSQL_TABLE_SQL;
-                    case SQLITE -> createTableSql = CREATE_SQLITE_TABLE_SQL;
-                    default -> throw new IllegalStateException("Unsupported database type: " + dbType);
-                }
-                
-                // Create table asynchronously
-                databaseManager.createTableIfNotExists(createTableSql).join();
-                
-                // For SQLite, create indexes separately
-                if (dbType == DatabaseConfig.DatabaseType.SQLITE) {
-                    // Split the indexes SQL and execute each one separately
-                    String[] indexStatements = CREATE_SQLITE_INDEXES_SQL.split(";");
-                    for (String indexSql : indexStatements) {
-                        if (!indexSql.trim().isEmpty()) {
-                            databaseManager.createTableIfNotExists(indexSql.trim()).join();
-                        }
-                    }
+        DatabaseConfig.DatabaseType dbType = databaseManager.getConfig().getType();
+        
+        return new MigrationRunner(plugin, databaseManager).migrate("statistics", schemaMigrations())
+            .handle((version, error) -> {
+                if (error != null) {
+                    logger.severe("Failed to initialize statistics database", error);
+                    throw new IllegalStateException("Database initialization failed", error);
                 }
                 
-                logger.info("Statistics database initialized successfully with " + dbType + " schema");
+                logger.info("Statistics database initialized successfully with " + dbType + " schema (version " + version + ")");
                 logger.info("Table features:");
                 logger.info("  ✓ UUID primary keys for optimal performance");
-                logger.info("  ✓ BYTEA/LONGBLOB for Kryo serialized data");
+                logger.info("  ✓ BYTEA/LONGBLOB for binary encoded stats");
                 logger.info("  ✓ Denormalized columns for fast queries");
                 logger.info("  ✓ Optimized indexes for leaderboards");
                 logger.info("  ✓ Automatic timestamp management");
-                
-            } catch (Exception e) {
-                logger.severe("Failed to initialize statistics database", e);
-                throw new IllegalStateException("Database initialization failed", e);
-            }
-        });
+                return null;
+            });
+    }
+    
+    /**
+     * Gets the schema migrations of the statistics tables, oldest first.
+     * 
+     * <p>Released migrations must never change; new schema changes are added
+     * as a new version at the end.</p>
+     * 
+     * @return The statistics migrations
+     */
+    private @NotNull List<Migration> schemaMigrations() {
+        return List.of(
+            Migration.builder(1, "Create player_stats")
+                .sql(DatabaseConfig.DatabaseType.POSTGRESQL, CREATE_POSTGRESQL_TABLE_SQL,
+                    CREATE_PLAYER_NAME_INDEX_SQL, CREATE_UPDATED_AT_INDEX_SQL)
+                .sql(DatabaseConfig.DatabaseType.MYSQL, CREATE_MYSQL_TABLE_SQL)
+                .sql(DatabaseConfig.DatabaseType.SQLITE, CREATE_SQLITE_TABLE_SQL,
+                    CREATE_PLAYER_NAME_INDEX_SQL, CREATE_UPDATED_AT_INDEX_SQL)
+                .build(),
+            Migration.builder(2, "Add leaderboard columns with covering indexes")
+                .step(this::migrateLeaderboardColumns)
+                .build(),
+            Migration.builder(3, "Drop single-column leaderboard indexes")
+                .step(this::dropSupersededIndexes)
+                .build()
+        );
     }
     
     /**
-     * Saves player statistics to the database using Kryo serialization and connection pooling.
+     * Saves player statistics to the database using the compact binary codec and connection pooling.
      * 
      * @param stats The player statistics to save
      * @return A CompletableFuture that completes when the save is done
      */
     public @NotNull CompletableFuture<Void> savePlayerStats(@NotNull PlayerStats stats) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                // Serialize the complete PlayerStats object using Kryo
-                byte[] serializedStats = KryoManager.serialize(stats);
-                if (serializedStats == null) {
-                    throw new IllegalStateException("Failed to serialize PlayerStats for " + stats.getPlayerName());
+        String sql = buildUpsertSql(databaseManager.getConfig().getType());
+        return databaseManager.supplyAsync("stats.serialize", () -> PlayerStatsCodec.encode(stats)).thenCompose(serializedStats -> databaseManager
+            .executeBatchAsync("stats.save", sql, new Object[][]{toUpsertParams(stats, serializedStats)})
+            .thenAccept(rowsAffected -> {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Saved statistics for player: " + stats.getPlayerName() + 
+                               " (serialized size: " + serializedStats.length + " bytes)");
                 }
-                
-                // Choose SQL based on database type
-                DatabaseConfig.DatabaseType dbType = databaseManager.getConfig().getType();
-                String sql = switch (dbType) {
-                    case POSTGRESQL -> UPSERT_POSTGRESQL_SQL;
-                    case MYSQL -> UPSERT_MYSQL_SQL;
-                    case SQLITE -> UPSERT_SQLITE_SQL;
-                    default -> throw new IllegalStateException("Unsupported database type: " + dbType);
-                };
-                
-                // Use database manager for connection pooling
-                try (Connection connection = databaseManager.getConnection();
-                     PreparedStatement statement = connection.prepareStatement(sql)) {
-                    
-                    statement.setString(1, stats.getPlayerId().toString());
-                    statement.setString(2, stats.getPlayerName());
-                    statement.setBytes(3, serializedStats);
-                    
-                    // Denormalized columns for fast queries
-                    statement.setInt(4, stats.getWins());
-                    statement.setInt(5, stats.getKills());
-                    statement.setInt(6, stats.getGamesPlayed());
-                    statement.setInt(7, stats.getBestPlacement());
-                    
-                    int rowsAffected = statement.executeUpdate();
-                    
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Saved statistics for player: " + stats.getPlayerName() + 
-                                   " (serialized size: " + serializedStats.length + " bytes, rows affected: " + rowsAffected + ")");
-                    }
+            }))
+            .whenComplete((ignored, error) -> {
+                if (error != null) {
+                    logger.error("Failed to save player statistics for " + stats.getPlayerName(), error);
                 }
-                
-            } catch (SQLException e) {
-                logger.error("Failed to save player statistics for " + stats.getPlayerName(), e);
-                throw new RuntimeException("Failed to save player statistics", e);
-            }
-        });
+            });
     }
     
     /**
-     * Loads player statistics from the database using Kryo deserialization.
+     * Loads player statistics from the database and decodes them.
      * 
      * @param playerId The player's unique identifier
      * @return A CompletableFuture containing the player statistics, or null if not found
      */
     public @NotNull CompletableFuture<@Nullable PlayerStats> loadPlayerStats(@NotNull UUID playerId) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection connection = databaseManager.getConnection();
-                 PreparedStatement statement = connection.prepareStatement(SELECT_STATS_SQL)) {
-                
-                statement.setString(1, playerId.toString());
-                
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        return createPlayerStatsFromResultSet(resultSet);
-                    }
+        return databaseManager.queryFirst("stats.load", SELECT_STATS_SQL, new Object[]{playerId.toString()},
+                this::createPlayerStatsFromResultSet)
+            .whenComplete((stats, error) -> {
+                if (error != null) {
+                    logger.error("Failed to load player statistics for " + playerId, error);
                 }
-                
-                return null; // Player not found
-            } catch (SQLException e) {
-                logger.error("Failed to load player statistics for " + playerId, e);
-                throw new RuntimeException("Failed to load player statistics", e);
-            }
-        });
+            });
     }
     
     /**
      * Gets a leaderboard of top players by a specific statistic using denormalized columns for fast queries.
      * 
+     * <p>Only the player name and the sorted value are read, so stats_data is
+     * never transferred or deserialized for leaderboard views.</p>
+     * 
      * @param statType The type of statistic to sort by
      * @param limit The maximum number of players to return
-     * @return A CompletableFuture containing the list of top players
+     * @return A CompletableFuture containing the leaderboard entries, best first
      */
-    public @NotNull CompletableFuture<@NotNull List<PlayerStats>> getLeaderboard(@NotNull StatType statType, int limit) {
-        return CompletableFuture.supplyAsync(() -> {
-            String columnName = getColumnNameForStatType(statType);
-            String sql = String.format(SELECT_LEADERBOARD_SQL, columnName);
-            
-            List<PlayerStats> leaderboard = new ArrayList<>();
-            
-            try (Connection connection = databaseManager.getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
-                
-                statement.setInt(1, limit);
-                
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    while (resultSet.next()) {
-                        PlayerStats stats = createPlayerStatsFromResultSet(resultSet);
-                        if (stats != null) {
-                            leaderboard.add(stats);
-                        }
-                    }
-                }
-                
-                if (logger.isDebugEnabled()) {
+    public @NotNull CompletableFuture<@NotNull List<LeaderboardEntry>> getLeaderboard(@NotNull StatType statType, int limit) {
+        StatColumn column = StatColumn.of(statType);
+        String sql = String.format(SELECT_LEADERBOARD_SQL, column.columnName, column.ascending ? "ASC" : "DESC");
+        
+        return databaseManager.query("stats.leaderboard", sql, new Object[]{limit},
+                resultSet -> new LeaderboardEntry(resultSet.getString("player_name"), resultSet.getDouble("stat_value")))
+            .whenComplete((leaderboard, error) -> {
+                if (error != null) {
+                    logger.error("Failed to load leaderboard for " + statType, error);
+                } else if (logger.isDebugEnabled()) {
                     logger.debug("Loaded leaderboard for " + statType + " with " + leaderboard.size() + " players");
                 }
-                
-            } catch (SQLException e) {
-                logger.error("Failed to load leaderboard for " + statType, e);
-                throw new RuntimeException("Failed to load leaderboard", e);
-            }
-            
-            return leaderboard;
-        });
+            });
+    }
+    
+    /**
+     * Loads every player's leaderboard columns into the in-memory rankings,
+     * streaming the table so it is never held in memory at once.
+     * 
+     * @param rankings The rankings to fill
+     * @return A CompletableFuture with the number of players loaded
+     */
+    public @NotNull CompletableFuture<Long> loadRankings(@NotNull PlayerRankings rankings) {
+        StringBuilder sql = new StringBuilder("SELECT player_id, player_name");
+        for (StatColumn column : StatColumn.values()) {
+            sql.append(", ").append(column.columnName);
+        }
+        sql.append(" FROM player_stats");
+        
+        return databaseManager.stream("stats.load-rankings", sql.toString(), new Object[0], BACKFILL_BATCH_SIZE,
+                resultSet -> {
+                    Map<StatType, Double> values = new EnumMap<>(StatType.class);
+                    for (StatColumn column : StatColumn.values()) {
+                        values.put(column.statType, resultSet.getDouble(column.columnName));
+                    }
+                    return new RankingRow(UUID.fromString(resultSet.getString("player_id")),
+                        resultSet.getString("player_name"), values);
+                },
+                row -> rankings.load(row.playerId(), row.playerName(), row.values()))
+            .whenComplete((rows, error) -> {
+                if (error != null) {
+                    logger.error("Failed to load player rankings", error);
+                }
+            });
     }
     
     /**
@@ -406,24 +427,19 @@ public class StatisticsDatabase {
      * @return A CompletableFuture containing the player count
      */
     public @NotNull CompletableFuture<Integer> getTotalPlayerCount() {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection connection = databaseManager.getConnection();
-                 PreparedStatement statement = connection.prepareStatement(COUNT_PLAYERS_SQL);
-                 ResultSet resultSet = statement.executeQuery()) {
-                
-                if (resultSet.next()) {
-                    return resultSet.getInt(1);
+        return databaseManager.queryFirst("stats.count", COUNT_PLAYERS_SQL, new Object[0], resultSet -> resultSet.getInt(1))
+            .handle((count, error) -> {
+                if (error != null) {
+                    logger.error("Failed to get total player count", error);
+                    throw new RuntimeException("Failed to get total player count", error);
                 }
-                return 0;
-            } catch (SQLException e) {
-                logger.error("Failed to get total player count", e);
-                throw new RuntimeException("Failed to get total player count", e);
-            }
-        });
+                return count != null ? count : 0;
+            });
     }
     
     /**
-     * Creates a PlayerStats object from a database result set using Kryo deserialization.
+     * Creates a PlayerStats object from a database result set. Rows written
+     * before the binary codec existed are still read with Kryo.
      * 
      * @param resultSet The result set from a database query
      * @return A PlayerStats object, or null if creation fails
@@ -437,8 +453,9 @@ public class StatisticsDatabase {
                 return null;
             }
             
-            // Deserialize using Kryo
-            PlayerStats stats = KryoManager.deserialize(serializedData, PlayerStats.class);
+            PlayerStats stats = PlayerStatsCodec.isEncoded(serializedData)
+                ? PlayerStatsCodec.decode(serializedData)
+                : KryoManager.deserialize(serializedData, PlayerStats.class);
             if (stats == null) {
                 logger.warn("Failed to deserialize PlayerStats from database");
                 return null;
@@ -473,65 +490,226 @@ public class StatisticsDatabase {
             return CompletableFuture.completedFuture(null);
         }
         
-        return CompletableFuture.runAsync(() -> {
-            try {
-                // Choose SQL based on database type
-                DatabaseConfig.DatabaseType dbType = databaseManager.getConfig().getType();
-                String sql = switch (dbType) {
-                    case POSTGRESQL -> BATCH_UPSERT_POSTGRESQL_SQL;
-                    case MYSQL -> BATCH_UPSERT_MYSQL_SQL;
-                    case SQLITE -> BATCH_UPSERT_SQLITE_SQL;
-                    default -> throw new IllegalStateException("Unsupported database type: " + dbType);
-                };
-                
-                // Prepare batch parameters
-                Object[][] batchParams = new Object[statsList.size()][];
-                
-                for (int i = 0; i < statsList.size(); i++) {
-                    PlayerStats stats = statsList.get(i);
-                    byte[] serializedStats = KryoManager.serialize(stats);
+        String sql = buildUpsertSql(databaseManager.getConfig().getType());
+        return databaseManager.supplyAsync("stats.serialize", () -> {
+            // Prepare batch parameters
+            Object[][] batchParams = new Object[statsList.size()][];
+            
+            for (int i = 0; i < statsList.size(); i++) {
+                PlayerStats stats = statsList.get(i);
+                batchParams[i] = toUpsertParams(stats, PlayerStatsCodec.encode(stats));
+            }
+            return batchParams;
+        }).thenCompose(batchParams -> databaseManager.executeBatchAsync("stats.save-batch", sql, batchParams))
+            .handle((results, error) -> {
+                if (error != null) {
+                    logger.error("Failed to batch save player statistics", error);
+                    throw new RuntimeException("Failed to batch save player statistics", error);
+                }
+                logger.debug("Batch saved " + statsList.size() + " player statistics");
+                return null;
+            });
+    }
+    
+    /**
+     * Builds the upsert statement for the given database type, covering the
+     * player row, the serialized stats and every leaderboard column.
+     * 
+     * @param dbType The database type
+     * @return The upsert SQL
+     */
+    private static @NotNull String buildUpsertSql(@NotNull DatabaseConfig.DatabaseType dbType) {
+        StringBuilder columns = new StringBuilder("player_id, player_name, stats_data");
+        StringBuilder values = new StringBuilder("?, ?, ?");
+        StringBuilder updates = new StringBuilder();
+        boolean mysql = dbType == DatabaseConfig.DatabaseType.MYSQL;
+        
+        for (StatColumn column : StatColumn.values()) {
+            columns.append(", ").append(column.columnName);
+            values.append(", ?");
+        }
+        for (String name : upsertUpdatedColumns()) {
+            updates.append(name).append(" = ")
+                .append(mysql ? "VALUES(" + name + ")" : "EXCLUDED." + name)
+                .append(",\n    ");
+        }
+        updates.append("updated_at = CURRENT_TIMESTAMP");
+        
+        if (mysql) {
+            return "INSERT INTO player_stats (" + columns + ")\nVALUES (" + values + ")\n"
+                + "ON DUPLICATE KEY UPDATE\n    " + updates;
+        }
+        return "INSERT INTO player_stats (" + columns + ", updated_at)\nVALUES (" + values + ", CURRENT_TIMESTAMP)\n"
+            + "ON CONFLICT (player_id) DO UPDATE SET\n    " + updates;
+    }
+    
+    private static @NotNull List<String> upsertUpdatedColumns() {
+        List<String> names = new ArrayList<>();
+        names.add("player_name");
+        names.add("stats_data");
+        for (StatColumn column : StatColumn.values()) {
+            names.add(column.columnName);
+        }
+        return names;
+    }
+    
+    /**
+     * Creates the upsert parameters for a player, in the column order used by
+     * {@link #buildUpsertSql(DatabaseConfig.DatabaseType)}.
+     * 
+     * @param stats The player statistics
+     * @param serializedStats The encoded statistics
+     * @return The statement parameters
+     */
+    private static @NotNull Object[] toUpsertParams(@NotNull PlayerStats stats, byte[] serializedStats) {
+        StatColumn[] statColumns = StatColumn.values();
+        Object[] params = new Object[3 + statColumns.length];
+        params[0] = stats.getPlayerId().toString();
+        params[1] = stats.getPlayerName();
+        params[2] = serializedStats;
+        for (int i = 0; i < statColumns.length; i++) {
+            params[3 + i] = statColumns[i].extractor.apply(stats);
+        }
+        return params;
+    }
+    
+    /**
+     * Brings an existing player_stats table up to the current leaderboard layout.
+     * 
+     * <p>Adds any missing stat column, creates a covering (value, name) index for
+     * every column, and backfills newly added columns from stats_data. Columns
+     * and indexes that already exist are left alone, so tables created with the
+     * full layout only get their indexes.</p>
+     * 
+     * @param connection A writable connection, inside the migration transaction
+     * @param dbType The database type
+     * @throws SQLException If the migration fails
+     */
+    private void migrateLeaderboardColumns(@NotNull Connection connection,
+                                           @NotNull DatabaseConfig.DatabaseType dbType) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> existingColumns = readNames(metaData.getColumns(null, null, tableName(metaData), null), "COLUMN_NAME");
+        Set<String> existingIndexes = readNames(metaData.getIndexInfo(null, null, tableName(metaData), false, false), "INDEX_NAME");
+        
+        List<StatColumn> added = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            for (StatColumn column : StatColumn.values()) {
+                if (!existingColumns.contains(column.columnName)) {
+                    statement.execute("ALTER TABLE player_stats ADD COLUMN " + column.columnName + " "
+                        + column.kind.typeFor(dbType) + " DEFAULT " + column.defaultValue());
+                    added.add(column);
+                }
+            }
+            
+            for (StatColumn column : StatColumn.values()) {
+                if (existingIndexes.contains(column.indexName())) {
+                    continue;
+                }
+                // MySQL has no CREATE INDEX IF NOT EXISTS; the metadata check above covers it
+                String ifNotExists = dbType == DatabaseConfig.DatabaseType.MYSQL ? "" : "IF NOT EXISTS ";
+                statement.execute("CREATE INDEX " + ifNotExists + column.indexName() + " ON player_stats ("
+                    + column.columnName + (column.ascending ? " ASC" : " DESC") + ", player_name)");
+            }
+        }
+        
+        if (!added.isEmpty()) {
+            int rows = backfillLeaderboardColumns(connection);
+            logger.info("Added " + added.size() + " leaderboard column(s) to player_stats and backfilled " + rows + " row(s)");
+        }
+    }
+    
+    /**
+     * Rewrites every leaderboard column from the serialized stats of each row,
+     * in batches, inside the migration transaction.
+     * 
+     * @param connection The connection to use
+     * @return The number of rows updated
+     * @throws SQLException If the backfill fails
+     */
+    private int backfillLeaderboardColumns(@NotNull Connection connection) throws SQLException {
+        StringBuilder sql = new StringBuilder("UPDATE player_stats SET ");
+        StatColumn[] statColumns = StatColumn.values();
+        for (int i = 0; i < statColumns.length; i++) {
+            sql.append(i == 0 ? "" : ", ").append(statColumns[i].columnName).append(" = ?");
+        }
+        sql.append(" WHERE player_id = ?");
+        
+        int rows = 0;
+        try (PreparedStatement select = connection.prepareStatement(SELECT_ALL_STATS_DATA_SQL);
+             PreparedStatement update = connection.prepareStatement(sql.toString())) {
+            // Read through a cursor where the driver supports one, so large tables are not held in memory
+            select.setFetchSize(BACKFILL_BATCH_SIZE);
+            try (ResultSet resultSet = select.executeQuery()) {
+                int pending = 0;
+                while (resultSet.next()) {
+                    PlayerStats stats = createPlayerStatsFromResultSet(resultSet);
+                    if (stats == null) {
+                        continue;
+                    }
                     
-                    if (serializedStats == null) {
-                        throw new IllegalStateException("Failed to serialize PlayerStats for " + stats.getPlayerName());
+                    for (int i = 0; i < statColumns.length; i++) {
+                        update.setObject(i + 1, statColumns[i].extractor.apply(stats));
                     }
+                    update.setObject(statColumns.length + 1, resultSet.getObject("player_id"));
+                    update.addBatch();
+                    rows++;
                     
-                    batchParams[i] = new Object[]{
-                        stats.getPlayerId().toString(),
-                        stats.getPlayerName(),
-                        serializedStats,
-                        stats.getWins(),
-                        stats.getKills(),
-                        stats.getGamesPlayed(),
-                        stats.getBestPlacement()
-                    };
+                    if (++pending >= BACKFILL_BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
                 }
-                
-                // Execute batch operation
-                databaseManager.executeBatchAsync(sql, batchParams).join();
-                
-                logger.info("Batch saved " + statsList.size() + " player statistics");
-                
-            } catch (Exception e) {
-                logger.error("Failed to batch save player statistics", e);
-                throw new RuntimeException("Failed to batch save player statistics", e);
             }
-        });
+        }
+        return rows;
     }
     
     /**
-     * Gets the database column name for a statistic type.
+     * Drops the old single-column stat indexes, which the covering leaderboard
+     * indexes make redundant and which only slowed down every upsert.
      * 
-     * @param statType The statistic type
-     * @return The corresponding database column name
+     * @param connection A writable connection, inside the migration transaction
+     * @param dbType The database type
+     * @throws SQLException If an index cannot be dropped
+     */
+    private void dropSupersededIndexes(@NotNull Connection connection,
+                                       @NotNull DatabaseConfig.DatabaseType dbType) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> existingIndexes = readNames(metaData.getIndexInfo(null, null, tableName(metaData), false, false), "INDEX_NAME");
+        
+        try (Statement statement = connection.createStatement()) {
+            for (String index : SUPERSEDED_INDEXES) {
+                if (existingIndexes.contains(index)) {
+                    statement.execute(dbType == DatabaseConfig.DatabaseType.MYSQL
+                        ? "DROP INDEX " + index + " ON player_stats"
+                        : "DROP INDEX " + index);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the player_stats table name in the case the database stores
+     * unquoted identifiers in, for metadata lookups.
      */
-    private @NotNull String getColumnNameForStatType(@NotNull StatType statType) {
-        return switch (statType) {
-            case WINS -> "wins";
-            case KILLS -> "kills";
-            case GAMES_PLAYED -> "games_played";
-            case BEST_PLACEMENT -> "best_placement";
-            default -> "wins"; // Default fallback
-        };
+    private static @NotNull String tableName(@NotNull DatabaseMetaData metaData) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? "PLAYER_STATS" : "player_stats";
+    }
+    
+    private static @NotNull Set<String> readNames(@NotNull ResultSet resultSet, @NotNull String label) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (resultSet) {
+            while (resultSet.next()) {
+                String name = resultSet.getString(label);
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
     }
     
     /**
@@ -1,21 +1,37 @@
 package net.lumalyte.lumasg.statistics;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.util.core.DebugLogger;
 import net.lumalyte.lumasg.util.database.DatabaseManager;
 import net.lumalyte.lumasg.util.database.DatabaseConfig;
 import net.lumalyte.lumasg.util.security.InputSanitizer;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Manages player statistics for the LumaSG plugin.
@@ -24,6 +40,20 @@ import java.util.concurrent.ConcurrentHashMap;
  * statistics database. It handles loading, caching, and saving player statistics,
  * as well as providing methods for updating statistics during gameplay.</p>
  * 
+ * <p>Loaded statistics live in a Caffeine cache bounded by
+ * {@code statistics.cache.max-size} and {@code expire-after-access-minutes}, so
+ * players who have left are eventually dropped. Players who are online are
+ * additionally held outside the cache from their join preload until they
+ * quit, so their statistics are never evicted mid-game, and a change for a
+ * player whose statistics are not loaded (say, one who quit before their
+ * game ended) loads them first instead of being dropped. Changes are written behind:
+ * a modified player is queued once no matter how often they change, and the
+ * queue is flushed through {@link StatisticsDatabase#savePlayerStatsBatch(List)}
+ * in one transaction per batch every {@code statistics.write-behind.flush-interval-ms}
+ * or as soon as {@code batch-size} players are waiting. A dirty entry evicted
+ * from the cache stays queued and triggers a flush, so eviction never loses
+ * unsaved changes.</p>
+ * 
  * @author LumaLyte
  * @version 1.0
  * @since 1.0
@@ -32,15 +62,65 @@ public class StatisticsManager {
     
     private final @NotNull LumaSG plugin;
     private StatisticsDatabase database;
+    private MatchHistoryDatabase matchHistory;
+    private PeriodLeaderboardDatabase periodLeaderboards;
     
     /** The debug logger instance for this statistics manager */
     private final @NotNull DebugLogger.ContextualLogger logger;
     
-    /** Cache of loaded player statistics for quick access during games */
-    private final @NotNull Map<UUID, PlayerStats> statisticsCache;
+    /** Bounded cache of loaded player statistics for quick access during games */
+    private final @NotNull Cache<UUID, PlayerStats> statisticsCache;
+    
+    /** Statistics of online players, out of reach of cache eviction until they quit */
+    private final @NotNull Map<UUID, PlayerStats> onlineStats = new ConcurrentHashMap<>();
+    
+    /** Players between their join preload and quit, whose statistics are pinned once loaded */
+    private final @NotNull Set<UUID> onlinePlayers = ConcurrentHashMap.newKeySet();
+    
+    /** Loads started to apply a change to statistics that were not in memory, one per player */
+    private final @NotNull Map<UUID, CompletableFuture<PlayerStats>> recordLoads = new ConcurrentHashMap<>();
     
-    /** Set of player UUIDs whose statistics have been modified and need saving */
-    private final @NotNull Map<UUID, Long> pendingSaves;
+    /** Recently loaded leaderboards, so opening a menu does not query the database every time */
+    private final @NotNull AsyncCache<LeaderboardKey, List<LeaderboardEntry>> leaderboardCache;
+    
+    /** In-memory ranks of every player, for rank lookups without a database query */
+    private final @NotNull PlayerRankings rankings;
+    
+    private record LeaderboardKey(@NotNull LeaderboardPeriod period, @NotNull StatType statType, int limit) {
+    }
+    
+    /**
+     * Write-behind queue of modified statistics, one entry per player. Holds the
+     * instance itself so unsaved changes survive eviction from the cache.
+     */
+    private final @NotNull Map<UUID, PlayerStats> pendingSaves;
+    
+    /**
+     * Entries drained from {@link #pendingSaves} whose batch has not committed
+     * yet. Still newer than the database, so lookups must find them here.
+     */
+    private final @NotNull Map<UUID, PlayerStats> inFlightSaves = new ConcurrentHashMap<>();
+    
+    /** Number of queued players that triggers an early flush */
+    private final int flushBatchSize;
+    
+    /** Interval between periodic flushes in milliseconds */
+    private final long flushIntervalMillis;
+    
+    /** Tail of the flush chain; flushes run one after another, never concurrently */
+    private @NotNull CompletableFuture<Void> flushChain = CompletableFuture.completedFuture(null);
+    
+    /** Set while a flush is queued but has not yet drained the pending map */
+    private final AtomicBoolean flushQueued = new AtomicBoolean(false);
+    
+    /** Completes once the next flush to drain the pending map has written it */
+    private final AtomicReference<CompletableFuture<Void>> nextFlush = new AtomicReference<>(new CompletableFuture<>());
+    
+    private final AtomicLong flushedRecords = new AtomicLong(0);
+    private final AtomicLong flushedBatches = new AtomicLong(0);
+    private final AtomicLong failedBatches = new AtomicLong(0);
+    
+    private @Nullable BukkitTask flushTask;
     
     private DatabaseManager databaseManager;
     
@@ -52,8 +132,43 @@ public class StatisticsManager {
     public StatisticsManager(@NotNull LumaSG plugin) {
         this.plugin = plugin;
         this.logger = plugin.getDebugLogger().forContext("StatisticsManager");
-        this.statisticsCache = new ConcurrentHashMap<>();
         this.pendingSaves = new ConcurrentHashMap<>();
+        this.flushBatchSize = Math.max(1, plugin.getConfig().getInt("statistics.write-behind.batch-size", 100));
+        this.flushIntervalMillis = Math.max(250L, plugin.getConfig().getLong("statistics.write-behind.flush-interval-ms", 5000L));
+        this.statisticsCache = Caffeine.newBuilder()
+            .maximumSize(Math.max(100, plugin.getConfig().getLong("statistics.cache.max-size", 5000L)))
+            .expireAfterAccess(Duration.ofMinutes(Math.max(1, plugin.getConfig().getLong("statistics.cache.expire-after-access-minutes", 30L))))
+            .evictionListener(this::onEviction)
+            .recordStats()
+            .build();
+        this.leaderboardCache = Caffeine.newBuilder()
+            .maximumSize(256)
+            .expireAfterWrite(Duration.ofSeconds(Math.max(1, plugin.getConfig().getLong("statistics.leaderboards.cache-seconds", 30L))))
+            .buildAsync();
+        this.rankings = new PlayerRankings(loadRankedStatTypes());
+    }
+    
+    /**
+     * Reads the statistics to keep in-memory rankings for from the configuration.
+     */
+    private @NotNull Set<StatType> loadRankedStatTypes() {
+        Set<StatType> statTypes = EnumSet.noneOf(StatType.class);
+        if (!plugin.getConfig().getBoolean("statistics.rankings.enabled", true)) {
+            return statTypes;
+        }
+        
+        List<String> configured = plugin.getConfig().getStringList("statistics.rankings.stats");
+        if (configured.isEmpty()) {
+            return EnumSet.allOf(StatType.class);
+        }
+        for (String name : configured) {
+            try {
+                statTypes.add(StatType.valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Unknown statistic '" + name + "' in statistics.rankings.stats");
+            }
+        }
+        return statTypes;
     }
     
     /**
@@ -75,13 +190,24 @@ public class StatisticsManager {
                 database = new StatisticsDatabase(plugin, databaseManager);
                 database.initialize().join();
                 
+                matchHistory = new MatchHistoryDatabase(plugin, databaseManager);
+                matchHistory.initialize().join();
+                
+                periodLeaderboards = new PeriodLeaderboardDatabase(plugin, databaseManager);
+                periodLeaderboards.initialize().join();
+                
+                // Rankings fill in the background; ranks of players not loaded yet read as unranked
+                long rankingsStart = System.currentTimeMillis();
+                database.loadRankings(rankings).thenAccept(players -> logger.info("Loaded rankings of "
+                    + players + " players in " + (System.currentTimeMillis() - rankingsStart) + "ms"));
+                
                 logger.info("Statistics manager initialized successfully with high-performance infrastructure:");
                 logger.info("  ✓ Database type: " + config.getType());
                 logger.info("  ✓ Connection pooling: HikariCP with " + config.getMaximumPoolSize() + " max connections");
-                logger.info("  ✓ Serialization: Kryo binary format");
-                logger.info("  ✓ Batch operations: Enabled for optimal throughput");
+                logger.info("  ✓ Serialization: compact binary codec (Kryo for older rows)");
+                logger.info("  ✓ Write-behind: batches of up to " + flushBatchSize + " players every " + flushIntervalMillis + "ms");
                 
-                // Start the periodic save task
+                // Start the periodic flush task
                 startPeriodicSaveTask();
                 
             } catch (Exception e) {
@@ -132,34 +258,32 @@ public class StatisticsManager {
                 .connectionTimeout(plugin.getConfig().getLong("database.pool.connection-timeout", 30000))
                 .idleTimeout(plugin.getConfig().getLong("database.pool.idle-timeout", 600000))
                 .maxLifetime(plugin.getConfig().getLong("database.pool.max-lifetime", 1800000))
+                .executorQueueCapacity(plugin.getConfig().getInt("database.pool.queue-capacity", 1000))
                 .useSSL(plugin.getConfig().getBoolean("database.use-ssl", false))
                 .additionalProperties(plugin.getConfig().getString("database.additional-properties", ""))
+                .autoMigrate(plugin.getConfig().getBoolean("database.auto-migrate", true))
+                .sqliteCommitWindowMillis(plugin.getConfig().getLong("database.sqlite-commit-window-ms", 25))
+                .sqliteMaxBatchRows(plugin.getConfig().getInt("database.sqlite-max-batch-rows", 1000))
                 .build();
     }
     
     /**
      * Saves player statistics to the database.
      * 
+     * <p>The statistics are cached and queued like any other change, and
+     * written with the next periodic or batch-size flush together with every
+     * other queued player. Call {@link #saveAllPendingStats()} to write them
+     * right away.</p>
+     * 
      * @param stats The player statistics to save
-     * @return A CompletableFuture that completes when the save is done
+     * @return A CompletableFuture that completes once the flush that writes them is done
      */
     public @NotNull CompletableFuture<Void> savePlayerStats(@NotNull PlayerStats stats) {
-        // Mark as pending save
-        pendingSaves.put(stats.getPlayerId(), System.currentTimeMillis());
-        
-        // Update cache
         statisticsCache.put(stats.getPlayerId(), stats);
-        
-        // Save to database
-        return database.savePlayerStats(stats).whenComplete((result, throwable) -> {
-            if (throwable == null) {
-                // Remove from pending saves on success
-                pendingSaves.remove(stats.getPlayerId());
-                logger.debug("Successfully saved statistics for " + stats.getPlayerName());
-            } else {
-                logger.error("Failed to save statistics for " + stats.getPlayerName(), throwable);
-            }
-        });
+        onlineStats.replace(stats.getPlayerId(), stats);
+        markForSaving(stats.getPlayerId(), stats);
+        // Read after queueing, so the flush this future belongs to drains the entry
+        return nextFlush.get();
     }
     
     /**
@@ -179,6 +303,10 @@ public class StatisticsManager {
      * @return A CompletableFuture that completes when shutdown is done
      */
     public @NotNull CompletableFuture<Void> shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
         return saveAllPendingStats().thenCompose(v -> {
             if (database != null) {
                 database.shutdown();
@@ -201,10 +329,10 @@ public class StatisticsManager {
         // Sanitize player name for security
         String sanitizedPlayerName = InputSanitizer.sanitizePlayerName(playerName);
         
-        // Check cache first
-        PlayerStats cached = statisticsCache.get(playerId);
-        if (cached != null) {
-            return CompletableFuture.completedFuture(cached);
+        // Check memory first
+        PlayerStats loaded = findLoadedStats(playerId);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
         }
         
         // Load from database
@@ -218,9 +346,11 @@ public class StatisticsManager {
                 stats.setPlayerName(sanitizedPlayerName);
             }
             
-            // Cache the statistics
-            statisticsCache.put(playerId, stats);
-            return stats;
+            // Cache the statistics, unless a queued or unwritten copy appeared while loading
+            PlayerStats pending = findUnwrittenStats(playerId);
+            PlayerStats result = pending != null ? pending : stats;
+            statisticsCache.put(playerId, result);
+            return result;
         });
     }
     
@@ -231,7 +361,81 @@ public class StatisticsManager {
      * @return The cached player statistics, or null if not cached
      */
     public @Nullable PlayerStats getCachedPlayerStats(@NotNull UUID playerId) {
-        return statisticsCache.get(playerId);
+        PlayerStats stats = onlineStats.get(playerId);
+        return stats != null ? stats : statisticsCache.getIfPresent(playerId);
+    }
+    
+    /**
+     * Gets a player's statistics if they are in memory: pinned, cached, or
+     * evicted but still waiting to be written or being written.
+     */
+    private @Nullable PlayerStats findLoadedStats(@NotNull UUID playerId) {
+        PlayerStats stats = getCachedPlayerStats(playerId);
+        if (stats == null) {
+            // An evicted entry that is not yet committed is newer than the database
+            stats = findUnwrittenStats(playerId);
+            if (stats != null) {
+                statisticsCache.put(playerId, stats);
+            }
+        }
+        return stats;
+    }
+    
+    /**
+     * Gets a player's statistics if they are queued for writing or in a batch
+     * that has not committed yet.
+     */
+    private @Nullable PlayerStats findUnwrittenStats(@NotNull UUID playerId) {
+        PlayerStats stats = pendingSaves.get(playerId);
+        return stats != null ? stats : inFlightSaves.get(playerId);
+    }
+    
+    /**
+     * Applies a change to a player's statistics and queues them for saving.
+     * 
+     * <p>If the statistics are not in memory they are loaded first and the
+     * change is applied on the server thread once they are, so a change is
+     * never dropped because the player quit or their entry was evicted.</p>
+     * 
+     * @param playerId The player's unique identifier
+     * @param update The change to apply
+     */
+    private void updateStats(@NotNull UUID playerId, @NotNull Consumer<PlayerStats> update) {
+        PlayerStats stats = findLoadedStats(playerId);
+        if (stats != null) {
+            update.accept(stats);
+            markForSaving(playerId, stats);
+            return;
+        }
+        if (database == null) {
+            logger.warn("Statistics are not initialized, dropped a change for " + playerId);
+            return;
+        }
+        
+        // Changes arriving while the load runs share it, so they all land on one instance
+        CompletableFuture<PlayerStats> load = recordLoads.get(playerId);
+        if (load == null) {
+            String name = Bukkit.getOfflinePlayer(playerId).getName();
+            CompletableFuture<PlayerStats> started = getPlayerStats(playerId, name != null ? name : playerId.toString());
+            recordLoads.put(playerId, started);
+            started.whenComplete((loaded, error) -> recordLoads.remove(playerId, started));
+            load = started;
+        }
+        load.whenComplete((loaded, error) -> {
+            if (error != null) {
+                logger.warn("Failed to load statistics for " + playerId + ", a change was lost", error);
+                return;
+            }
+            Runnable apply = () -> {
+                update.accept(loaded);
+                markForSaving(playerId, loaded);
+            };
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, apply);
+            } else {
+                apply.run();
+            }
+        });
     }
     
     /**
@@ -248,46 +452,111 @@ public class StatisticsManager {
     public void recordGameResult(@NotNull UUID playerId, int placement, int kills, 
                                 double damageDealt, double damageTaken, int chestsOpened, 
                                 long gameTimeSeconds) {
-        PlayerStats stats = statisticsCache.get(playerId);
-        if (stats == null) {
-            logger.warn("Attempted to record game result for uncached player: " + playerId);
-            return;
+        LocalDateTime playedAt = LocalDateTime.now();
+        updateStats(playerId, stats -> {
+            // Update game statistics
+            stats.incrementGamesPlayed();
+            stats.addTimePlayed(gameTimeSeconds);
+            stats.setLastPlayed(playedAt);
+            
+            // Update placement
+            stats.updatePlacement(placement);
+            
+            // Update win/loss record
+            if (placement == 1) {
+                stats.incrementWins();
+            } else {
+                stats.incrementLosses();
+            }
+            
+            // Update kill statistics
+            for (int i = 0; i < kills; i++) {
+                stats.incrementKills();
+            }
+            
+            // Update damage statistics
+            stats.addDamageDealt(damageDealt);
+            stats.addDamageTaken(damageTaken);
+            
+            // Update chests opened
+            for (int i = 0; i < chestsOpened; i++) {
+                stats.incrementChestsOpened();
+            }
+            
+            logger.debug("Recorded game result for " + InputSanitizer.sanitizeForLogging(stats.getPlayerName()) + 
+                ": placement=" + placement + ", kills=" + kills);
+        });
+    }
+    
+    /**
+     * Records the per-player results of a finished game.
+     * 
+     * <p>The results are appended to the match history in one batch insert
+     * (unless match history tracking is disabled) and added to the daily,
+     * weekly and season leaderboard totals in another, both off the main
+     * thread.</p>
+     * 
+     * @param results One result per player of the game
+     * @return A CompletableFuture that completes when the results are written
+     */
+    public @NotNull CompletableFuture<Void> recordMatch(@NotNull List<MatchResult> results) {
+        if (matchHistory == null || periodLeaderboards == null) {
+            return CompletableFuture.completedFuture(null);
         }
         
-        // Update game statistics
-        stats.incrementGamesPlayed();
-        stats.addTimePlayed(gameTimeSeconds);
-        stats.setLastPlayed(LocalDateTime.now());
-        
-        // Update placement
-        stats.updatePlacement(placement);
-        
-        // Update win/loss record
-        if (placement == 1) {
-            stats.incrementWins();
-        } else {
-            stats.incrementLosses();
+        List<CompletableFuture<Void>> writes = new ArrayList<>(2);
+        if (plugin.getConfig().getBoolean("statistics.track-match-history", true)) {
+            writes.add(matchHistory.saveMatch(results));
         }
-        
-        // Update kill statistics
-        for (int i = 0; i < kills; i++) {
-            stats.incrementKills();
+        writes.add(periodLeaderboards.addMatch(results, getPlayerNames(results))
+            .thenRun(() -> leaderboardCache.synchronous().invalidateAll()));
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0]));
+    }
+    
+    /**
+     * Gets the names of the players in a game for the period leaderboards,
+     * preferring the names of their loaded statistics.
+     */
+    private @NotNull Map<UUID, String> getPlayerNames(@NotNull List<MatchResult> results) {
+        Map<UUID, String> names = new HashMap<>();
+        for (MatchResult result : results) {
+            PlayerStats stats = getCachedPlayerStats(result.playerId());
+            String name = stats != null ? stats.getPlayerName() : Bukkit.getOfflinePlayer(result.playerId()).getName();
+            if (name != null) {
+                names.put(result.playerId(), name);
+            }
         }
-        
-        // Update damage statistics
-        stats.addDamageDealt(damageDealt);
-        stats.addDamageTaken(damageTaken);
-        
-        // Update chests opened
-        for (int i = 0; i < chestsOpened; i++) {
-            stats.incrementChestsOpened();
+        return names;
+    }
+    
+    /**
+     * Gets a player's most recent games, newest first.
+     * 
+     * @param playerId The player's unique identifier
+     * @param limit The maximum number of games to return
+     * @return A CompletableFuture with the player's recent match results,
+     *         empty if statistics are not initialized
+     */
+    public @NotNull CompletableFuture<List<MatchResult>> getRecentMatches(@NotNull UUID playerId, int limit) {
+        if (matchHistory == null) {
+            return CompletableFuture.completedFuture(List.of());
         }
-        
-        // Mark for saving
-        markForSaving(playerId);
-        
-        logger.debug("Recorded game result for " + InputSanitizer.sanitizeForLogging(stats.getPlayerName()) + 
-            ": placement=" + placement + ", kills=" + kills);
+        return matchHistory.getRecentMatches(playerId, limit);
+    }
+    
+    /**
+     * Gets a player's average kills per game since the given time.
+     * 
+     * @param playerId The player's unique identifier
+     * @param since The start of the time window
+     * @return A CompletableFuture with the average kills per game, 0 if
+     *         statistics are not initialized
+     */
+    public @NotNull CompletableFuture<Double> getKillsPerGame(@NotNull UUID playerId, @NotNull Instant since) {
+        if (matchHistory == null) {
+            return CompletableFuture.completedFuture(0.0);
+        }
+        return matchHistory.getKillsPerGame(playerId, since);
     }
     
     /**
@@ -296,11 +565,7 @@ public class StatisticsManager {
      * @param playerId The player's unique identifier
      */
     public void recordDeath(@NotNull UUID playerId) {
-        PlayerStats stats = statisticsCache.get(playerId);
-        if (stats != null) {
-            stats.incrementDeaths();
-            markForSaving(playerId);
-        }
+        updateStats(playerId, PlayerStats::incrementDeaths);
     }
     
     /**
@@ -309,11 +574,7 @@ public class StatisticsManager {
      * @param playerId The player's unique identifier
      */
     public void recordKill(@NotNull UUID playerId) {
-        PlayerStats stats = statisticsCache.get(playerId);
-        if (stats != null) {
-            stats.incrementKills();
-            markForSaving(playerId);
-        }
+        updateStats(playerId, PlayerStats::incrementKills);
     }
     
     /**
@@ -323,11 +584,7 @@ public class StatisticsManager {
      * @param damage The amount of damage dealt
      */
     public void recordDamageDealt(@NotNull UUID playerId, double damage) {
-        PlayerStats stats = statisticsCache.get(playerId);
-        if (stats != null) {
-            stats.addDamageDealt(damage);
-            markForSaving(playerId);
-        }
+        updateStats(playerId, stats -> stats.addDamageDealt(damage));
     }
     
     /**
@@ -337,11 +594,7 @@ public class StatisticsManager {
      * @param damage The amount of damage taken
      */
     public void recordDamageTaken(@NotNull UUID playerId, double damage) {
-        PlayerStats stats = statisticsCache.get(playerId);
-        if (stats != null) {
-            stats.addDamageTaken(damage);
-            markForSaving(playerId);
-        }
+        updateStats(playerId, stats -> stats.addDamageTaken(damage));
     }
     
     /**
@@ -350,11 +603,7 @@ public class StatisticsManager {
      * @param playerId The player's unique identifier
      */
     public void recordChestOpened(@NotNull UUID playerId) {
-        PlayerStats stats = statisticsCache.get(playerId);
-        if (stats != null) {
-            stats.incrementChestsOpened();
-            markForSaving(playerId);
-        }
+        updateStats(playerId, PlayerStats::incrementChestsOpened);
     }
     
     /**
@@ -362,10 +611,30 @@ public class StatisticsManager {
      * 
      * @param statType The type of statistic to get the leaderboard for
      * @param limit The maximum number of entries to return
-     * @return A CompletableFuture containing the leaderboard
+     * @return A CompletableFuture containing the leaderboard entries, best first
+     */
+    public @NotNull CompletableFuture<List<LeaderboardEntry>> getLeaderboard(@NotNull StatType statType, int limit) {
+        return getLeaderboard(statType, LeaderboardPeriod.ALL_TIME, limit);
+    }
+    
+    /**
+     * Gets a leaderboard for a statistic over a period.
+     * 
+     * <p>Period leaderboards are read from totals that are kept up to date as
+     * games end, so no aggregates are computed here. Results are cached for a
+     * short time and dropped whenever a game is recorded.</p>
+     * 
+     * @param statType The type of statistic to get the leaderboard for
+     * @param period The period the leaderboard covers
+     * @param limit The maximum number of entries to return
+     * @return A CompletableFuture containing the leaderboard entries, best first
      */
-    public @NotNull CompletableFuture<List<PlayerStats>> getLeaderboard(@NotNull StatType statType, int limit) {
-        return database.getLeaderboard(statType, limit);
+    public @NotNull CompletableFuture<List<LeaderboardEntry>> getLeaderboard(@NotNull StatType statType,
+                                                                            @NotNull LeaderboardPeriod period, int limit) {
+        return leaderboardCache.get(new LeaderboardKey(period, statType, limit), (key, executor) ->
+            period == LeaderboardPeriod.ALL_TIME
+                ? database.getLeaderboard(statType, limit)
+                : periodLeaderboards.getLeaderboard(period, statType, limit));
     }
     
     /**
@@ -384,14 +653,10 @@ public class StatisticsManager {
      * @return A CompletableFuture that completes when the save is done
      */
     public @NotNull CompletableFuture<Void> savePlayerStats(@NotNull UUID playerId) {
-        PlayerStats stats = statisticsCache.get(playerId);
-        if (stats == null) {
+        if (!pendingSaves.containsKey(playerId)) {
             return CompletableFuture.completedFuture(null);
         }
-        
-        return database.savePlayerStats(stats).thenRun(() -> {
-            pendingSaves.remove(playerId);
-        });
+        return flushPendingStats();
     }
     
     /**
@@ -403,28 +668,48 @@ public class StatisticsManager {
         if (pendingSaves.isEmpty()) {
             return CompletableFuture.completedFuture(null);
         }
-        
-        CompletableFuture<?>[] futures = pendingSaves.keySet().stream()
-            .map(this::savePlayerStats)
-            .toArray(CompletableFuture[]::new);
-        
-        return CompletableFuture.allOf(futures);
+        return flushPendingStats();
     }
     
     /**
      * Removes a player from the cache.
      * 
+     * <p>Unsaved changes stay in the write-behind queue and are written with
+     * the next flush.</p>
+     * 
      * @param playerId The player's unique identifier
      */
     public void uncachePlayer(@NotNull UUID playerId) {
-        // Save before removing from cache if there are pending changes
-        if (pendingSaves.containsKey(playerId)) {
-            savePlayerStats(playerId).thenRun(() -> {
-                statisticsCache.remove(playerId);
-            });
-        } else {
-            statisticsCache.remove(playerId);
-        }
+        onlinePlayers.remove(playerId);
+        onlineStats.remove(playerId);
+        statisticsCache.invalidate(playerId);
+    }
+    
+    /**
+     * Gets cache and write-behind statistics for monitoring.
+     * 
+     * @return A one-line summary
+     */
+    public @NotNull String getCacheStats() {
+        return String.format("Statistics - Cache: %d entries (%.2f%% hit rate, %d evictions), "
+                + "write-behind: %d queued, %d in flight, %d records in %d batches, %d failed batches",
+            statisticsCache.estimatedSize(),
+            statisticsCache.stats().hitRate() * 100,
+            statisticsCache.stats().evictionCount(),
+            pendingSaves.size(),
+            inFlightSaves.size(),
+            flushedRecords.get(),
+            flushedBatches.get(),
+            failedBatches.get());
+    }
+    
+    /**
+     * Gets connection pool, executor and per-query statistics for monitoring.
+     * 
+     * @return A multi-line summary
+     */
+    public @NotNull String getDatabaseStats() {
+        return databaseManager != null ? databaseManager.getPoolStats() : "Database not initialized";
     }
     
     /**
@@ -433,8 +718,16 @@ public class StatisticsManager {
      * @param player The player to preload statistics for
      */
     public void preloadPlayerStats(@NotNull Player player) {
-        getPlayerStats(player.getUniqueId(), player.getName()).thenAccept(stats -> {
-            // Statistics are now cached
+        UUID playerId = player.getUniqueId();
+        onlinePlayers.add(playerId);
+        getPlayerStats(playerId, player.getName()).thenAccept(stats -> {
+            // Pin the statistics until the player quits
+            if (onlinePlayers.contains(playerId)) {
+                onlineStats.put(playerId, stats);
+                if (!onlinePlayers.contains(playerId)) {
+                    onlineStats.remove(playerId, stats); // Quit while loading
+                }
+            }
         }).exceptionally(throwable -> {
             logger.warn("Failed to preload statistics for " + player.getName(), throwable);
             return null;
@@ -442,28 +735,141 @@ public class StatisticsManager {
     }
     
     /**
-     * Marks a player's statistics for saving.
+     * Marks a player's statistics for saving. Repeated changes to the same
+     * player before the next flush are written once.
      * 
      * @param playerId The player's unique identifier
+     * @param stats The modified statistics
+     */
+    private void markForSaving(@NotNull UUID playerId, @NotNull PlayerStats stats) {
+        rankings.update(stats);
+        pendingSaves.put(playerId, stats);
+        if (pendingSaves.size() >= flushBatchSize) {
+            requestFlush();
+        }
+    }
+    
+    /**
+     * Called by the cache when an entry is evicted for size or age. A dirty
+     * entry is still in the write-behind queue; make sure it is written soon.
+     */
+    private void onEviction(@Nullable UUID playerId, @Nullable PlayerStats stats, @NotNull RemovalCause cause) {
+        if (playerId != null && pendingSaves.containsKey(playerId)) {
+            logger.debug("Evicted dirty statistics for " + playerId + " (" + cause + ") - flushing");
+            requestFlush();
+        }
+    }
+    
+    /**
+     * Queues a flush unless one is already waiting to run.
+     */
+    private void requestFlush() {
+        if (database != null && flushQueued.compareAndSet(false, true)) {
+            flushPendingStats().exceptionally(throwable -> {
+                logger.warn("Failed to flush pending statistics", throwable);
+                return null;
+            });
+        }
+    }
+    
+    /**
+     * Appends a flush to the flush chain. The flush drains every player queued
+     * at the moment it starts and writes them in batches of at most
+     * {@code batch-size}, each in its own transaction.
+     * 
+     * @return A future completing when this flush has finished
      */
-    private void markForSaving(@NotNull UUID playerId) {
-        pendingSaves.put(playerId, System.currentTimeMillis());
+    private synchronized @NotNull CompletableFuture<Void> flushPendingStats() {
+        if (database == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        flushChain = flushChain
+            .handle((ignored, throwable) -> null)
+            .thenCompose(ignored -> writePendingStats());
+        return flushChain;
+    }
+    
+    /**
+     * Drains the write-behind queue and writes it through the batch upsert.
+     * Batches that fail are queued again unless the player changed meanwhile.
+     * Drained entries stay in {@link #inFlightSaves} until their batch is done.
+     */
+    private @NotNull CompletableFuture<Void> writePendingStats() {
+        flushQueued.set(false);
+        CompletableFuture<Void> done = nextFlush.getAndSet(new CompletableFuture<>());
+        
+        List<PlayerStats> drained = new ArrayList<>(pendingSaves.size());
+        for (Map.Entry<UUID, PlayerStats> entry : pendingSaves.entrySet()) {
+            // Visible in flight before it leaves the queue, so a lookup never misses it
+            inFlightSaves.put(entry.getKey(), entry.getValue());
+            if (pendingSaves.remove(entry.getKey(), entry.getValue())) {
+                drained.add(entry.getValue());
+            } else {
+                inFlightSaves.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        if (drained.isEmpty()) {
+            done.complete(null);
+            return done;
+        }
+        
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CompletableFuture<Void> writes = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < drained.size(); from += flushBatchSize) {
+            List<PlayerStats> batch = drained.subList(from, Math.min(from + flushBatchSize, drained.size()));
+            writes = writes.thenCompose(ignored -> database.savePlayerStatsBatch(batch)
+                .handle((result, throwable) -> {
+                    if (throwable != null) {
+                        failure.compareAndSet(null, throwable);
+                        failedBatches.incrementAndGet();
+                        for (PlayerStats stats : batch) {
+                            pendingSaves.putIfAbsent(stats.getPlayerId(), stats);
+                        }
+                        logger.warn("Failed to write " + batch.size() + " player statistics - queued for retry", throwable);
+                    } else {
+                        flushedBatches.incrementAndGet();
+                        flushedRecords.addAndGet(batch.size());
+                    }
+                    for (PlayerStats stats : batch) {
+                        inFlightSaves.remove(stats.getPlayerId(), stats);
+                    }
+                    return null;
+                }));
+        }
+        
+        logger.debug("Flushing " + drained.size() + " player statistics");
+        return writes.whenComplete((ignored, throwable) -> {
+            Throwable error = failure.get();
+            if (error != null) {
+                done.completeExceptionally(error);
+            } else {
+                done.complete(null);
+            }
+        });
     }
     
     /**
-     * Starts the periodic task to save pending statistics.
+     * Starts the periodic task that flushes the write-behind queue.
      */
     private void startPeriodicSaveTask() {
-        int saveInterval = plugin.getConfig().getInt("statistics.save-interval-seconds", 300); // Default 5 minutes
+        long intervalTicks = Math.max(1L, flushIntervalMillis / 50L);
         
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+        flushTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
             if (!pendingSaves.isEmpty()) {
-                saveAllPendingStats().exceptionally(throwable -> {
-                    logger.warn("Failed to save pending statistics", throwable);
-                    return null;
-                });
+                requestFlush();
             }
-        }, 20L * saveInterval, 20L * saveInterval);
+            // Let Caffeine run expiry even when the cache is idle
+            statisticsCache.cleanUp();
+        }, intervalTicks, intervalTicks);
+    }
+    
+    /**
+     * Gets the in-memory player rankings.
+     * 
+     * @return The player rankings
+     */
+    public @NotNull PlayerRankings getRankings() {
+        return rankings;
     }
     
     /**
@@ -1,35 +1,43 @@
 package net.lumalyte.lumasg.util.cache;  import net.lumalyte.lumasg.util.core.DebugLogger;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-
 import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.chest.AliasSampler;
 import net.lumalyte.lumasg.chest.ChestItem;
 import net.lumalyte.lumasg.chest.ChestManager;
 
 /**
- * Pre-generated loot table caching system for optimal chest filling performance.
- * Eliminates runtime loot generation by pre-computing chest contents.
+ * Pre-generated loot pool for game chest filling.
+ *
+ * <p>Each tier owns a bounded ring buffer of pre-rolled chests. Filling a game
+ * chest takes one roll out of the buffer instead of rolling on the spot; once
+ * a buffer drops to its low watermark, a background task on the plugin's
+ * worker pool tops it back up to capacity. Every roll is handed out exactly once.</p>
+ *
+ * <p>Per-tier hit/miss counts and refill lag (time from crossing the low
+ * watermark until the buffer is full again) are tracked so the pool size can
+ * be tuned per tier under {@code performance.loot-pool}.</p>
  */
 public class LootTableCache {
-
+    
     /**
          * Represents a pre-generated chest configuration
          */
@@ -38,52 +46,150 @@ public class LootTableCache {
                 this.items = new ArrayList<>(items);
                 this.slots = new ArrayList<>(slots);
             }
-
+        
+        /**
+         * Creates a pre-generated chest from a slot-by-slot chest layout.
+         *
+         * @param contents The chest contents, with null for empty slots
+         * @return The pre-generated chest
+         */
+        public static @NotNull PreGeneratedChest fromContents(@NotNull ItemStack[] contents) {
+            List<ItemStack> items = new ArrayList<>();
+            List<Integer> slots = new ArrayList<>();
+            for (int slot = 0; slot < contents.length; slot++) {
+                if (contents[slot] != null) {
+                    items.add(contents[slot]);
+                    slots.add(slot);
+                }
+            }
+            return new PreGeneratedChest(items, slots);
+        }
+        
+        /**
+         * Lays the items out slot by slot, ready for {@code Inventory#setContents}.
+         * Items whose slot does not fit the given size are dropped.
+         *
+         * @param size The inventory size
+         * @return The chest contents, with null for empty slots
+         */
+        public @NotNull ItemStack[] toContents(int size) {
+            ItemStack[] contents = new ItemStack[size];
+            for (int i = 0; i < items.size(); i++) {
+                int slot = slots.get(i);
+                if (slot >= 0 && slot < size) {
+                    contents[slot] = items.get(i);
+                }
+            }
+            return contents;
+        }
+        
         @Override
         @NotNull
             public List<ItemStack> items() {
                 return items;
             }
-
+        
         @Override
         @NotNull
             public List<Integer> slots() {
                 return slots;
             }
-
+        
         public int getItemCount() {
                 return items.size();
             }
         }
     
-    private static final Cache<String, List<PreGeneratedChest>> LOOT_TABLE_CACHE = Caffeine.newBuilder()
-            .maximumSize(100)  // Cache for different tier configurations
-            .expireAfterWrite(Duration.ofMinutes(30))
-            .recordStats()
-            .build();
+    /**
+     * Snapshot of the metrics of one tier's pool.
+     *
+     * @param tier The tier name
+     * @param size Rolls currently buffered
+     * @param capacity Maximum rolls buffered
+     * @param hits Takes served from the buffer
+     * @param misses Takes that found the buffer empty
+     * @param refills Completed background refills
+     * @param lastRefillLagMillis Time the last refill took to restore full capacity
+     * @param maxRefillLagMillis Longest refill lag seen
+     * @param averageRefillLagMillis Mean refill lag
+     */
+    public record TierPoolStats(@NotNull String tier, int size, int capacity, long hits, long misses, long refills,
+                                double lastRefillLagMillis, double maxRefillLagMillis,
+                                double averageRefillLagMillis) {
+        
+        /**
+         * Gets the fraction of takes served from the buffer.
+         *
+         * @return The hit rate between 0 and 1
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+        
+        @Override
+        public @NotNull String toString() {
+            return String.format("%s: %d/%d buffered, %.1f%% hit (%d hits, %d misses), %d refills, "
+                    + "refill lag last %.1fms / avg %.1fms / max %.1fms",
+                    tier, size, capacity, hitRate() * 100, hits, misses, refills,
+                    lastRefillLagMillis, averageRefillLagMillis, maxRefillLagMillis);
+        }
+    }
     
-    private static final ConcurrentHashMap<String, AtomicInteger> GENERATION_COUNTERS = new ConcurrentHashMap<>();
+    /**
+     * Bounded buffer of pre-rolled chests for one tier, tied to the loot
+     * sampler it was rolled from.
+     */
+    private static final class TierPool {
+        private final @NotNull String tier;
+        private final @NotNull AliasSampler<ChestItem> source;
+        private final @NotNull ArrayBlockingQueue<PreGeneratedChest> buffer;
+        private final int capacity;
+        private final int lowWatermark;
+        private final AtomicBoolean refilling = new AtomicBoolean(false);
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final AtomicLong refills = new AtomicLong();
+        private final AtomicLong totalRefillLagNanos = new AtomicLong();
+        private final AtomicLong maxRefillLagNanos = new AtomicLong();
+        private volatile long lastRefillLagNanos = 0;
+        
+        private TierPool(@NotNull String tier, @NotNull AliasSampler<ChestItem> source, int capacity, int lowWatermark) {
+            this.tier = tier;
+            this.source = source;
+            this.capacity = capacity;
+            this.lowWatermark = lowWatermark;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+        
+        private @NotNull TierPoolStats stats() {
+            long completed = refills.get();
+            return new TierPoolStats(tier, buffer.size(), capacity, hits.sum(), misses.sum(), completed,
+                    lastRefillLagNanos / 1_000_000.0, maxRefillLagNanos.get() / 1_000_000.0,
+                    completed == 0 ? 0.0 : totalRefillLagNanos.get() / 1_000_000.0 / completed);
+        }
+    }
     
-    private static final ScheduledExecutorService GENERATION_EXECUTOR = 
-            Executors.newScheduledThreadPool(2, r -> {
-                Thread t = new Thread(r, "LootGen-" + System.currentTimeMillis());
-                t.setDaemon(true);
-                return t;
-            });
+    /** Pools keyed by lower-case tier name */
+    private static final Map<String, TierPool> TIER_POOLS = new ConcurrentHashMap<>();
     
     private static DebugLogger.ContextualLogger logger;
     private static LumaSG pluginInstance;
     private static ChestManager chestManager;
     
     // Configuration constants
-    private static final int PREGENERATED_CHESTS_PER_TIER = 50; // Number of pre-generated chests per tier
-    private static final int MIN_ITEMS_PER_CHEST = 3;
-    private static final int MAX_ITEMS_PER_CHEST = 7;
+    private static final int DEFAULT_POOL_CAPACITY = 50; // Pre-rolled chests per tier
+    private static final double DEFAULT_LOW_WATERMARK = 0.25; // Fraction of capacity that triggers a refill
     private static final int CHEST_SIZE = 27; // Standard chest inventory size
     
+    // Pool sizing (loaded from config)
+    private static int defaultCapacity = DEFAULT_POOL_CAPACITY;
+    private static double lowWatermarkRatio = DEFAULT_LOW_WATERMARK;
+    private static Map<String, Integer> tierCapacities = Map.of();
+    
     /**
      * Initializes the loot table cache
-     * 
+     *
      * @param plugin The plugin instance
      * @param chestMgr The chest manager instance
      */
@@ -92,23 +198,37 @@ public class LootTableCache {
         chestManager = chestMgr;
         logger = plugin.getDebugLogger().forContext("LootTableCache");
         
-        // Schedule periodic regeneration of loot tables
-        GENERATION_EXECUTOR.scheduleAtFixedRate(() -> {
-            try {
-                regenerateLootTables();
-            } catch (Exception e) {
-                if (logger != null) {
-                    logger.error("Error during loot table regeneration", e);
-                }
-            }
-        }, 15, 15, TimeUnit.MINUTES);
+        loadConfiguration();
         
-        logger.info("LootTableCache initialized - will pre-generate " + PREGENERATED_CHESTS_PER_TIER + " chests per tier");
+        logger.info("LootTableCache initialized - " + defaultCapacity + " pre-rolled chests per tier, refill below "
+                + Math.round(lowWatermarkRatio * 100) + "%");
     }
     
     /**
-     * Pre-generates loot tables for all tiers
-     * 
+     * Loads pool sizing from {@code performance.loot-pool}.
+     */
+    private static void loadConfiguration() {
+        ConfigurationSection section = pluginInstance.getConfig().getConfigurationSection("performance.loot-pool");
+        if (section == null) {
+            return;
+        }
+        
+        defaultCapacity = Math.max(1, section.getInt("capacity", DEFAULT_POOL_CAPACITY));
+        lowWatermarkRatio = Math.max(0.0, Math.min(0.9, section.getDouble("low-watermark", DEFAULT_LOW_WATERMARK)));
+        
+        Map<String, Integer> capacities = new ConcurrentHashMap<>();
+        ConfigurationSection tiers = section.getConfigurationSection("tier-capacity");
+        if (tiers != null) {
+            for (String tier : tiers.getKeys(false)) {
+                capacities.put(tier.toLowerCase(Locale.ROOT), Math.max(1, tiers.getInt(tier)));
+            }
+        }
+        tierCapacities = capacities;
+    }
+    
+    /**
+     * Fills the pools of all tiers to capacity
+     *
      * @return CompletableFuture that completes when generation is done
      */
     public static CompletableFuture<Void> preGenerateLootTables() {
@@ -118,7 +238,10 @@ public class LootTableCache {
             
             for (String tier : availableTiers) {
                 try {
-                    generateLootTableForTier(tier);
+                    TierPool pool = poolFor(tier);
+                    if (pool != null) {
+                        fillPool(pool);
+                    }
                 } catch (Exception e) {
                     if (logger != null) {
                         logger.error("Error generating loot table for tier: " + tier, e);
@@ -129,358 +252,195 @@ public class LootTableCache {
             if (logger != null) {
                 logger.info("Pre-generated loot tables for " + availableTiers.size() + " tiers: " + availableTiers);
             }
-        }, GENERATION_EXECUTOR);
-    }
-    
-    /**
-     * Generates a loot table for a specific tier
-     * 
-     * @param tier The tier to generate loot for
-     */
-    private static void generateLootTableForTier(@NotNull String tier) {
-        List<ChestItem> tierItems = chestManager.getTierItems(tier);
-        if (tierItems.isEmpty()) {
-            if (logger != null) {
-                logger.warn("No items found for tier: " + tier);
-            }
-            return;
-        }
-        
-        List<PreGeneratedChest> preGeneratedChests = new ArrayList<>();
-        
-        for (int i = 0; i < PREGENERATED_CHESTS_PER_TIER; i++) {
-            PreGeneratedChest chest = generateSingleChest(tierItems, tier);
-            if (chest != null) {
-                preGeneratedChests.add(chest);
-            }
-        }
-        
-        if (!preGeneratedChests.isEmpty()) {
-            LOOT_TABLE_CACHE.put(tier, preGeneratedChests);
-            GENERATION_COUNTERS.computeIfAbsent(tier, k -> new AtomicInteger(0)).set(0);
-            
-            if (logger != null) {
-                logger.debug("Generated " + preGeneratedChests.size() + " chests for tier: " + tier);
-            }
-        }
-    }
-    
-    /**
-     * Generates a single pre-configured chest
-     * 
-     * @param tierItems Available items for the tier
-     * @param tier The tier name for logging
-     * @return Pre-generated chest or null if generation failed
-     */
-    @Nullable
-    private static PreGeneratedChest generateSingleChest(@NotNull List<ChestItem> tierItems, @NotNull String tier) {
-        int itemCount = generateRandomItemCount();
-        List<Integer> availableSlots = generateShuffledSlots();
-        
-        ChestContents contents = populateChestContents(tierItems, itemCount, availableSlots);
-        
-        return contents.isEmpty() ? null : new PreGeneratedChest(contents.items, contents.slots);
-    }
-    
-    /**
-     * Generates a random number of items for a chest
-     */
-    private static int generateRandomItemCount() {
-        return ThreadLocalRandom.current().nextInt(MIN_ITEMS_PER_CHEST, MAX_ITEMS_PER_CHEST + 1);
-    }
-    
-    /**
-     * Generates a shuffled list of available chest slots
-     */
-    private static List<Integer> generateShuffledSlots() {
-        List<Integer> slots = new ArrayList<>();
-        for (int i = 0; i < CHEST_SIZE; i++) {
-            slots.add(i);
-        }
-        Collections.shuffle(slots);
-        return slots;
-    }
-    
-    /**
-     * Populates chest contents with items and their slots
-     */
-    private static ChestContents populateChestContents(List<ChestItem> tierItems, int itemCount, List<Integer> availableSlots) {
-        List<ItemStack> items = new ArrayList<>();
-        List<Integer> selectedSlots = new ArrayList<>();
-        
-        for (int i = 0; i < Math.min(itemCount, availableSlots.size()); i++) {
-            ItemStack itemStack = generateRandomItemStack(tierItems);
-            if (itemStack != null) {
-                items.add(itemStack);
-                selectedSlots.add(availableSlots.get(i));
-            }
-        }
-        
-        return new ChestContents(items, selectedSlots);
+        }, pluginInstance.getWorkerPool());
     }
     
     /**
-     * Generates a random ItemStack from the tier items
+     * Gets the pool for a tier, replacing it if the tier's loot has been
+     * reloaded since the pool was created.
+     *
+     * @param tier The tier name
+     * @return The pool, or null if the tier has no loot
      */
     @Nullable
-    private static ItemStack generateRandomItemStack(List<ChestItem> tierItems) {
-        ChestItem randomItem = getRandomWeightedItem(tierItems);
-        if (randomItem == null) {
+    private static TierPool poolFor(@NotNull String tier) {
+        if (chestManager == null) {
             return null;
         }
-        
-        ItemStack itemStack = randomItem.getItemStack(pluginInstance);
-        if (itemStack != null) {
-            int amount = ThreadLocalRandom.current().nextInt(randomItem.getMinAmount(), randomItem.getMaxAmount() + 1);
-            itemStack.setAmount(amount);
-            return itemStack.clone();
+        AliasSampler<ChestItem> sampler = chestManager.getTierSampler(tier);
+        if (sampler.isEmpty()) {
+            return null;
         }
         
-        return null;
+        String key = tier.toLowerCase(Locale.ROOT);
+        return TIER_POOLS.compute(key, (k, existing) -> {
+            if (existing != null && existing.source == sampler) {
+                return existing;
+            }
+            int capacity = tierCapacities.getOrDefault(k, defaultCapacity);
+            int lowWatermark = (int) Math.floor(capacity * lowWatermarkRatio);
+            if (existing != null && logger != null) {
+                logger.debug("Loot for tier " + k + " changed - discarding " + existing.buffer.size() + " stale rolls");
+            }
+            return new TierPool(k, sampler, capacity, lowWatermark);
+        });
     }
     
     /**
-     * Helper class to hold chest contents during generation
+     * Rolls chests into a pool until it is full
+     *
+     * @param pool The pool to fill
+     * @return The number of chests added
      */
-    private static class ChestContents {
-        private final List<ItemStack> items;
-        private final List<Integer> slots;
-        
-        ChestContents(List<ItemStack> items, List<Integer> slots) {
-            this.items = items;
-            this.slots = slots;
-        }
-        
-        boolean isEmpty() {
-            return items.isEmpty();
+    private static int fillPool(@NotNull TierPool pool) {
+        int added = 0;
+        while (pool.buffer.remainingCapacity() > 0) {
+            PreGeneratedChest chest = PreGeneratedChest.fromContents(chestManager.rollChestContents(pool.tier, CHEST_SIZE));
+            if (chest.items().isEmpty() || !pool.buffer.offer(chest)) {
+                break;
+            }
+            added++;
         }
+        return added;
     }
     
     /**
-     * Gets a random weighted item from the tier items
-     * 
-     * @param tierItems Available items
-     * @return Random item based on weight
+     * Starts a background refill of a pool unless one is already running.
+     *
+     * @param pool The pool that reached its low watermark
      */
-    @Nullable
-    private static ChestItem getRandomWeightedItem(@NotNull List<ChestItem> tierItems) {
-        if (tierItems.isEmpty()) {
-            return null;
-        }
-        
-        // Calculate total weight
-        double totalWeight = tierItems.stream()
-                .mapToDouble(ChestItem::getChance)
-                .sum();
-        
-        if (totalWeight <= 0) {
-            return tierItems.get(ThreadLocalRandom.current().nextInt(tierItems.size()));
+    private static void scheduleRefill(@NotNull TierPool pool) {
+        if (!pool.refilling.compareAndSet(false, true)) {
+            return;
         }
         
-        // Weighted random selection
-        double roll = ThreadLocalRandom.current().nextDouble(totalWeight);
-        double currentWeight = 0.0;
-        
-        for (ChestItem item : tierItems) {
-            currentWeight += item.getChance();
-            if (roll <= currentWeight) {
-                return item;
-            }
+        long triggeredAt = System.nanoTime();
+        try {
+            pluginInstance.getWorkerPool().execute(() -> {
+                try {
+                    int added = fillPool(pool);
+                    long lag = System.nanoTime() - triggeredAt;
+                    pool.lastRefillLagNanos = lag;
+                    pool.totalRefillLagNanos.addAndGet(lag);
+                    pool.maxRefillLagNanos.accumulateAndGet(lag, Math::max);
+                    pool.refills.incrementAndGet();
+                    
+                    if (logger != null) {
+                        logger.debug("Refilled loot pool " + pool.tier + " with " + added + " chests in "
+                                + String.format("%.1f", lag / 1_000_000.0) + "ms");
+                    }
+                } catch (Exception e) {
+                    if (logger != null) {
+                        logger.error("Error refilling loot pool for tier: " + pool.tier, e);
+                    }
+                } finally {
+                    pool.refilling.set(false);
+                }
+            });
+        } catch (Exception e) {
+            // Worker queue is full or the pool is stopped; the next take retries
+            pool.refilling.set(false);
         }
-        
-        // Fallback
-        return tierItems.get(tierItems.size() - 1);
     }
     
     /**
-     * Gets a pre-generated chest for a specific tier
-     * 
+     * Takes a pre-rolled chest for a tier out of its pool.
+     *
+     * <p>Never blocks and never rolls on the calling thread. If the pool is
+     * empty the miss is recorded and null is returned, so the caller can roll
+     * fresh loot itself. Dropping to the low watermark starts a background
+     * refill.</p>
+     *
      * @param tier The tier to get a chest for
-     * @return Pre-generated chest or null if none available
+     * @return A pre-rolled chest owned by the caller, or null if none is buffered
      */
     @Nullable
     public static PreGeneratedChest getPreGeneratedChest(@NotNull String tier) {
-        List<PreGeneratedChest> chests = LOOT_TABLE_CACHE.getIfPresent(tier);
-        if (chests == null || chests.isEmpty()) {
-            // Try to generate on-demand
-            generateLootTableForTier(tier);
-            chests = LOOT_TABLE_CACHE.getIfPresent(tier);
-            
-            if (chests == null || chests.isEmpty()) {
-                return null;
-            }
+        TierPool pool = poolFor(tier);
+        if (pool == null) {
+            return null;
         }
         
-        // Get next chest in round-robin fashion
-        AtomicInteger counter = GENERATION_COUNTERS.computeIfAbsent(tier, k -> new AtomicInteger(0));
-        int index = counter.getAndIncrement() % chests.size();
-        
-        return chests.get(index);
-    }
-    
-    /**
-     * Applies a pre-generated chest to an inventory
-     * 
-     * @param inventory The inventory to fill
-     * @param chest The pre-generated chest
-     * @return CompletableFuture that completes when the chest is filled
-     */
-    public static CompletableFuture<Boolean> applyPreGeneratedChest(@NotNull org.bukkit.inventory.Inventory inventory, 
-                                                                   @NotNull PreGeneratedChest chest) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (!validateChestData(chest)) {
-                return false;
-            }
-            
-            return applyChestToInventoryOnMainThread(inventory, chest);
-        });
-    }
-    
-    /**
-     * Validates that chest data is consistent
-     */
-    private static boolean validateChestData(PreGeneratedChest chest) {
-        List<ItemStack> items = chest.items();
-        List<Integer> slots = chest.slots();
-        
-        if (items.size() != slots.size()) {
-            if (logger != null) {
-                logger.error("Mismatch between items and slots in pre-generated chest");
-            }
-            return false;
+        PreGeneratedChest chest = pool.buffer.poll();
+        if (chest == null) {
+            pool.misses.increment();
+            scheduleRefill(pool);
+            return null;
         }
         
-        return true;
-    }
-    
-    /**
-     * Applies chest contents to inventory on the main thread
-     */
-    private static boolean applyChestToInventoryOnMainThread(org.bukkit.inventory.Inventory inventory, PreGeneratedChest chest) {
-        CompletableFuture<Boolean> mainThreadApplication = new CompletableFuture<>();
-        
-        org.bukkit.Bukkit.getScheduler().runTask(pluginInstance, () -> {
-            try {
-                inventory.clear();
-                fillInventoryWithChestContents(inventory, chest);
-                mainThreadApplication.complete(true);
-            } catch (Exception e) {
-                if (logger != null) {
-                    logger.error("Error applying pre-generated chest to inventory", e);
-                }
-                mainThreadApplication.complete(false);
-            }
-        });
-        
-        return waitForMainThreadCompletion(mainThreadApplication);
-    }
-    
-    /**
-     * Fills inventory with chest contents
-     */
-    private static void fillInventoryWithChestContents(org.bukkit.inventory.Inventory inventory, PreGeneratedChest chest) {
-        List<ItemStack> items = chest.items();
-        List<Integer> slots = chest.slots();
-        
-        for (int i = 0; i < items.size(); i++) {
-            ItemStack item = items.get(i);
-            int slot = slots.get(i);
-            
-            if (isValidSlot(slot, inventory)) {
-                inventory.setItem(slot, item.clone());
-            }
-        }
-    }
-    
-    /**
-     * Checks if a slot is valid for the given inventory
-     */
-    private static boolean isValidSlot(int slot, org.bukkit.inventory.Inventory inventory) {
-        return slot >= 0 && slot < inventory.getSize();
-    }
-    
-    /**
-     * Waits for main thread operation to complete with timeout
-     */
-    private static boolean waitForMainThreadCompletion(CompletableFuture<Boolean> future) {
-        try {
-            return future.get(5, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            if (logger != null) {
-                logger.error("Timeout applying pre-generated chest", e);
-            }
-            return false;
+        pool.hits.increment();
+        if (pool.buffer.size() <= pool.lowWatermark) {
+            scheduleRefill(pool);
         }
+        return chest;
     }
     
     /**
-     * Regenerates all loot tables (called periodically)
+     * Gets the metrics of every tier pool.
+     *
+     * @return Pool metrics keyed by tier name, in tier order
      */
-    private static void regenerateLootTables() {
-        // Get available tiers dynamically from configuration
-        Set<String> availableTiers = chestManager.getTiers();
-        
-        for (String tier : availableTiers) {
-            // Only regenerate if cache is getting low
-            List<PreGeneratedChest> existing = LOOT_TABLE_CACHE.getIfPresent(tier);
-            if (existing == null || existing.size() < PREGENERATED_CHESTS_PER_TIER / 2) {
-                generateLootTableForTier(tier);
-            }
-        }
+    public static @NotNull Map<String, TierPoolStats> getPoolStats() {
+        Map<String, TierPoolStats> stats = new TreeMap<>();
+        TIER_POOLS.forEach((tier, pool) -> stats.put(tier, pool.stats()));
+        return Collections.unmodifiableMap(stats);
     }
     
     /**
      * Gets cache statistics for monitoring
-     * 
+     *
      * @return String containing cache statistics
      */
     public static String getCacheStats() {
-        long totalChests = LOOT_TABLE_CACHE.asMap().values().stream()
-                .mapToLong(List::size)
-                .sum();
+        long buffered = 0;
+        long capacity = 0;
+        long hits = 0;
+        long misses = 0;
+        for (TierPoolStats stats : getPoolStats().values()) {
+            buffered += stats.size();
+            capacity += stats.capacity();
+            hits += stats.hits();
+            misses += stats.misses();
+        }
         
         return String.format(
-                "LootTableCache - Cached Tiers: %d, Total Pre-generated Chests: %d, Hit Rate: %.2f%%",
-                LOOT_TABLE_CACHE.estimatedSize(),
-                totalChests,
-                LOOT_TABLE_CACHE.stats().hitRate() * 100
+                "LootTableCache - Tier Pools: %d, Pre-rolled Chests: %d/%d, Hit Rate: %.2f%%",
+                TIER_POOLS.size(),
+                buffered,
+                capacity,
+                hits + misses == 0 ? 0.0 : (double) hits / (hits + misses) * 100
         );
     }
     
     /**
      * Gets detailed statistics for all tiers
-     * 
+     *
      * @return String containing detailed tier statistics
      */
     public static String getDetailedStats() {
         StringBuilder stats = new StringBuilder("Loot Table Statistics:\n");
         
-        LOOT_TABLE_CACHE.asMap().forEach((tier, chests) -> {
-            AtomicInteger counter = GENERATION_COUNTERS.get(tier);
-            int usageCount = counter != null ? counter.get() : 0;
-            
-            stats.append(String.format("  %s: %d chests, %d used\n", 
-                    tier, chests.size(), usageCount));
-        });
+        for (TierPoolStats tierStats : getPoolStats().values()) {
+            stats.append("  ").append(tierStats).append("\n");
+        }
         
         return stats.toString();
     }
     
     /**
-     * Forces regeneration of loot tables for all tiers
-     * 
+     * Discards every buffered roll and refills all pools
+     *
      * @return CompletableFuture that completes when regeneration is done
      */
     public static CompletableFuture<Void> forceRegeneration() {
-        return CompletableFuture.runAsync(() -> {
-            LOOT_TABLE_CACHE.invalidateAll();
-            GENERATION_COUNTERS.clear();
-            preGenerateLootTables().join();
-            
-            if (logger != null) {
-                logger.info("Forced regeneration of all loot tables completed");
-            }
-        }, GENERATION_EXECUTOR);
+        // Chained rather than joined so no worker thread blocks on another
+        return CompletableFuture.runAsync(TIER_POOLS::clear, pluginInstance.getWorkerPool())
+            .thenCompose(cleared -> preGenerateLootTables())
+            .thenRun(() -> {
+                if (logger != null) {
+                    logger.info("Forced regeneration of all loot tables completed");
+                }
+            });
     }
     
     /**
@@ -491,23 +451,11 @@ public class LootTableCache {
             logger.info("Shutting down LootTableCache...");
         }
         
-        // Clear caches
-        LOOT_TABLE_CACHE.invalidateAll();
-        GENERATION_COUNTERS.clear();
-        
-        // Shutdown executor
-        GENERATION_EXECUTOR.shutdown();
-        try {
-            if (!GENERATION_EXECUTOR.awaitTermination(5, TimeUnit.SECONDS)) {
-                GENERATION_EXECUTOR.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            GENERATION_EXECUTOR.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        // Clear pools; refills still running finish on the worker pool
+        TIER_POOLS.clear();
         
         if (logger != null) {
             logger.info("LootTableCache shutdown complete");
         }
     }
-} 
+}
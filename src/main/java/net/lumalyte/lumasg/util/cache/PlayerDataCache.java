@@ -1,6 +1,7 @@
 package net.lumalyte.lumasg.util.cache;  import net.lumalyte.lumasg.util.core.DebugLogger;
 
 import java.time.Duration;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -16,6 +17,7 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 
 import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.statistics.PlayerStats;
+import net.lumalyte.lumasg.statistics.StatType;
 
 /**
  * Player data caching system using Caffeine.
@@ -44,9 +46,6 @@ public class PlayerDataCache {
             .weakValues() // Allow GC when player disconnects
             .build();
     
-    // Cache for computed player rankings with refresh-ahead
-    private static AsyncLoadingCache<String, Integer> PLAYER_RANKING_CACHE;
-    
     private static LumaSG plugin;
     private static DebugLogger.ContextualLogger logger;
     private static final Executor customExecutor = ForkJoinPool.commonPool();
@@ -80,17 +79,6 @@ public class PlayerDataCache {
                 .recordStats()
                 .build(PlayerDataCache::loadPermissionFromBukkit);
         
-        // Initialize AsyncLoadingCache for player rankings
-        PLAYER_RANKING_CACHE = Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterWrite(Duration.ofMinutes(20))
-                .refreshAfterWrite(Duration.ofMinutes(5))
-                .recordStats()
-                .executor(customExecutor)
-                .buildAsync((String rankingKey, Executor executor) ->
-                    CompletableFuture.supplyAsync(() -> calculatePlayerRanking(rankingKey), executor)
-                );
-        
         logger.info("Advanced PlayerDataCache initialized with refresh-ahead patterns");
     }
     
@@ -184,15 +172,15 @@ public class PlayerDataCache {
     }
     
     /**
-     * Gets cached player ranking with automatic calculation
+     * Gets a player's ranking from the in-memory rankings
      * 
      * @param uuid The player's UUID
      * @param statType The statistic type for ranking
      * @return CompletableFuture containing the player's rank
      */
     public static CompletableFuture<Integer> getCachedPlayerRanking(UUID uuid, String statType) {
-        String rankingKey = uuid + ":" + statType;
-        return PLAYER_RANKING_CACHE.get(rankingKey);
+        // The in-memory rankings are always current, so a cached rank would only be stale
+        return CompletableFuture.completedFuture(calculatePlayerRanking(uuid + ":" + statType));
     }
     
     /**
@@ -207,9 +195,6 @@ public class PlayerDataCache {
         
         // Invalidate all permission entries for this player
         PERMISSION_CACHE.asMap().keySet().removeIf(key -> key.startsWith(uuid.toString()));
-        
-        // Invalidate ranking entries for this player
-        PLAYER_RANKING_CACHE.synchronous().asMap().keySet().removeIf(key -> key.startsWith(uuid.toString()));
     }
     
     /**
@@ -245,9 +230,6 @@ public class PlayerDataCache {
                 STATS_CACHE.synchronous().invalidate(uuid);
             }
         }, customExecutor);
-        
-        // Invalidate related ranking caches
-        PLAYER_RANKING_CACHE.synchronous().asMap().keySet().removeIf(key -> key.startsWith(uuid.toString()));
     }
     
     /**
@@ -262,13 +244,11 @@ public class PlayerDataCache {
             "Permission Cache - Size: %d, Hit Rate: %.2f%%, Load Count: %d\n" +
             "Display Name Cache - Size: %d, Hit Rate: %.2f%%\n" +
             "Permission Attachment Cache - Size: %d, Hit Rate: %.2f%%\n" +
-            "Player Ranking Cache - Size: %d, Hit Rate: %.2f%%, Load Count: %d\n" +
             "Total Memory Usage: ~%d KB",
             STATS_CACHE.synchronous().estimatedSize(), STATS_CACHE.synchronous().stats().hitRate() * 100, STATS_CACHE.synchronous().stats().loadCount(),
             PERMISSION_CACHE.estimatedSize(), PERMISSION_CACHE.stats().hitRate() * 100, PERMISSION_CACHE.stats().loadCount(),
             DISPLAY_NAME_CACHE.estimatedSize(), DISPLAY_NAME_CACHE.stats().hitRate() * 100,
             PERMISSION_ATTACHMENT_CACHE.estimatedSize(), PERMISSION_ATTACHMENT_CACHE.stats().hitRate() * 100,
-            PLAYER_RANKING_CACHE.synchronous().estimatedSize(), PLAYER_RANKING_CACHE.synchronous().stats().hitRate() * 100, PLAYER_RANKING_CACHE.synchronous().stats().loadCount(),
             estimateMemoryUsage()
         );
     }
@@ -281,7 +261,6 @@ public class PlayerDataCache {
         PERMISSION_CACHE.invalidateAll();
         DISPLAY_NAME_CACHE.invalidateAll();
         PERMISSION_ATTACHMENT_CACHE.invalidateAll();
-        PLAYER_RANKING_CACHE.synchronous().invalidateAll();
         logger.info("All player data caches cleared");
     }
     
@@ -308,9 +287,6 @@ public class PlayerDataCache {
         
         bulkCachePermissions(player, commonPermissions);
         
-        // Preload ranking for wins (most commonly viewed)
-        getCachedPlayerRanking(uuid, "wins");
-        
         logger.debug("Preloaded essential data for player: " + player.getName());
     }
     
@@ -323,7 +299,6 @@ public class PlayerDataCache {
         PERMISSION_CACHE.cleanUp();
         DISPLAY_NAME_CACHE.cleanUp();
         PERMISSION_ATTACHMENT_CACHE.cleanUp();
-        PLAYER_RANKING_CACHE.synchronous().cleanUp();
         
         logger.debug("Cache maintenance completed");
     }
@@ -357,11 +332,11 @@ public class PlayerDataCache {
         try {
             String[] parts = rankingKey.split(":", 2);
             UUID uuid = UUID.fromString(parts[0]);
-            String statType = parts[1];
+            StatType statType = StatType.valueOf(parts[1].toUpperCase(Locale.ROOT));
             
-            // This would typically involve a database query to get ranking
-            // For now, return a placeholder implementation
-            return plugin.getStatisticsManager().getTotalPlayerCount().get() + 1;
+            // Answered from the in-memory rankings; unranked players sort after everyone
+            int rank = plugin.getStatisticsManager().getRankings().getRank(uuid, statType);
+            return rank > 0 ? rank : Integer.MAX_VALUE;
         } catch (Exception e) {
             logger.error("Failed to calculate player ranking: " + rankingKey, e);
             return Integer.MAX_VALUE;
@@ -374,8 +349,7 @@ public class PlayerDataCache {
         long permissionSize = PERMISSION_CACHE.estimatedSize() * 50; // ~50 bytes per permission
         long displayNameSize = DISPLAY_NAME_CACHE.estimatedSize() * 100; // ~100 bytes per name
         long attachmentSize = PERMISSION_ATTACHMENT_CACHE.estimatedSize() * 200; // ~200 bytes per attachment
-        long rankingSize = PLAYER_RANKING_CACHE.synchronous().estimatedSize() * 50; // ~50 bytes per ranking
         
-        return (statsSize + permissionSize + displayNameSize + attachmentSize + rankingSize) / 1024;
+        return (statsSize + permissionSize + displayNameSize + attachmentSize) / 1024;
     }
 } 
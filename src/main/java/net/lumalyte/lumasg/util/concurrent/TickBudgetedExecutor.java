@@ -0,0 +1,288 @@
+package net.lumalyte.lumasg.util.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.util.core.DebugLogger;
+
+/**
+ * Main-thread work queue that is drained under a fixed time budget per tick.
+ *
+ * <p>Worker threads prepare everything that does not need the server thread
+ * (loot rolls, item stacks, slot layouts) and submit only the final world or
+ * inventory write as a small task. Once per tick the server thread runs queued
+ * tasks until the configured budget is spent, so a large batch is spread over
+ * as many ticks as it needs instead of landing in a single tick.</p>
+ *
+ * <p>Submitting never blocks. Callers group related tasks in a {@link Batch}
+ * and get a future that completes, on the server thread, with a
+ * {@link BatchReport} describing how many ticks and how much main-thread time
+ * the batch used.</p>
+ *
+ * <p>The budget is read from {@code performance.main-thread-budget-ms}.</p>
+ */
+public class TickBudgetedExecutor {
+
+    /** Default main-thread budget per tick in milliseconds */
+    private static final double DEFAULT_BUDGET_MS = 2.0;
+
+    private final @NotNull LumaSG plugin;
+    private final @NotNull DebugLogger.ContextualLogger logger;
+
+    /** Tasks waiting for main-thread time, in submission order */
+    private final @NotNull Queue<QueuedTask> queue = new ConcurrentLinkedQueue<>();
+
+    /** Number of ticks the drain task has run, used to count ticks per batch */
+    private long tickCounter = 0;
+
+    private volatile long budgetNanos;
+    private @Nullable BukkitTask drainTask;
+
+    /** Set while the drain task is not running, so new tasks are skipped instead of queued */
+    private volatile boolean stopped = true;
+
+    /**
+     * Creates a new executor. Call {@link #start()} to begin draining.
+     *
+     * @param plugin The plugin instance
+     */
+    public TickBudgetedExecutor(@NotNull LumaSG plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getDebugLogger().forContext("TickBudgetedExecutor");
+        loadConfiguration();
+    }
+
+    /**
+     * Reads the per-tick budget from the plugin configuration.
+     */
+    public void loadConfiguration() {
+        double budgetMs = plugin.getConfig().getDouble("performance.main-thread-budget-ms", DEFAULT_BUDGET_MS);
+        budgetMs = Math.max(0.1, Math.min(50.0, budgetMs));
+        this.budgetNanos = (long) (budgetMs * 1_000_000L);
+    }
+
+    /**
+     * Starts the per-tick drain task.
+     */
+    public void start() {
+        if (drainTask != null) {
+            return;
+        }
+        drainTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        stopped = false;
+        logger.info("Main-thread work queue started with a budget of "
+            + String.format("%.2f", budgetNanos / 1_000_000.0) + "ms per tick");
+    }
+
+    /**
+     * Stops the drain task. Tasks still queued, and any submitted afterwards,
+     * are skipped and their batches complete with the work that did run.
+     */
+    public void stop() {
+        stopped = true;
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+
+        QueuedTask task;
+        while ((task = queue.poll()) != null) {
+            task.batch.taskSkipped();
+        }
+    }
+
+    /**
+     * Creates a new batch of main-thread work.
+     *
+     * @param label A label for logging, such as the arena name
+     * @return The new batch
+     */
+    public @NotNull Batch newBatch(@NotNull String label) {
+        return new Batch(label);
+    }
+
+    /**
+     * Gets the number of tasks waiting for main-thread time.
+     *
+     * @return The queue depth
+     */
+    public int getQueuedTaskCount() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the configured budget per tick.
+     *
+     * @return The budget in milliseconds
+     */
+    public double getBudgetMillis() {
+        return budgetNanos / 1_000_000.0;
+    }
+
+    /**
+     * Runs queued tasks on the server thread until the budget for this tick is
+     * spent. At least one task runs per tick so the queue always makes progress.
+     */
+    private void drain() {
+        tickCounter++;
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        long now;
+        do {
+            QueuedTask task = queue.poll();
+            if (task == null) {
+                break;
+            }
+
+            long started = System.nanoTime();
+            boolean success = true;
+            try {
+                task.work.run();
+            } catch (Exception e) {
+                success = false;
+                logger.warn("Main-thread task failed in batch '" + task.batch.label + "'", e);
+            }
+            now = System.nanoTime();
+            task.batch.taskFinished(success, now - started, tickCounter);
+        } while (now < deadline);
+    }
+
+    /**
+     * Summary of the main-thread cost of a finished batch.
+     *
+     * @param label The batch label
+     * @param tasksRun Number of tasks that ran successfully
+     * @param tasksFailed Number of tasks that threw or were dropped
+     * @param ticksUsed Number of distinct ticks in which the batch ran work
+     * @param mainThreadNanos Total time spent on the server thread
+     */
+    public record BatchReport(@NotNull String label, int tasksRun, int tasksFailed, int ticksUsed,
+                              long mainThreadNanos) {
+
+        /**
+         * Gets the total main-thread time in milliseconds.
+         *
+         * @return The main-thread time in milliseconds
+         */
+        public double mainThreadMillis() {
+            return mainThreadNanos / 1_000_000.0;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return String.format("%s: %d tasks (%d failed) over %d ticks, %.2fms main-thread",
+                label, tasksRun + tasksFailed, tasksFailed, ticksUsed, mainThreadMillis());
+        }
+    }
+
+    /**
+     * A group of main-thread tasks whose completion and cost are tracked together.
+     *
+     * <p>Submit tasks from any thread, then call {@link #seal()} once no more
+     * tasks will be added.</p>
+     */
+    public final class Batch {
+        private final @NotNull String label;
+        private final @NotNull CompletableFuture<BatchReport> completion = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger(0);
+        private final AtomicInteger succeeded = new AtomicInteger(0);
+        private final AtomicInteger failed = new AtomicInteger(0);
+        private final AtomicInteger ticksUsed = new AtomicInteger(0);
+        private final AtomicLong mainThreadNanos = new AtomicLong(0);
+        private volatile boolean sealed = false;
+
+        /** Last tick in which this batch ran work; only touched on the server thread */
+        private long lastTick = -1;
+
+        private Batch(@NotNull String label) {
+            this.label = label;
+        }
+
+        /**
+         * Queues a task for the server thread. Never blocks. If the executor
+         * is stopped the task is skipped instead, so the batch still completes.
+         *
+         * @param work The work to run on the server thread
+         * @throws IllegalStateException if the batch has already been sealed
+         */
+        public void submit(@NotNull Runnable work) {
+            if (sealed) {
+                throw new IllegalStateException("Batch '" + label + "' is already sealed");
+            }
+            pending.incrementAndGet();
+            if (stopped) {
+                taskSkipped();
+                return;
+            }
+
+            QueuedTask task = new QueuedTask(this, work);
+            queue.offer(task);
+            // stop() may have drained the queue before the task landed in it; whoever removes it skips it
+            if (stopped && queue.remove(task)) {
+                taskSkipped();
+            }
+        }
+
+        /**
+         * Marks the batch as complete. The returned future completes once every
+         * submitted task has run.
+         *
+         * @return A future completing with the batch report
+         */
+        public @NotNull CompletableFuture<BatchReport> seal() {
+            sealed = true;
+            completeIfDone();
+            return completion;
+        }
+
+        /**
+         * Gets the completion future without sealing the batch.
+         *
+         * @return The completion future
+         */
+        public @NotNull CompletableFuture<BatchReport> completion() {
+            return completion;
+        }
+
+        private void taskFinished(boolean success, long nanos, long tick) {
+            (success ? succeeded : failed).incrementAndGet();
+            mainThreadNanos.addAndGet(nanos);
+            if (lastTick != tick) {
+                lastTick = tick;
+                ticksUsed.incrementAndGet();
+            }
+            pending.decrementAndGet();
+            completeIfDone();
+        }
+
+        private void taskSkipped() {
+            failed.incrementAndGet();
+            pending.decrementAndGet();
+            completeIfDone();
+        }
+
+        private void completeIfDone() {
+            if (sealed && pending.get() == 0 && !completion.isDone()) {
+                completion.complete(new BatchReport(label, succeeded.get(), failed.get(),
+                    ticksUsed.get(), mainThreadNanos.get()));
+            }
+        }
+    }
+
+    /**
+     * A unit of main-thread work and the batch it belongs to.
+     */
+    private record QueuedTask(@NotNull Batch batch, @NotNull Runnable work) {
+    }
+}
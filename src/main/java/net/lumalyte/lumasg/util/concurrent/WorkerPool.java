@@ -0,0 +1,205 @@
+package net.lumalyte.lumasg.util.concurrent;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.util.core.DebugLogger;
+
+/**
+ * The plugin's single bounded pool for CPU-bound work moved off the server
+ * thread: rolling chest loot and refilling the loot pool, scanning chunk
+ * snapshots, and building or ray tracing an arena's occlusion map.
+ *
+ * <p>Used instead of the common fork-join pool so plugin work cannot starve
+ * other plugins or the server that share it, and so every thread is stopped
+ * when the plugin is disabled. When the queue is full, worker threads run the
+ * task themselves; the server thread never does and gets a
+ * {@link RejectedExecutionException} instead, which completes the dependent
+ * future exceptionally.</p>
+ *
+ * <p>The thread count is read from {@code performance.worker-threads} and
+ * can be changed on reload; {@code performance.worker-queue-capacity} is only
+ * read when the pool starts.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public class WorkerPool implements Executor {
+
+    /** Default number of queued tasks before submissions are rejected */
+    private static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private final @NotNull LumaSG plugin;
+    private final @NotNull DebugLogger.ContextualLogger logger;
+
+    private volatile @Nullable ThreadPoolExecutor executor;
+    private volatile int threadCount;
+    private volatile boolean autoSized;
+
+    /**
+     * Creates a new pool. Call {@link #start()} before submitting work.
+     *
+     * @param plugin The plugin instance
+     */
+    public WorkerPool(@NotNull LumaSG plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getDebugLogger().forContext("WorkerPool");
+    }
+
+    /**
+     * Creates the worker threads from the current configuration.
+     */
+    public void start() {
+        if (executor != null) {
+            return;
+        }
+
+        loadConfiguration();
+        int threads = threadCount;
+        int queueCapacity = Math.max(1, plugin.getConfig().getInt("performance.worker-queue-capacity",
+            DEFAULT_QUEUE_CAPACITY));
+
+        AtomicInteger threadIndex = new AtomicInteger(0);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread t = new Thread(r, "LumaSG-Worker-" + threadIndex.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            },
+            (task, rejectedBy) -> {
+                // Let worker threads absorb the overflow, but never the server thread
+                if (Bukkit.isPrimaryThread() || rejectedBy.isShutdown()) {
+                    throw new RejectedExecutionException("Worker queue is full");
+                }
+                task.run();
+            });
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+
+        logger.info("Worker pool started with " + threads + " threads ("
+            + (autoSized ? "auto-calculated" : "configured") + "), queue capacity " + queueCapacity);
+    }
+
+    /**
+     * Re-reads {@code performance.worker-threads} and resizes the running pool.
+     */
+    public void loadConfiguration() {
+        int configuredThreads = plugin.getConfig().getInt("performance.worker-threads", 0);
+        autoSized = configuredThreads <= 0;
+        int threads = autoSized
+            ? Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2))
+            : Math.min(16, configuredThreads);
+        threadCount = threads;
+
+        ThreadPoolExecutor pool = executor;
+        if (pool != null && pool.getMaximumPoolSize() != threads) {
+            // Order matters: core may never exceed max
+            if (threads > pool.getMaximumPoolSize()) {
+                pool.setMaximumPoolSize(threads);
+                pool.setCorePoolSize(threads);
+            } else {
+                pool.setCorePoolSize(threads);
+                pool.setMaximumPoolSize(threads);
+            }
+            logger.info("Worker pool resized to " + threads + " threads");
+        }
+    }
+
+    /**
+     * Stops the worker threads. Queued tasks get up to five seconds to finish;
+     * any still queued after that are dropped, so the futures waiting on them
+     * never complete.
+     */
+    public void stop() {
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) {
+            return;
+        }
+        executor = null;
+
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs a task on a worker thread.
+     *
+     * @param task The task to run
+     * @throws RejectedExecutionException if the pool is stopped, or the queue is full and this is the server thread
+     */
+    @Override
+    public void execute(@NotNull Runnable task) {
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) {
+            throw new RejectedExecutionException("Worker pool is not running");
+        }
+        pool.execute(task);
+    }
+
+    /**
+     * Checks whether the pool accepts work.
+     *
+     * @return true between {@link #start()} and {@link #stop()}
+     */
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Gets the number of tasks waiting for a worker thread.
+     *
+     * @return The queue depth, 0 if the pool is stopped
+     */
+    public int getQueuedTaskCount() {
+        ThreadPoolExecutor pool = executor;
+        return pool != null ? pool.getQueue().size() : 0;
+    }
+
+    /**
+     * Gets the number of threads currently running a task.
+     *
+     * @return The busy thread count, 0 if the pool is stopped
+     */
+    public int getActiveCount() {
+        ThreadPoolExecutor pool = executor;
+        return pool != null ? pool.getActiveCount() : 0;
+    }
+
+    /**
+     * Gets the number of threads the pool is sized for.
+     *
+     * @return The worker thread count
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Checks whether the thread count was calculated from the CPU count
+     * rather than set by {@code performance.worker-threads}.
+     *
+     * @return true if the thread count was auto-calculated
+     */
+    public boolean isAutoSized() {
+        return autoSized;
+    }
+}
@@ -41,10 +41,16 @@ public class DatabaseConfig {
     private final long connectionTimeout;
     private final long idleTimeout;
     private final long maxLifetime;
+    private final int executorQueueCapacity;
     
     // Additional settings
     private final boolean useSSL;
     private final String additionalProperties;
+    private final boolean autoMigrate;
+    
+    // SQLite single-writer settings
+    private final long sqliteCommitWindowMillis;
+    private final int sqliteMaxBatchRows;
     
     private DatabaseConfig(Builder builder) {
         this.type = builder.type;
@@ -58,8 +64,12 @@ public class DatabaseConfig {
         this.connectionTimeout = builder.connectionTimeout;
         this.idleTimeout = builder.idleTimeout;
         this.maxLifetime = builder.maxLifetime;
+        this.executorQueueCapacity = builder.executorQueueCapacity;
         this.useSSL = builder.useSSL;
         this.additionalProperties = builder.additionalProperties;
+        this.autoMigrate = builder.autoMigrate;
+        this.sqliteCommitWindowMillis = builder.sqliteCommitWindowMillis;
+        this.sqliteMaxBatchRows = builder.sqliteMaxBatchRows;
     }
     
     /**
@@ -121,8 +131,12 @@ public class DatabaseConfig {
     public long getConnectionTimeout() { return connectionTimeout; }
     public long getIdleTimeout() { return idleTimeout; }
     public long getMaxLifetime() { return maxLifetime; }
+    public int getExecutorQueueCapacity() { return executorQueueCapacity; }
     public boolean isUseSSL() { return useSSL; }
     public String getAdditionalProperties() { return additionalProperties; }
+    public boolean isAutoMigrate() { return autoMigrate; }
+    public long getSqliteCommitWindowMillis() { return sqliteCommitWindowMillis; }
+    public int getSqliteMaxBatchRows() { return sqliteMaxBatchRows; }
     
     /**
      * Builder for DatabaseConfig with sensible defaults
@@ -141,9 +155,15 @@ public class DatabaseConfig {
         private long connectionTimeout = 30000; // 30 seconds
         private long idleTimeout = 600000; // 10 minutes
         private long maxLifetime = 1800000; // 30 minutes
+        private int executorQueueCapacity = 1000; // Queued queries before backpressure kicks in
         
         private boolean useSSL = false;
         private String additionalProperties = "";
+        private boolean autoMigrate = true;
+        
+        // Group commit: one SQLite transaction per window of queued writes
+        private long sqliteCommitWindowMillis = 25;
+        private int sqliteMaxBatchRows = 1000;
         
         public Builder type(DatabaseType type) {
             this.type = type;
@@ -205,6 +225,11 @@ public class DatabaseConfig {
             return this;
         }
         
+        public Builder executorQueueCapacity(int executorQueueCapacity) {
+            this.executorQueueCapacity = executorQueueCapacity;
+            return this;
+        }
+        
         public Builder useSSL(boolean useSSL) {
             this.useSSL = useSSL;
             return this;
@@ -215,6 +240,21 @@ public class DatabaseConfig {
             return this;
         }
         
+        public Builder autoMigrate(boolean autoMigrate) {
+            this.autoMigrate = autoMigrate;
+            return this;
+        }
+        
+        public Builder sqliteCommitWindowMillis(long sqliteCommitWindowMillis) {
+            this.sqliteCommitWindowMillis = sqliteCommitWindowMillis;
+            return this;
+        }
+        
+        public Builder sqliteMaxBatchRows(int sqliteMaxBatchRows) {
+            this.sqliteMaxBatchRows = sqliteMaxBatchRows;
+            return this;
+        }
+        
         public DatabaseConfig build() {
             return new DatabaseConfig(this);
         }
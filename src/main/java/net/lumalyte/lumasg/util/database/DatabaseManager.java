@@ -4,6 +4,7 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.util.core.DebugLogger;
+import org.bukkit.Bukkit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -12,10 +13,16 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Database manager using HikariCP connection pooling.
@@ -31,6 +38,15 @@ import java.util.concurrent.TimeUnit;
  * - Automatic retry logic with exponential backoff
  * - Batch operation support for statistics
  * - Proper resource cleanup and leak detection
+ * 
+ * With SQLite, every write goes through a single writer thread that groups
+ * concurrent writes into one transaction, while reads use a separate pool of
+ * read-only connections.
+ * 
+ * All other database work runs on a bounded executor. When its queue is full,
+ * async callers run the query themselves and the server thread gets a
+ * rejected future, so a slow database surfaces as measurable backpressure in
+ * the query statistics instead of starving shared thread pools.
  */
 public class DatabaseManager {
     
@@ -39,7 +55,12 @@ public class DatabaseManager {
     private final DatabaseConfig config;
     
     private HikariDataSource dataSource;
-    private ExecutorService executorService;
+    private ThreadPoolExecutor executorService;
+    private final QueryMetrics queryMetrics = new QueryMetrics();
+    
+    // SQLite only: single write connection and the thread that owns it
+    private @Nullable HikariDataSource writeDataSource;
+    private volatile @Nullable SqliteWriter sqliteWriter;
     private boolean initialized = false;
     
     // Health monitoring
@@ -47,6 +68,16 @@ public class DatabaseManager {
     private long lastHealthCheck = 0;
     private static final long HEALTH_CHECK_INTERVAL = 30000; // 30 seconds
     
+    /**
+     * Work that runs against a database connection.
+     * 
+     * @param <T> The result type
+     */
+    @FunctionalInterface
+    public interface ConnectionCallback<T> {
+        T apply(@NotNull Connection connection) throws SQLException;
+    }
+    
     public DatabaseManager(@NotNull LumaSG plugin, @NotNull DatabaseConfig config) {
         this.plugin = plugin;
         this.config = config;
@@ -64,12 +95,22 @@ public class DatabaseManager {
             try {
                 // Create dedicated thread pool for database operations
                 int threadCount = Math.max(2, config.getMaximumPoolSize() / 2);
-                executorService = Executors.newFixedThreadPool(threadCount, r -> {
-                    Thread thread = new Thread(r, "LumaSG-Database-" + System.currentTimeMillis());
-                    thread.setDaemon(true);
-                    thread.setPriority(Thread.NORM_PRIORITY - 1); // Slightly lower priority
-                    return thread;
-                });
+                AtomicInteger threadIndex = new AtomicInteger(0);
+                executorService = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(config.getExecutorQueueCapacity()),
+                    r -> {
+                        Thread thread = new Thread(r, "LumaSG-Database-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        thread.setPriority(Thread.NORM_PRIORITY - 1); // Slightly lower priority
+                        return thread;
+                    },
+                    (task, pool) -> {
+                        // Async callers absorb the overflow themselves, the server thread never blocks on JDBC
+                        if (Bukkit.isPrimaryThread() || pool.isShutdown()) {
+                            throw new RejectedExecutionException("Database queue is full");
+                        }
+                        task.run();
+                    });
                 
                 // Configure HikariCP for optimal performance
                 HikariConfig hikariConfig = new HikariConfig();
@@ -116,11 +157,18 @@ public class DatabaseManager {
                     hikariConfig.addDataSourceProperty("elideSetAutoCommits", "true");
                     hikariConfig.addDataSourceProperty("maintainTimeStats", "false");
                 } else if (config.getType() == DatabaseConfig.DatabaseType.SQLITE) {
-                    // SQLite-specific optimizations
-                    hikariConfig.addDataSourceProperty("journal_mode", "WAL");
-                    hikariConfig.addDataSourceProperty("synchronous", "NORMAL");
+                    // The writer opens the file first so it exists and is in WAL mode
+                    // before the read-only connections attach to it
+                    writeDataSource = createSqliteWriteDataSource();
+                    sqliteWriter = new SqliteWriter(writeDataSource, logger, queryMetrics,
+                        config.getSqliteCommitWindowMillis(), config.getSqliteMaxBatchRows(),
+                        config.getExecutorQueueCapacity());
+                    
+                    // Read-only connections for everything else (SQLITE_OPEN_READONLY)
+                    hikariConfig.addDataSourceProperty("open_mode", "1");
                     hikariConfig.addDataSourceProperty("cache_size", "10000");
                     hikariConfig.addDataSourceProperty("foreign_keys", "true");
+                    hikariConfig.setReadOnly(true);
                     
                     // SQLite works better with smaller connection pools
                     hikariConfig.setMaximumPoolSize(Math.min(config.getMaximumPoolSize(), 4));
@@ -141,6 +189,11 @@ public class DatabaseManager {
                     logger.info("  ✓ Connection timeout: " + config.getConnectionTimeout() + "ms");
                     logger.info("  ✓ Idle timeout: " + config.getIdleTimeout() + "ms");
                     logger.info("  ✓ Max lifetime: " + config.getMaxLifetime() + "ms");
+                    logger.info("  ✓ Executor: " + threadCount + " threads, queue capacity " + config.getExecutorQueueCapacity());
+                    if (sqliteWriter != null) {
+                        logger.info("  ✓ SQLite single writer: " + config.getSqliteCommitWindowMillis()
+                            + "ms commit window, up to " + config.getSqliteMaxBatchRows() + " rows per commit");
+                    }
                 }
                 
                 healthy = true;
@@ -155,9 +208,92 @@ public class DatabaseManager {
         });
     }
     
+    /**
+     * Creates the single-connection pool used by the SQLite writer thread.
+     * 
+     * @return The write data source
+     */
+    @NotNull
+    private HikariDataSource createSqliteWriteDataSource() {
+        HikariConfig writeConfig = new HikariConfig();
+        writeConfig.setJdbcUrl(config.buildJdbcUrl());
+        writeConfig.setDriverClassName(config.getType().getDriverClass());
+        writeConfig.setMaximumPoolSize(1);
+        writeConfig.setMinimumIdle(1);
+        writeConfig.setConnectionTimeout(config.getConnectionTimeout());
+        writeConfig.setMaxLifetime(config.getMaxLifetime());
+        writeConfig.setConnectionTestQuery("SELECT 1");
+        writeConfig.setPoolName("LumaSG-SQLite-Writer");
+        writeConfig.addDataSourceProperty("journal_mode", "WAL");
+        writeConfig.addDataSourceProperty("synchronous", "NORMAL");
+        writeConfig.addDataSourceProperty("cache_size", "10000");
+        writeConfig.addDataSourceProperty("foreign_keys", "true");
+        return new HikariDataSource(writeConfig);
+    }
+    
+    /**
+     * Runs a task on the database executor and records its queue wait and
+     * execution time under the given query type.
+     * 
+     * <p>If the executor queue is full the task runs on the calling thread,
+     * unless that is the server thread; then the returned future fails with a
+     * {@link RejectedExecutionException}.</p>
+     * 
+     * @param queryType The query type the timings are recorded under
+     * @param task The task to run
+     * @param <T> The result type
+     * @return CompletableFuture with the result of the task
+     */
+    @NotNull
+    public <T> CompletableFuture<T> supplyAsync(@NotNull String queryType, @NotNull Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executorService.execute(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    T result = task.call();
+                    queryMetrics.record(queryType, startedAt - queuedAt, System.nanoTime() - startedAt, true);
+                    future.complete(result);
+                } catch (Throwable t) {
+                    queryMetrics.record(queryType, startedAt - queuedAt, System.nanoTime() - startedAt, false);
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queryMetrics.recordRejected(queryType);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    /**
+     * Runs work with a pooled connection on the database executor.
+     * 
+     * <p>With SQLite the connection is read-only; use
+     * {@link #executeWriteAsync(String, ConnectionCallback)} for writes.</p>
+     * 
+     * @param queryType The query type the timings are recorded under
+     * @param work The work to run
+     * @param <T> The result type
+     * @return CompletableFuture with the result of the work
+     */
+    @NotNull
+    public <T> CompletableFuture<T> executeAsync(@NotNull String queryType, @NotNull ConnectionCallback<T> work) {
+        return supplyAsync(queryType, () -> {
+            try (Connection connection = getConnection()) {
+                return work.apply(connection);
+            }
+        });
+    }
+    
     /**
      * Gets a connection from the pool
      * 
+     * <p>With SQLite the connection is read-only; writes go through
+     * {@link #executeUpdateAsync}, {@link #executeBatchAsync} or
+     * {@link #executeWriteAsync}.</p>
+     * 
      * @return Database connection
      * @throws SQLException if connection cannot be obtained
      */
@@ -178,30 +314,142 @@ public class DatabaseManager {
     }
     
     /**
-     * Executes a query asynchronously
+     * Runs a query and maps every row on the database thread
      * 
      * @param sql The SQL query
      * @param parameters Query parameters
-     * @return CompletableFuture with ResultSet
+     * @param mapper Maps each row to a result
+     * @param <T> The mapped type
+     * @return CompletableFuture with the mapped rows, in result order
      */
     @NotNull
-    public CompletableFuture<ResultSet> executeQueryAsync(@NotNull String sql, Object... parameters) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
+    public <T> CompletableFuture<List<T>> query(@NotNull String sql, @NotNull Object[] parameters,
+                                                @NotNull RowMapper<T> mapper) {
+        return query("query", sql, parameters, mapper);
+    }
+    
+    /**
+     * Runs a query and maps every row on the database thread, recording its
+     * timings under the given query type
+     * 
+     * @param queryType The query type the timings are recorded under
+     * @param sql The SQL query
+     * @param parameters Query parameters
+     * @param mapper Maps each row to a result
+     * @param <T> The mapped type
+     * @return CompletableFuture with the mapped rows, in result order
+     */
+    @NotNull
+    public <T> CompletableFuture<List<T>> query(@NotNull String queryType, @NotNull String sql,
+                                                @NotNull Object[] parameters, @NotNull RowMapper<T> mapper) {
+        return executeAsync(queryType, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                bind(statement, parameters);
                 
-                // Set parameters
-                for (int i = 0; i < parameters.length; i++) {
-                    statement.setObject(i + 1, parameters[i]);
+                List<T> rows = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows.add(mapper.map(resultSet));
+                    }
                 }
+                return rows;
+                
+            } catch (SQLException e) {
+                logger.error("Failed to execute query: " + sql, e);
+                throw e;
+            }
+        });
+    }
+    
+    /**
+     * Runs a query and maps only its first row
+     * 
+     * @param queryType The query type the timings are recorded under
+     * @param sql The SQL query
+     * @param parameters Query parameters
+     * @param mapper Maps the first row to a result
+     * @param <T> The mapped type
+     * @return CompletableFuture with the mapped row, or null if the query returned no rows
+     */
+    @NotNull
+    public <T> CompletableFuture<@Nullable T> queryFirst(@NotNull String queryType, @NotNull String sql,
+                                                         @NotNull Object[] parameters, @NotNull RowMapper<T> mapper) {
+        return executeAsync(queryType, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setMaxRows(1);
+                bind(statement, parameters);
                 
-                return statement.executeQuery();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? mapper.map(resultSet) : null;
+                }
                 
             } catch (SQLException e) {
                 logger.error("Failed to execute query: " + sql, e);
-                throw new RuntimeException(e);
+                throw e;
             }
-        }, executorService);
+        });
+    }
+    
+    /**
+     * Streams a query through a cursor, handing each mapped row to the consumer
+     * on the database thread.
+     * 
+     * <p>Rows are fetched from the server {@code fetchSize} at a time and never
+     * collected, so exports over whole tables run in constant memory. The
+     * consumer runs while the connection is held and should not block.</p>
+     * 
+     * @param queryType The query type the timings are recorded under
+     * @param sql The SQL query
+     * @param parameters Query parameters
+     * @param fetchSize Rows fetched per round trip
+     * @param mapper Maps each row
+     * @param consumer Receives each mapped row
+     * @param <T> The mapped type
+     * @return CompletableFuture with the number of rows streamed
+     */
+    @NotNull
+    public <T> CompletableFuture<Long> stream(@NotNull String queryType, @NotNull String sql, @NotNull Object[] parameters,
+                                              int fetchSize, @NotNull RowMapper<T> mapper,
+                                              @NotNull Consumer<? super T> consumer) {
+        return executeAsync(queryType, connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            // PostgreSQL only uses a server-side cursor inside a transaction
+            if (config.getType() == DatabaseConfig.DatabaseType.POSTGRESQL && autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            
+            try (PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Connector/J streams row by row only when asked for Integer.MIN_VALUE
+                statement.setFetchSize(config.getType() == DatabaseConfig.DatabaseType.MYSQL
+                    ? Integer.MIN_VALUE : Math.max(1, fetchSize));
+                bind(statement, parameters);
+                
+                long rows = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        consumer.accept(mapper.map(resultSet));
+                        rows++;
+                    }
+                }
+                return rows;
+                
+            } catch (SQLException e) {
+                logger.error("Failed to stream query: " + sql, e);
+                throw e;
+            } finally {
+                if (connection.getAutoCommit() != autoCommit) {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+        });
+    }
+    
+    private static void bind(@NotNull PreparedStatement statement, @NotNull Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
     }
     
     /**
@@ -213,7 +461,11 @@ public class DatabaseManager {
      */
     @NotNull
     public CompletableFuture<Integer> executeUpdateAsync(@NotNull String sql, Object... parameters) {
-        return CompletableFuture.supplyAsync(() -> {
+        if (sqliteWriter != null) {
+            return sqliteWriter.submit("update", sql, new Object[][]{parameters}).thenApply(results -> results[0]);
+        }
+        
+        return supplyAsync("update", () -> {
             try (Connection connection = getConnection();
                  PreparedStatement statement = connection.prepareStatement(sql)) {
                 
@@ -228,7 +480,7 @@ public class DatabaseManager {
                 logger.error("Failed to execute update: " + sql, e);
                 throw new RuntimeException(e);
             }
-        }, executorService);
+        });
     }
     
     /**
@@ -240,7 +492,26 @@ public class DatabaseManager {
      */
     @NotNull
     public CompletableFuture<int[]> executeBatchAsync(@NotNull String sql, @NotNull Object[][] batchParameters) {
-        return CompletableFuture.supplyAsync(() -> {
+        return executeBatchAsync("batch", sql, batchParameters);
+    }
+    
+    /**
+     * Executes a batch update asynchronously, recording its timings under the
+     * given query type
+     * 
+     * @param queryType The query type the timings are recorded under
+     * @param sql The SQL statement
+     * @param batchParameters List of parameter arrays for batch execution
+     * @return CompletableFuture with array of affected row counts
+     */
+    @NotNull
+    public CompletableFuture<int[]> executeBatchAsync(@NotNull String queryType, @NotNull String sql,
+                                                      @NotNull Object[][] batchParameters) {
+        if (sqliteWriter != null) {
+            return sqliteWriter.submit(queryType, sql, batchParameters);
+        }
+        
+        return supplyAsync(queryType, () -> {
             try (Connection connection = getConnection();
                  PreparedStatement statement = connection.prepareStatement(sql)) {
                 
@@ -263,7 +534,35 @@ public class DatabaseManager {
                 logger.error("Failed to execute batch: " + sql, e);
                 throw new RuntimeException(e);
             }
-        }, executorService);
+        });
+    }
+    
+    /**
+     * Runs work that needs a writable connection, such as schema changes.
+     * 
+     * <p>With SQLite the work runs on the writer thread, after every write
+     * queued before it; otherwise it runs on the database executor with a
+     * pooled connection.</p>
+     * 
+     * @param queryType The query type the timings are recorded under
+     * @param work The work to run
+     * @param <T> The result type
+     * @return CompletableFuture with the result of the work
+     */
+    @NotNull
+    public <T> CompletableFuture<T> executeWriteAsync(@NotNull String queryType, @NotNull ConnectionCallback<T> work) {
+        if (sqliteWriter != null) {
+            return sqliteWriter.submit(queryType, work);
+        }
+        
+        return executeAsync(queryType, connection -> {
+            try {
+                return work.apply(connection);
+            } catch (SQLException e) {
+                logger.error("Failed to execute write", e);
+                throw e;
+            }
+        });
     }
     
     /**
@@ -274,23 +573,21 @@ public class DatabaseManager {
      */
     @NotNull
     public CompletableFuture<Void> createTableIfNotExists(@NotNull String createTableSql) {
-        return CompletableFuture.runAsync(() -> {
-            try (Connection connection = getConnection();
-                 Statement statement = connection.createStatement()) {
-                
-                // Validate SQL before execution (basic safety check)
-                if (createTableSql == null || createTableSql.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Table creation SQL cannot be null or empty");
-                }
-                
+        // Validate SQL before execution (basic safety check)
+        if (createTableSql == null || createTableSql.trim().isEmpty()) {
+            throw new IllegalArgumentException("Table creation SQL cannot be null or empty");
+        }
+        
+        return executeWriteAsync("ddl", connection -> {
+            try (Statement statement = connection.createStatement()) {
                 statement.execute(createTableSql);
                 logger.debug("Executed table creation: " + createTableSql.substring(0, Math.min(50, createTableSql.length())) + "...");
-                
+                return null;
             } catch (SQLException e) {
                 logger.error("Failed to create table", e);
-                throw new RuntimeException(e);
+                throw e;
             }
-        }, executorService);
+        });
     }
     
     /**
@@ -331,7 +628,7 @@ public class DatabaseManager {
             return "DatabaseManager not initialized";
         }
         
-        return String.format(
+        String poolStats = String.format(
                 "HikariCP Pool Stats:\n" +
                 "  Active Connections: %d\n" +
                 "  Idle Connections: %d\n" +
@@ -344,6 +641,21 @@ public class DatabaseManager {
                 dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection(),
                 healthy
         );
+        String executorStats = String.format(
+                "Database Executor Stats:\n" +
+                "  Active Threads: %d/%d\n" +
+                "  Queued Tasks: %d/%d\n" +
+                "  Rejected Tasks: %d\n" +
+                "Query Stats:\n%s",
+                executorService.getActiveCount(),
+                executorService.getMaximumPoolSize(),
+                executorService.getQueue().size(),
+                config.getExecutorQueueCapacity(),
+                queryMetrics.getRejectedCount(),
+                queryMetrics.format()
+        );
+        poolStats = poolStats + "\n" + executorStats;
+        return sqliteWriter != null ? poolStats + "\n" + sqliteWriter.getStats() : poolStats;
     }
     
     /**
@@ -388,6 +700,14 @@ public class DatabaseManager {
                 }
             }
             
+            // Commit queued writes before the connections go away
+            if (sqliteWriter != null) {
+                sqliteWriter.shutdown(10000);
+            }
+            if (writeDataSource != null) {
+                writeDataSource.close();
+            }
+            
             // Close data source
             if (dataSource != null) {
                 logger.info("Final pool stats:\n" + getPoolStats());
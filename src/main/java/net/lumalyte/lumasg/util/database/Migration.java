@@ -0,0 +1,140 @@
+package net.lumalyte.lumasg.util.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single versioned schema change, applied once by {@link MigrationRunner}.
+ *
+ * <p>A migration consists of per-dialect SQL statements, optionally followed by
+ * a Java step for changes that SQL alone cannot express, such as backfilling
+ * columns from serialized data. Both run inside the runner's transaction and
+ * must not commit or change the auto-commit mode themselves.</p>
+ *
+ * <p>Versions are ordered per component and must never be reused or edited
+ * once released; schema changes always go into a new migration.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public final class Migration {
+
+    /**
+     * Java code run as part of a migration.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(@NotNull Connection connection, @NotNull DatabaseConfig.DatabaseType dbType) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final Map<DatabaseConfig.DatabaseType, List<String>> statements;
+    private final @Nullable Step step;
+
+    private Migration(Builder builder) {
+        this.version = builder.version;
+        this.description = builder.description;
+        this.statements = builder.statements;
+        this.step = builder.step;
+    }
+
+    /**
+     * Starts a new migration.
+     *
+     * @param version The version, unique and increasing within a component
+     * @param description A short description recorded in schema_version
+     * @return A builder for the migration
+     */
+    @NotNull
+    public static Builder builder(int version, @NotNull String description) {
+        return new Builder(version, description);
+    }
+
+    /**
+     * Runs this migration's statements for the dialect, then its Java step.
+     *
+     * @param connection The connection, inside the runner's transaction
+     * @param dbType The database type
+     * @throws SQLException If any statement fails
+     */
+    void apply(@NotNull Connection connection, @NotNull DatabaseConfig.DatabaseType dbType) throws SQLException {
+        List<String> sql = statements.getOrDefault(dbType, List.of());
+        if (!sql.isEmpty()) {
+            try (Statement statement = connection.createStatement()) {
+                for (String command : sql) {
+                    statement.execute(command);
+                }
+            }
+        }
+        if (step != null) {
+            step.apply(connection, dbType);
+        }
+    }
+
+    public int getVersion() { return version; }
+    public String getDescription() { return description; }
+
+    @Override
+    public String toString() {
+        return "V" + version + " (" + description + ")";
+    }
+
+    /**
+     * Builder for Migration
+     */
+    public static class Builder {
+        private final int version;
+        private final String description;
+        private final Map<DatabaseConfig.DatabaseType, List<String>> statements = new EnumMap<>(DatabaseConfig.DatabaseType.class);
+        private @Nullable Step step;
+
+        private Builder(int version, @NotNull String description) {
+            if (version < 1) {
+                throw new IllegalArgumentException("Migration versions start at 1, got " + version);
+            }
+            this.version = version;
+            this.description = description;
+        }
+
+        /**
+         * Adds statements that only run on the given database type.
+         */
+        public Builder sql(@NotNull DatabaseConfig.DatabaseType dbType, @NotNull String... sql) {
+            statements.computeIfAbsent(dbType, type -> new ArrayList<>()).addAll(Arrays.asList(sql));
+            return this;
+        }
+
+        /**
+         * Adds statements that run on every database type.
+         */
+        public Builder sql(@NotNull String... sql) {
+            for (DatabaseConfig.DatabaseType dbType : DatabaseConfig.DatabaseType.values()) {
+                sql(dbType, sql);
+            }
+            return this;
+        }
+
+        /**
+         * Sets Java code to run after the statements.
+         */
+        public Builder step(@NotNull Step step) {
+            this.step = step;
+            return this;
+        }
+
+        public Migration build() {
+            return new Migration(this);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package net.lumalyte.lumasg.util.database;
+
+import net.lumalyte.lumasg.LumaSG;
+import net.lumalyte.lumasg.util.core.DebugLogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Applies versioned {@link Migration}s at startup and records them in a
+ * {@code schema_version} table.
+ *
+ * <p>Each component (for example {@code statistics}) has its own version
+ * sequence. Pending migrations run in version order, each in its own
+ * transaction together with its schema_version row, so a failed migration
+ * leaves neither a half-applied change nor a recorded version. PostgreSQL and
+ * SQLite roll DDL back with the transaction; MySQL commits DDL implicitly, so
+ * migrations there should stay idempotent.</p>
+ *
+ * <p>With {@code database.auto-migrate: false} nothing is changed; pending
+ * migrations are reported and the returned future fails, so an outdated schema
+ * is noticed at startup instead of on the first query.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MigrationRunner {
+
+    private static final String CREATE_SCHEMA_VERSION_SQL = """
+        CREATE TABLE IF NOT EXISTS schema_version (
+            component VARCHAR(64) NOT NULL,
+            version INTEGER NOT NULL,
+            description VARCHAR(255) NOT NULL,
+            applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+            execution_ms BIGINT NOT NULL,
+            PRIMARY KEY (component, version)
+        )
+        """;
+
+    private static final String SELECT_VERSION_SQL = """
+        SELECT MAX(version) FROM schema_version WHERE component = ?
+        """;
+
+    private static final String INSERT_VERSION_SQL = """
+        INSERT INTO schema_version (component, version, description, execution_ms) VALUES (?, ?, ?, ?)
+        """;
+
+    private final DatabaseManager databaseManager;
+    private final DebugLogger.ContextualLogger logger;
+
+    public MigrationRunner(@NotNull LumaSG plugin, @NotNull DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+        this.logger = plugin.getDebugLogger().forContext("MigrationRunner");
+    }
+
+    /**
+     * Brings a component's schema up to the newest migration.
+     *
+     * @param component The component the migrations belong to
+     * @param migrations All migrations of the component, in any order
+     * @return CompletableFuture with the schema version after the run
+     */
+    @NotNull
+    public CompletableFuture<Integer> migrate(@NotNull String component, @NotNull List<Migration> migrations) {
+        List<Migration> ordered = new ArrayList<>(migrations);
+        ordered.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < ordered.size(); i++) {
+            if (ordered.get(i).getVersion() == ordered.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Duplicate " + component + " migration version " + ordered.get(i).getVersion());
+            }
+        }
+
+        boolean autoMigrate = databaseManager.getConfig().isAutoMigrate();
+        return databaseManager.executeWriteAsync("schema.migrate", connection -> {
+            DatabaseConfig.DatabaseType dbType = databaseManager.getConfig().getType();
+
+            if (autoMigrate) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_SCHEMA_VERSION_SQL);
+                }
+            }
+            int current = readVersion(connection, component);
+
+            List<Migration> pending = ordered.stream()
+                .filter(migration -> migration.getVersion() > current)
+                .toList();
+            if (pending.isEmpty()) {
+                logger.debug("Schema for " + component + " is up to date at version " + current);
+                return current;
+            }
+
+            if (!autoMigrate) {
+                logger.severe("Schema for " + component + " is at version " + current + " but " + pending.size()
+                    + " migration(s) are pending: " + pending + ". Enable database.auto-migrate or apply them manually.");
+                throw new IllegalStateException("Pending " + component + " migrations with auto-migrate disabled");
+            }
+
+            int version = current;
+            for (Migration migration : pending) {
+                apply(connection, dbType, component, migration);
+                version = migration.getVersion();
+            }
+            logger.info("Migrated " + component + " schema from version " + current + " to " + version);
+            return version;
+        });
+    }
+
+    /**
+     * Applies a single migration and records it, in one transaction.
+     */
+    private void apply(@NotNull Connection connection, @NotNull DatabaseConfig.DatabaseType dbType,
+                       @NotNull String component, @NotNull Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            migration.apply(connection, dbType);
+
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_VERSION_SQL)) {
+                statement.setString(1, component);
+                statement.setInt(2, migration.getVersion());
+                statement.setString(3, migration.getDescription());
+                statement.setLong(4, elapsedMillis);
+                statement.executeUpdate();
+            }
+
+            connection.commit();
+            logger.info("Applied " + component + " migration " + migration + " in " + elapsedMillis + "ms");
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            logger.severe("Failed to apply " + component + " migration " + migration, e);
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Reads the newest applied version of a component, or 0 if none.
+     */
+    private int readVersion(@NotNull Connection connection, @NotNull String component) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String table = metaData.storesUpperCaseIdentifiers() ? "SCHEMA_VERSION" : "schema_version";
+        try (ResultSet tables = metaData.getTables(null, null, table, null)) {
+            if (!tables.next()) {
+                return 0;
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_VERSION_SQL)) {
+            statement.setString(1, component);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package net.lumalyte.lumasg.util.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per query type timings for the database executor.
+ *
+ * <p>Queue wait and execution time are tracked separately, so a slow database
+ * shows up as growing wait times on the executor rather than as unexplained
+ * latency elsewhere.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+final class QueryMetrics {
+
+    private final Map<String, TypeStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Counters for a single query type.
+     */
+    private static final class TypeStats {
+        final LongAdder completed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final LongAdder executionNanos = new LongAdder();
+        final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        final LongAccumulator maxExecutionNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Records a finished query.
+     *
+     * @param queryType The query type
+     * @param waitNanos Time spent queued before a thread picked the query up
+     * @param executionNanos Time spent running the query
+     * @param success Whether the query completed without an error
+     */
+    void record(@NotNull String queryType, long waitNanos, long executionNanos, boolean success) {
+        TypeStats type = stats.computeIfAbsent(queryType, key -> new TypeStats());
+        (success ? type.completed : type.failed).increment();
+        type.waitNanos.add(waitNanos);
+        type.executionNanos.add(executionNanos);
+        type.maxWaitNanos.accumulate(waitNanos);
+        type.maxExecutionNanos.accumulate(executionNanos);
+    }
+
+    /**
+     * Records a query that was rejected because the executor queue was full.
+     *
+     * @param queryType The query type
+     */
+    void recordRejected(@NotNull String queryType) {
+        stats.computeIfAbsent(queryType, key -> new TypeStats()).rejected.increment();
+    }
+
+    /**
+     * Gets the total number of rejected queries across all types.
+     *
+     * @return The rejected query count
+     */
+    long getRejectedCount() {
+        return stats.values().stream().mapToLong(type -> type.rejected.sum()).sum();
+    }
+
+    /**
+     * Formats one line per query type, sorted by name.
+     *
+     * @return Formatted query statistics
+     */
+    @NotNull
+    String format() {
+        if (stats.isEmpty()) {
+            return "  (no queries yet)";
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, TypeStats> entry : new TreeMap<>(stats).entrySet()) {
+            TypeStats type = entry.getValue();
+            long completed = type.completed.sum();
+            long failed = type.failed.sum();
+            long runs = Math.max(1, completed + failed);
+            if (!builder.isEmpty()) {
+                builder.append('\n');
+            }
+            builder.append(String.format(
+                "  %s: %d ok, %d failed, %d rejected | wait avg %.2fms max %.2fms | exec avg %.2fms max %.2fms",
+                entry.getKey(), completed, failed, type.rejected.sum(),
+                toMillis(type.waitNanos.sum() / runs), toMillis(type.maxWaitNanos.get()),
+                toMillis(type.executionNanos.sum() / runs), toMillis(type.maxExecutionNanos.get())));
+        }
+        return builder.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
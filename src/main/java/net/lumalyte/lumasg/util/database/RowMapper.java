@@ -0,0 +1,32 @@
+package net.lumalyte.lumasg.util.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a result set to a typed value.
+ * 
+ * <p>Mappers run on the database thread while the connection is still open,
+ * and must only read the current row; the result set is advanced and closed
+ * by {@link DatabaseManager}.</p>
+ * 
+ * @param <T> The mapped type
+ * 
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    
+    /**
+     * Maps the current row.
+     * 
+     * @param resultSet The result set, positioned on the row to map
+     * @return The mapped value
+     * @throws SQLException If a column cannot be read
+     */
+    T map(@NotNull ResultSet resultSet) throws SQLException;
+}
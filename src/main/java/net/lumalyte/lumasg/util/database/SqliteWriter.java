@@ -0,0 +1,351 @@
+package net.lumalyte.lumasg.util.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.lumalyte.lumasg.util.core.DebugLogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single writer thread for SQLite with group commit.
+ *
+ * <p>SQLite allows one writer at a time, so concurrent upserts from several
+ * pooled connections only queue up on the database lock and each pay for their
+ * own commit. All writes are instead handed to this thread, which collects the
+ * statements that arrive within a short commit window and runs them in one
+ * transaction on its own connection. A burst of saves at the end of a game
+ * becomes a single commit.</p>
+ *
+ * <p>If a grouped transaction fails, the writes are retried one transaction
+ * each so a single bad statement only fails its own future. The queue is
+ * bounded; writes submitted while it is full fail right away and are counted
+ * as rejected in the query statistics.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+final class SqliteWriter {
+
+    /** How long the idle writer waits for work before rechecking its running flag */
+    private static final long IDLE_POLL_MILLIS = 250;
+
+    private final HikariDataSource dataSource;
+    private final DebugLogger.ContextualLogger logger;
+    private final QueryMetrics queryMetrics;
+    private final long commitWindowNanos;
+    private final int maxGroupRows;
+    private final BlockingQueue<Request> queue;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Metrics
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private volatile int largestGroup;
+
+    /**
+     * A unit of work for the writer thread.
+     */
+    private sealed interface Request permits Write, Task {
+    }
+
+    /**
+     * Parameterized statement rows that may share a transaction with other writes.
+     */
+    private record Write(String queryType, String sql, Object[][] rows, long queuedAt,
+                         CompletableFuture<int[]> future) implements Request {
+    }
+
+    /**
+     * Arbitrary work that needs the write connection to itself, such as DDL.
+     */
+    private record Task(String queryType, DatabaseManager.ConnectionCallback<?> work, long queuedAt,
+                        CompletableFuture<Object> future) implements Request {
+    }
+
+    /**
+     * Creates and starts the writer thread.
+     *
+     * @param dataSource Single-connection pool holding the write connection
+     * @param logger The logger to report failures to
+     * @param queryMetrics The metrics to record write timings in
+     * @param commitWindowMillis How long to keep collecting writes after the first one arrives
+     * @param maxGroupRows Maximum number of statement rows per transaction
+     * @param queueCapacity Maximum number of queued writes
+     */
+    SqliteWriter(@NotNull HikariDataSource dataSource, @NotNull DebugLogger.ContextualLogger logger,
+                 @NotNull QueryMetrics queryMetrics, long commitWindowMillis, int maxGroupRows, int queueCapacity) {
+        this.dataSource = dataSource;
+        this.logger = logger;
+        this.queryMetrics = queryMetrics;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.commitWindowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, commitWindowMillis));
+        this.maxGroupRows = Math.max(1, maxGroupRows);
+        this.thread = new Thread(this::run, "LumaSG-SQLite-Writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues rows of a parameterized statement for the next group commit.
+     *
+     * @param queryType The query type the timings are recorded under
+     * @param sql The SQL statement
+     * @param rows One parameter array per row
+     * @return A future completing with the update counts once the rows are committed
+     */
+    @NotNull
+    CompletableFuture<int[]> submit(@NotNull String queryType, @NotNull String sql, @NotNull Object[][] rows) {
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+        enqueue(new Write(queryType, sql, rows, System.nanoTime(), future), queryType, future);
+        return future;
+    }
+
+    /**
+     * Queues work that runs alone on the write connection, after every write
+     * queued before it has been committed.
+     *
+     * @param queryType The query type the timings are recorded under
+     * @param work The work to run
+     * @param <T> The result type
+     * @return A future completing with the result of the work
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> submit(@NotNull String queryType, @NotNull DatabaseManager.ConnectionCallback<T> work) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        enqueue(new Task(queryType, work, System.nanoTime(), future), queryType, future);
+        return (CompletableFuture<T>) future;
+    }
+
+    private void enqueue(@NotNull Request request, @NotNull String queryType, @NotNull CompletableFuture<?> future) {
+        if (!running) {
+            future.completeExceptionally(new IllegalStateException("SQLite writer is shut down"));
+        } else if (!queue.offer(request)) {
+            queryMetrics.recordRejected(queryType);
+            future.completeExceptionally(new RejectedExecutionException("SQLite write queue is full"));
+        }
+    }
+
+    private void run() {
+        List<Write> group = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            Request next;
+            try {
+                next = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            while (next != null) {
+                if (next instanceof Task task) {
+                    runTask(task);
+                    break;
+                }
+
+                // Collect every write arriving within the commit window, then commit once
+                Write write = (Write) next;
+                group.add(write);
+                int rows = write.rows().length;
+                long deadline = System.nanoTime() + commitWindowNanos;
+                next = null;
+
+                try {
+                    while (rows < maxGroupRows) {
+                        long remaining = deadline - System.nanoTime();
+                        Request queued = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (queued == null) {
+                            break;
+                        }
+                        if (queued instanceof Task) {
+                            // Tasks run after the group so they see its writes
+                            next = queued;
+                            break;
+                        }
+                        group.add((Write) queued);
+                        rows += ((Write) queued).rows().length;
+                    }
+                } catch (InterruptedException e) {
+                    running = false;
+                }
+
+                commitGroup(group);
+                group.clear();
+            }
+        }
+
+        // Reached after shutdown drained the queue, or early on interrupt. Fail whatever is
+        // still queued (unwritten writes, or ones offered while running was being cleared)
+        // so no caller waits forever
+        for (Request request : queue) {
+            IllegalStateException error = new IllegalStateException("SQLite writer stopped before the write ran");
+            if (request instanceof Write write) {
+                write.future().completeExceptionally(error);
+            } else if (request instanceof Task task) {
+                task.future().completeExceptionally(error);
+            }
+        }
+        queue.clear();
+    }
+
+    private void commitGroup(@NotNull List<Write> group) {
+        if (commit(group, group.size() == 1)) {
+            return;
+        }
+
+        // Isolate the failing write so the others still land
+        for (Write write : group) {
+            commit(List.of(write), true);
+        }
+    }
+
+    /**
+     * Runs the writes in one transaction.
+     *
+     * @param group The writes to commit
+     * @param failFutures Whether to fail the futures if the transaction fails
+     * @return true if the transaction committed
+     */
+    private boolean commit(@NotNull List<Write> group, boolean failFutures) {
+        int[][] results = new int[group.size()][];
+        long startedAt = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            Map<String, PreparedStatement> statements = new HashMap<>();
+            try {
+                for (int i = 0; i < group.size(); i++) {
+                    Write write = group.get(i);
+                    PreparedStatement statement = statements.get(write.sql());
+                    if (statement == null) {
+                        statement = connection.prepareStatement(write.sql());
+                        statements.put(write.sql(), statement);
+                    }
+
+                    for (Object[] parameters : write.rows()) {
+                        for (int p = 0; p < parameters.length; p++) {
+                            statement.setObject(p + 1, parameters[p]);
+                        }
+                        statement.addBatch();
+                    }
+                    results[i] = statement.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                for (PreparedStatement statement : statements.values()) {
+                    statement.close();
+                }
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            if (!failFutures) {
+                logger.debug("Group commit of " + group.size() + " writes failed, retrying individually: " + e.getMessage());
+                return false;
+            }
+            failedWrites.incrementAndGet();
+            logger.error("Failed to execute write: " + group.getFirst().sql(), e);
+            recordTimings(group, startedAt, false);
+            group.forEach(write -> write.future().completeExceptionally(e));
+            return false;
+        }
+
+        recordTimings(group, startedAt, true);
+        int rows = 0;
+        for (int i = 0; i < group.size(); i++) {
+            rows += group.get(i).rows().length;
+            group.get(i).future().complete(results[i]);
+        }
+        commits.incrementAndGet();
+        rowsWritten.addAndGet(rows);
+        if (group.size() > largestGroup) {
+            largestGroup = group.size();
+        }
+        return true;
+    }
+
+    /**
+     * Records each write's queue wait and the shared transaction time.
+     */
+    private void recordTimings(@NotNull List<Write> group, long startedAt, boolean success) {
+        long finishedAt = System.nanoTime();
+        for (Write write : group) {
+            queryMetrics.record(write.queryType(), startedAt - write.queuedAt(), finishedAt - startedAt, success);
+        }
+    }
+
+    private void runTask(@NotNull Task task) {
+        long startedAt = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            Object result = task.work().apply(connection);
+            queryMetrics.record(task.queryType(), startedAt - task.queuedAt(), System.nanoTime() - startedAt, true);
+            task.future().complete(result);
+        } catch (Exception e) {
+            failedWrites.incrementAndGet();
+            queryMetrics.record(task.queryType(), startedAt - task.queuedAt(), System.nanoTime() - startedAt, false);
+            task.future().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Stops accepting writes, commits everything already queued and waits for
+     * the writer thread to finish.
+     *
+     * @param timeoutMillis How long to wait for the queue to drain
+     */
+    void shutdown(long timeoutMillis) {
+        running = false;
+        try {
+            thread.join(timeoutMillis);
+            if (thread.isAlive()) {
+                logger.warn("SQLite writer did not drain within " + timeoutMillis + "ms, " + queue.size() + " writes dropped");
+                thread.interrupt();
+                thread.join(1000);
+            }
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets writer statistics for monitoring.
+     *
+     * @return Formatted string with writer statistics
+     */
+    @NotNull
+    String getStats() {
+        long commitCount = commits.get();
+        return String.format(
+                "SQLite Writer Stats:\n" +
+                "  Queued Writes: %d\n" +
+                "  Commits: %d\n" +
+                "  Rows Written: %d\n" +
+                "  Avg Rows/Commit: %.1f\n" +
+                "  Largest Group: %d writes\n" +
+                "  Failed Writes: %d",
+                queue.size(),
+                commitCount,
+                rowsWritten.get(),
+                commitCount == 0 ? 0.0 : (double) rowsWritten.get() / commitCount,
+                largestGroup,
+                failedWrites.get()
+        );
+    }
+}
@@ -23,13 +23,13 @@ public final class StatisticsColumnMapper {
         COLUMN_MAPPING.put(StatType.WINS, "wins");
         COLUMN_MAPPING.put(StatType.KILLS, "kills");
         COLUMN_MAPPING.put(StatType.GAMES_PLAYED, "games_played");
-        COLUMN_MAPPING.put(StatType.KILL_DEATH_RATIO, "kills"); // Calculated in application logic
-        COLUMN_MAPPING.put(StatType.WIN_RATE, "wins"); // Calculated in application logic
-        COLUMN_MAPPING.put(StatType.TIME_PLAYED, "total_time_played");
+        COLUMN_MAPPING.put(StatType.KILL_DEATH_RATIO, "kill_death_ratio"); // Calculated when the row is written
+        COLUMN_MAPPING.put(StatType.WIN_RATE, "win_rate"); // Calculated when the row is written
+        COLUMN_MAPPING.put(StatType.TIME_PLAYED, "time_played");
         COLUMN_MAPPING.put(StatType.BEST_PLACEMENT, "best_placement");
         COLUMN_MAPPING.put(StatType.WIN_STREAK, "best_win_streak");
         COLUMN_MAPPING.put(StatType.TOP3_FINISHES, "top3_finishes");
-        COLUMN_MAPPING.put(StatType.DAMAGE_DEALT, "total_damage_dealt");
+        COLUMN_MAPPING.put(StatType.DAMAGE_DEALT, "damage_dealt");
         COLUMN_MAPPING.put(StatType.CHESTS_OPENED, "chests_opened");
     }
     
@@ -53,10 +53,11 @@ public final class StatisticsColumnMapper {
     }
     
     /**
-     * Checks if a statistic type requires calculation in application logic.
+     * Checks if a statistic type is calculated from other statistics. Calculated
+     * statistics still have their own column, written along with the row.
      * 
      * @param statType The statistic type to check
-     * @return true if the statistic is calculated (KDR, win rate), false if it's stored directly
+     * @return true if the statistic is calculated (KDR, win rate), false if it's a raw counter
      */
     public static boolean isCalculatedStat(@NotNull StatType statType) {
         return statType == StatType.KILL_DEATH_RATIO || statType == StatType.WIN_RATE;
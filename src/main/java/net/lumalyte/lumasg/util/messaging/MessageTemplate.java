@@ -0,0 +1,207 @@
+package net.lumalyte.lumasg.util.messaging;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+/**
+ * A MiniMessage string parsed once, with named slots for its placeholders.
+ *
+ * <p>Compiling parses the string with every slot replaced by a marker
+ * component. Rendering copies only the nodes on the path to a marker and
+ * puts each value in its marker's place, inheriting the surrounding style
+ * the same way {@link Placeholder#parsed(String, String)} would.</p>
+ *
+ * <p>Some strings cannot be rendered this way: tags that style text
+ * character by character ({@code <gradient>}, {@code <rainbow>}) or that
+ * take text as an argument ({@code <hover>}, {@code <click>}) depend on the
+ * values themselves. Those templates, and values that contain MiniMessage
+ * syntax, are parsed in full on every render, exactly as before.</p>
+ *
+ * <p>Templates are immutable and safe to share between threads.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MessageTemplate {
+
+    /** Parses without compacting, so every marker stays a node of its own */
+    private static final MiniMessage COMPILER = MiniMessage.builder()
+        .postProcessor(UnaryOperator.identity())
+        .build();
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
+    /** Starts the text of a marker node; private use, so it never appears in config text */
+    private static final char MARKER = '\uE000';
+
+    /** Tags whose output depends on the text inside them */
+    private static final String[] VALUE_DEPENDENT_TAGS = {
+        "<gradient", "<rainbow", "<transition", "<pride", "<hover", "<click", "<insert"
+    };
+
+    private final @NotNull String source;
+    private final @NotNull List<String> slots;
+
+    /** The parsed tree, or null if the template is parsed on every render */
+    private final @Nullable Component compiled;
+
+    /** Nodes of the compiled tree that are or contain a marker */
+    private final Set<Component> slotPaths;
+
+    private MessageTemplate(@NotNull String source, @NotNull List<String> slots, @Nullable Component compiled,
+                            @NotNull Set<Component> slotPaths) {
+        this.source = source;
+        this.slots = slots;
+        this.compiled = compiled;
+        this.slotPaths = slotPaths;
+    }
+
+    /**
+     * Compiles a MiniMessage string.
+     *
+     * @param source The MiniMessage string
+     * @param slotNames Names of the placeholders to leave open, such as {@code player} for {@code <player>}
+     * @return The template
+     */
+    public static @NotNull MessageTemplate compile(@NotNull String source, @NotNull Collection<String> slotNames) {
+        List<String> slots = new ArrayList<>();
+        for (String name : slotNames) {
+            if (source.contains("<" + name + ">")) {
+                slots.add(name);
+            }
+        }
+
+        if (slots.isEmpty()) {
+            return new MessageTemplate(source, List.of(), MINI_MESSAGE.deserialize(source), Set.of());
+        }
+        if (source.indexOf('\\') >= 0) {
+            return new MessageTemplate(source, List.copyOf(slots), null, Set.of());
+        }
+        for (String tag : VALUE_DEPENDENT_TAGS) {
+            if (source.contains(tag)) {
+                return new MessageTemplate(source, List.copyOf(slots), null, Set.of());
+            }
+        }
+
+        List<TagResolver> markers = new ArrayList<>(slots.size());
+        for (String name : slots) {
+            markers.add(Placeholder.component(name, Component.text(MARKER + name)));
+        }
+        Component compiled = COMPILER.deserialize(source, TagResolver.resolver(markers));
+
+        Set<Component> slotPaths = Collections.newSetFromMap(new IdentityHashMap<>());
+        collectSlotPaths(compiled, slotPaths);
+        return new MessageTemplate(source, List.copyOf(slots), compiled, slotPaths);
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param values Placeholder values by slot name; missing slots render as
+     *               their tag, like an unknown tag would
+     * @return The rendered component
+     */
+    public @NotNull Component render(@NotNull Map<String, String> values) {
+        if (slots.isEmpty()) {
+            return compiled;
+        }
+        if (compiled == null) {
+            return reparse(values);
+        }
+        for (String name : slots) {
+            String value = values.get(name);
+            if (value != null && (value.indexOf('<') >= 0 || value.indexOf('\\') >= 0)) {
+                return reparse(values);
+            }
+        }
+        return substitute(compiled, values);
+    }
+
+    /**
+     * Gets the string this template was compiled from.
+     *
+     * @return The MiniMessage string
+     */
+    public @NotNull String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the slots found in the string.
+     *
+     * @return The slot names
+     */
+    public @NotNull List<String> getSlots() {
+        return slots;
+    }
+
+    /**
+     * Checks if rendering only fills in slots instead of parsing the string.
+     *
+     * @return true if the string was parsed at compile time
+     */
+    public boolean isPrecompiled() {
+        return compiled != null;
+    }
+
+    private @NotNull Component substitute(@NotNull Component node, @NotNull Map<String, String> values) {
+        if (!slotPaths.contains(node)) {
+            return node;
+        }
+        if (node instanceof TextComponent text && isMarker(text)) {
+            String name = text.content().substring(1);
+            String value = values.get(name);
+            return Component.text(value != null ? value : "<" + name + ">");
+        }
+
+        List<Component> children = node.children();
+        List<Component> rendered = new ArrayList<>(children.size());
+        for (Component child : children) {
+            rendered.add(substitute(child, values));
+        }
+        return node.children(rendered);
+    }
+
+    private @NotNull Component reparse(@NotNull Map<String, String> values) {
+        TagResolver.Builder resolver = TagResolver.builder();
+        for (String name : slots) {
+            String value = values.get(name);
+            if (value != null) {
+                resolver.resolver(Placeholder.parsed(name, value));
+            }
+        }
+        return MINI_MESSAGE.deserialize(source, resolver.build());
+    }
+
+    private static boolean collectSlotPaths(@NotNull Component node, @NotNull Set<Component> slotPaths) {
+        boolean containsSlot = node instanceof TextComponent text && isMarker(text);
+        for (Component child : node.children()) {
+            containsSlot |= collectSlotPaths(child, slotPaths);
+        }
+        if (containsSlot) {
+            slotPaths.add(node);
+        }
+        return containsSlot;
+    }
+
+    private static boolean isMarker(@NotNull TextComponent text) {
+        String content = text.content();
+        return content.length() > 1 && content.charAt(0) == MARKER && text.children().isEmpty();
+    }
+}
@@ -1,5 +1,6 @@
 package net.lumalyte.lumasg.util.messaging;
 
+import java.util.List;
 import java.util.Map;
 
 import org.bukkit.command.CommandSender;
@@ -7,10 +8,11 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
-import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 
 /**
@@ -23,6 +25,11 @@ import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
  * <p>MiniMessage is a modern text formatting system that supports complex formatting,
  * placeholders, and conditional text, making it much more powerful than legacy color codes.</p>
  * 
+ * <p>Messages parsed with placeholders are compiled once into a
+ * {@link MessageTemplate} per message and set of placeholder names, so
+ * repeated messages only fill in their values. The templates are dropped
+ * with {@link #clearTemplateCache()} when the configuration is reloaded.</p>
+ * 
  * @author LumaLyte
  * @version 1.0
  * @since 1.0
@@ -39,6 +46,11 @@ public class MiniMessageUtils {
         .useUnusualXRepeatedCharacterHexFormat()
         .build();
     
+    /** Compiled templates keyed by message and placeholder names */
+    private static final Cache<String, MessageTemplate> TEMPLATE_CACHE = Caffeine.newBuilder()
+        .maximumSize(1024)
+        .build();
+    
     /**
      * Sends a MiniMessage formatted message to a command sender.
      * 
@@ -129,12 +141,13 @@ public class MiniMessageUtils {
             throw new IllegalArgumentException("Placeholders cannot be null");
         }
         
-        TagResolver.Builder resolver = TagResolver.builder();
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            resolver.resolver(Placeholder.parsed(entry.getKey(), entry.getValue()));
+        if (placeholders.isEmpty()) {
+            return MINI_MESSAGE.deserialize(message);
         }
         
-        return MINI_MESSAGE.deserialize(message, resolver.build());
+        List<String> names = placeholders.keySet().stream().sorted().toList();
+        String key = message + '\0' + String.join(",", names);
+        return TEMPLATE_CACHE.get(key, ignored -> MessageTemplate.compile(message, names)).render(placeholders);
     }
     
     /**
@@ -156,7 +169,16 @@ public class MiniMessageUtils {
             throw new IllegalArgumentException("Value cannot be null");
         }
         
-        return MINI_MESSAGE.deserialize(message, Placeholder.parsed(key, value));
+        return TEMPLATE_CACHE.get(message + '\0' + key, ignored -> MessageTemplate.compile(message, List.of(key)))
+            .render(Map.of(key, value));
+    }
+    
+    /**
+     * Drops every compiled template. Called when the configuration is
+     * reloaded, so templates of messages that changed are not kept around.
+     */
+    public static void clearTemplateCache() {
+        TEMPLATE_CACHE.invalidateAll();
     }
     
     /**
@@ -51,9 +51,16 @@ public class PerformanceProfiler {
      * Records the completion of a profiling session.
      */
     private static void recordCompletion(@NotNull String operationName, long startTime) {
+        recordDuration(operationName, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Records a duration measured by the caller, for operations that span
+     * several threads or ticks and cannot use a profiling session.
+     */
+    public static void recordDuration(@NotNull String operationName, long duration) {
         if (!enabled || !initialized) return;
         
-        long duration = System.nanoTime() - startTime;
         ProfileData data = profiles.computeIfAbsent(operationName, k -> new ProfileData());
         data.recordExecution(duration);
         
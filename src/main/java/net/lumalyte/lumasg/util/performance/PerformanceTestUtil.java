@@ -9,7 +9,10 @@ import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -101,6 +104,96 @@ public class PerformanceTestUtil {
         });
     }
     
+    /**
+     * Measures the inventory snapshot work done when a full lobby joins and
+     * then leaves a game at once.
+     * 
+     * Each simulated player stores a full inventory snapshot on join and
+     * restores it on leave, raw and with Deflate. The old Base64 encoding is
+     * timed on the same data for comparison.
+     * 
+     * @param players Number of players joining at once, e.g. 24
+     * @return CompletableFuture with test results
+     */
+    @NotNull
+    public static CompletableFuture<String> testInventorySnapshotPerformance(int players) {
+        return CompletableFuture.supplyAsync(() -> {
+            StringBuilder results = new StringBuilder();
+            results.append("=== Inventory Snapshot Join/Leave Test (").append(players).append(" players) ===\n\n");
+            
+            try {
+                ItemStack[][] inventories = new ItemStack[players][];
+                for (int i = 0; i < players; i++) {
+                    inventories[i] = createTestInventory();
+                }
+                
+                // Warm up both paths before measuring
+                for (int round = 0; round < 5; round++) {
+                    runSnapshotRound(inventories, false);
+                    runSnapshotRound(inventories, true);
+                }
+                
+                appendSnapshotResult(results, "Raw", runSnapshotRound(inventories, false), players);
+                appendSnapshotResult(results, "Deflate", runSnapshotRound(inventories, true), players);
+                
+                // Previous format: the same bytes Base64 encoded on join and decoded on leave
+                long base64Bytes = 0;
+                long startTime = System.nanoTime();
+                for (ItemStack[] inventory : inventories) {
+                    byte[] raw = ItemStack.serializeItemsAsBytes(Arrays.asList(inventory));
+                    byte[] encoded = Base64.getEncoder().encodeToString(raw)
+                            .getBytes(StandardCharsets.UTF_8);
+                    base64Bytes += encoded.length;
+                    ItemStack.deserializeItemsFromBytes(Base64.getDecoder()
+                            .decode(new String(encoded, StandardCharsets.UTF_8)));
+                }
+                appendSnapshotResult(results, "Base64 (previous)", new long[] {System.nanoTime() - startTime, 0, base64Bytes}, players);
+                
+            } catch (Exception e) {
+                results.append("Test failed with error: ").append(e.getMessage()).append("\n");
+                error("Inventory snapshot performance test failed", e);
+            }
+            
+            return results.toString();
+        });
+    }
+    
+    /**
+     * Stores then restores a snapshot of every inventory.
+     * 
+     * @return Join nanoseconds, leave nanoseconds and total snapshot bytes
+     */
+    private static long[] runSnapshotRound(@NotNull ItemStack[][] inventories, boolean compress) {
+        byte[][] snapshots = new byte[inventories.length][];
+        long bytes = 0;
+        
+        long startTime = System.nanoTime();
+        for (int i = 0; i < inventories.length; i++) {
+            snapshots[i] = InventorySerializer.serializeInventory(inventories[i], compress);
+            bytes += snapshots[i] != null ? snapshots[i].length : 0;
+        }
+        long joinNanos = System.nanoTime() - startTime;
+        
+        startTime = System.nanoTime();
+        for (byte[] snapshot : snapshots) {
+            InventorySerializer.deserializeInventory(snapshot);
+        }
+        long leaveNanos = System.nanoTime() - startTime;
+        
+        return new long[] {joinNanos, leaveNanos, bytes};
+    }
+    
+    private static void appendSnapshotResult(@NotNull StringBuilder results, @NotNull String label, long[] round, int players) {
+        results.append(label).append(":\n");
+        if (round[1] > 0) {
+            results.append("  Join (store all): ").append(String.format("%.3f", round[0] / 1_000_000.0)).append("ms\n");
+            results.append("  Leave (restore all): ").append(String.format("%.3f", round[1] / 1_000_000.0)).append("ms\n");
+        } else {
+            results.append("  Join + leave: ").append(String.format("%.3f", round[0] / 1_000_000.0)).append("ms\n");
+        }
+        results.append("  Average snapshot size: ").append(round[2] / Math.max(1, players)).append(" bytes\n\n");
+    }
+    
     /**
      * Tests database performance with connection pooling.
      * 
@@ -124,7 +217,8 @@ public class PerformanceTestUtil {
                 PlayerStats testStats = createTestPlayerStats();
                 long startTime = System.nanoTime();
                 
-                plugin.getStatisticsManager().savePlayerStats(testStats).join();
+                plugin.getStatisticsManager().savePlayerStats(testStats);
+                plugin.getStatisticsManager().saveAllPendingStats().join();
                 PlayerStats loadedStats = plugin.getStatisticsManager().getPlayerStats(
                     testStats.getPlayerId(), testStats.getPlayerName()).join();
                 
@@ -139,12 +233,11 @@ public class PerformanceTestUtil {
                 List<PlayerStats> statsList = createTestStatsList(50);
                 startTime = System.nanoTime();
                 
-                // Save all stats
-                List<CompletableFuture<Void>> saveFutures = new ArrayList<>();
+                // Queue all stats, then write them in one flush
                 for (PlayerStats stats : statsList) {
-                    saveFutures.add(plugin.getStatisticsManager().savePlayerStats(stats));
+                    plugin.getStatisticsManager().savePlayerStats(stats);
                 }
-                CompletableFuture.allOf(saveFutures.toArray(new CompletableFuture[0])).join();
+                plugin.getStatisticsManager().saveAllPendingStats().join();
                 
                 duration = System.nanoTime() - startTime;
                 
@@ -1,35 +1,62 @@
 package net.lumalyte.lumasg.util.serialization;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Inventory serialization using ItemStack.serializeAsBytes() and Base64 format.
+ * Inventory serialization using ItemStack.serializeItemsAsBytes() into raw
+ * binary snapshots.
  * 
  * Uses Bukkit 1.21's recommended ItemStack.serializeAsBytes() method which is
  * safer and more reliable than the deprecated BukkitObjectOutputStream.
  * 
+ * Snapshot format:
+ * - Raw snapshots: the array returned by serializeItemsAsBytes(), with no
+ *   header, handed to deserializeItemsFromBytes() as it is. It starts with
+ *   the item count as a big-endian int, so its first byte is never the magic.
+ * - Deflate snapshots: 1 byte magic, 1 byte format, 4 byte uncompressed
+ *   length, then the compressed bytes
+ * - Raw snapshots with a magic and format header are still read, since the
+ *   inventory journal may hold them from before
+ * 
  * Benefits:
  * - Uses recommended Bukkit 1.21+ serialization approach
  * - No deprecated API usage
- * - Reliable across all Java versions
- * - No module system access issues
- * - Human-readable Base64 format for debugging
+ * - No Base64 round trip, and raw snapshots are never copied on store or restore
+ * - Optional Deflate compression, only kept when it actually saves space
  * - No external dependencies beyond Bukkit
  * 
  * Thread Safety:
- * - No shared state between operations
+ * - Deflater/Inflater instances are per thread
  * - Safe for concurrent use across multiple games
  */
 public class InventorySerializer {
     private static final Logger LOGGER = Logger.getLogger("LumaSG");
 
+    /** First byte of every inventory snapshot */
+    private static final byte MAGIC = (byte) 0xA7;
+
+    /** Snapshot holds the serialized items behind a header; only read, no longer written */
+    private static final byte FORMAT_RAW = 0;
+
+    /** Snapshot holds the serialized items compressed with Deflate */
+    private static final byte FORMAT_DEFLATE = 1;
+
+    private static final int HEADER_SIZE = 2;
+    private static final int DEFLATE_HEADER_SIZE = HEADER_SIZE + 4;
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
     /**
      * Simple debug method that doesn't require logger initialization
      */
@@ -46,28 +73,47 @@ public class InventorySerializer {
     }
 
     /**
-     * Serializes an ItemStack array (inventory contents) to Base64 format.
+     * Serializes an ItemStack array (inventory contents) to an uncompressed
+     * snapshot.
      * 
      * @param items The ItemStack array to serialize
-     * @return Serialized byte array (Base64 encoded), or null if serialization
-     *         fails
+     * @return Serialized snapshot, or null if serialization fails
      */
     @Nullable
     public static byte[] serializeInventory(@Nullable ItemStack[] items) {
+        return serializeInventory(items, false);
+    }
+
+    /**
+     * Serializes an ItemStack array (inventory contents) to a snapshot.
+     * 
+     * Player inventory contents include the armor and offhand slots, so a
+     * single snapshot covers the whole inventory.
+     * 
+     * @param items    The ItemStack array to serialize
+     * @param compress Whether to Deflate the snapshot; it is stored raw if
+     *                 compression does not make it smaller
+     * @return Serialized snapshot, or null if serialization fails
+     */
+    @Nullable
+    public static byte[] serializeInventory(@Nullable ItemStack[] items, boolean compress) {
         if (items == null) {
             return null;
         }
 
         try {
             // Use Bukkit 1.21's recommended ItemStack.serializeItemsAsBytes() method
-            byte[] serializedData = ItemStack.serializeItemsAsBytes(java.util.Arrays.asList(items));
+            byte[] serializedData = ItemStack.serializeItemsAsBytes(Arrays.asList(items));
 
-            // Encode to Base64 and return as bytes
-            String base64 = Base64.getEncoder().encodeToString(serializedData);
-            byte[] result = base64.getBytes(StandardCharsets.UTF_8);
+            byte[] result = compress ? deflate(serializedData) : null;
+            if (result == null) {
+                result = serializedData.length > 0 && serializedData[0] == MAGIC
+                        ? withRawHeader(serializedData)
+                        : serializedData;
+            }
 
             debug("Serialized inventory with " + items.length + " slots to " +
-                    result.length + " bytes (Base64)");
+                    result.length + " bytes");
 
             return result;
 
@@ -77,7 +123,7 @@ public class InventorySerializer {
             // Fallback: Create empty inventory
             try {
                 ItemStack[] emptyItems = new ItemStack[items.length];
-                return serializeInventory(emptyItems);
+                return serializeInventory(emptyItems, false);
             } catch (Exception fallbackException) {
                 error("Even empty inventory serialization failed", fallbackException);
                 return null;
@@ -86,9 +132,9 @@ public class InventorySerializer {
     }
 
     /**
-     * Deserializes Base64 data back to an ItemStack array.
+     * Deserializes a snapshot back to an ItemStack array.
      * 
-     * @param data The serialized byte array (Base64 encoded)
+     * @param data The serialized snapshot
      * @return Deserialized ItemStack array, or null if deserialization fails
      */
     @Nullable
@@ -98,15 +144,14 @@ public class InventorySerializer {
         }
 
         try {
-            // Decode from Base64
-            String base64 = new String(data, StandardCharsets.UTF_8);
-            byte[] decodedData = Base64.getDecoder().decode(base64);
+            // Raw snapshots are passed on as they are, without a copy
+            byte[] serializedData = data[0] == MAGIC ? unwrap(data) : data;
 
             // Use Bukkit 1.21's recommended ItemStack.deserializeItemsFromBytes() method
-            ItemStack[] result = ItemStack.deserializeItemsFromBytes(decodedData);
+            ItemStack[] result = ItemStack.deserializeItemsFromBytes(serializedData);
 
             debug("Deserialized inventory with " + result.length + " slots from " +
-                    data.length + " bytes (Base64)");
+                    data.length + " bytes");
 
             return result;
 
@@ -117,11 +162,99 @@ public class InventorySerializer {
     }
 
     /**
-     * Serializes a single ItemStack to Base64 format.
+     * Gets the serialized items out of a snapshot with a header.
+     */
+    @NotNull
+    private static byte[] unwrap(byte[] data) throws DataFormatException {
+        if (data.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("Truncated inventory snapshot");
+        }
+        return switch (data[1]) {
+            case FORMAT_RAW -> Arrays.copyOfRange(data, HEADER_SIZE, data.length);
+            case FORMAT_DEFLATE -> inflate(data);
+            default -> throw new IllegalArgumentException("Unknown inventory snapshot format " + data[1]);
+        };
+    }
+
+    /**
+     * Puts a raw header in front of serialized items that would otherwise be
+     * mistaken for a snapshot with a header. Not expected to be needed, since
+     * serializeItemsAsBytes() starts with the item count.
+     */
+    @NotNull
+    private static byte[] withRawHeader(byte[] serializedData) {
+        byte[] result = new byte[HEADER_SIZE + serializedData.length];
+        result[0] = MAGIC;
+        result[1] = FORMAT_RAW;
+        System.arraycopy(serializedData, 0, result, HEADER_SIZE, serializedData.length);
+        return result;
+    }
+
+    /**
+     * Compresses serialized items into a Deflate snapshot.
+     * 
+     * @return The snapshot, or null if it would not be smaller than a raw one
+     */
+    @Nullable
+    private static byte[] deflate(byte[] serializedData) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(serializedData);
+        deflater.finish();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(serializedData.length / 2 + DEFLATE_HEADER_SIZE);
+        output.write(MAGIC);
+        output.write(FORMAT_DEFLATE);
+        output.write(serializedData.length >>> 24);
+        output.write(serializedData.length >>> 16);
+        output.write(serializedData.length >>> 8);
+        output.write(serializedData.length);
+
+        byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+            int written = deflater.deflate(chunk);
+            output.write(chunk, 0, written);
+            if (output.size() >= serializedData.length) {
+                return null;
+            }
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decompresses a Deflate snapshot back to serialized items.
+     */
+    @NotNull
+    private static byte[] inflate(byte[] data) throws DataFormatException {
+        if (data.length < DEFLATE_HEADER_SIZE) {
+            throw new IllegalArgumentException("Truncated inventory snapshot");
+        }
+        int length = ((data[2] & 0xFF) << 24) | ((data[3] & 0xFF) << 16) | ((data[4] & 0xFF) << 8) | (data[5] & 0xFF);
+
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(data, DEFLATE_HEADER_SIZE, data.length - DEFLATE_HEADER_SIZE);
+
+        byte[] result = new byte[length];
+        int read = 0;
+        while (read < length && !inflater.finished()) {
+            int count = inflater.inflate(result, read, length - read);
+            if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                break;
+            }
+            read += count;
+        }
+        if (read != length) {
+            throw new IllegalArgumentException("Truncated inventory snapshot");
+        }
+        return result;
+    }
+
+    /**
+     * Serializes a single ItemStack to bytes.
      * 
      * @param item The ItemStack to serialize
-     * @return Serialized byte array (Base64 encoded), or null if serialization
-     *         fails
+     * @return Serialized byte array, or null if serialization fails
      */
     @Nullable
     public static byte[] serializeItem(@Nullable ItemStack item) {
@@ -131,11 +264,7 @@ public class InventorySerializer {
 
         try {
             // Use Bukkit 1.21's recommended ItemStack.serializeAsBytes() method
-            byte[] serializedData = item.serializeAsBytes();
-
-            // Encode to Base64 and return as bytes
-            String base64 = Base64.getEncoder().encodeToString(serializedData);
-            return base64.getBytes(StandardCharsets.UTF_8);
+            return item.serializeAsBytes();
 
         } catch (Exception e) {
             error("Failed to serialize ItemStack", e);
@@ -144,9 +273,9 @@ public class InventorySerializer {
     }
 
     /**
-     * Deserializes Base64 data back to a single ItemStack.
+     * Deserializes bytes back to a single ItemStack.
      * 
-     * @param data The serialized byte array (Base64 encoded)
+     * @param data The serialized byte array
      * @return Deserialized ItemStack, or null if deserialization fails
      */
     @Nullable
@@ -156,13 +285,8 @@ public class InventorySerializer {
         }
 
         try {
-            // Decode from Base64
-            String base64 = new String(data, StandardCharsets.UTF_8);
-            byte[] decodedData = Base64.getDecoder().decode(base64);
-
             // Use Bukkit 1.21's recommended ItemStack.deserializeBytes() method
-            ItemStack result = ItemStack.deserializeBytes(decodedData);
-            return result;
+            return ItemStack.deserializeBytes(data);
 
         } catch (Exception e) {
             error("Failed to deserialize ItemStack", e);
@@ -171,7 +295,7 @@ public class InventorySerializer {
     }
 
     /**
-     * Calculates the size of Base64 serialized data.
+     * Calculates the size of raw and compressed snapshots.
      * 
      * @param items The ItemStack array to analyze
      * @return Formatted string with size information
@@ -183,20 +307,22 @@ public class InventorySerializer {
         }
 
         try {
-            // Serialize with Base64
-            byte[] base64Data = serializeInventory(items);
-            if (base64Data == null) {
-                return "Failed to serialize with Base64";
+            byte[] rawData = serializeInventory(items, false);
+            byte[] compressedData = serializeInventory(items, true);
+            if (rawData == null || compressedData == null) {
+                return "Failed to serialize inventory";
             }
 
             return String.format(
                     "Serialization Info:\n" +
-                            "  Base64 size: %d bytes\n" +
+                            "  Raw size: %d bytes\n" +
+                            "  Compressed size: %d bytes\n" +
                             "  Item count: %d\n" +
                             "  Average per item: %.1f bytes",
-                    base64Data.length,
+                    rawData.length,
+                    compressedData.length,
                     items.length,
-                    (double) base64Data.length / items.length);
+                    (double) rawData.length / items.length);
 
         } catch (Exception e) {
             return "Failed to calculate size: " + e.getMessage();
@@ -5,6 +5,7 @@ import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.esotericsoftware.kryo.serializers.VersionFieldSerializer;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
 import com.esotericsoftware.kryo.util.Pool;
 import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.game.player.PlayerGameStats;
@@ -15,6 +16,7 @@ import org.bukkit.Location;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.objenesis.strategy.StdInstantiatorStrategy;
 
 import java.util.UUID;
 import java.util.List;
@@ -68,6 +70,8 @@ public class KryoManager {
                 kryo.setRegistrationRequired(false); // Flexibility for plugin evolution
                 kryo.setReferences(true); // Handle circular references properly
                 kryo.setAutoReset(true); // Automatic cleanup between operations
+                // Classes without a no-arg constructor (such as PlayerStats) are created through Objenesis
+                kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
 
                 // Register core Java types with fixed IDs for consistency
                 kryo.register(String.class, 1);
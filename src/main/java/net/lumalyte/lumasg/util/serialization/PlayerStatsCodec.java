@@ -0,0 +1,233 @@
+package net.lumalyte.lumasg.util.serialization;
+
+import net.lumalyte.lumasg.statistics.PlayerStats;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact fixed-layout binary format for {@link PlayerStats}.
+ *
+ * <p>PlayerStats is a flat record, so the generic Kryo path (reference
+ * tracking, field serializer, a fresh output buffer per call) costs far more
+ * than the data itself. This codec writes the fields in a fixed order:</p>
+ *
+ * <pre>
+ * magic (1) | version (1) | flags (1) | uuid (16) | name length (varint) + UTF-8 name
+ * wins, losses, kills, deaths, games played, best placement, current streak,
+ * best streak, top 3 finishes, chests opened (zigzag varints)
+ * time played (zigzag varlong) | damage dealt, damage taken (8 bytes each)
+ * first joined, last played (zigzag varlong epoch seconds, only if flagged) | last updated (same)
+ * </pre>
+ *
+ * <p>Timestamps are stored as UTC epoch seconds of the local date-time, so
+ * sub-second precision is dropped. Data starting with anything other than
+ * {@link #MAGIC} is not in this format; {@link #isEncoded(byte[])} lets callers
+ * fall back to Kryo for rows written before the codec existed.</p>
+ *
+ * <p>Encoding writes into a per-thread buffer and only allocates the returned
+ * array.</p>
+ *
+ * @author LumaLyte
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PlayerStatsCodec {
+
+    /** First byte of every encoded record; Kryo data for PlayerStats never starts with it */
+    public static final byte MAGIC = (byte) 0xC5;
+
+    /** Current layout version, bumped whenever fields are added */
+    private static final byte VERSION = 1;
+
+    private static final int FLAG_FIRST_JOINED = 1;
+    private static final int FLAG_LAST_PLAYED = 1 << 1;
+
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private PlayerStatsCodec() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Checks if data was written by this codec.
+     *
+     * @param data The stored bytes
+     * @return true if the data starts with the codec's magic byte
+     */
+    public static boolean isEncoded(@Nullable byte[] data) {
+        return data != null && data.length > 1 && data[0] == MAGIC;
+    }
+
+    /**
+     * Encodes player statistics.
+     *
+     * @param stats The statistics to encode
+     * @return The encoded bytes
+     */
+    public static @NotNull byte[] encode(@NotNull PlayerStats stats) {
+        byte[] name = stats.getPlayerName().getBytes(StandardCharsets.UTF_8);
+        // Upper bound: header, uuid, name, 10 ints, 4 longs, 2 doubles
+        int maxSize = 3 + 16 + 5 + name.length + 10 * 5 + 4 * 10 + 2 * 8;
+
+        byte[] buffer = BUFFER.get();
+        if (buffer.length < maxSize) {
+            buffer = new byte[Math.max(maxSize, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+
+        LocalDateTime firstJoined = stats.getFirstJoined();
+        LocalDateTime lastPlayed = stats.getLastPlayed();
+        int flags = (firstJoined != null ? FLAG_FIRST_JOINED : 0) | (lastPlayed != null ? FLAG_LAST_PLAYED : 0);
+
+        int pos = 0;
+        buffer[pos++] = MAGIC;
+        buffer[pos++] = VERSION;
+        buffer[pos++] = (byte) flags;
+        pos = writeLong(buffer, pos, stats.getPlayerId().getMostSignificantBits());
+        pos = writeLong(buffer, pos, stats.getPlayerId().getLeastSignificantBits());
+        pos = writeVarLong(buffer, pos, name.length);
+        System.arraycopy(name, 0, buffer, pos, name.length);
+        pos += name.length;
+
+        pos = writeZigZag(buffer, pos, stats.getWins());
+        pos = writeZigZag(buffer, pos, stats.getLosses());
+        pos = writeZigZag(buffer, pos, stats.getKills());
+        pos = writeZigZag(buffer, pos, stats.getDeaths());
+        pos = writeZigZag(buffer, pos, stats.getGamesPlayed());
+        pos = writeZigZag(buffer, pos, stats.getBestPlacement());
+        pos = writeZigZag(buffer, pos, stats.getCurrentWinStreak());
+        pos = writeZigZag(buffer, pos, stats.getBestWinStreak());
+        pos = writeZigZag(buffer, pos, stats.getTop3Finishes());
+        pos = writeZigZag(buffer, pos, stats.getChestsOpened());
+        pos = writeZigZag(buffer, pos, stats.getTotalTimePlayed());
+        pos = writeLong(buffer, pos, Double.doubleToRawLongBits(stats.getTotalDamageDealt()));
+        pos = writeLong(buffer, pos, Double.doubleToRawLongBits(stats.getTotalDamageTaken()));
+
+        if (firstJoined != null) {
+            pos = writeZigZag(buffer, pos, firstJoined.toEpochSecond(ZoneOffset.UTC));
+        }
+        if (lastPlayed != null) {
+            pos = writeZigZag(buffer, pos, lastPlayed.toEpochSecond(ZoneOffset.UTC));
+        }
+        pos = writeZigZag(buffer, pos, stats.getLastUpdated().toEpochSecond(ZoneOffset.UTC));
+
+        return Arrays.copyOf(buffer, pos);
+    }
+
+    /**
+     * Decodes player statistics.
+     *
+     * @param data Bytes produced by {@link #encode(PlayerStats)}
+     * @return The decoded statistics
+     * @throws IllegalArgumentException If the data is not in this format or is truncated
+     */
+    public static @NotNull PlayerStats decode(@NotNull byte[] data) {
+        if (!isEncoded(data)) {
+            throw new IllegalArgumentException("Not an encoded PlayerStats record");
+        }
+        if (data[1] > VERSION) {
+            throw new IllegalArgumentException("Unsupported PlayerStats format version " + data[1]);
+        }
+
+        try {
+            Reader reader = new Reader(data, 2);
+            int flags = data[reader.pos++];
+            UUID playerId = new UUID(reader.readLong(), reader.readLong());
+            int nameLength = (int) reader.readVarLong();
+            String playerName = new String(data, reader.pos, nameLength, StandardCharsets.UTF_8);
+            reader.pos += nameLength;
+
+            int wins = (int) reader.readZigZag();
+            int losses = (int) reader.readZigZag();
+            int kills = (int) reader.readZigZag();
+            int deaths = (int) reader.readZigZag();
+            int gamesPlayed = (int) reader.readZigZag();
+            int bestPlacement = (int) reader.readZigZag();
+            int currentWinStreak = (int) reader.readZigZag();
+            int bestWinStreak = (int) reader.readZigZag();
+            int top3Finishes = (int) reader.readZigZag();
+            int chestsOpened = (int) reader.readZigZag();
+            long totalTimePlayed = reader.readZigZag();
+            double damageDealt = Double.longBitsToDouble(reader.readLong());
+            double damageTaken = Double.longBitsToDouble(reader.readLong());
+
+            LocalDateTime firstJoined = (flags & FLAG_FIRST_JOINED) != 0 ? reader.readTime() : null;
+            LocalDateTime lastPlayed = (flags & FLAG_LAST_PLAYED) != 0 ? reader.readTime() : null;
+            LocalDateTime lastUpdated = reader.readTime();
+
+            return new PlayerStats(playerId, playerName, wins, losses, kills, deaths, gamesPlayed,
+                totalTimePlayed, bestPlacement, currentWinStreak, bestWinStreak, top3Finishes,
+                damageDealt, damageTaken, chestsOpened, firstJoined, lastPlayed, lastUpdated);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated PlayerStats record (" + data.length + " bytes)", e);
+        }
+    }
+
+    private static int writeLong(byte[] buffer, int pos, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[pos++] = (byte) (value >>> shift);
+        }
+        return pos;
+    }
+
+    private static int writeZigZag(byte[] buffer, int pos, long value) {
+        return writeVarLong(buffer, pos, (value << 1) ^ (value >> 63));
+    }
+
+    private static int writeVarLong(byte[] buffer, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos++] = (byte) value;
+        return pos;
+    }
+
+    /**
+     * Cursor over an encoded record.
+     */
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data, int pos) {
+            this.data = data;
+            this.pos = pos;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in PlayerStats record");
+        }
+
+        long readZigZag() {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        LocalDateTime readTime() {
+            return LocalDateTime.ofEpochSecond(readZigZag(), 0, ZoneOffset.UTC);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package net.lumalyte.lumasg.util.validation;
 
 import net.lumalyte.lumasg.LumaSG;
 import net.lumalyte.lumasg.util.core.DebugLogger;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.jetbrains.annotations.NotNull;
 
@@ -155,6 +156,18 @@ public class ConfigValidator {
         validateTierChances(config, "chest.tier-chances.center");
         validateTierChances(config, "chest.tier-chances.middle");
         validateTierChances(config, "chest.tier-chances.outer");
+
+        // Tier weights used when filling chests
+        ConfigurationSection chestTiers = config.getConfigurationSection("chest-tiers");
+        if (chestTiers == null || chestTiers.getKeys(false).isEmpty()) {
+            addWarning("chest-tiers is missing - every tier with loot will be equally likely");
+        } else {
+            for (String tier : chestTiers.getKeys(false)) {
+                if (chestTiers.getDouble(tier, 0.0) < 0) {
+                    addError("chest-tiers." + tier + " must not be negative");
+                }
+            }
+        }
     }
 
     /**
@@ -177,6 +190,11 @@ public class ConfigValidator {
         validateIntRange(config, "database.pool.connection-timeout", 5000, 120000, 30000);
         validateIntRange(config, "database.pool.idle-timeout", 60000, 3600000, 600000);
         validateIntRange(config, "database.pool.max-lifetime", 300000, 7200000, 1800000);
+        validateIntRange(config, "database.pool.queue-capacity", 10, 100000, 1000);
+        
+        // SQLite single-writer settings
+        validateIntRange(config, "database.sqlite-commit-window-ms", 0, 1000, 25);
+        validateIntRange(config, "database.sqlite-max-batch-rows", 1, 100000, 1000);
 
         // Ensure pool settings make sense
         int minIdle = config.getInt("database.pool.minimum-idle", 2);
@@ -201,26 +219,21 @@ public class ConfigValidator {
      * Validates performance settings.
      */
     private void validatePerformanceSettings(@NotNull FileConfiguration config) {
-        validateIntRange(config, "performance.chest-filling.thread-pool-size", 0, 32, 0);
-        validateIntRange(config, "performance.chest-filling.min-threads", 1, 16, 2);
-        validateIntRange(config, "performance.chest-filling.max-threads", 2, 64, 16);
-        validateDoubleRange(config, "performance.chest-filling.target-cpu-utilization", 0.1, 1.0, 0.75);
-        validateDoubleRange(config, "performance.chest-filling.blocking-coefficient", 1.0, 10.0, 4.0);
-
-        // Ensure thread limits make sense
-        int minThreads = config.getInt("performance.chest-filling.min-threads", 2);
-        int maxThreads = config.getInt("performance.chest-filling.max-threads", 16);
-        if (minThreads > maxThreads) {
-            addError("performance.chest-filling.min-threads (" + minThreads + ") must be <= max-threads (" + maxThreads
-                    + ")");
-        }
+        validateIntRange(config, "performance.worker-threads", 0, 16, 0);
+        validateIntRange(config, "performance.worker-queue-capacity", 16, 100000, 4096);
+        validateIntRange(config, "performance.chest-filling.batch-size", 1, 256, 16);
+        validateIntRange(config, "performance.loot-pool.capacity", 1, 1000, 50);
+        validateDoubleRange(config, "performance.loot-pool.low-watermark", 0.0, 0.9, 0.25);
     }
 
     /**
      * Validates statistics settings.
      */
     private void validateStatisticsSettings(@NotNull FileConfiguration config) {
-        validateIntRange(config, "statistics.save-interval-seconds", 60, 3600, 300);
+        validateIntRange(config, "statistics.cache.max-size", 100, 1000000, 5000);
+        validateIntRange(config, "statistics.cache.expire-after-access-minutes", 1, 1440, 30);
+        validateIntRange(config, "statistics.write-behind.flush-interval-ms", 250, 600000, 5000);
+        validateIntRange(config, "statistics.write-behind.batch-size", 1, 5000, 100);
     }
 
     /**
@@ -0,0 +1,115 @@
+package net.lumalyte.lumasg.arena;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.bukkit.World;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the block occlusion bitmap used by async line-of-sight checks.
+ */
+@DisplayName("Occlusion Map Tests")
+public class OcclusionMapTest {
+
+    private static OcclusionMap map() {
+        // Box from (-16, 0, -16) to (15, 31, 15)
+        return new OcclusionMap(mock(World.class), -16, 0, -16, 32, 32, 32, true);
+    }
+
+    @Test
+    @DisplayName("A wall blocks the line of sight until it is broken")
+    void testWallBlocksUntilBroken() {
+        OcclusionMap map = map();
+        assertTrue(map.hasLineOfSight(-5.5, 10.6, 0.5, 5.5, 10.6, 0.5));
+
+        map.setOccluding(0, 10, 0, true);
+        assertTrue(map.isOccluding(0, 10, 0));
+        assertFalse(map.hasLineOfSight(-5.5, 10.6, 0.5, 5.5, 10.6, 0.5));
+        // Same ray the other way round
+        assertFalse(map.hasLineOfSight(5.5, 10.6, 0.5, -5.5, 10.6, 0.5));
+        // A ray passing beside the block
+        assertTrue(map.hasLineOfSight(-5.5, 10.6, 1.5, 5.5, 10.6, 1.5));
+
+        map.setOccluding(0, 10, 0, false);
+        assertFalse(map.isOccluding(0, 10, 0));
+        assertTrue(map.hasLineOfSight(-5.5, 10.6, 0.5, 5.5, 10.6, 0.5));
+    }
+
+    @Test
+    @DisplayName("The blocks at both ends are not checked")
+    void testEndBlocksIgnored() {
+        OcclusionMap map = map();
+        map.setOccluding(-3, 5, -3, true);
+        map.setOccluding(3, 5, 3, true);
+        assertTrue(map.hasLineOfSight(-2.5, 5.5, -2.5, 3.5, 5.5, 3.5));
+        assertTrue(map.hasLineOfSight(3.5, 5.5, 3.5, 3.2, 5.1, 3.9));
+    }
+
+    @Test
+    @DisplayName("Blocks outside the box never occlude")
+    void testOutsideBoxIsEmpty() {
+        OcclusionMap map = map();
+        map.setOccluding(40, 10, 0, true);
+        assertFalse(map.isOccluding(40, 10, 0));
+        assertTrue(map.hasLineOfSight(30.5, 10.5, 0.5, 50.5, 10.5, 0.5));
+    }
+
+    @Test
+    @DisplayName("Points are inside the box only within its bounds")
+    void testContains() {
+        OcclusionMap map = map();
+        assertTrue(map.contains(-16.0, 0.0, -16.0));
+        assertTrue(map.contains(15.9, 31.9, 15.9));
+        assertFalse(map.contains(-16.1, 10.0, 0.0));
+        assertFalse(map.contains(16.0, 10.0, 0.0));
+        assertFalse(map.contains(0.0, -0.1, 0.0));
+        assertFalse(map.contains(0.0, 32.0, 0.0));
+    }
+
+    @Test
+    @DisplayName("Every block a sampled ray passes through is checked")
+    void testMatchesSampledRays() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            OcclusionMap map = map();
+            for (int i = 0; i < 60; i++) {
+                map.setOccluding(random.nextInt(32) - 16, random.nextInt(32), random.nextInt(32) - 16, true);
+            }
+
+            double[] from = {random.nextDouble() * 32 - 16, random.nextDouble() * 32, random.nextDouble() * 32 - 16};
+            double[] to = {random.nextDouble() * 32 - 16, random.nextDouble() * 32, random.nextDouble() * 32 - 16};
+
+            // Sampling can step over a block the ray only clips, so it may only miss blockers
+            if (sampledBlocked(map, from, to)) {
+                assertFalse(map.hasLineOfSight(from[0], from[1], from[2], to[0], to[1], to[2]),
+                    "Ray " + round + " passes through a solid block");
+            }
+        }
+    }
+
+    private static boolean sampledBlocked(OcclusionMap map, double[] from, double[] to) {
+        int startX = (int) Math.floor(from[0]);
+        int startY = (int) Math.floor(from[1]);
+        int startZ = (int) Math.floor(from[2]);
+        int endX = (int) Math.floor(to[0]);
+        int endY = (int) Math.floor(to[1]);
+        int endZ = (int) Math.floor(to[2]);
+        int samples = 20_000;
+        for (int i = 0; i <= samples; i++) {
+            double t = (double) i / samples;
+            int x = (int) Math.floor(from[0] + (to[0] - from[0]) * t);
+            int y = (int) Math.floor(from[1] + (to[1] - from[1]) * t);
+            int z = (int) Math.floor(from[2] + (to[2] - from[2]) * t);
+            boolean endBlock = (x == startX && y == startY && z == startZ) || (x == endX && y == endY && z == endZ);
+            if (!endBlock && map.isOccluding(x, y, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+package net.lumalyte.lumasg.game.player;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.bukkit.GameMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.lumalyte.lumasg.util.core.DebugLogger;
+
+/**
+ * Tests for the on-disk journal of player state stored for games.
+ */
+@DisplayName("Inventory Journal Tests")
+public class InventoryJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private InventoryJournal open() {
+        InventoryJournal journal = new InventoryJournal(directory, mock(DebugLogger.ContextualLogger.class), true);
+        journal.start();
+        return journal;
+    }
+
+    private static InventoryJournal.Snapshot snapshot(int level) {
+        return new InventoryJournal.Snapshot(new byte[] {1, 2, 3}, level, 0.5f, 18, 2.5f, null,
+            GameMode.SURVIVAL, "world", 10.5, 64, -3, 90f, 0f);
+    }
+
+    @Test
+    @DisplayName("Unrestored snapshots survive a restart")
+    void testSnapshotsSurviveRestart() {
+        UUID kept = UUID.randomUUID();
+        UUID restored = UUID.randomUUID();
+
+        InventoryJournal journal = open();
+        journal.recordSnapshot(kept, snapshot(7));
+        journal.recordSnapshot(restored, snapshot(3));
+        journal.recordRestored(restored);
+        journal.shutdown(5000);
+
+        InventoryJournal reopened = open();
+        InventoryJournal.Snapshot recovered = reopened.getOutstanding(kept);
+        assertNotNull(recovered);
+        assertEquals(7, recovered.level());
+        assertArrayEquals(new byte[] {1, 2, 3}, recovered.inventory());
+        assertNull(recovered.potionEffects());
+        assertEquals(GameMode.SURVIVAL, recovered.gameMode());
+        assertEquals("world", recovered.worldName());
+        assertEquals(10.5, recovered.x());
+        assertFalse(reopened.hasOutstanding(restored));
+        reopened.shutdown(5000);
+    }
+
+    @Test
+    @DisplayName("The latest snapshot of a player wins")
+    void testLatestSnapshotWins() {
+        UUID player = UUID.randomUUID();
+
+        InventoryJournal journal = open();
+        journal.recordSnapshot(player, snapshot(1));
+        journal.recordSnapshot(player, snapshot(2));
+        journal.shutdown(5000);
+
+        InventoryJournal reopened = open();
+        assertEquals(2, reopened.getOutstanding(player).level());
+        reopened.shutdown(5000);
+    }
+
+    @Test
+    @DisplayName("A torn record at the end of a segment is ignored")
+    void testTornTailIgnored() throws IOException {
+        UUID player = UUID.randomUUID();
+
+        InventoryJournal journal = open();
+        journal.recordSnapshot(player, snapshot(5));
+        journal.shutdown(5000);
+
+        // Simulate a crash in the middle of the next append
+        Path segment = segments().getLast();
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        InventoryJournal reopened = open();
+        assertEquals(5, reopened.getOutstanding(player).level());
+        reopened.shutdown(5000);
+
+        // Recovery compacts the journal into a single clean segment
+        assertEquals(1, segments().size());
+    }
+
+    @Test
+    @DisplayName("A disabled journal records nothing")
+    void testDisabled() {
+        UUID player = UUID.randomUUID();
+        InventoryJournal journal = new InventoryJournal(directory, mock(DebugLogger.ContextualLogger.class), false);
+        journal.start();
+        journal.recordSnapshot(player, snapshot(1));
+
+        assertFalse(journal.hasOutstanding(player));
+        assertTrue(segments().isEmpty());
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".journal")).sorted().toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package net.lumalyte.lumasg.game.player;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the spatial grid that culls distant player pairs.
+ */
+@DisplayName("Player Grid Tests")
+public class PlayerGridTest {
+
+    @Test
+    @DisplayName("Finds exactly the pairs a brute-force scan finds")
+    void testMatchesBruteForce() {
+        Random random = new Random(7);
+        double maxDistance = 50.0;
+        PlayerGrid grid = new PlayerGrid(maxDistance);
+
+        for (int round = 0; round < 20; round++) {
+            grid.clear();
+            int count = 1 + random.nextInt(100);
+            double[][] points = new double[count][];
+            for (int i = 0; i < count; i++) {
+                // Spread around the origin so negative cells are covered
+                points[i] = new double[] {random.nextDouble() * 400 - 200, 40 + random.nextDouble() * 60,
+                    random.nextDouble() * 400 - 200};
+                assertEquals(i, grid.add(points[i][0], points[i][1], points[i][2]));
+            }
+
+            Set<Long> expected = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                for (int j = i + 1; j < count; j++) {
+                    double dx = points[i][0] - points[j][0];
+                    double dy = points[i][1] - points[j][1];
+                    double dz = points[i][2] - points[j][2];
+                    if (dx * dx + dy * dy + dz * dz <= maxDistance * maxDistance) {
+                        expected.add((long) i * count + j);
+                    }
+                }
+            }
+
+            Set<Long> found = new HashSet<>();
+            grid.forEachPairWithin(maxDistance, (first, second, distanceSquared) -> {
+                assertTrue(first < second);
+                assertTrue(found.add((long) first * count + second), "Pair reported twice");
+            });
+            assertEquals(expected, found);
+        }
+    }
+}
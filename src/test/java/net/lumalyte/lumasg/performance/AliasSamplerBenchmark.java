@@ -0,0 +1,175 @@
+package net.lumalyte.lumasg.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import net.lumalyte.lumasg.chest.AliasSampler;
+
+/**
+ * Microbenchmark comparing the precomputed {@link AliasSampler} against the
+ * previous per-draw stream sum and linear scan used by the chest fillers.
+ *
+ * <p>Uses a plain weighted entry instead of ChestItem, since item stacks need a
+ * running server.</p>
+ */
+@DisplayName("Alias Loot Sampler Benchmarks")
+public class AliasSamplerBenchmark {
+
+    private static final int TIER_SIZE = 200;
+    private static final int WARMUP_DRAWS = 500_000;
+    private static final int MEASURED_DRAWS = 2_000_000;
+
+    /**
+     * Stand-in for ChestItem: only the weight matters to the sampler.
+     */
+    private record WeightedEntry(int id, double chance) {
+    }
+
+    @Test
+    @DisplayName("Alias draw vs linear scan with 200-item tiers")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    public void testAliasVersusLinearScan() {
+        System.out.println("\n=== Loot Draw: Alias Table vs Linear Scan (" + TIER_SIZE + " items) ===");
+
+        List<WeightedEntry> tier = createTier(TIER_SIZE, new Random(7));
+
+        long buildStart = System.nanoTime();
+        AliasSampler<WeightedEntry> sampler = AliasSampler.of(tier, WeightedEntry::chance);
+        long buildNanos = System.nanoTime() - buildStart;
+
+        runLinear(tier, WARMUP_DRAWS);
+        runAlias(sampler, WARMUP_DRAWS);
+
+        long start = System.nanoTime();
+        long linearChecksum = runLinear(tier, MEASURED_DRAWS);
+        long linearNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long aliasChecksum = runAlias(sampler, MEASURED_DRAWS);
+        long aliasNanos = System.nanoTime() - start;
+
+        // Keep the results alive so the loops are not optimised away
+        assertTrue(linearChecksum > 0 && aliasChecksum > 0);
+
+        double linearNsPerOp = (double) linearNanos / MEASURED_DRAWS;
+        double aliasNsPerOp = (double) aliasNanos / MEASURED_DRAWS;
+        System.out.printf("Build: %.1f us%n", buildNanos / 1_000.0);
+        System.out.printf("Linear scan: %8.1f ns/draw%n", linearNsPerOp);
+        System.out.printf("Alias table: %8.1f ns/draw%n", aliasNsPerOp);
+        System.out.printf("Speedup: %.1fx%n", linearNsPerOp / Math.max(0.1, aliasNsPerOp));
+    }
+
+    @Test
+    @DisplayName("Alias draws follow the configured weights")
+    public void testDistributionMatchesWeights() {
+        List<WeightedEntry> tier = createTier(TIER_SIZE, new Random(11));
+        AliasSampler<WeightedEntry> sampler = AliasSampler.of(tier, WeightedEntry::chance);
+        double totalWeight = tier.stream().mapToDouble(WeightedEntry::chance).sum();
+
+        int draws = 2_000_000;
+        int[] counts = new int[TIER_SIZE];
+        SplittableRandom random = new SplittableRandom(13);
+        for (int i = 0; i < draws; i++) {
+            WeightedEntry entry = sampler.sample(random);
+            assertNotNull(entry);
+            counts[entry.id()]++;
+        }
+
+        // Total variation distance between observed and expected frequencies
+        double distance = 0.0;
+        for (WeightedEntry entry : tier) {
+            double expected = entry.chance() / totalWeight;
+            double observed = (double) counts[entry.id()] / draws;
+            distance += Math.abs(expected - observed);
+        }
+        distance /= 2.0;
+        assertTrue(distance < 0.01, "Sampled distribution drifted from weights: " + distance);
+    }
+
+    @Test
+    @DisplayName("Empty, zero-weight and single-item tiers")
+    public void testEdgeCases() {
+        AliasSampler<WeightedEntry> empty = AliasSampler.of(List.of(), WeightedEntry::chance);
+        assertTrue(empty.isEmpty());
+        assertNull(empty.sample());
+
+        // All-zero weights fall back to a uniform draw, like the old scan did
+        List<WeightedEntry> zero = List.of(new WeightedEntry(0, 0.0), new WeightedEntry(1, 0.0));
+        AliasSampler<WeightedEntry> uniform = AliasSampler.of(zero, WeightedEntry::chance);
+        int[] counts = new int[2];
+        SplittableRandom random = new SplittableRandom(17);
+        for (int i = 0; i < 100_000; i++) {
+            counts[uniform.sample(random).id()]++;
+        }
+        assertTrue(Math.abs(counts[0] - counts[1]) < 2_000, "Zero weights should draw uniformly");
+
+        // A zero-weight entry next to a positive one must never be drawn
+        List<WeightedEntry> mixed = List.of(new WeightedEntry(0, 0.0), new WeightedEntry(1, 5.0));
+        AliasSampler<WeightedEntry> skewed = AliasSampler.of(mixed, WeightedEntry::chance);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(1, skewed.sample(random).id());
+        }
+
+        AliasSampler<WeightedEntry> single = AliasSampler.of(List.of(new WeightedEntry(0, 3.0)), WeightedEntry::chance);
+        assertEquals(0, single.sample().id());
+    }
+
+    private static List<WeightedEntry> createTier(int size, Random random) {
+        List<WeightedEntry> tier = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Skewed like real loot tables: a few common items, many rare ones
+            tier.add(new WeightedEntry(i, 0.5 + Math.pow(random.nextDouble(), 3) * 50.0));
+        }
+        return tier;
+    }
+
+    /**
+     * The draw ChestManager, ConcurrentChestFiller and LootTableCache used
+     * before the samplers existed.
+     */
+    private static WeightedEntry linearDraw(List<WeightedEntry> loot) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double totalWeight = loot.stream().mapToDouble(WeightedEntry::chance).sum();
+        if (totalWeight <= 0) {
+            return loot.get(random.nextInt(loot.size()));
+        }
+
+        double randomValue = random.nextDouble() * totalWeight;
+        double currentWeight = 0;
+        for (WeightedEntry entry : loot) {
+            currentWeight += entry.chance();
+            if (randomValue <= currentWeight) {
+                return entry;
+            }
+        }
+        return loot.getLast();
+    }
+
+    private static long runLinear(List<WeightedEntry> loot, int draws) {
+        long checksum = 0;
+        for (int i = 0; i < draws; i++) {
+            checksum += linearDraw(loot).id() + 1;
+        }
+        return checksum;
+    }
+
+    private static long runAlias(AliasSampler<WeightedEntry> sampler, int draws) {
+        long checksum = 0;
+        for (int i = 0; i < draws; i++) {
+            checksum += sampler.sample().id() + 1;
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,168 @@
+package net.lumalyte.lumasg.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import net.lumalyte.lumasg.util.messaging.MessageTemplate;
+
+/**
+ * Microbenchmark comparing {@link MessageTemplate} rendering against parsing
+ * the whole message with placeholder resolvers on every call, the way
+ * MiniMessageUtils.parseMessage worked before templates.
+ *
+ * <p>The messages are the default messages.* entries from config.yml.</p>
+ */
+@DisplayName("Message Template Benchmarks")
+public class MessageTemplateBenchmark {
+
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 100_000;
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
+    private record Message(String source, Map<String, String> values) {}
+
+    private static final List<Message> MESSAGES = List.of(
+        new Message("<gray><player> <yellow>has joined the game! <gray>(<current>/<max>)",
+            Map.of("player", "Steve", "current", "7", "max", "24")),
+        new Message("<gray><player> <red>has been eliminated by <gray><killer><red>!",
+            Map.of("player", "Steve", "killer", "Alex")),
+        new Message("<dark_red>☠ <red><victim> <gray>was <action> <gray>by <killer><gray>! <yellow><remaining> players remain!",
+            Map.of("victim", "Steve", "action", "skewered", "killer", "Alex", "remaining", "5")),
+        new Message("<yellow>Grace period has started! PvP is disabled for <time> seconds.",
+            Map.of("time", "60")),
+        new Message("<yellow>Game starting in <gray><time> <yellow>seconds!",
+            Map.of("time", "10"))
+    );
+
+    @Test
+    @DisplayName("Template render vs full re-parse for messages.* entries")
+    @Timeout(value = 120, unit = TimeUnit.SECONDS)
+    public void testRenderVersusReparse() {
+        System.out.println("\n=== MiniMessage: Template Render vs Re-parse ===");
+
+        List<MessageTemplate> templates = new ArrayList<>();
+        for (Message message : MESSAGES) {
+            MessageTemplate template = MessageTemplate.compile(message.source(), message.values().keySet());
+            assertTrue(template.isPrecompiled(), "Expected a precompiled template for " + message.source());
+            templates.add(template);
+        }
+
+        long checksum = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            checksum += reparseAll().size();
+            checksum -= renderAll(templates).size();
+        }
+
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            checksum += reparseAll().size();
+        }
+        long reparseNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            checksum -= renderAll(templates).size();
+        }
+        long renderNanos = System.nanoTime() - start;
+
+        assertEquals(0, checksum);
+
+        double operations = (double) MEASURED_ROUNDS * MESSAGES.size();
+        System.out.printf("Re-parse: %8.1f ns/op%n", reparseNanos / operations);
+        System.out.printf("Render:   %8.1f ns/op (%.1fx)%n", renderNanos / operations,
+            (double) reparseNanos / Math.max(1, renderNanos));
+    }
+
+    @Test
+    @DisplayName("Rendered messages look the same as re-parsed ones")
+    public void testRenderMatchesReparse() {
+        for (Message message : MESSAGES) {
+            MessageTemplate template = MessageTemplate.compile(message.source(), message.values().keySet());
+            assertEquals(flatten(reparse(message)), flatten(template.render(message.values())), message.source());
+        }
+    }
+
+    @Test
+    @DisplayName("Gradients and values with tags fall back to parsing")
+    public void testFallbacks() {
+        Message gradient = new Message("<gradient:gray:white>Players: <players></gradient>", Map.of("players", "12"));
+        MessageTemplate gradientTemplate = MessageTemplate.compile(gradient.source(), gradient.values().keySet());
+        assertFalse(gradientTemplate.isPrecompiled());
+        assertEquals(flatten(reparse(gradient)), flatten(gradientTemplate.render(gradient.values())));
+
+        Message tagged = new Message("<gray>Winner: <player>!", Map.of("player", "<gold>Steve"));
+        MessageTemplate taggedTemplate = MessageTemplate.compile(tagged.source(), tagged.values().keySet());
+        assertTrue(taggedTemplate.isPrecompiled());
+        assertEquals(flatten(reparse(tagged)), flatten(taggedTemplate.render(tagged.values())));
+
+        MessageTemplate plain = MessageTemplate.compile("<green>The game has started!", List.of("player"));
+        assertTrue(plain.getSlots().isEmpty());
+        assertEquals("The game has started!", flatten(plain.render(Map.of())).split("\n")[0]);
+    }
+
+    private static List<Component> reparseAll() {
+        List<Component> components = new ArrayList<>(MESSAGES.size());
+        for (Message message : MESSAGES) {
+            components.add(reparse(message));
+        }
+        return components;
+    }
+
+    private static List<Component> renderAll(List<MessageTemplate> templates) {
+        List<Component> components = new ArrayList<>(templates.size());
+        for (int i = 0; i < templates.size(); i++) {
+            components.add(templates.get(i).render(MESSAGES.get(i).values()));
+        }
+        return components;
+    }
+
+    private static Component reparse(Message message) {
+        TagResolver.Builder resolver = TagResolver.builder();
+        for (Map.Entry<String, String> entry : message.values().entrySet()) {
+            resolver.resolver(Placeholder.parsed(entry.getKey(), entry.getValue()));
+        }
+        return MINI_MESSAGE.deserialize(message.source(), resolver.build());
+    }
+
+    /**
+     * Describes how a component looks: its plain text, then the effective
+     * style of every character.
+     */
+    private static String flatten(Component component) {
+        StringBuilder text = new StringBuilder();
+        StringBuilder styles = new StringBuilder();
+        flatten(component, Style.empty(), text, styles);
+        return text + "\n" + styles;
+    }
+
+    private static void flatten(Component component, Style parent, StringBuilder text, StringBuilder styles) {
+        Style style = component.style().merge(parent, Style.Merge.Strategy.IF_ABSENT_ON_TARGET);
+        if (component instanceof TextComponent textComponent) {
+            String content = textComponent.content();
+            text.append(content);
+            for (int i = 0; i < content.length(); i++) {
+                styles.append(style.color()).append(style.decorations()).append(';');
+            }
+        }
+        for (Component child : component.children()) {
+            flatten(child, style, text, styles);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package net.lumalyte.lumasg.performance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import net.lumalyte.lumasg.game.core.Game;
+import net.lumalyte.lumasg.game.core.PlayerGameIndex;
+import net.lumalyte.lumasg.util.TestUtils;
+
+/**
+ * Microbenchmark comparing the maintained {@link PlayerGameIndex} against the
+ * previous stream scan over every active game's player and spectator sets.
+ */
+@DisplayName("Player To Game Index Benchmarks")
+public class PlayerGameIndexBenchmark {
+
+    private static final int PLAYERS_PER_GAME = 24;
+    private static final int SPECTATORS_PER_GAME = 4;
+    private static final int WARMUP_LOOKUPS = 200_000;
+    private static final int MEASURED_LOOKUPS = 1_000_000;
+
+    /**
+     * Membership sets as exposed by GamePlayerManager (unmodifiable views over
+     * concurrent key sets), kept next to the game they belong to.
+     */
+    private record Membership(Game game, Set<UUID> players, Set<UUID> spectators) {
+    }
+
+    @Test
+    @DisplayName("Index lookup vs stream scan at 1, 10 and 50 games")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    public void testIndexVersusScan() {
+        System.out.println("\n=== Player To Game Lookup: Index vs Scan ===");
+
+        for (int gameCount : new int[] {1, 10, 50}) {
+            List<Membership> games = new ArrayList<>();
+            PlayerGameIndex index = new PlayerGameIndex();
+            List<UUID> lookups = new ArrayList<>();
+
+            for (int g = 0; g < gameCount; g++) {
+                Game game = TestUtils.createMockGame("arena" + g);
+                Set<UUID> players = ConcurrentHashMap.newKeySet();
+                Set<UUID> spectators = ConcurrentHashMap.newKeySet();
+                for (int p = 0; p < PLAYERS_PER_GAME + SPECTATORS_PER_GAME; p++) {
+                    UUID playerId = UUID.randomUUID();
+                    (p < PLAYERS_PER_GAME ? players : spectators).add(playerId);
+                    assertNull(index.claim(playerId, game));
+                    lookups.add(playerId);
+                }
+                games.add(new Membership(game, Collections.unmodifiableSet(players),
+                        Collections.unmodifiableSet(spectators)));
+            }
+
+            // Include players that are not in any game, the common case for lobby events
+            for (int i = 0; i < lookups.size() / 4; i++) {
+                lookups.add(UUID.randomUUID());
+            }
+            Collections.shuffle(lookups, new Random(42));
+
+            // Both strategies must agree before we time them
+            for (UUID playerId : lookups) {
+                assertSame(scan(games, playerId), index.get(playerId));
+            }
+
+            runScan(games, lookups, WARMUP_LOOKUPS);
+            runIndex(index, lookups, WARMUP_LOOKUPS);
+
+            long start = System.nanoTime();
+            int scanHits = runScan(games, lookups, MEASURED_LOOKUPS);
+            long scanNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int indexHits = runIndex(index, lookups, MEASURED_LOOKUPS);
+            long indexNanos = System.nanoTime() - start;
+
+            assertEquals(scanHits, indexHits, "Scan and index should find the same players");
+
+            double scanNsPerOp = (double) scanNanos / MEASURED_LOOKUPS;
+            double indexNsPerOp = (double) indexNanos / MEASURED_LOOKUPS;
+            System.out.printf("%2d games (%4d indexed): scan %8.1f ns/op, index %6.1f ns/op, speedup %.1fx%n",
+                    gameCount, index.size(), scanNsPerOp, indexNsPerOp, scanNsPerOp / Math.max(0.1, indexNsPerOp));
+        }
+    }
+
+    @Test
+    @DisplayName("Double membership is detected on insert")
+    public void testDoubleMembershipDetectedOnClaim() {
+        PlayerGameIndex index = new PlayerGameIndex();
+        Game first = TestUtils.createMockGame("arena1");
+        Game second = TestUtils.createMockGame("arena2");
+        UUID playerId = UUID.randomUUID();
+
+        assertNull(index.claim(playerId, first));
+        assertNull(index.claim(playerId, first), "Re-claiming for the same game should be a no-op");
+        assertSame(first, index.claim(playerId, second), "Claim for another game should report the owner");
+        assertSame(first, index.get(playerId));
+
+        assertFalse(index.release(playerId, second), "A foreign game must not release the player");
+        assertTrue(index.release(playerId, first));
+        assertNull(index.get(playerId));
+
+        assertNull(index.claim(playerId, second));
+        assertEquals(1, index.releaseAll(second));
+        assertEquals(0, index.size());
+    }
+
+    /**
+     * The lookup GameManager.getGameByPlayer used before the index existed.
+     */
+    private static Game scan(List<Membership> games, UUID playerId) {
+        List<Game> playerGames = games.stream()
+                .filter(m -> m.players().contains(playerId) || m.spectators().contains(playerId))
+                .map(Membership::game)
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        return playerGames.isEmpty() ? null : playerGames.getFirst();
+    }
+
+    private static int runScan(List<Membership> games, List<UUID> lookups, int iterations) {
+        int hits = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (scan(games, lookups.get(i % lookups.size())) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static int runIndex(PlayerGameIndex index, List<UUID> lookups, int iterations) {
+        int hits = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (index.get(lookups.get(i % lookups.size())) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
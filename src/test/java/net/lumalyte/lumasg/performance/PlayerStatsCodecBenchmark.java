@@ -0,0 +1,198 @@
+package net.lumalyte.lumasg.performance;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.VersionFieldSerializer;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+import net.lumalyte.lumasg.statistics.PlayerStats;
+import net.lumalyte.lumasg.util.serialization.PlayerStatsCodec;
+
+/**
+ * Microbenchmark comparing {@link PlayerStatsCodec} against the Kryo path
+ * previously used for player_stats.stats_data.
+ *
+ * <p>The Kryo instance is configured like KryoManager's (reference tracking,
+ * versioned field serializer, a new 1 KB output per call), without the pool
+ * and timing map, so the comparison favours Kryo slightly.</p>
+ */
+@DisplayName("PlayerStats Codec Benchmarks")
+public class PlayerStatsCodecBenchmark {
+
+    private static final int RECORDS = 10_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Test
+    @DisplayName("Codec vs Kryo size and ns/op for 10k records")
+    @Timeout(value = 120, unit = TimeUnit.SECONDS)
+    public void testCodecVersusKryo() {
+        System.out.println("\n=== PlayerStats Serialization: Codec vs Kryo (" + RECORDS + " records) ===");
+
+        List<PlayerStats> records = createRecords(RECORDS, new Random(3));
+        Kryo kryo = createKryo();
+
+        long kryoBytes = 0;
+        long codecBytes = 0;
+        for (PlayerStats stats : records) {
+            kryoBytes += kryoEncode(kryo, stats).length;
+            codecBytes += PlayerStatsCodec.encode(stats).length;
+        }
+
+        byte[][] kryoEncoded = new byte[RECORDS][];
+        byte[][] codecEncoded = new byte[RECORDS][];
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            encodeAllKryo(kryo, records, kryoEncoded);
+            encodeAllCodec(records, codecEncoded);
+            decodeAllKryo(kryo, kryoEncoded);
+            decodeAllCodec(codecEncoded);
+        }
+
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            encodeAllKryo(kryo, records, kryoEncoded);
+        }
+        long kryoEncodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            encodeAllCodec(records, codecEncoded);
+        }
+        long codecEncodeNanos = System.nanoTime() - start;
+
+        long checksum = 0;
+        start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            checksum += decodeAllKryo(kryo, kryoEncoded);
+        }
+        long kryoDecodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            checksum -= decodeAllCodec(codecEncoded);
+        }
+        long codecDecodeNanos = System.nanoTime() - start;
+
+        // Both decoders must have read the same kills totals
+        assertEquals(0, checksum);
+        assertTrue(codecBytes < kryoBytes, "Codec output should be smaller than Kryo output");
+
+        double operations = (double) RECORDS * MEASURED_ROUNDS;
+        System.out.printf("Size:   Kryo %6.1f B/record | Codec %6.1f B/record (%.0f%% smaller)%n",
+            (double) kryoBytes / RECORDS, (double) codecBytes / RECORDS, 100.0 * (kryoBytes - codecBytes) / kryoBytes);
+        System.out.printf("Encode: Kryo %6.1f ns/op    | Codec %6.1f ns/op (%.1fx)%n",
+            kryoEncodeNanos / operations, codecEncodeNanos / operations, (double) kryoEncodeNanos / Math.max(1, codecEncodeNanos));
+        System.out.printf("Decode: Kryo %6.1f ns/op    | Codec %6.1f ns/op (%.1fx)%n",
+            kryoDecodeNanos / operations, codecDecodeNanos / operations, (double) kryoDecodeNanos / Math.max(1, codecDecodeNanos));
+    }
+
+    @Test
+    @DisplayName("Encoded records decode to the same values")
+    public void testRoundTrip() {
+        LocalDateTime time = LocalDateTime.of(2025, 6, 1, 12, 30, 15);
+        PlayerStats stats = new PlayerStats(UUID.randomUUID(), "Ünïcode_Name", 12, 30, 140, 38, 42, 86_400L,
+            Integer.MAX_VALUE, 2, 5, 9, 1234.5, 987.25, 311, time, null, time.plusDays(3));
+
+        byte[] encoded = PlayerStatsCodec.encode(stats);
+        assertTrue(PlayerStatsCodec.isEncoded(encoded));
+        PlayerStats decoded = PlayerStatsCodec.decode(encoded);
+
+        assertEquals(stats.getPlayerId(), decoded.getPlayerId());
+        assertEquals(stats.getPlayerName(), decoded.getPlayerName());
+        assertEquals(stats.getWins(), decoded.getWins());
+        assertEquals(stats.getLosses(), decoded.getLosses());
+        assertEquals(stats.getKills(), decoded.getKills());
+        assertEquals(stats.getDeaths(), decoded.getDeaths());
+        assertEquals(stats.getGamesPlayed(), decoded.getGamesPlayed());
+        assertEquals(stats.getTotalTimePlayed(), decoded.getTotalTimePlayed());
+        assertEquals(stats.getBestPlacement(), decoded.getBestPlacement());
+        assertEquals(stats.getCurrentWinStreak(), decoded.getCurrentWinStreak());
+        assertEquals(stats.getBestWinStreak(), decoded.getBestWinStreak());
+        assertEquals(stats.getTop3Finishes(), decoded.getTop3Finishes());
+        assertEquals(stats.getTotalDamageDealt(), decoded.getTotalDamageDealt());
+        assertEquals(stats.getTotalDamageTaken(), decoded.getTotalDamageTaken());
+        assertEquals(stats.getChestsOpened(), decoded.getChestsOpened());
+        assertEquals(stats.getFirstJoined(), decoded.getFirstJoined());
+        assertNull(decoded.getLastPlayed());
+        assertEquals(stats.getLastUpdated(), decoded.getLastUpdated());
+    }
+
+    private static Kryo createKryo() {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        kryo.setReferences(true);
+        kryo.setAutoReset(true);
+        kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        kryo.register(String.class, 1);
+        kryo.register(UUID.class, 2);
+        kryo.register(PlayerStats.class, new VersionFieldSerializer<>(kryo, PlayerStats.class), 20);
+        return kryo;
+    }
+
+    private static byte[] kryoEncode(Kryo kryo, PlayerStats stats) {
+        Output output = new Output(1024, -1);
+        kryo.writeObject(output, stats);
+        return output.toBytes();
+    }
+
+    private static void encodeAllKryo(Kryo kryo, List<PlayerStats> records, byte[][] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = kryoEncode(kryo, records.get(i));
+        }
+    }
+
+    private static void encodeAllCodec(List<PlayerStats> records, byte[][] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = PlayerStatsCodec.encode(records.get(i));
+        }
+    }
+
+    private static long decodeAllKryo(Kryo kryo, byte[][] encoded) {
+        long kills = 0;
+        for (byte[] data : encoded) {
+            kills += kryo.readObject(new Input(data), PlayerStats.class).getKills();
+        }
+        return kills;
+    }
+
+    private static long decodeAllCodec(byte[][] encoded) {
+        long kills = 0;
+        for (byte[] data : encoded) {
+            kills += PlayerStatsCodec.decode(data).getKills();
+        }
+        return kills;
+    }
+
+    private static List<PlayerStats> createRecords(int count, Random random) {
+        List<PlayerStats> records = new ArrayList<>(count);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            int games = random.nextInt(2_000);
+            int wins = games == 0 ? 0 : random.nextInt(games / 4 + 1);
+            LocalDateTime firstJoined = base.plusSeconds(random.nextInt(30_000_000));
+            records.add(new PlayerStats(UUID.randomUUID(), "Player" + i, wins, games - wins,
+                random.nextInt(games * 3 + 1), random.nextInt(games + 1), games, random.nextInt(5_000_000),
+                games == 0 ? Integer.MAX_VALUE : 1 + random.nextInt(24), random.nextInt(4), random.nextInt(12),
+                random.nextInt(games + 1), random.nextDouble() * 50_000, random.nextDouble() * 50_000,
+                random.nextInt(games * 8 + 1), firstJoined, games == 0 ? null : firstJoined.plusDays(random.nextInt(300)),
+                firstJoined.plusDays(300)));
+        }
+        return records;
+    }
+}
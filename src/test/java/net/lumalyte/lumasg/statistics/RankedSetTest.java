@@ -0,0 +1,104 @@
+package net.lumalyte.lumasg.statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests for the order-statistic set behind the in-memory player rankings.
+ */
+@DisplayName("Ranked Set Tests")
+public class RankedSetTest {
+
+    @Test
+    @DisplayName("Equal scores share a rank")
+    void testTiesShareRank() {
+        RankedSet set = new RankedSet(false);
+        UUID first = UUID.randomUUID();
+        UUID tiedA = UUID.randomUUID();
+        UUID tiedB = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+
+        set.put(first, 10);
+        set.put(tiedA, 5);
+        set.put(tiedB, 5);
+        set.put(last, 0);
+
+        assertEquals(1, set.rankOf(first));
+        assertEquals(2, set.rankOf(tiedA));
+        assertEquals(2, set.rankOf(tiedB));
+        assertEquals(4, set.rankOf(last));
+        assertEquals(0, set.rankOf(UUID.randomUUID()), "Unknown players are unranked");
+    }
+
+    @Test
+    @DisplayName("Ascending sets rank the lowest score first")
+    void testAscending() {
+        RankedSet set = new RankedSet(true);
+        UUID best = UUID.randomUUID();
+        UUID worst = UUID.randomUUID();
+
+        set.put(worst, 7);
+        set.put(best, 1);
+
+        assertEquals(1, set.rankOf(best));
+        assertEquals(best, set.idAt(0));
+        assertEquals(1.0, set.scoreOf(best));
+        assertNull(set.idAt(2));
+    }
+
+    @Test
+    @DisplayName("Random updates match a sorted list")
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testRandomOperationsMatchSortedList() {
+        Random random = new Random(42);
+        RankedSet set = new RankedSet(false);
+        Map<UUID, Double> expected = new HashMap<>();
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            players.add(UUID.randomUUID());
+        }
+
+        for (int step = 0; step < 20_000; step++) {
+            UUID player = players.get(random.nextInt(players.size()));
+            if (random.nextInt(10) == 0) {
+                set.remove(player);
+                expected.remove(player);
+            } else {
+                double score = random.nextInt(50);
+                set.put(player, score);
+                expected.put(player, score);
+            }
+        }
+
+        List<Map.Entry<UUID, Double>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.sort(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+
+        assertEquals(sorted.size(), set.size());
+        List<UUID> top = set.top(25);
+        for (int i = 0; i < sorted.size(); i++) {
+            UUID player = sorted.get(i).getKey();
+            double score = sorted.get(i).getValue();
+            long better = expected.values().stream().filter(value -> value > score).count();
+
+            assertEquals(player, set.idAt(i), "Position " + i);
+            assertEquals(better + 1, set.rankOf(player), "Rank of position " + i);
+            assertEquals(score, set.scoreOf(player));
+            if (i < top.size()) {
+                assertEquals(player, top.get(i));
+            }
+        }
+    }
+}
@@ -96,11 +96,9 @@ class ConfigValidatorTest {
         testConfig.set("database.pool.max-lifetime", 1800000);
 
         // Performance settings
-        testConfig.set("performance.chest-filling.thread-pool-size", 0);
-        testConfig.set("performance.chest-filling.min-threads", 2);
-        testConfig.set("performance.chest-filling.max-threads", 16);
-        testConfig.set("performance.chest-filling.target-cpu-utilization", 0.75);
-        testConfig.set("performance.chest-filling.blocking-coefficient", 4.0);
+        testConfig.set("performance.worker-threads", 0);
+        testConfig.set("performance.worker-queue-capacity", 4096);
+        testConfig.set("performance.chest-filling.batch-size", 16);
 
         // Statistics settings
         testConfig.set("statistics.save-interval-seconds", 300);